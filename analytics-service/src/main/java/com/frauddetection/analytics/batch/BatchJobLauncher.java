@@ -6,9 +6,12 @@ import org.springframework.batch.core.job.Job;
 import org.springframework.batch.core.job.parameters.JobParameters;
 import org.springframework.batch.core.job.parameters.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -17,11 +20,22 @@ public class BatchJobLauncher {
     private final JobLauncher jobLauncher;
     private final Job dailyFraudAnalyticsJob;
 
+    /** Streaming aggregation keeps aggregated_metrics current; the nightly rewrite would clobber it. */
+    @Value("${analytics.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    @Value("${analytics.batch.partitioned.enabled:false}")
+    private boolean partitionedEnabled;
+
     /**
      * Runs automatically every day at 1:00 AM.
      */
     @Scheduled(cron = "0 0 1 * * *")
     public void scheduledDailyJob() {
+        if (streamingEnabled) {
+            log.debug("Streaming aggregation enabled, skipping scheduled DailyFraudAnalyticsJob");
+            return;
+        }
         log.info("Scheduled trigger: starting DailyFraudAnalyticsJob");
         try {
             launchDailyJob();
@@ -40,4 +54,26 @@ public class BatchJobLauncher {
         jobLauncher.run(dailyFraudAnalyticsJob, params);
         log.info("DailyFraudAnalyticsJob completed");
     }
+
+    /**
+     * Re-aggregates every day in [from, to) in one partitioned job run.
+     *
+     * @throws IllegalStateException when the partitioned job is not enabled —
+     *         the sequential job only ever aggregates yesterday
+     */
+    public void launchBackfill(LocalDate from, LocalDate to) throws Exception {
+        if (!partitionedEnabled) {
+            throw new IllegalStateException("Backfill requires analytics.batch.partitioned.enabled=true");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Empty date range: " + from + " .. " + to);
+        }
+        JobParameters params = new JobParametersBuilder()
+                .addString("fromDate", from.toString())
+                .addString("toDate", to.toString())
+                .addLong("run.timestamp", System.currentTimeMillis())
+                .toJobParameters();
+        jobLauncher.run(dailyFraudAnalyticsJob, params);
+        log.info("DailyFraudAnalyticsJob backfill completed: {} .. {}", from, to);
+    }
 }
@@ -17,6 +17,7 @@ import org.springframework.batch.infrastructure.item.ItemWriter;
 import org.springframework.batch.infrastructure.item.database.JdbcCursorItemReader;
 import org.springframework.batch.infrastructure.item.database.builder.JdbcCursorItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
@@ -35,7 +36,12 @@ public class DailyFraudAnalyticsBatchConfig {
         private final PlatformTransactionManager transactionManager;
         private final AggregatedMetricRepository metricRepository;
 
+        /**
+         * Sequential job; PartitionedDailyAnalyticsBatchConfig replaces it when
+         * analytics.batch.partitioned.enabled=true.
+         */
         @Bean
+        @ConditionalOnProperty(prefix = "analytics.batch.partitioned", name = "enabled", havingValue = "false", matchIfMissing = true)
         public Job dailyFraudAnalyticsJob(Step dailyAggregationStep) {
                 return new JobBuilder("DailyFraudAnalyticsJob", jobRepository)
                                 .start(dailyAggregationStep)
@@ -152,6 +158,7 @@ public class DailyFraudAnalyticsBatchConfig {
                         metric.setBlockCount(block);
                         metric.setFraudRate(total > 0 ? (double) fraud / total : 0.0);
                         metric.setAvgRiskScore(avgRisk);
+                        metric.setRiskScoreSum(avgRisk * total);
 
                         metricRepository.save(metric);
                         log.info("Aggregated metrics saved for {}: total={}, fraud={}, review={}", date, total, fraud,
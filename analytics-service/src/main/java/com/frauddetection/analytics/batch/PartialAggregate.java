@@ -0,0 +1,81 @@
+package com.frauddetection.analytics.batch;
+
+import com.frauddetection.analytics.entity.AggregatedMetric;
+import com.frauddetection.analytics.model.FraudCaseRow;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
+
+/**
+ * Running totals of one worker partition, kept in its step ExecutionContext so
+ * they are committed with each chunk and survive a restart. The reduce step
+ * sums the partitions of each day.
+ */
+final class PartialAggregate {
+
+    private static final String TOTAL = "partial.total";
+    private static final String BLOCK = "partial.block";
+    private static final String REVIEW = "partial.review";
+    private static final String APPROVE = "partial.approve";
+    private static final String RISK_SCORE_SUM = "partial.riskScoreSum";
+
+    private long total;
+    private long block;
+    private long review;
+    private long approve;
+    private double riskScoreSum;
+
+    static PartialAggregate from(ExecutionContext context) {
+        PartialAggregate p = new PartialAggregate();
+        p.total = context.getLong(TOTAL, 0L);
+        p.block = context.getLong(BLOCK, 0L);
+        p.review = context.getLong(REVIEW, 0L);
+        p.approve = context.getLong(APPROVE, 0L);
+        p.riskScoreSum = context.getDouble(RISK_SCORE_SUM, 0.0);
+        return p;
+    }
+
+    void writeTo(ExecutionContext context) {
+        context.putLong(TOTAL, total);
+        context.putLong(BLOCK, block);
+        context.putLong(REVIEW, review);
+        context.putLong(APPROVE, approve);
+        context.putDouble(RISK_SCORE_SUM, riskScoreSum);
+    }
+
+    void add(FraudCaseRow row) {
+        total++;
+        if ("BLOCK".equalsIgnoreCase(row.getDecision())) {
+            block++;
+        } else if ("REVIEW".equalsIgnoreCase(row.getDecision())) {
+            review++;
+        } else if ("APPROVE".equalsIgnoreCase(row.getDecision())) {
+            approve++;
+        }
+        if (row.getRiskScore() != null) {
+            riskScoreSum += row.getRiskScore();
+        }
+    }
+
+    void merge(PartialAggregate other) {
+        total += other.total;
+        block += other.block;
+        review += other.review;
+        approve += other.approve;
+        riskScoreSum += other.riskScoreSum;
+    }
+
+    long total() {
+        return total;
+    }
+
+    /** Overwrites the metric's counters with these totals (fraudCount = BLOCK decisions). */
+    void applyTo(AggregatedMetric metric) {
+        metric.setTotalTransactions(total);
+        metric.setFraudCount(block);
+        metric.setBlockCount(block);
+        metric.setReviewCount(review);
+        metric.setApproveCount(approve);
+        metric.setRiskScoreSum(riskScoreSum);
+        metric.setFraudRate(total > 0 ? (double) block / total : 0.0);
+        metric.setAvgRiskScore(total > 0 ? riskScoreSum / total : 0.0);
+    }
+}
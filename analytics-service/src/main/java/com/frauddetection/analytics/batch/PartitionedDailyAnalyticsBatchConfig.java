@@ -0,0 +1,186 @@
+package com.frauddetection.analytics.batch;
+
+import com.frauddetection.analytics.config.PartitionedBatchProperties;
+import com.frauddetection.analytics.entity.AggregatedMetric;
+import com.frauddetection.analytics.model.FraudCaseRow;
+import com.frauddetection.analytics.repository.AggregatedMetricRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.infrastructure.item.ItemWriter;
+import org.springframework.batch.infrastructure.item.database.JdbcCursorItemReader;
+import org.springframework.batch.infrastructure.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.batch.infrastructure.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Partitioned variant of DailyFraudAnalyticsJob (analytics.batch.partitioned.enabled=true).
+ *
+ * partitionedAggregationStep splits [fromDate, toDate) — job parameters,
+ * default yesterday — into grid-size created_at ranges per day and runs one
+ * dailyAggregationWorkerStep per range on up to {@code threads} threads. Each
+ * worker streams its range through a JDBC cursor and keeps a PartialAggregate
+ * in its step ExecutionContext; reduceDailyMetricsStep then sums the partials
+ * of each day and writes exactly one AggregatedMetric per day.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "analytics.batch.partitioned", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionedDailyAnalyticsBatchConfig {
+
+        static final String WORKER_STEP = "dailyAggregationWorkerStep";
+
+        private final JobRepository jobRepository;
+        private final PlatformTransactionManager transactionManager;
+        private final AggregatedMetricRepository metricRepository;
+        private final PartitionedBatchProperties properties;
+
+        @Bean
+        public Job dailyFraudAnalyticsJob(Step partitionedAggregationStep, Step reduceDailyMetricsStep) {
+                return new JobBuilder("DailyFraudAnalyticsJob", jobRepository)
+                                .start(partitionedAggregationStep)
+                                .next(reduceDailyMetricsStep)
+                                .build();
+        }
+
+        @Bean
+        public Step partitionedAggregationStep(CreatedAtRangePartitioner createdAtRangePartitioner,
+                        Step dailyAggregationWorkerStep) {
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("analytics-partition-");
+                executor.setConcurrencyLimit(properties.getThreads());
+                return new StepBuilder("partitionedAggregationStep", jobRepository)
+                                .partitioner(WORKER_STEP, createdAtRangePartitioner)
+                                .step(dailyAggregationWorkerStep)
+                                .gridSize(properties.getGridSize())
+                                .taskExecutor(executor)
+                                .build();
+        }
+
+        /**
+         * Job parameters fromDate (inclusive) and toDate (exclusive) are ISO dates;
+         * without them the job aggregates yesterday, like the sequential variant.
+         */
+        @Bean
+        @StepScope
+        public CreatedAtRangePartitioner createdAtRangePartitioner(
+                        @Value("#{jobParameters['fromDate']}") String fromDate,
+                        @Value("#{jobParameters['toDate']}") String toDate) {
+                LocalDate from = fromDate != null ? LocalDate.parse(fromDate) : LocalDate.now().minusDays(1);
+                LocalDate to = toDate != null ? LocalDate.parse(toDate) : from.plusDays(1);
+                return new CreatedAtRangePartitioner(from, to);
+        }
+
+        @Bean
+        public Step dailyAggregationWorkerStep(
+                        @Qualifier("createdAtRangeReader") JdbcCursorItemReader<FraudCaseRow> reader,
+                        @Qualifier("partialAggregateWriter") ItemWriter<FraudCaseRow> writer) {
+                return new StepBuilder(WORKER_STEP, jobRepository)
+                                .<FraudCaseRow, FraudCaseRow>chunk(properties.getChunkSize(), transactionManager)
+                                .reader(reader)
+                                .writer(writer)
+                                .build();
+        }
+
+        /**
+         * Reads one partition's half-open created_at range from fraud_db.
+         * Auto-commit is turned off on the reader's connection: the PostgreSQL
+         * driver only honours fetchSize (streams rows instead of buffering the
+         * whole result) inside a transaction.
+         */
+        @Bean(name = "createdAtRangeReader")
+        @StepScope
+        public JdbcCursorItemReader<FraudCaseRow> createdAtRangeReader(
+                        @Qualifier("fraudDataSource") DataSource fraudDataSource,
+                        @Value("#{stepExecutionContext['from']}") String from,
+                        @Value("#{stepExecutionContext['to']}") String to) {
+                String sql = """
+                                SELECT risk_score AS risk_score,
+                                       decision   AS decision
+                                FROM fraud_cases
+                                WHERE created_at >= ? AND created_at < ?
+                                """;
+
+                return new JdbcCursorItemReaderBuilder<FraudCaseRow>()
+                                .name("createdAtRangeReader")
+                                .dataSource(fraudDataSource)
+                                .sql(sql)
+                                .fetchSize(properties.getFetchSize())
+                                .connectionAutoCommit(false)
+                                .preparedStatementSetter(ps -> {
+                                        ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.parse(from)));
+                                        ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.parse(to)));
+                                })
+                                .rowMapper((rs, rowNum) -> {
+                                        FraudCaseRow row = new FraudCaseRow();
+                                        row.setRiskScore(rs.getDouble("risk_score"));
+                                        row.setDecision(rs.getString("decision"));
+                                        return row;
+                                })
+                                .build();
+        }
+
+        /**
+         * Folds each chunk into the partition's PartialAggregate. The step
+         * ExecutionContext is persisted in the same transaction as the chunk.
+         */
+        @Bean(name = "partialAggregateWriter")
+        @StepScope
+        public ItemWriter<FraudCaseRow> partialAggregateWriter(
+                        @Value("#{stepExecution}") StepExecution stepExecution) {
+                return items -> {
+                        PartialAggregate partial = PartialAggregate.from(stepExecution.getExecutionContext());
+                        for (FraudCaseRow row : items) {
+                                partial.add(row);
+                        }
+                        partial.writeTo(stepExecution.getExecutionContext());
+                };
+        }
+
+        @Bean
+        public Step reduceDailyMetricsStep() {
+                return new StepBuilder("reduceDailyMetricsStep", jobRepository)
+                                .tasklet((contribution, chunkContext) -> {
+                                        Map<LocalDate, PartialAggregate> byDay = new TreeMap<>();
+                                        for (StepExecution worker : contribution.getStepExecution()
+                                                        .getJobExecution().getStepExecutions()) {
+                                                if (!worker.getStepName().startsWith(WORKER_STEP + ":")) {
+                                                        continue;
+                                                }
+                                                LocalDate day = LocalDate.parse(worker.getExecutionContext()
+                                                                .getString(CreatedAtRangePartitioner.METRIC_DATE));
+                                                byDay.computeIfAbsent(day, d -> new PartialAggregate())
+                                                                .merge(PartialAggregate.from(worker.getExecutionContext()));
+                                        }
+
+                                        byDay.forEach((day, total) -> {
+                                                AggregatedMetric metric = metricRepository.findByMetricDate(day)
+                                                                .orElse(AggregatedMetric.builder().metricDate(day).build());
+                                                total.applyTo(metric);
+                                                metricRepository.save(metric);
+                                                log.info("Aggregated metrics saved for {}: total={}", day, total.total());
+                                        });
+                                        return RepeatStatus.FINISHED;
+                                }, transactionManager)
+                                .build();
+        }
+}
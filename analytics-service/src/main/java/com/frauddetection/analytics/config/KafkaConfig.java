@@ -0,0 +1,76 @@
+package com.frauddetection.analytics.config;
+
+import com.frauddetection.analytics.streaming.DecisionStreamAggregator;
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.serialization.EventDeserializer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consumer wiring for streaming aggregation. Only loaded when
+ * analytics.streaming.enabled=true, so the batch-only deployment needs no broker.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "analytics.streaming", name = "enabled", havingValue = "true")
+@Slf4j
+public class KafkaConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${spring.kafka.consumer.group-id:analytics-group}")
+    private String groupId;
+
+    @Bean
+    public ConsumerFactory<String, FraudDecisionMadeEvent> consumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // Reads binary and JSON records alike, so producers can switch format per topic; a record
+        // it cannot decode becomes a DeserializationException instead of failing the poll forever
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, EventDeserializer.class);
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.frauddetection.common.events");
+        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, FraudDecisionMadeEvent.class.getName());
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    /**
+     * The aggregator is the rebalance listener: it seeks to the offsets stored
+     * with its last checkpoint and checkpoints partitions before they are revoked.
+     *
+     * Records the listener never sees — undecodable ones at once, others after
+     * the default retries — are handed to the aggregator as a null event, so
+     * its checkpointed offset moves past them too.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, FraudDecisionMadeEvent>
+    kafkaListenerContainerFactory(DecisionStreamAggregator aggregator) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, FraudDecisionMadeEvent>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.getContainerProperties().setConsumerRebalanceListener(aggregator);
+        factory.setCommonErrorHandler(new DefaultErrorHandler((record, e) -> {
+            log.error("Skipping fraud.decision.made record {}-{}@{}: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+            aggregator.record(new TopicPartition(record.topic(), record.partition()), record.offset(), null);
+        }));
+        return factory;
+    }
+}
@@ -0,0 +1,31 @@
+package com.frauddetection.analytics.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partitioned DailyFraudAnalyticsJob settings.
+ *
+ * <pre>
+ * analytics:
+ *   batch:
+ *     partitioned:
+ *       enabled: true
+ *       grid-size: 8        # created_at ranges per day
+ *       threads: 8          # partitions read concurrently (keep within the fraud_db pool)
+ *       fetch-size: 1000    # JDBC cursor fetch size per reader
+ *       chunk-size: 1000
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "analytics.batch.partitioned")
+@Data
+public class PartitionedBatchProperties {
+
+    private boolean enabled = false;
+    private int gridSize = 8;
+    private int threads = 8;
+    private int fetchSize = 1000;
+    private int chunkSize = 1000;
+}
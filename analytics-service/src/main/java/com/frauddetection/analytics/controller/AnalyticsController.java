@@ -1,14 +1,17 @@
 package com.frauddetection.analytics.controller;
 
 import com.frauddetection.analytics.entity.AggregatedMetric;
+import com.frauddetection.analytics.model.TopRiskEntry;
 import com.frauddetection.analytics.service.AnalyticsService;
 import com.frauddetection.common.dto.ErrorResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -40,12 +43,36 @@ public class AnalyticsController {
     }
 
     /**
-     * GET /api/analytics/top-risk-users?limit=10
+     * GET /api/analytics/top-risk-users?days=7&limit=10
+     * Served from user_risk_rollup_daily, or from fraud_cases while streaming is off.
      */
     @GetMapping("/top-risk-users")
-    public ResponseEntity<List<AggregatedMetric>> getTopRiskUsers(
+    public ResponseEntity<List<TopRiskEntry>> getTopRiskUsers(
+            @RequestParam(value = "days", defaultValue = "7") int days,
             @RequestParam(value = "limit", defaultValue = "10") int limit) {
-        return ResponseEntity.ok(analyticsService.getTopRiskUsers(limit));
+        return ResponseEntity.ok(analyticsService.getTopRiskUsers(days, limit));
+    }
+
+    /**
+     * GET /api/analytics/top-risk-locations?hours=24&limit=10
+     * Served from fraud_rollup_hourly; 409 while streaming is off.
+     */
+    @GetMapping("/top-risk-locations")
+    public ResponseEntity<List<TopRiskEntry>> getTopRiskLocations(
+            @RequestParam(value = "hours", defaultValue = "24") int hours,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(analyticsService.getTopRiskLocations(hours, limit));
+    }
+
+    /**
+     * GET /api/analytics/top-risk-merchants?hours=24&limit=10
+     * Served from fraud_rollup_hourly; 409 while streaming is off.
+     */
+    @GetMapping("/top-risk-merchants")
+    public ResponseEntity<List<TopRiskEntry>> getTopRiskMerchants(
+            @RequestParam(value = "hours", defaultValue = "24") int hours,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(analyticsService.getTopRiskMerchants(hours, limit));
     }
 
     /**
@@ -65,4 +92,28 @@ public class AnalyticsController {
                             e.getMessage(), req.getRequestURI()));
         }
     }
+
+    /**
+     * POST /api/analytics/backfill?from=2026-02-01&to=2026-03-01
+     * Re-aggregates every day in [from, to) with the partitioned job.
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<?> backfill(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest req) {
+        try {
+            analyticsService.triggerBackfill(from, to);
+            return ResponseEntity.ok(
+                    Map.of("status", "BACKFILL_COMPLETED",
+                            "message", "DailyFraudAnalyticsJob aggregated " + from + " .. " + to));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage(), req.getRequestURI()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR,
+                            e.getMessage(), req.getRequestURI()));
+        }
+    }
 }
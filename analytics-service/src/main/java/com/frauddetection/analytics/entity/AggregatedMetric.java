@@ -35,6 +35,7 @@ public class AggregatedMetric {
     private Double fraudRate; // fraudCount / totalTransactions
     private String topRiskGeography;
     private Double avgRiskScore;
+    private Double riskScoreSum; // lets streaming checkpoints recompute avgRiskScore incrementally
 
     @CreationTimestamp
     private LocalDateTime createdAt;
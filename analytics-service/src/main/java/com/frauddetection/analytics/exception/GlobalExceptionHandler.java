@@ -28,6 +28,12 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, ex.getMessage(), req.getRequestURI());
     }
 
+    @ExceptionHandler(RollupUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleRollupUnavailable(
+            RollupUnavailableException ex, HttpServletRequest req) {
+        return build(HttpStatus.CONFLICT, ex.getMessage(), req.getRequestURI());
+    }
+
     /** Catch-all — never expose raw stack traces to clients. */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneral(
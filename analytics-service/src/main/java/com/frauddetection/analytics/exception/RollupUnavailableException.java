@@ -0,0 +1,12 @@
+package com.frauddetection.analytics.exception;
+
+/**
+ * A ranking was requested that only the streaming rollups can answer while
+ * analytics.streaming.enabled is false; mapped to HTTP 409.
+ */
+public class RollupUnavailableException extends RuntimeException {
+
+    public RollupUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.frauddetection.analytics.kafka;
+
+import com.frauddetection.analytics.streaming.DecisionStreamAggregator;
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thin Kafka adapter — hands every FraudDecisionMadeEvent, with its partition
+ * and offset, to DecisionStreamAggregator.
+ */
+@Component
+@ConditionalOnProperty(prefix = "analytics.streaming", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FraudDecisionStreamConsumer {
+
+    private final DecisionStreamAggregator aggregator;
+
+    @KafkaListener(topics = "${kafka.topics.fraud-decision-made:fraud.decision.made}", groupId = "${spring.kafka.consumer.group-id:analytics-group}", containerFactory = "kafkaListenerContainerFactory")
+    public void onFraudDecisionMade(ConsumerRecord<String, FraudDecisionMadeEvent> record) {
+        aggregator.record(new TopicPartition(record.topic(), record.partition()), record.offset(), record.value());
+    }
+}
@@ -0,0 +1,12 @@
+package com.frauddetection.analytics.model;
+
+/**
+ * One ranked row of a top-N query over the rollup tables. {@code key} is the
+ * userId, location or merchantType depending on the endpoint.
+ */
+public record TopRiskEntry(String key,
+                           long totalTransactions,
+                           long blockCount,
+                           long reviewCount,
+                           double avgRiskScore) {
+}
@@ -0,0 +1,42 @@
+package com.frauddetection.analytics.repository;
+
+import com.frauddetection.analytics.model.TopRiskEntry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only top-N queries straight against fraud_db.fraud_cases, for when the
+ * rollups are not maintained (analytics.streaming.enabled=false). Ranks like
+ * RollupRepository; the created_at range is served by idx_case_created_at.
+ */
+@Repository
+public class FraudCaseQueryRepository {
+
+    private static final String TOP_USERS_SQL = """
+            SELECT user_id AS dim, COUNT(*) AS total,
+                   COUNT(*) FILTER (WHERE decision = 'BLOCK')  AS blocks,
+                   COUNT(*) FILTER (WHERE decision = 'REVIEW') AS reviews,
+                   SUM(risk_score) AS score_sum
+            FROM fraud_cases
+            WHERE created_at >= ?
+            GROUP BY user_id
+            ORDER BY blocks DESC, reviews DESC, total DESC
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FraudCaseQueryRepository(@Qualifier("fraudDataSource") DataSource fraudDataSource) {
+        this.jdbcTemplate = new JdbcTemplate(fraudDataSource);
+    }
+
+    public List<TopRiskEntry> findTopUsers(LocalDateTime from, int limit) {
+        return jdbcTemplate.query(TOP_USERS_SQL, RollupRepository.TOP_ENTRY_MAPPER, Timestamp.valueOf(from), limit);
+    }
+}
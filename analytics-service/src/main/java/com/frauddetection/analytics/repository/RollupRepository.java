@@ -0,0 +1,153 @@
+package com.frauddetection.analytics.repository;
+
+import com.frauddetection.analytics.model.TopRiskEntry;
+import com.frauddetection.analytics.streaming.DecisionCounts;
+import com.frauddetection.analytics.streaming.RollupKey;
+import com.frauddetection.analytics.streaming.UserDayKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-aggregated rollups kept up to date by streaming checkpoints:
+ * fraud_rollup_hourly (hour × location × merchantType × riskLevel) and
+ * user_risk_rollup_daily (day × userId). Top-N queries group a time range of
+ * rollup rows and never touch fraud_cases. Only DecisionStreamAggregator
+ * writes them, so they are empty while analytics.streaming.enabled is false.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RollupRepository {
+
+    private static final String UPSERT_HOURLY_SQL = """
+            INSERT INTO fraud_rollup_hourly (bucket_hour, location, merchant_type, risk_level,
+                                             total, block_count, review_count, approve_count, risk_score_sum)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (bucket_hour, location, merchant_type, risk_level) DO UPDATE SET
+                total          = fraud_rollup_hourly.total          + EXCLUDED.total,
+                block_count    = fraud_rollup_hourly.block_count    + EXCLUDED.block_count,
+                review_count   = fraud_rollup_hourly.review_count   + EXCLUDED.review_count,
+                approve_count  = fraud_rollup_hourly.approve_count  + EXCLUDED.approve_count,
+                risk_score_sum = fraud_rollup_hourly.risk_score_sum + EXCLUDED.risk_score_sum
+            """;
+
+    private static final String UPSERT_USER_DAILY_SQL = """
+            INSERT INTO user_risk_rollup_daily (metric_date, user_id,
+                                                total, block_count, review_count, approve_count, risk_score_sum)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (metric_date, user_id) DO UPDATE SET
+                total          = user_risk_rollup_daily.total          + EXCLUDED.total,
+                block_count    = user_risk_rollup_daily.block_count    + EXCLUDED.block_count,
+                review_count   = user_risk_rollup_daily.review_count   + EXCLUDED.review_count,
+                approve_count  = user_risk_rollup_daily.approve_count  + EXCLUDED.approve_count,
+                risk_score_sum = user_risk_rollup_daily.risk_score_sum + EXCLUDED.risk_score_sum
+            """;
+
+    private static final String REFRESH_TOP_GEOGRAPHY_SQL = """
+            UPDATE aggregated_metrics SET top_risk_geography = (
+                SELECT location FROM fraud_rollup_hourly
+                WHERE bucket_hour >= ? AND bucket_hour < ?
+                GROUP BY location
+                ORDER BY SUM(block_count) DESC, SUM(total) DESC
+                LIMIT 1)
+            WHERE metric_date = ?
+            """;
+
+    private static final String TOP_USERS_SQL = """
+            SELECT user_id AS dim, SUM(total) AS total, SUM(block_count) AS blocks,
+                   SUM(review_count) AS reviews, SUM(risk_score_sum) AS score_sum
+            FROM user_risk_rollup_daily
+            WHERE metric_date >= ?
+            GROUP BY user_id
+            ORDER BY blocks DESC, reviews DESC, total DESC
+            LIMIT ?
+            """;
+
+    private static final String TOP_LOCATIONS_SQL = """
+            SELECT location AS dim, SUM(total) AS total, SUM(block_count) AS blocks,
+                   SUM(review_count) AS reviews, SUM(risk_score_sum) AS score_sum
+            FROM fraud_rollup_hourly
+            WHERE bucket_hour >= ?
+            GROUP BY location
+            ORDER BY blocks DESC, reviews DESC, total DESC
+            LIMIT ?
+            """;
+
+    private static final String TOP_MERCHANTS_SQL = """
+            SELECT merchant_type AS dim, SUM(total) AS total, SUM(block_count) AS blocks,
+                   SUM(review_count) AS reviews, SUM(risk_score_sum) AS score_sum
+            FROM fraud_rollup_hourly
+            WHERE bucket_hour >= ?
+            GROUP BY merchant_type
+            ORDER BY blocks DESC, reviews DESC, total DESC
+            LIMIT ?
+            """;
+
+    /** Shared with FraudCaseQueryRepository: dim, total, blocks, reviews, score_sum. */
+    static final RowMapper<TopRiskEntry> TOP_ENTRY_MAPPER = (rs, rowNum) -> {
+        long total = rs.getLong("total");
+        return new TopRiskEntry(
+                rs.getString("dim"),
+                total,
+                rs.getLong("blocks"),
+                rs.getLong("reviews"),
+                total > 0 ? rs.getDouble("score_sum") / total : 0.0);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Pass a sorted map so concurrent instances lock rows in the same order. */
+    public void addHourlyDeltas(Map<RollupKey, DecisionCounts> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((key, c) -> args.add(new Object[] {
+                Timestamp.valueOf(key.hour()), key.location(), key.merchantType(), key.riskLevel(),
+                c.getTotal(), c.getBlockCount(), c.getReviewCount(), c.getApproveCount(), c.getRiskScoreSum()
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_HOURLY_SQL, args);
+    }
+
+    /** Pass a sorted map so concurrent instances lock rows in the same order. */
+    public void addUserDeltas(Map<UserDayKey, DecisionCounts> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((key, c) -> args.add(new Object[] {
+                Date.valueOf(key.day()), key.userId(),
+                c.getTotal(), c.getBlockCount(), c.getReviewCount(), c.getApproveCount(), c.getRiskScoreSum()
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_USER_DAILY_SQL, args);
+    }
+
+    /** Sets aggregated_metrics.top_risk_geography of each day from that day's hourly rollups. */
+    public void refreshTopRiskGeography(Collection<LocalDate> days) {
+        List<Object[]> args = new ArrayList<>(days.size());
+        for (LocalDate day : days) {
+            args.add(new Object[] {
+                    Timestamp.valueOf(day.atStartOfDay()),
+                    Timestamp.valueOf(day.plusDays(1).atStartOfDay()),
+                    Date.valueOf(day)
+            });
+        }
+        jdbcTemplate.batchUpdate(REFRESH_TOP_GEOGRAPHY_SQL, args);
+    }
+
+    public List<TopRiskEntry> findTopUsers(LocalDate fromDay, int limit) {
+        return jdbcTemplate.query(TOP_USERS_SQL, TOP_ENTRY_MAPPER, Date.valueOf(fromDay), limit);
+    }
+
+    public List<TopRiskEntry> findTopLocations(LocalDateTime fromHour, int limit) {
+        return jdbcTemplate.query(TOP_LOCATIONS_SQL, TOP_ENTRY_MAPPER, Timestamp.valueOf(fromHour), limit);
+    }
+
+    public List<TopRiskEntry> findTopMerchants(LocalDateTime fromHour, int limit) {
+        return jdbcTemplate.query(TOP_MERCHANTS_SQL, TOP_ENTRY_MAPPER, Timestamp.valueOf(fromHour), limit);
+    }
+}
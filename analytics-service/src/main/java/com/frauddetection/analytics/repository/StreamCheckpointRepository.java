@@ -0,0 +1,98 @@
+package com.frauddetection.analytics.repository;
+
+import com.frauddetection.analytics.streaming.DecisionCounts;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access for the streaming aggregation checkpoint: additive upserts into
+ * aggregated_metrics and the consumed offsets in stream_checkpoints. Callers
+ * run both in one transaction so counters and offsets never disagree.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StreamCheckpointRepository {
+
+    private static final String UPSERT_METRIC_DELTA_SQL = """
+            INSERT INTO aggregated_metrics (metric_date, total_transactions, fraud_count, review_count,
+                                            block_count, approve_count, risk_score_sum, fraud_rate,
+                                            avg_risk_score, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())
+            ON CONFLICT (metric_date) DO UPDATE SET
+                total_transactions = COALESCE(aggregated_metrics.total_transactions, 0) + EXCLUDED.total_transactions,
+                fraud_count        = COALESCE(aggregated_metrics.fraud_count, 0)        + EXCLUDED.fraud_count,
+                review_count       = COALESCE(aggregated_metrics.review_count, 0)       + EXCLUDED.review_count,
+                block_count        = COALESCE(aggregated_metrics.block_count, 0)        + EXCLUDED.block_count,
+                approve_count      = COALESCE(aggregated_metrics.approve_count, 0)      + EXCLUDED.approve_count,
+                risk_score_sum     = COALESCE(aggregated_metrics.risk_score_sum, 0)     + EXCLUDED.risk_score_sum,
+                fraud_rate = (COALESCE(aggregated_metrics.fraud_count, 0) + EXCLUDED.fraud_count)::double precision
+                        / (COALESCE(aggregated_metrics.total_transactions, 0) + EXCLUDED.total_transactions),
+                avg_risk_score = (COALESCE(aggregated_metrics.risk_score_sum, 0) + EXCLUDED.risk_score_sum)
+                        / (COALESCE(aggregated_metrics.total_transactions, 0) + EXCLUDED.total_transactions)
+            """;
+
+    private static final String UPSERT_OFFSET_SQL = """
+            INSERT INTO stream_checkpoints (consumer_group, topic, partition_id, next_offset, updated_at)
+            VALUES (?, ?, ?, ?, NOW())
+            ON CONFLICT (consumer_group, topic, partition_id)
+            DO UPDATE SET next_offset = EXCLUDED.next_offset, updated_at = NOW()
+            """;
+
+    private static final String SELECT_OFFSETS_SQL =
+            "SELECT topic, partition_id, next_offset FROM stream_checkpoints WHERE consumer_group = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds each day's counters onto its aggregated_metrics row (created on first
+     * use) and recomputes fraud_rate / avg_risk_score from the new totals.
+     * Rows are written in map iteration order; pass a sorted map so concurrent
+     * instances lock rows in the same order.
+     */
+    public void addMetricDeltas(Map<LocalDate, DecisionCounts> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((date, c) -> args.add(new Object[] {
+                Date.valueOf(date),
+                c.getTotal(),
+                c.getBlockCount(), // fraud_count counts BLOCK decisions, as in the batch job
+                c.getReviewCount(),
+                c.getBlockCount(),
+                c.getApproveCount(),
+                c.getRiskScoreSum(),
+                (double) c.getBlockCount() / c.getTotal(),
+                c.getRiskScoreSum() / c.getTotal()
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_METRIC_DELTA_SQL, args);
+    }
+
+    public void saveOffsets(String consumerGroup, Map<TopicPartition, Long> nextOffsets) {
+        List<Object[]> args = new ArrayList<>(nextOffsets.size());
+        nextOffsets.forEach((tp, offset) ->
+                args.add(new Object[] { consumerGroup, tp.topic(), tp.partition(), offset }));
+        jdbcTemplate.batchUpdate(UPSERT_OFFSET_SQL, args);
+    }
+
+    /**
+     * @return stored next offset for each of the given partitions that has one
+     */
+    public Map<TopicPartition, Long> findOffsets(String consumerGroup, Collection<TopicPartition> partitions) {
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        jdbcTemplate.query(SELECT_OFFSETS_SQL, rs -> {
+            TopicPartition tp = new TopicPartition(rs.getString("topic"), rs.getInt("partition_id"));
+            if (partitions.contains(tp)) {
+                offsets.put(tp, rs.getLong("next_offset"));
+            }
+        }, consumerGroup);
+        return offsets;
+    }
+}
@@ -1,14 +1,32 @@
 package com.frauddetection.analytics.service;
 
 import com.frauddetection.analytics.entity.AggregatedMetric;
+import com.frauddetection.analytics.model.TopRiskEntry;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface AnalyticsService {
 
     List<AggregatedMetric> getDailySummary(int days);
 
-    List<AggregatedMetric> getTopRiskUsers(int limit);
+    /**
+     * Users ranked by BLOCK, then REVIEW decisions over the last {@code days} days (today included).
+     * Served from user_risk_rollup_daily with streaming on, from fraud_cases otherwise.
+     */
+    List<TopRiskEntry> getTopRiskUsers(int days, int limit);
+
+    /**
+     * Locations ranked like getTopRiskUsers over the last {@code hours} hours (current hour included).
+     * Needs the streaming rollups; throws RollupUnavailableException without them.
+     */
+    List<TopRiskEntry> getTopRiskLocations(int hours, int limit);
+
+    /** Merchant types ranked like getTopRiskLocations over the last {@code hours} hours. */
+    List<TopRiskEntry> getTopRiskMerchants(int hours, int limit);
 
     void triggerDailyBatch() throws Exception;
+
+    /** Re-aggregates [from, to) with the partitioned job. */
+    void triggerBackfill(LocalDate from, LocalDate to) throws Exception;
 }
@@ -2,13 +2,21 @@ package com.frauddetection.analytics.service.impl;
 
 import com.frauddetection.analytics.batch.BatchJobLauncher;
 import com.frauddetection.analytics.entity.AggregatedMetric;
+import com.frauddetection.analytics.exception.RollupUnavailableException;
+import com.frauddetection.analytics.model.TopRiskEntry;
 import com.frauddetection.analytics.repository.AggregatedMetricRepository;
+import com.frauddetection.analytics.repository.FraudCaseQueryRepository;
+import com.frauddetection.analytics.repository.RollupRepository;
 import com.frauddetection.analytics.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
@@ -16,17 +24,68 @@ import java.util.List;
 @Slf4j
 public class AnalyticsServiceImpl implements AnalyticsService {
 
+    static final int MAX_DAYS = 366;
+    static final int MAX_HOURS = 24 * 31;
+    static final int MAX_LIMIT = 100;
+
     private final AggregatedMetricRepository metricRepository;
+    private final RollupRepository rollupRepository;
+    private final FraudCaseQueryRepository fraudCaseQueryRepository;
     private final BatchJobLauncher batchJobLauncher;
 
+    /** The rollups are only written by DecisionStreamAggregator. */
+    @Value("${analytics.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
     @Override
     public List<AggregatedMetric> getDailySummary(int days) {
+        requireInRange("days", days, MAX_DAYS);
         return metricRepository.findRecentMetrics(PageRequest.of(0, days));
     }
 
     @Override
-    public List<AggregatedMetric> getTopRiskUsers(int limit) {
-        return metricRepository.findRecentMetrics(PageRequest.of(0, limit));
+    public List<TopRiskEntry> getTopRiskUsers(int days, int limit) {
+        requireInRange("days", days, MAX_DAYS);
+        requireInRange("limit", limit, MAX_LIMIT);
+        LocalDate from = LocalDate.now().minusDays(days - 1L);
+        if (!streamingEnabled) {
+            return fraudCaseQueryRepository.findTopUsers(from.atStartOfDay(), limit);
+        }
+        return rollupRepository.findTopUsers(from, limit);
+    }
+
+    @Override
+    public List<TopRiskEntry> getTopRiskLocations(int hours, int limit) {
+        requireInRange("hours", hours, MAX_HOURS);
+        requireInRange("limit", limit, MAX_LIMIT);
+        requireRollups("Location");
+        return rollupRepository.findTopLocations(windowStart(hours), limit);
+    }
+
+    @Override
+    public List<TopRiskEntry> getTopRiskMerchants(int hours, int limit) {
+        requireInRange("hours", hours, MAX_HOURS);
+        requireInRange("limit", limit, MAX_LIMIT);
+        requireRollups("Merchant");
+        return rollupRepository.findTopMerchants(windowStart(hours), limit);
+    }
+
+    private static LocalDateTime windowStart(int hours) {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(hours - 1L);
+    }
+
+    private static void requireInRange(String name, int value, int max) {
+        if (value < 1 || value > max) {
+            throw new IllegalArgumentException(name + " must be between 1 and " + max + ": " + value);
+        }
+    }
+
+    /** fraud_cases has no location or merchant type; only the decision stream carries them. */
+    private void requireRollups(String dimension) {
+        if (!streamingEnabled) {
+            throw new RollupUnavailableException(
+                    dimension + " rankings need analytics.streaming.enabled=true");
+        }
     }
 
     @Override
@@ -35,4 +94,10 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         batchJobLauncher.launchDailyJob();
         log.info("DailyFraudAnalyticsJob launched successfully");
     }
+
+    @Override
+    public void triggerBackfill(LocalDate from, LocalDate to) throws Exception {
+        log.info("Backfill requested: {} .. {}", from, to);
+        batchJobLauncher.launchBackfill(from, to);
+    }
 }
@@ -0,0 +1,39 @@
+package com.frauddetection.analytics.streaming;
+
+import lombok.Getter;
+
+/**
+ * Additive per-day decision counters. Sums (not averages) so partial counts
+ * from different partitions and checkpoints combine exactly.
+ */
+@Getter
+public class DecisionCounts {
+
+    private long total;
+    private long blockCount;
+    private long reviewCount;
+    private long approveCount;
+    private double riskScoreSum;
+
+    void add(String decision, Double riskScore) {
+        total++;
+        if ("BLOCK".equalsIgnoreCase(decision)) {
+            blockCount++;
+        } else if ("REVIEW".equalsIgnoreCase(decision)) {
+            reviewCount++;
+        } else if ("APPROVE".equalsIgnoreCase(decision)) {
+            approveCount++;
+        }
+        if (riskScore != null) {
+            riskScoreSum += riskScore;
+        }
+    }
+
+    void merge(DecisionCounts other) {
+        total += other.total;
+        blockCount += other.blockCount;
+        reviewCount += other.reviewCount;
+        approveCount += other.approveCount;
+        riskScoreSum += other.riskScoreSum;
+    }
+}
@@ -0,0 +1,233 @@
+package com.frauddetection.analytics.streaming;
+
+import com.frauddetection.analytics.repository.RollupRepository;
+import com.frauddetection.analytics.repository.StreamCheckpointRepository;
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Incremental replacement for the nightly DailyFraudAnalyticsJob.
+ *
+ * Every fraud.decision.made record is folded into in-memory per-day counters,
+ * kept per partition together with the next offset to consume. Every
+ * checkpoint-interval-ms the pending counters are added onto aggregated_metrics
+ * and the offsets saved to stream_checkpoints in one DB transaction. On
+ * assignment the consumer seeks to the stored offsets, so after a crash or
+ * rebalance exactly the records that never reached a checkpoint are replayed —
+ * nothing is counted twice or lost, whatever the volume.
+ *
+ * The same checkpoint adds the hour × location × merchantType × riskLevel and
+ * day × user cells to fraud_rollup_hourly / user_risk_rollup_daily and
+ * refreshes top_risk_geography of the touched days.
+ *
+ * Partitions are checkpointed before they are revoked; if that fails (or they
+ * are lost) their pending counters are dropped because the next owner replays
+ * them from the last checkpoint.
+ */
+@Component
+@ConditionalOnProperty(prefix = "analytics.streaming", name = "enabled", havingValue = "true")
+@Slf4j
+public class DecisionStreamAggregator implements ConsumerAwareRebalanceListener {
+
+    /** Counters and next offset accumulated for one partition since its last checkpoint. */
+    private static final class PartitionState {
+        final Map<LocalDate, DecisionCounts> byDate = new HashMap<>();
+        final Map<RollupKey, DecisionCounts> byCell = new HashMap<>();
+        final Map<UserDayKey, DecisionCounts> byUser = new HashMap<>();
+        long nextOffset;
+        long events;
+
+        void add(FraudDecisionMadeEvent event) {
+            LocalDateTime decidedAt = event.getDecidedAt() != null ? event.getDecidedAt() : LocalDateTime.now();
+            LocalDate day = decidedAt.toLocalDate();
+            String decision = event.getDecision();
+            Double score = event.getRiskScore();
+            byDate.computeIfAbsent(day, d -> new DecisionCounts()).add(decision, score);
+            byCell.computeIfAbsent(RollupKey.of(decidedAt, event.getLocation(), event.getMerchantType(),
+                    event.getRiskLevel()), k -> new DecisionCounts()).add(decision, score);
+            byUser.computeIfAbsent(new UserDayKey(day, RollupKey.orUnknown(event.getUserId())),
+                    k -> new DecisionCounts()).add(decision, score);
+            events++;
+        }
+
+        void mergeCounts(PartitionState other) {
+            mergeInto(byDate, other.byDate);
+            mergeInto(byCell, other.byCell);
+            mergeInto(byUser, other.byUser);
+            events += other.events;
+        }
+    }
+
+    private static <K> void mergeInto(Map<K, DecisionCounts> target, Map<K, DecisionCounts> source) {
+        source.forEach((key, counts) -> target.computeIfAbsent(key, k -> new DecisionCounts()).merge(counts));
+    }
+
+    private final StreamCheckpointRepository checkpointRepository;
+    private final RollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String consumerGroup;
+
+    private final Object lock = new Object();
+    // Serializes checkpoints so a revocation waits for an in-flight scheduled one
+    private final Object checkpointLock = new Object();
+    private Map<TopicPartition, PartitionState> pending = new HashMap<>();
+
+    public DecisionStreamAggregator(StreamCheckpointRepository checkpointRepository,
+                                    RollupRepository rollupRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${spring.kafka.consumer.group-id:analytics-group}") String consumerGroup) {
+        this.checkpointRepository = checkpointRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.consumerGroup = consumerGroup;
+    }
+
+    /**
+     * Folds one record into the pending counters. A null event (a record the
+     * container skipped, see KafkaConfig's error handler) only advances the offset.
+     */
+    public void record(TopicPartition partition, long offset, FraudDecisionMadeEvent event) {
+        synchronized (lock) {
+            PartitionState state = pending.computeIfAbsent(partition, p -> new PartitionState());
+            if (event != null) {
+                state.add(event);
+            }
+            state.nextOffset = offset + 1;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.streaming.checkpoint-interval-ms:1000}")
+    public void scheduledCheckpoint() {
+        try {
+            checkpoint(null);
+        } catch (Exception e) {
+            log.error("Streaming aggregation checkpoint failed, will retry: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes pending counters and offsets in one transaction. On failure the
+     * taken state is merged back so the next checkpoint retries it.
+     *
+     * @param partitions partitions to checkpoint, or null for all
+     * @return number of events checkpointed
+     */
+    public long checkpoint(Collection<TopicPartition> partitions) {
+        synchronized (checkpointLock) {
+            return write(take(partitions));
+        }
+    }
+
+    private long write(Map<TopicPartition, PartitionState> taken) {
+        if (taken.isEmpty()) {
+            return 0;
+        }
+
+        // Sorted keys so concurrent instances lock rows in the same order
+        Map<LocalDate, DecisionCounts> deltas = new TreeMap<>();
+        Map<RollupKey, DecisionCounts> cells = new TreeMap<>();
+        Map<UserDayKey, DecisionCounts> users = new TreeMap<>();
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        long events = 0;
+        for (Map.Entry<TopicPartition, PartitionState> e : taken.entrySet()) {
+            PartitionState state = e.getValue();
+            mergeInto(deltas, state.byDate);
+            mergeInto(cells, state.byCell);
+            mergeInto(users, state.byUser);
+            offsets.put(e.getKey(), state.nextOffset);
+            events += state.events;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!deltas.isEmpty()) {
+                    checkpointRepository.addMetricDeltas(deltas);
+                    rollupRepository.addHourlyDeltas(cells);
+                    rollupRepository.addUserDeltas(users);
+                    rollupRepository.refreshTopRiskGeography(deltas.keySet());
+                }
+                checkpointRepository.saveOffsets(consumerGroup, offsets);
+            });
+        } catch (RuntimeException e) {
+            restore(taken);
+            throw e;
+        }
+        log.debug("Streaming aggregation checkpointed {} events over {} days", events, deltas.size());
+        return events;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // Without a stored offset the group's committed offset (or auto-offset-reset) applies
+        checkpointRepository.findOffsets(consumerGroup, partitions).forEach(consumer::seek);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        try {
+            checkpoint(partitions);
+        } catch (Exception e) {
+            log.error("Checkpoint on revocation failed, next owner replays {}: {}", partitions, e.getMessage(), e);
+            discard(partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        discard(partitions);
+    }
+
+    private Map<TopicPartition, PartitionState> take(Collection<TopicPartition> partitions) {
+        synchronized (lock) {
+            if (partitions == null) {
+                Map<TopicPartition, PartitionState> all = pending;
+                pending = new HashMap<>();
+                return all;
+            }
+            Map<TopicPartition, PartitionState> some = new HashMap<>();
+            for (TopicPartition tp : partitions) {
+                PartitionState state = pending.remove(tp);
+                if (state != null) {
+                    some.put(tp, state);
+                }
+            }
+            return some;
+        }
+    }
+
+    private void restore(Map<TopicPartition, PartitionState> taken) {
+        synchronized (lock) {
+            taken.forEach((tp, old) -> {
+                PartitionState current = pending.get(tp);
+                if (current == null) {
+                    pending.put(tp, old);
+                    return;
+                }
+                current.mergeCounts(old);
+                current.nextOffset = Math.max(current.nextOffset, old.nextOffset);
+            });
+        }
+    }
+
+    private void discard(Collection<TopicPartition> partitions) {
+        synchronized (lock) {
+            pending.keySet().removeAll(partitions);
+        }
+    }
+}
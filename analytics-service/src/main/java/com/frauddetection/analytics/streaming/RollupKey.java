@@ -0,0 +1,35 @@
+package com.frauddetection.analytics.streaming;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+
+/**
+ * One cell of fraud_rollup_hourly: hour bucket × location × merchantType × riskLevel.
+ * Ordered like the table's primary key so checkpoints upsert rows in index order.
+ */
+public record RollupKey(LocalDateTime hour, String location, String merchantType, String riskLevel)
+        implements Comparable<RollupKey> {
+
+    /** Stored for events whose producer did not carry the dimension. */
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::hour)
+            .thenComparing(RollupKey::location)
+            .thenComparing(RollupKey::merchantType)
+            .thenComparing(RollupKey::riskLevel);
+
+    static RollupKey of(LocalDateTime decidedAt, String location, String merchantType, String riskLevel) {
+        return new RollupKey(decidedAt.truncatedTo(ChronoUnit.HOURS),
+                orUnknown(location), orUnknown(merchantType), orUnknown(riskLevel));
+    }
+
+    static String orUnknown(String value) {
+        return value == null || value.isBlank() ? UNKNOWN : value;
+    }
+
+    @Override
+    public int compareTo(RollupKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,16 @@
+package com.frauddetection.analytics.streaming;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/** One row of user_risk_rollup_daily, ordered like its primary key. */
+public record UserDayKey(LocalDate day, String userId) implements Comparable<UserDayKey> {
+
+    private static final Comparator<UserDayKey> ORDER =
+            Comparator.comparing(UserDayKey::day).thenComparing(UserDayKey::userId);
+
+    @Override
+    public int compareTo(UserDayKey other) {
+        return ORDER.compare(this, other);
+    }
+}
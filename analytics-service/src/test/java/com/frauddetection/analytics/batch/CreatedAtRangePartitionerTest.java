@@ -0,0 +1,49 @@
+package com.frauddetection.analytics.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CreatedAtRangePartitionerTest {
+
+    @Test
+    @DisplayName("partition: gridSize contiguous half-open ranges per day covering [from, to)")
+    void partition_coversRangeWithoutGaps() {
+        CreatedAtRangePartitioner partitioner =
+                new CreatedAtRangePartitioner(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3));
+
+        Map<String, ExecutionContext> partitions = partitioner.partition(7);
+
+        assertThat(partitions).hasSize(14);
+        List<ExecutionContext> ordered = new ArrayList<>(partitions.values());
+        assertThat(ordered.getFirst().getString(CreatedAtRangePartitioner.FROM)).isEqualTo("2026-03-01T00:00");
+        assertThat(ordered.getLast().getString(CreatedAtRangePartitioner.TO)).isEqualTo("2026-03-03T00:00");
+        for (int i = 1; i < ordered.size(); i++) {
+            assertThat(ordered.get(i).getString(CreatedAtRangePartitioner.FROM))
+                    .isEqualTo(ordered.get(i - 1).getString(CreatedAtRangePartitioner.TO));
+        }
+        for (ExecutionContext ctx : ordered) {
+            LocalDateTime from = LocalDateTime.parse(ctx.getString(CreatedAtRangePartitioner.FROM));
+            assertThat(ctx.getString(CreatedAtRangePartitioner.METRIC_DATE))
+                    .isEqualTo(from.toLocalDate().toString());
+        }
+        assertThat(partitions).containsKey("2026-03-02_6");
+    }
+
+    @Test
+    @DisplayName("constructor: empty date range is rejected")
+    void emptyRange_throws() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        assertThatThrownBy(() -> new CreatedAtRangePartitioner(day, day))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,6 +1,8 @@
 package com.frauddetection.analytics.controller;
 
 import com.frauddetection.analytics.entity.AggregatedMetric;
+import com.frauddetection.analytics.exception.RollupUnavailableException;
+import com.frauddetection.analytics.model.TopRiskEntry;
 import com.frauddetection.analytics.service.AnalyticsService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,7 +22,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Layer 2: REST API slice test for AnalyticsController.
  *
- * Covers: daily-summary, top-risk-users, run-batch (success + failure).
+ * Covers: daily-summary, top-risk-users/locations (incl. 400 / 409), run-batch (success + failure).
  */
 @WebMvcTest(AnalyticsController.class)
 class AnalyticsControllerTest {
@@ -56,13 +58,47 @@ class AnalyticsControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/analytics/top-risk-users → 200 with list")
+    @DisplayName("GET /api/analytics/top-risk-users → 200 with ranked users (7 days, top 10 by default)")
     void getTopRiskUsers_returns200() throws Exception {
-        when(analyticsService.getTopRiskUsers(10)).thenReturn(List.of(sampleMetric()));
+        when(analyticsService.getTopRiskUsers(7, 10))
+                .thenReturn(List.of(new TopRiskEntry("u001", 20, 5, 3, 0.74)));
 
         mockMvc.perform(get("/api/analytics/top-risk-users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$[0].key").value("u001"))
+                .andExpect(jsonPath("$[0].blockCount").value(5));
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/top-risk-locations?hours=6&limit=3 → 200 with ranked locations")
+    void getTopRiskLocations_returns200() throws Exception {
+        when(analyticsService.getTopRiskLocations(6, 3))
+                .thenReturn(List.of(new TopRiskEntry("Lagos", 40, 9, 6, 0.66)));
+
+        mockMvc.perform(get("/api/analytics/top-risk-locations").param("hours", "6").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value("Lagos"));
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/top-risk-locations → 409 while the rollups are not maintained")
+    void getTopRiskLocations_streamingOff_returns409() throws Exception {
+        when(analyticsService.getTopRiskLocations(24, 10))
+                .thenThrow(new RollupUnavailableException("Location rankings need analytics.streaming.enabled=true"));
+
+        mockMvc.perform(get("/api/analytics/top-risk-locations"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Location rankings need analytics.streaming.enabled=true"));
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/top-risk-users?limit=0 → 400")
+    void getTopRiskUsers_invalidLimit_returns400() throws Exception {
+        when(analyticsService.getTopRiskUsers(7, 0))
+                .thenThrow(new IllegalArgumentException("limit must be between 1 and 100: 0"));
+
+        mockMvc.perform(get("/api/analytics/top-risk-users").param("limit", "0"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -2,22 +2,30 @@ package com.frauddetection.analytics.service;
 
 import com.frauddetection.analytics.batch.BatchJobLauncher;
 import com.frauddetection.analytics.entity.AggregatedMetric;
+import com.frauddetection.analytics.exception.RollupUnavailableException;
+import com.frauddetection.analytics.model.TopRiskEntry;
 import com.frauddetection.analytics.repository.AggregatedMetricRepository;
+import com.frauddetection.analytics.repository.FraudCaseQueryRepository;
+import com.frauddetection.analytics.repository.RollupRepository;
 import com.frauddetection.analytics.service.impl.AnalyticsServiceImpl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -25,7 +33,9 @@ import static org.mockito.Mockito.*;
  *
  * Verifies:
  * - getDailySummary() delegates to repository with correct PageRequest
- * - getTopRiskUsers() uses the limit parameter correctly
+ * - getTopRiskUsers() queries the user rollup from the start of the day window,
+ * or fraud_cases while streaming is off
+ * - location / merchant rankings need the rollups; days, hours and limit are bounded
  * - triggerDailyBatch() delegates to BatchJobLauncher
  * - triggerDailyBatch() propagates exceptions (tested by controller for 500
  * response)
@@ -36,6 +46,12 @@ class AnalyticsServiceTest {
     @Mock
     private AggregatedMetricRepository metricRepository;
 
+    @Mock
+    private RollupRepository rollupRepository;
+
+    @Mock
+    private FraudCaseQueryRepository fraudCaseQueryRepository;
+
     @Mock
     private BatchJobLauncher batchJobLauncher;
 
@@ -65,15 +81,69 @@ class AnalyticsServiceTest {
     }
 
     @Test
-    @DisplayName("getTopRiskUsers(5) → delegates to repo with PageRequest(0, 5)")
-    void getTopRiskUsers_usesExactLimit() {
-        when(metricRepository.findRecentMetrics(PageRequest.of(0, 5)))
-                .thenReturn(List.of(metric(0.80), metric(0.75)));
+    @DisplayName("getTopRiskUsers(7, 5) → user rollup from 6 days ago, limit 5")
+    void getTopRiskUsers_queriesRollup() {
+        ReflectionTestUtils.setField(analyticsService, "streamingEnabled", true);
+        LocalDate from = LocalDate.now().minusDays(6);
+        when(rollupRepository.findTopUsers(from, 5))
+                .thenReturn(List.of(new TopRiskEntry("u1", 10, 4, 2, 0.8), new TopRiskEntry("u2", 8, 3, 1, 0.7)));
 
-        List<AggregatedMetric> result = analyticsService.getTopRiskUsers(5);
+        List<TopRiskEntry> result = analyticsService.getTopRiskUsers(7, 5);
 
-        assertThat(result).hasSize(2);
-        verify(metricRepository).findRecentMetrics(PageRequest.of(0, 5));
+        assertThat(result).extracting(TopRiskEntry::key).containsExactly("u1", "u2");
+        verifyNoInteractions(metricRepository);
+    }
+
+    @Test
+    @DisplayName("getTopRiskMerchants(24, 3) → hourly rollup from the start of the 24-hour window")
+    void getTopRiskMerchants_queriesHourlyRollup() {
+        ReflectionTestUtils.setField(analyticsService, "streamingEnabled", true);
+        when(rollupRepository.findTopMerchants(any(), eq(3))).thenReturn(List.of());
+
+        analyticsService.getTopRiskMerchants(24, 3);
+
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(rollupRepository).findTopMerchants(from.capture(), eq(3));
+        assertThat(from.getValue().getMinute()).isZero();
+        assertThat(from.getValue()).isBefore(LocalDateTime.now().minusHours(22));
+    }
+
+    @Test
+    @DisplayName("getTopRiskUsers(7, 5) with streaming off → fraud_cases from the start of 6 days ago")
+    void getTopRiskUsers_streamingOff_queriesFraudCases() {
+        LocalDateTime from = LocalDate.now().minusDays(6).atStartOfDay();
+        when(fraudCaseQueryRepository.findTopUsers(from, 5))
+                .thenReturn(List.of(new TopRiskEntry("u1", 3, 2, 1, 0.9)));
+
+        List<TopRiskEntry> result = analyticsService.getTopRiskUsers(7, 5);
+
+        assertThat(result).extracting(TopRiskEntry::key).containsExactly("u1");
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    @DisplayName("getTopRiskLocations with streaming off → RollupUnavailableException, nothing queried")
+    void getTopRiskLocations_streamingOff_throws() {
+        assertThatThrownBy(() -> analyticsService.getTopRiskLocations(24, 10))
+                .isInstanceOf(RollupUnavailableException.class)
+                .hasMessageContaining("analytics.streaming.enabled");
+        verifyNoInteractions(rollupRepository, fraudCaseQueryRepository);
+    }
+
+    @Test
+    @DisplayName("days, hours and limit outside 1..max → IllegalArgumentException (400)")
+    void outOfRangeParameters_rejected() {
+        assertThatThrownBy(() -> analyticsService.getDailySummary(0))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("days");
+        assertThatThrownBy(() -> analyticsService.getTopRiskUsers(7, 0))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("limit");
+        assertThatThrownBy(() -> analyticsService.getTopRiskUsers(10_000, 10))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("days");
+        assertThatThrownBy(() -> analyticsService.getTopRiskMerchants(-1, 10))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("hours");
+        assertThatThrownBy(() -> analyticsService.getTopRiskLocations(24, 1_000))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("limit");
+        verifyNoInteractions(metricRepository, rollupRepository, fraudCaseQueryRepository);
     }
 
     @Test
@@ -95,4 +165,15 @@ class AnalyticsServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Kafka not available");
     }
+
+    @Test
+    @DisplayName("triggerBackfill(from, to) → calls batchJobLauncher.launchBackfill(from, to)")
+    void triggerBackfill_callsLauncher() throws Exception {
+        LocalDate from = LocalDate.of(2026, 2, 1);
+        LocalDate to = LocalDate.of(2026, 3, 1);
+
+        analyticsService.triggerBackfill(from, to);
+
+        verify(batchJobLauncher).launchBackfill(from, to);
+    }
 }
@@ -0,0 +1,158 @@
+package com.frauddetection.analytics.streaming;
+
+import com.frauddetection.analytics.repository.RollupRepository;
+import com.frauddetection.analytics.repository.StreamCheckpointRepository;
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DecisionStreamAggregatorTest {
+
+    private static final TopicPartition P0 = new TopicPartition("fraud.decision.made", 0);
+    private static final TopicPartition P1 = new TopicPartition("fraud.decision.made", 1);
+    private static final LocalDateTime DAY1 = LocalDateTime.of(2026, 3, 1, 10, 0);
+    private static final LocalDateTime DAY2 = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Mock
+    private StreamCheckpointRepository checkpointRepository;
+
+    @Mock
+    private RollupRepository rollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DecisionStreamAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new DecisionStreamAggregator(checkpointRepository, rollupRepository, transactionManager,
+                "analytics-group");
+    }
+
+    private static FraudDecisionMadeEvent event(String decision, double score, LocalDateTime decidedAt) {
+        return FraudDecisionMadeEvent.builder()
+                .userId("u1").decision(decision).riskScore(score).decidedAt(decidedAt)
+                .location("Mumbai").merchantType("Crypto").riskLevel("HIGH")
+                .build();
+    }
+
+    @Test
+    @DisplayName("checkpoint adds per-day counters across partitions and saves next offsets")
+    @SuppressWarnings("unchecked")
+    void checkpoint_mergesDaysAndOffsets() {
+        aggregator.record(P0, 10, event("BLOCK", 0.9, DAY1));
+        aggregator.record(P0, 11, event("REVIEW", 0.7, DAY2));
+        aggregator.record(P1, 5, event("APPROVE", 0.1, DAY1));
+
+        assertThat(aggregator.checkpoint(null)).isEqualTo(3);
+
+        ArgumentCaptor<Map<LocalDate, DecisionCounts>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(checkpointRepository).addMetricDeltas(deltas.capture());
+        DecisionCounts day1 = deltas.getValue().get(DAY1.toLocalDate());
+        assertThat(day1.getTotal()).isEqualTo(2);
+        assertThat(day1.getBlockCount()).isEqualTo(1);
+        assertThat(day1.getApproveCount()).isEqualTo(1);
+        assertThat(day1.getRiskScoreSum()).isEqualTo(1.0, offset(1e-9));
+        assertThat(deltas.getValue().get(DAY2.toLocalDate()).getReviewCount()).isEqualTo(1);
+        verify(checkpointRepository).saveOffsets("analytics-group", Map.of(P0, 12L, P1, 6L));
+        verify(rollupRepository).refreshTopRiskGeography(Set.of(DAY1.toLocalDate(), DAY2.toLocalDate()));
+
+        // Nothing pending any more
+        assertThat(aggregator.checkpoint(null)).isZero();
+        verifyNoMoreInteractions(checkpointRepository);
+    }
+
+    @Test
+    @DisplayName("checkpoint adds hourly dimension cells and per-user daily cells")
+    @SuppressWarnings("unchecked")
+    void checkpoint_writesRollups() {
+        aggregator.record(P0, 0, event("BLOCK", 0.9, DAY1));
+        aggregator.record(P0, 1, event("REVIEW", 0.7, DAY1.plusMinutes(30)));
+        aggregator.record(P1, 0, FraudDecisionMadeEvent.builder()
+                .userId("u2").decision("APPROVE").riskScore(0.1).decidedAt(DAY1).build());
+
+        aggregator.checkpoint(null);
+
+        ArgumentCaptor<Map<RollupKey, DecisionCounts>> cells = ArgumentCaptor.forClass(Map.class);
+        verify(rollupRepository).addHourlyDeltas(cells.capture());
+        assertThat(cells.getValue()).hasSize(2);
+        DecisionCounts mumbai = cells.getValue().get(new RollupKey(DAY1, "Mumbai", "Crypto", "HIGH"));
+        assertThat(mumbai.getTotal()).isEqualTo(2);
+        assertThat(mumbai.getBlockCount()).isEqualTo(1);
+        assertThat(cells.getValue()).containsKey(
+                new RollupKey(DAY1, RollupKey.UNKNOWN, RollupKey.UNKNOWN, RollupKey.UNKNOWN));
+
+        ArgumentCaptor<Map<UserDayKey, DecisionCounts>> users = ArgumentCaptor.forClass(Map.class);
+        verify(rollupRepository).addUserDeltas(users.capture());
+        assertThat(users.getValue().get(new UserDayKey(DAY1.toLocalDate(), "u1")).getReviewCount()).isEqualTo(1);
+        assertThat(users.getValue().get(new UserDayKey(DAY1.toLocalDate(), "u2")).getApproveCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("failed checkpoint keeps the counters for the next attempt")
+    void checkpoint_failure_restoresPending() {
+        aggregator.record(P0, 0, event("BLOCK", 0.9, DAY1));
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .doNothing()
+                .when(checkpointRepository).addMetricDeltas(anyMap());
+
+        assertThatThrownBy(() -> aggregator.checkpoint(null))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        aggregator.record(P0, 1, event("BLOCK", 0.8, DAY1));
+
+        assertThat(aggregator.checkpoint(null)).isEqualTo(2);
+        verify(checkpointRepository).saveOffsets("analytics-group", Map.of(P0, 2L));
+    }
+
+    @Test
+    @DisplayName("failed checkpoint on revocation drops the revoked partition's counters")
+    void revoke_failure_discardsPartition() {
+        aggregator.record(P0, 0, event("BLOCK", 0.9, DAY1));
+        aggregator.record(P1, 0, event("REVIEW", 0.6, DAY1));
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .doNothing()
+                .when(checkpointRepository).addMetricDeltas(anyMap());
+
+        aggregator.onPartitionsRevokedBeforeCommit(mock(Consumer.class), List.of(P0));
+
+        assertThat(aggregator.checkpoint(null)).isEqualTo(1);
+        verify(checkpointRepository).saveOffsets("analytics-group", Map.of(P1, 1L));
+    }
+
+    @Test
+    @DisplayName("assignment seeks to the offsets stored with the last checkpoint")
+    void assigned_seeksToStoredOffsets() {
+        Consumer<?, ?> consumer = mock(Consumer.class);
+        when(checkpointRepository.findOffsets(eq("analytics-group"), any())).thenReturn(Map.of(P0, 42L));
+
+        aggregator.onPartitionsAssigned(consumer, List.of(P0, P1));
+
+        verify(consumer).seek(P0, 42L);
+        verifyNoMoreInteractions(consumer);
+    }
+}
@@ -0,0 +1,81 @@
+package com.frauddetection.benchmarks;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.NotificationTriggeredEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Representative payloads shared by the benchmark suites.
+ */
+final class BenchmarkFixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 10, 30, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    /** Low-risk domestic purchase — exercises the "no keyword match" scan. */
+    static TransactionCreatedEvent lowRiskTransaction() {
+        return TransactionCreatedEvent.builder()
+                .eventId("evt-bench-low")
+                .transactionId("txn-bench-low")
+                .userId("user-bench-1")
+                .amount(new BigDecimal("349.99"))
+                .location("Mumbai, Maharashtra")
+                .merchantType("E-Commerce")
+                .timestamp(NOW)
+                .build();
+    }
+
+    /** High-risk transaction — every factor contributes its high score. */
+    static TransactionCreatedEvent highRiskTransaction() {
+        return TransactionCreatedEvent.builder()
+                .eventId("evt-bench-high")
+                .transactionId("txn-bench-high")
+                .userId("user-bench-2")
+                .amount(new BigDecimal("55000.00"))
+                .location("Offshore - Lagos")
+                .merchantType("Crypto Exchange")
+                .timestamp(NOW)
+                .build();
+    }
+
+    static RiskScoredEvent riskScored(double score, String level) {
+        return RiskScoredEvent.builder()
+                .eventId("evt-bench-scored")
+                .transactionId("txn-bench-high")
+                .userId("user-bench-2")
+                .riskScore(score)
+                .riskLevel(level)
+                .scoredAt(NOW)
+                .build();
+    }
+
+    static FraudDecisionMadeEvent fraudDecisionMade() {
+        return FraudDecisionMadeEvent.builder()
+                .eventId("evt-bench-decision")
+                .caseId("case-bench-1")
+                .transactionId("txn-bench-high")
+                .userId("user-bench-2")
+                .decision("BLOCK")
+                .riskScore(0.92)
+                .flagReason("Risk score 0.9200 exceeds BLOCK threshold (0.80)")
+                .decidedAt(NOW)
+                .build();
+    }
+
+    static NotificationTriggeredEvent notificationTriggered() {
+        return NotificationTriggeredEvent.builder()
+                .eventId("evt-bench-notify")
+                .transactionId("txn-bench-high")
+                .userId("user-bench-2")
+                .notificationType("EMAIL")
+                .message("Transaction txn-bench-high was blocked")
+                .triggeredAt(NOW)
+                .build();
+    }
+}
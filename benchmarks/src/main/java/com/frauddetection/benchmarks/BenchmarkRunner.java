@@ -0,0 +1,34 @@
+package com.frauddetection.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar — accepts the standard JMH command line and
+ * always attaches the GC profiler, so every run reports allocation rate
+ * (gc.alloc.rate.norm, bytes/op) next to throughput.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar                  # all suites
+ * java -jar benchmarks/target/benchmarks.jar RiskCalculation  # one suite
+ * java -jar benchmarks/target/benchmarks.jar -rf json -rff results.json
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
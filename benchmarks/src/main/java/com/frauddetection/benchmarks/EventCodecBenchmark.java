@@ -0,0 +1,113 @@
+package com.frauddetection.benchmarks;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.common.serialization.EventDeserializer;
+import com.frauddetection.common.serialization.EventSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs binary wire format through the Kafka (de)serializers the services
+ * use. The topic decides the format, exactly as in production; both formats
+ * are read by the same EventDeserializer. The payload size is reported as the
+ * payloadBytes secondary result, so the broker-bytes side of the comparison
+ * is in the results next to the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventCodecBenchmark {
+
+    private static final String BINARY_TOPIC = "binary";
+    private static final String JSON_TOPIC = "json";
+
+    @Param({ "TransactionCreatedEvent", "RiskScoredEvent", "FraudDecisionMadeEvent" })
+    public String eventType;
+
+    @Param({ "json", "binary" })
+    public String format;
+
+    private EventSerializer serializer;
+    private EventDeserializer deserializer;
+    private String topic;
+    private Object event;
+    private byte[] payload;
+
+    /** Serialized size of the event, reported next to each benchmark's score. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void setUp(EventCodecBenchmark codec) {
+            payloadBytes = codec.payload.length;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        event = switch (eventType) {
+            case "TransactionCreatedEvent" -> BenchmarkFixtures.highRiskTransaction();
+            case "RiskScoredEvent" -> BenchmarkFixtures.riskScored(0.92, "HIGH");
+            case "FraudDecisionMadeEvent" -> BenchmarkFixtures.fraudDecisionMade();
+            default -> throw new IllegalArgumentException("Unknown event type: " + eventType);
+        };
+        topic = "binary".equals(format) ? BINARY_TOPIC : JSON_TOPIC;
+
+        serializer = new EventSerializer();
+        serializer.configure(Map.of(EventSerializer.BINARY_TOPICS, BINARY_TOPIC), false);
+        deserializer = new EventDeserializer();
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "com.frauddetection.common.events",
+                JsonDeserializer.VALUE_DEFAULT_TYPE, defaultType()), false);
+
+        payload = serializer.serialize(topic, event);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize size) {
+        return serializer.serialize(topic, event);
+    }
+
+    @Benchmark
+    public Object deserialize(PayloadSize size) {
+        return deserializer.deserialize(topic, payload);
+    }
+
+    private String defaultType() {
+        return switch (eventType) {
+            case "TransactionCreatedEvent" -> TransactionCreatedEvent.class.getName();
+            case "FraudDecisionMadeEvent" -> FraudDecisionMadeEvent.class.getName();
+            default -> RiskScoredEvent.class.getName();
+        };
+    }
+}
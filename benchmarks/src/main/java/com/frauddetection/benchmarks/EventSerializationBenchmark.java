@@ -0,0 +1,72 @@
+package com.frauddetection.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.NotificationTriggeredEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trip of every class in common.events, using the same
+ * ObjectMapper setup as Spring Kafka's JsonSerializer / JsonDeserializer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+
+    @Param({ "TransactionCreatedEvent", "RiskScoredEvent", "FraudDecisionMadeEvent", "NotificationTriggeredEvent" })
+    public String eventType;
+
+    private ObjectMapper objectMapper;
+    private Object event;
+    private Class<?> eventClass;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = JacksonUtils.enhancedObjectMapper();
+        event = switch (eventType) {
+            case "TransactionCreatedEvent" -> BenchmarkFixtures.highRiskTransaction();
+            case "RiskScoredEvent" -> BenchmarkFixtures.riskScored(0.92, "HIGH");
+            case "FraudDecisionMadeEvent" -> BenchmarkFixtures.fraudDecisionMade();
+            case "NotificationTriggeredEvent" -> BenchmarkFixtures.notificationTriggered();
+            default -> throw new IllegalArgumentException("Unknown event type: " + eventType);
+        };
+        eventClass = switch (eventType) {
+            case "TransactionCreatedEvent" -> TransactionCreatedEvent.class;
+            case "RiskScoredEvent" -> RiskScoredEvent.class;
+            case "FraudDecisionMadeEvent" -> FraudDecisionMadeEvent.class;
+            default -> NotificationTriggeredEvent.class;
+        };
+        json = objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return objectMapper.readValue(json, eventClass);
+    }
+}
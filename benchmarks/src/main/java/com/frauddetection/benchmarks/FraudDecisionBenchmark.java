@@ -0,0 +1,157 @@
+package com.frauddetection.benchmarks;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.frauddecision.config.DecisionProperties;
+import com.frauddetection.frauddecision.config.DecisionTableProperties;
+import com.frauddetection.frauddecision.entity.FraudCase;
+import com.frauddetection.frauddecision.repository.FraudCaseRepository;
+import com.frauddetection.frauddecision.rule.ApproveDecisionRule;
+import com.frauddetection.frauddecision.rule.BlockDecisionRule;
+import com.frauddetection.frauddecision.rule.DecisionEngine;
+import com.frauddetection.frauddecision.rule.DecisionRule;
+import com.frauddetection.frauddecision.rule.DecisionTableDefinition;
+import com.frauddetection.frauddecision.rule.DecisionTableEngine;
+import com.frauddetection.frauddecision.rule.DecisionTableRule;
+import com.frauddetection.frauddecision.rule.ReviewDecisionRule;
+import com.frauddetection.frauddecision.rule.RuleChainDecisionEngine;
+import com.frauddetection.frauddecision.service.impl.FraudDecisionServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FraudDecisionServiceImpl.process — DecisionRule chain plus FraudCase /
+ * FraudDecisionMadeEvent construction, with persistence and Kafka stubbed out
+ * so only in-process CPU and allocation are measured.
+ *
+ * {@code band} selects which rule in the chain matches first. {@code engine}
+ * compares the DecisionRule chain with the compiled DecisionTable; for TABLE,
+ * {@code extraRules} userId-list rules are loaded in front of the built-ins to
+ * show that lookup cost does not grow with the rule count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FraudDecisionBenchmark {
+
+    @Param({ "BLOCK", "REVIEW", "APPROVE" })
+    public String band;
+
+    @Param({ "CHAIN", "TABLE" })
+    public String engine;
+
+    @Param({ "0", "500" })
+    public int extraRules;
+
+    private FraudDecisionServiceImpl service;
+    private RiskScoredEvent event;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        DecisionProperties props = new DecisionProperties();
+        DecisionEngine decisionEngine;
+        if ("TABLE".equals(engine)) {
+            DecisionTableEngine table = new DecisionTableEngine(props, new DecisionTableProperties());
+            table.reload(syntheticRules(extraRules));
+            decisionEngine = table;
+        } else {
+            List<DecisionRule> rules = List.of(
+                    new BlockDecisionRule(props),
+                    new ReviewDecisionRule(props),
+                    new ApproveDecisionRule());
+            decisionEngine = new RuleChainDecisionEngine(rules);
+        }
+
+        // batch insert repository is only used by processBatch, which is not measured here
+        service = new FraudDecisionServiceImpl(decisionEngine, discardingRepository(), null,
+                new DiscardingKafkaTemplate());
+        Field topic = FraudDecisionServiceImpl.class.getDeclaredField("fraudDecisionTopic");
+        topic.setAccessible(true);
+        topic.set(service, "fraud.decision.made");
+
+        event = switch (band) {
+            case "BLOCK" -> BenchmarkFixtures.riskScored(0.92, "HIGH");
+            case "REVIEW" -> BenchmarkFixtures.riskScored(0.70, "MEDIUM");
+            default -> BenchmarkFixtures.riskScored(0.20, "LOW");
+        };
+    }
+
+    @Benchmark
+    public void process() {
+        service.process(event);
+    }
+
+    /** Watch-list rules over score bands and levels that never match the benchmark user. */
+    private static DecisionTableDefinition syntheticRules(int count) {
+        List<DecisionTableRule> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DecisionTableRule rule = new DecisionTableRule();
+            rule.setName("watchlist-" + i);
+            rule.setPriority(i);
+            rule.setDecision(FraudCase.Decision.values()[i % 3]);
+            rule.setScoreAbove((i % 100) / 100.0);
+            rule.setScoreAtMost((i % 100) / 100.0 + 0.05);
+            rule.setRiskLevels(Set.of(i % 2 == 0 ? "HIGH" : "MEDIUM"));
+            rule.setUserIds(Set.of("watch-" + i));
+            rules.add(rule);
+        }
+        DecisionTableDefinition definition = new DecisionTableDefinition();
+        definition.setRules(rules);
+        return definition;
+    }
+
+    /** save() echoes its argument; nothing else is called on the hot path. */
+    private static FraudCaseRepository discardingRepository() {
+        return (FraudCaseRepository) Proxy.newProxyInstance(
+                FraudCaseRepository.class.getClassLoader(),
+                new Class<?>[] { FraudCaseRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "DiscardingFraudCaseRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /** Completes immediately without serializing or touching a broker. */
+    private static final class DiscardingKafkaTemplate extends KafkaTemplate<String, FraudDecisionMadeEvent> {
+
+        private static final CompletableFuture<SendResult<String, FraudDecisionMadeEvent>> DONE =
+                CompletableFuture.completedFuture(null);
+
+        DiscardingKafkaTemplate() {
+            super(() -> {
+                throw new UnsupportedOperationException("benchmark template never creates a producer");
+            });
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, FraudDecisionMadeEvent>> send(
+                String topic, String key, FraudDecisionMadeEvent data) {
+            return DONE;
+        }
+    }
+}
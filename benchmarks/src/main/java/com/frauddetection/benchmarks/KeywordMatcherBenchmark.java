@@ -0,0 +1,74 @@
+package com.frauddetection.benchmarks;
+
+import com.frauddetection.riskengine.service.scoring.KeywordMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KeywordMatcher against the toUpperCase() + contains() loop it replaced, as
+ * the keyword list grows. The matcher's time per lookup should stay flat;
+ * the naive loop grows linearly with the list.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeywordMatcherBenchmark {
+
+    @Param({ "5", "500", "5000" })
+    public int keywords;
+
+    @Param({ "Mumbai", "Offshore - Lagos" })
+    public String location;
+
+    private KeywordMatcher matcher;
+    private List<String> keywordList;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        keywordList = new ArrayList<>(List.of("UNKNOWN", "OFFSHORE", "FOREIGN", "ANONYMOUS"));
+        while (keywordList.size() < keywords) {
+            StringBuilder sb = new StringBuilder();
+            int length = 5 + random.nextInt(10);
+            for (int i = 0; i < length; i++) {
+                sb.append((char) ('A' + random.nextInt(26)));
+            }
+            keywordList.add(sb.toString());
+        }
+        matcher = KeywordMatcher.of(keywordList);
+    }
+
+    @Benchmark
+    public double keywordMatcher() {
+        return matcher.highestWeight(location, 0.25);
+    }
+
+    @Benchmark
+    public boolean upperCaseContains() {
+        String upper = location.toUpperCase(Locale.ROOT);
+        for (String keyword : keywordList) {
+            if (upper.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,79 @@
+package com.frauddetection.benchmarks;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.config.RiskThresholds;
+import com.frauddetection.riskengine.service.RiskContext;
+import com.frauddetection.riskengine.service.impl.RiskCalculationServiceImpl;
+import com.frauddetection.riskengine.service.scoring.AmountScoringFactor;
+import com.frauddetection.riskengine.service.scoring.FraudHistoryScoringFactor;
+import com.frauddetection.riskengine.service.scoring.FrequencyScoringFactor;
+import com.frauddetection.riskengine.service.scoring.LocationScoringFactor;
+import com.frauddetection.riskengine.service.scoring.MerchantScoringFactor;
+import com.frauddetection.riskengine.service.scoring.RiskScoringFactor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RiskCalculationServiceImpl.calculateRiskScore with all five scoring factors.
+ *
+ * {@code interpretedFactors} sums the factor beans directly and is kept as the
+ * baseline the compiled kernel is measured against.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RiskCalculationBenchmark {
+
+    @Param({ "LOW", "HIGH" })
+    public String profile;
+
+    private RiskCalculationServiceImpl service;
+    private List<RiskScoringFactor> factors;
+    private TransactionCreatedEvent event;
+    private RiskContext context;
+
+    @Setup
+    public void setUp() {
+        RiskThresholds thresholds = new RiskThresholds();
+        factors = List.of(
+                new AmountScoringFactor(thresholds),
+                new LocationScoringFactor(thresholds),
+                new MerchantScoringFactor(thresholds),
+                new FrequencyScoringFactor(thresholds),
+                new FraudHistoryScoringFactor(thresholds));
+        service = new RiskCalculationServiceImpl(factors);
+
+        boolean high = "HIGH".equals(profile);
+        event = high ? BenchmarkFixtures.highRiskTransaction() : BenchmarkFixtures.lowRiskTransaction();
+        context = high ? new RiskContext(3, 10) : new RiskContext(0, 1);
+    }
+
+    @Benchmark
+    public double calculateRiskScore() {
+        return service.calculateRiskScore(event, context);
+    }
+
+    @Benchmark
+    public double interpretedFactors() {
+        double total = 0.0;
+        for (RiskScoringFactor factor : factors) {
+            total += factor.score(event, context);
+        }
+        return Math.min(total, 1.0);
+    }
+}
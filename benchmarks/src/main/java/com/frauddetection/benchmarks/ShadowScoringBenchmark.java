@@ -0,0 +1,100 @@
+package com.frauddetection.benchmarks;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.config.RiskThresholds;
+import com.frauddetection.riskengine.config.ShadowScoringProperties;
+import com.frauddetection.riskengine.service.RiskContext;
+import com.frauddetection.riskengine.service.impl.RiskCalculationServiceImpl;
+import com.frauddetection.riskengine.service.impl.ShadowScorer;
+import com.frauddetection.riskengine.service.impl.ShadowScorer.ShadowScore;
+import com.frauddetection.riskengine.service.scoring.AmountScoringFactor;
+import com.frauddetection.riskengine.service.scoring.FraudHistoryScoringFactor;
+import com.frauddetection.riskengine.service.scoring.FrequencyScoringFactor;
+import com.frauddetection.riskengine.service.scoring.LocationScoringFactor;
+import com.frauddetection.riskengine.service.scoring.MerchantScoringFactor;
+import com.frauddetection.riskengine.service.scoring.RiskScoringFactor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live RiskCalculationServiceImpl.calculateRiskScore latency with shadow
+ * scoring off and on, sampled so JMH reports p99 — the difference is what
+ * shadow mode adds to live scoring. Four scoring threads keep the single
+ * shadow thread saturated, so the "on" case includes dropping.
+ * Shadow sends go to a template that completes immediately.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ShadowScoringBenchmark {
+
+    @Param({ "off", "on" })
+    public String shadow;
+
+    private RiskCalculationServiceImpl service;
+    private TransactionCreatedEvent event;
+    private RiskContext context;
+
+    @Setup
+    public void setUp() {
+        RiskThresholds thresholds = new RiskThresholds();
+        List<RiskScoringFactor> factors = List.of(
+                new AmountScoringFactor(thresholds),
+                new LocationScoringFactor(thresholds),
+                new MerchantScoringFactor(thresholds),
+                new FrequencyScoringFactor(thresholds),
+                new FraudHistoryScoringFactor(thresholds));
+
+        ShadowScorer shadowScorer = null;
+        if ("on".equals(shadow)) {
+            ShadowScoringProperties properties = new ShadowScoringProperties();
+            properties.setEnabled(true);
+            properties.getWeights().put("HIGH_AMOUNT", 0.40);
+            shadowScorer = new ShadowScorer(new DiscardingTemplate(), properties, new SimpleMeterRegistry());
+        }
+        service = new RiskCalculationServiceImpl(factors, shadowScorer);
+
+        event = BenchmarkFixtures.highRiskTransaction();
+        context = new RiskContext(3, 10);
+    }
+
+    @Benchmark
+    public double calculateRiskScore() {
+        return service.calculateRiskScore(event, context);
+    }
+
+    private static final class DiscardingTemplate extends KafkaTemplate<String, ShadowScore> {
+
+        DiscardingTemplate() {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, ShadowScore>> send(String topic, String key, ShadowScore data) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
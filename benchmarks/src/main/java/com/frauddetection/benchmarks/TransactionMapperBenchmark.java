@@ -0,0 +1,73 @@
+package com.frauddetection.benchmarks;
+
+import com.frauddetection.common.dto.TransactionDTO;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.transaction.entity.Transaction;
+import com.frauddetection.transaction.service.TransactionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionMapper entity ↔ DTO ↔ event conversions on the POST /api/transactions path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionMapperBenchmark {
+
+    private TransactionMapper mapper;
+    private TransactionDTO dto;
+    private Transaction saved;
+
+    @Setup
+    public void setUp() {
+        mapper = new TransactionMapper();
+        dto = TransactionDTO.builder()
+                .userId("user-bench-1")
+                .userName("Bench User")
+                .amount(new BigDecimal("349.99"))
+                .location("Mumbai, Maharashtra")
+                .merchantType("E-Commerce")
+                .build();
+        saved = Transaction.builder()
+                .id(42L)
+                .transactionId("txn-bench-1")
+                .userId("user-bench-1")
+                .userName("Bench User")
+                .amount(new BigDecimal("349.99"))
+                .location("Mumbai, Maharashtra")
+                .merchantType("E-Commerce")
+                .status(Transaction.TransactionStatus.PENDING)
+                .timestamp(BenchmarkFixtures.NOW)
+                .build();
+    }
+
+    @Benchmark
+    public Transaction toEntity() {
+        return mapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public TransactionDTO toDTO() {
+        return mapper.toDTO(saved);
+    }
+
+    @Benchmark
+    public TransactionCreatedEvent toEvent() {
+        return mapper.toEvent(saved);
+    }
+}
@@ -0,0 +1,68 @@
+package com.frauddetection.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Outcome of one NDJSON row sent to POST /api/transactions/bulk.
+ * The response is one of these per input row, in input order.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"line", "status", "transactionId", "error"})
+public class BulkTransactionResult {
+
+    public enum Status {
+        /** Row stored and TransactionCreatedEvent published. */
+        ACCEPTED,
+        /** transactionId already exists — nothing written (safe file replay). */
+        DUPLICATE,
+        /** Malformed JSON or failed TransactionDTO validation. */
+        REJECTED,
+        /** User exceeded the per-minute transaction limit. */
+        RATE_LIMITED
+    }
+
+    private final long line;
+    private final Status status;
+    private final String transactionId;
+    private final String error;
+
+    private BulkTransactionResult(long line, Status status, String transactionId, String error) {
+        this.line = line;
+        this.status = status;
+        this.transactionId = transactionId;
+        this.error = error;
+    }
+
+    public static BulkTransactionResult accepted(long line, String transactionId) {
+        return new BulkTransactionResult(line, Status.ACCEPTED, transactionId, null);
+    }
+
+    public static BulkTransactionResult duplicate(long line, String transactionId) {
+        return new BulkTransactionResult(line, Status.DUPLICATE, transactionId, null);
+    }
+
+    public static BulkTransactionResult rejected(long line, String error) {
+        return new BulkTransactionResult(line, Status.REJECTED, null, error);
+    }
+
+    public static BulkTransactionResult rateLimited(long line) {
+        return new BulkTransactionResult(line, Status.RATE_LIMITED, null, "Rate limit exceeded");
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -12,6 +12,9 @@ public class FraudDecisionMadeEvent {
     private String decision; // APPROVE | BLOCK | REVIEW
     private Double riskScore;
     private String flagReason;
+    private String riskLevel; // LOW | MEDIUM | HIGH
+    private String location;
+    private String merchantType;
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime decidedAt;
@@ -40,6 +43,9 @@ public class FraudDecisionMadeEvent {
         this.riskScore = builder.riskScore;
         this.flagReason = builder.flagReason;
         this.decidedAt = builder.decidedAt;
+        this.riskLevel = builder.riskLevel;
+        this.location = builder.location;
+        this.merchantType = builder.merchantType;
     }
 
     public String getEventId() {
@@ -106,6 +112,30 @@ public class FraudDecisionMadeEvent {
         this.decidedAt = decidedAt;
     }
 
+    public String getRiskLevel() {
+        return riskLevel;
+    }
+
+    public void setRiskLevel(String riskLevel) {
+        this.riskLevel = riskLevel;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getMerchantType() {
+        return merchantType;
+    }
+
+    public void setMerchantType(String merchantType) {
+        this.merchantType = merchantType;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -118,6 +148,9 @@ public class FraudDecisionMadeEvent {
         private String decision;
         private Double riskScore;
         private String flagReason;
+        private String riskLevel;
+        private String location;
+        private String merchantType;
         private LocalDateTime decidedAt;
 
         public Builder eventId(String eventId) {
@@ -160,6 +193,21 @@ public class FraudDecisionMadeEvent {
             return this;
         }
 
+        public Builder riskLevel(String riskLevel) {
+            this.riskLevel = riskLevel;
+            return this;
+        }
+
+        public Builder location(String location) {
+            this.location = location;
+            return this;
+        }
+
+        public Builder merchantType(String merchantType) {
+            this.merchantType = merchantType;
+            return this;
+        }
+
         public FraudDecisionMadeEvent build() {
             return new FraudDecisionMadeEvent(this);
         }
@@ -10,6 +10,8 @@ public class RiskScoredEvent {
     private String userId;
     private Double riskScore;
     private String riskLevel; // LOW | MEDIUM | HIGH
+    private String location;
+    private String merchantType;
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime scoredAt;
@@ -34,6 +36,8 @@ public class RiskScoredEvent {
         this.riskScore = builder.riskScore;
         this.riskLevel = builder.riskLevel;
         this.scoredAt = builder.scoredAt;
+        this.location = builder.location;
+        this.merchantType = builder.merchantType;
     }
 
     public String getEventId() {
@@ -84,6 +88,22 @@ public class RiskScoredEvent {
         this.scoredAt = scoredAt;
     }
 
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getMerchantType() {
+        return merchantType;
+    }
+
+    public void setMerchantType(String merchantType) {
+        this.merchantType = merchantType;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -94,6 +114,8 @@ public class RiskScoredEvent {
         private String userId;
         private Double riskScore;
         private String riskLevel;
+        private String location;
+        private String merchantType;
         private LocalDateTime scoredAt;
 
         public Builder eventId(String eventId) {
@@ -126,6 +148,16 @@ public class RiskScoredEvent {
             return this;
         }
 
+        public Builder location(String location) {
+            this.location = location;
+            return this;
+        }
+
+        public Builder merchantType(String merchantType) {
+            this.merchantType = merchantType;
+            return this;
+        }
+
         public RiskScoredEvent build() {
             return new RiskScoredEvent(this);
         }
@@ -0,0 +1,119 @@
+package com.frauddetection.common.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaProducerException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Follows every send to its broker acknowledgement and records, per topic:
+ *
+ * <ul>
+ *   <li>kafka.producer.send — timer from send() to ack, tagged result=success|failure</li>
+ *   <li>kafka.producer.in-flight — gauge of sends not yet acknowledged</li>
+ *   <li>kafka.producer.send.failures — counter tagged with the exception type</li>
+ * </ul>
+ *
+ * A growing in-flight gauge together with rising send latency is producer
+ * backpressure: the accumulator is filling faster than the brokers ack.
+ */
+public class KafkaSendTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaSendTracker.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public KafkaSendTracker(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the send and attaches the metric callbacks to its future. A send
+     * that throws before returning a future (serialization, buffer full) is
+     * recorded as a failure and rethrown.
+     */
+    public <T> CompletableFuture<T> track(String topic, Supplier<CompletableFuture<T>> send) {
+        AtomicInteger pending = inFlight(topic);
+        long start = System.nanoTime();
+        pending.incrementAndGet();
+
+        CompletableFuture<T> future;
+        try {
+            future = send.get();
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            recordFailure(topic, start, e);
+            throw e;
+        }
+
+        future.whenComplete((result, ex) -> {
+            pending.decrementAndGet();
+            if (ex == null) {
+                timer(topic, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } else {
+                recordFailure(topic, start, ex);
+            }
+        });
+        return future;
+    }
+
+    /** Sends to the topic handed to the producer and not yet acknowledged. */
+    public int inFlightCount(String topic) {
+        AtomicInteger pending = inFlight.get(topic);
+        return pending != null ? pending.get() : 0;
+    }
+
+    private void recordFailure(String topic, long start, Throwable ex) {
+        Throwable cause = unwrap(ex);
+        timer(topic, "failure").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        Counter.builder("kafka.producer.send.failures")
+                .description("Kafka sends that failed or were not acknowledged")
+                .tag("topic", topic)
+                .tag("exception", cause.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        log.warn("Kafka send to {} failed: {}", topic, cause.toString());
+    }
+
+    private Timer timer(String topic, String result) {
+        return Timer.builder("kafka.producer.send")
+                .description("Time from send() to broker acknowledgement")
+                .tag("topic", topic)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private AtomicInteger inFlight(String topic) {
+        return inFlight.computeIfAbsent(topic, t -> {
+            AtomicInteger pending = new AtomicInteger();
+            Gauge.builder("kafka.producer.in-flight", pending, AtomicInteger::get)
+                    .description("Kafka sends handed to the producer and not yet acknowledged")
+                    .tag("topic", t)
+                    .register(meterRegistry);
+            return pending;
+        });
+    }
+
+    /** Strips CompletionException and Spring's KafkaProducerException down to the client's cause. */
+    private static Throwable unwrap(Throwable ex) {
+        Throwable cause = ex;
+        while ((cause instanceof CompletionException || cause instanceof KafkaProducerException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
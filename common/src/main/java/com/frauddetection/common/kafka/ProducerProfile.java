@@ -0,0 +1,71 @@
+package com.frauddetection.common.kafka;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named producer tuning presets, selected per service with kafka.producer.profile.
+ *
+ * <pre>
+ * kafka:
+ *   producer:
+ *     profile: high-throughput     # low-latency | high-throughput
+ *     linger-ms: 10                # optional overrides of the profile's values
+ *     batch-size-bytes: 131072
+ *     compression-type: zstd
+ * </pre>
+ *
+ * Profiles only touch batching and compression; acks=all and idempotence stay
+ * with each producer factory.
+ */
+public enum ProducerProfile {
+
+    /** Send as soon as a record is ready: request/response paths. */
+    LOW_LATENCY(0, 16 * 1024, "none"),
+
+    /** Wait a little to fill large compressed batches: consumer-driven pipelines. */
+    HIGH_THROUGHPUT(20, 256 * 1024, "lz4");
+
+    private final int lingerMs;
+    private final int batchSizeBytes;
+    private final String compressionType;
+
+    ProducerProfile(int lingerMs, int batchSizeBytes, String compressionType) {
+        this.lingerMs = lingerMs;
+        this.batchSizeBytes = batchSizeBytes;
+        this.compressionType = compressionType;
+    }
+
+    /** Accepts the yml spelling (low-latency) as well as the constant name. */
+    public static ProducerProfile fromName(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Puts linger.ms, batch.size and compression.type into a producer config;
+     * a non-null override wins over the profile's value.
+     */
+    public void applyTo(Map<String, Object> config, Integer lingerMsOverride, Integer batchSizeBytesOverride,
+                        String compressionTypeOverride) {
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMsOverride != null ? lingerMsOverride : lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG,
+                batchSizeBytesOverride != null ? batchSizeBytesOverride : batchSizeBytes);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG,
+                compressionTypeOverride != null && !compressionTypeOverride.isBlank()
+                        ? compressionTypeOverride : compressionType);
+    }
+
+    public int getLingerMs() {
+        return lingerMs;
+    }
+
+    public int getBatchSizeBytes() {
+        return batchSizeBytes;
+    }
+
+    public String getCompressionType() {
+        return compressionType;
+    }
+}
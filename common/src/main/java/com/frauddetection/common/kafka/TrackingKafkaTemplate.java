@@ -0,0 +1,28 @@
+package com.frauddetection.common.kafka;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * KafkaTemplate whose every send — whatever send() overload the caller uses —
+ * is followed to its acknowledgement by a KafkaSendTracker, so callers that
+ * fire and forget still surface latency, in-flight depth and failures.
+ */
+public class TrackingKafkaTemplate<K, V> extends KafkaTemplate<K, V> {
+
+    private final KafkaSendTracker tracker;
+
+    public TrackingKafkaTemplate(ProducerFactory<K, V> producerFactory, KafkaSendTracker tracker) {
+        super(producerFactory);
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected CompletableFuture<SendResult<K, V>> doSend(ProducerRecord<K, V> producerRecord) {
+        return tracker.track(producerRecord.topic(), () -> super.doSend(producerRecord));
+    }
+}
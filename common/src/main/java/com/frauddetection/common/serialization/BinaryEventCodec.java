@@ -0,0 +1,142 @@
+package com.frauddetection.common.serialization;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+
+/**
+ * Compact, schema-versioned binary layout for the events on the hot Kafka
+ * topics, written field by field without reflection.
+ *
+ * <pre>
+ * byte 0  MAGIC (0x00 — never the first byte of a JSON document)
+ * byte 1  type id   (1 TransactionCreatedEvent, 2 RiskScoredEvent, 3 FraudDecisionMadeEvent)
+ * byte 2  schema version of that type
+ * ...     fields in declaration order below
+ * </pre>
+ *
+ * Evolution rule: a new field is only ever appended, together with a version
+ * bump, and read behind a {@code version >= n} check. Old readers stop after
+ * the fields they know and ignore the tail, so producers can be upgraded
+ * before or after consumers.
+ */
+public final class BinaryEventCodec {
+
+    public static final byte MAGIC = 0x00;
+
+    static final int TRANSACTION_CREATED = 1;
+    static final int RISK_SCORED = 2;
+    static final int FRAUD_DECISION_MADE = 3;
+
+    static final int TRANSACTION_CREATED_VERSION = 1;
+    static final int RISK_SCORED_VERSION = 1;
+    static final int FRAUD_DECISION_MADE_VERSION = 1;
+
+    private static final int HEADER_SIZE = 3;
+
+    private BinaryEventCodec() {
+    }
+
+    public static boolean supports(Object event) {
+        return event instanceof TransactionCreatedEvent
+                || event instanceof RiskScoredEvent
+                || event instanceof FraudDecisionMadeEvent;
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(Object event) {
+        BinaryEventWriter out = new BinaryEventWriter(128);
+        out.writeByte(MAGIC);
+        switch (event) {
+            case TransactionCreatedEvent e -> {
+                out.writeByte(TRANSACTION_CREATED);
+                out.writeByte(TRANSACTION_CREATED_VERSION);
+                out.writeString(e.getEventId());
+                out.writeString(e.getTransactionId());
+                out.writeString(e.getUserId());
+                out.writeDecimal(e.getAmount());
+                out.writeString(e.getLocation());
+                out.writeString(e.getMerchantType());
+                out.writeDateTime(e.getTimestamp());
+            }
+            case RiskScoredEvent e -> {
+                out.writeByte(RISK_SCORED);
+                out.writeByte(RISK_SCORED_VERSION);
+                out.writeString(e.getEventId());
+                out.writeString(e.getTransactionId());
+                out.writeString(e.getUserId());
+                out.writeDouble(e.getRiskScore());
+                out.writeString(e.getRiskLevel());
+                out.writeDateTime(e.getScoredAt());
+                out.writeString(e.getLocation());
+                out.writeString(e.getMerchantType());
+            }
+            case FraudDecisionMadeEvent e -> {
+                out.writeByte(FRAUD_DECISION_MADE);
+                out.writeByte(FRAUD_DECISION_MADE_VERSION);
+                out.writeString(e.getEventId());
+                out.writeString(e.getCaseId());
+                out.writeString(e.getTransactionId());
+                out.writeString(e.getUserId());
+                out.writeString(e.getDecision());
+                out.writeDouble(e.getRiskScore());
+                out.writeString(e.getFlagReason());
+                out.writeDateTime(e.getDecidedAt());
+                out.writeString(e.getRiskLevel());
+                out.writeString(e.getLocation());
+                out.writeString(e.getMerchantType());
+            }
+            default -> throw new IllegalArgumentException(
+                    "No binary layout for " + (event == null ? "null" : event.getClass().getName()));
+        }
+        return out.toByteArray();
+    }
+
+    public static Object decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Not a binary event payload");
+        }
+        int type = data[1] & 0xFF;
+        int version = data[2] & 0xFF;
+        BinaryEventReader in = new BinaryEventReader(data, HEADER_SIZE);
+        return switch (type) {
+            case TRANSACTION_CREATED -> TransactionCreatedEvent.builder()
+                    .eventId(in.readString())
+                    .transactionId(in.readString())
+                    .userId(in.readString())
+                    .amount(in.readDecimal())
+                    .location(in.readString())
+                    .merchantType(in.readString())
+                    .timestamp(in.readDateTime())
+                    .build();
+            case RISK_SCORED -> RiskScoredEvent.builder()
+                    .eventId(in.readString())
+                    .transactionId(in.readString())
+                    .userId(in.readString())
+                    .riskScore(in.readDouble())
+                    .riskLevel(in.readString())
+                    .scoredAt(in.readDateTime())
+                    .location(in.readString())
+                    .merchantType(in.readString())
+                    .build();
+            case FRAUD_DECISION_MADE -> FraudDecisionMadeEvent.builder()
+                    .eventId(in.readString())
+                    .caseId(in.readString())
+                    .transactionId(in.readString())
+                    .userId(in.readString())
+                    .decision(in.readString())
+                    .riskScore(in.readDouble())
+                    .flagReason(in.readString())
+                    .decidedAt(in.readDateTime())
+                    .riskLevel(in.readString())
+                    .location(in.readString())
+                    .merchantType(in.readString())
+                    .build();
+            default -> throw new IllegalArgumentException(
+                    "Unknown binary event type " + type + " (schema version " + version + ")");
+        };
+    }
+}
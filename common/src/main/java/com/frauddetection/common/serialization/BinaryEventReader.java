@@ -0,0 +1,111 @@
+package com.frauddetection.common.serialization;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Reads what BinaryEventWriter wrote. Truncated or malformed input surfaces as
+ * IllegalArgumentException.
+ */
+public final class BinaryEventReader {
+
+    private final byte[] buf;
+    private int pos;
+
+    public BinaryEventReader(byte[] buf, int offset) {
+        this.buf = buf;
+        this.pos = offset;
+    }
+
+    public boolean hasRemaining() {
+        return pos < buf.length;
+    }
+
+    public int readByte() {
+        require(1);
+        return buf[pos++] & 0xFF;
+    }
+
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at offset " + pos);
+    }
+
+    public long readVarLong() {
+        long v = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (v >>> 1) ^ -(v & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed varlong at offset " + pos);
+    }
+
+    public String readString() {
+        int lengthPlusOne = readVarInt();
+        if (lengthPlusOne == 0) {
+            return null;
+        }
+        int length = lengthPlusOne - 1;
+        require(length);
+        String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return value;
+    }
+
+    public Double readDouble() {
+        if (readByte() == 0) {
+            return null;
+        }
+        require(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (buf[pos++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public BigDecimal readDecimal() {
+        int tag = readByte();
+        if (tag == 0) {
+            return null;
+        }
+        int scale = (int) readVarLong();
+        if (tag == 1) {
+            return BigDecimal.valueOf(readVarLong(), scale);
+        }
+        int length = readVarInt();
+        require(length);
+        BigInteger unscaled = new BigInteger(Arrays.copyOfRange(buf, pos, pos + length));
+        pos += length;
+        return new BigDecimal(unscaled, scale);
+    }
+
+    public LocalDateTime readDateTime() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long epochSecond = readVarLong();
+        int nano = readVarInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private void require(int n) {
+        if (n < 0 || pos + n > buf.length) {
+            throw new IllegalArgumentException("Truncated binary event: need " + n + " bytes at offset " + pos);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.frauddetection.common.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Value serializer that picks the wire format per topic: events sent to a
+ * topic listed in {@link #BINARY_TOPICS} are written with BinaryEventCodec,
+ * everything else goes through Spring's JsonSerializer exactly as before.
+ *
+ * <pre>
+ * config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+ * config.put(EventSerializer.BINARY_TOPICS, "risk.scored,fraud.decision.made");
+ * </pre>
+ *
+ * Switch a topic to binary only after all its consumers use EventDeserializer.
+ */
+public class EventSerializer implements Serializer<Object> {
+
+    /** Comma-separated list (or Collection) of topics written in the binary format. */
+    public static final String BINARY_TOPICS = "frauddetection.serialization.binary-topics";
+
+    private final JsonSerializer<Object> json = new JsonSerializer<>();
+    private Set<String> binaryTopics = Set.of();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+        binaryTopics = parseTopics(configs.get(BINARY_TOPICS));
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data != null && binaryTopics.contains(topic) && BinaryEventCodec.supports(data)) {
+            return BinaryEventCodec.encode(data);
+        }
+        return json.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data != null && binaryTopics.contains(topic) && BinaryEventCodec.supports(data)) {
+            // The payload names its own type; no __TypeId__ header needed
+            return BinaryEventCodec.encode(data);
+        }
+        return json.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+
+    static Set<String> parseTopics(Object value) {
+        if (value instanceof Collection<?> topics) {
+            return topics.stream().map(Object::toString).map(String::trim)
+                    .filter(t -> !t.isEmpty()).collect(Collectors.toUnmodifiableSet());
+        }
+        if (value instanceof String topics) {
+            return Arrays.stream(topics.split(",")).map(String::trim)
+                    .filter(t -> !t.isEmpty()).collect(Collectors.toUnmodifiableSet());
+        }
+        return Set.of();
+    }
+}
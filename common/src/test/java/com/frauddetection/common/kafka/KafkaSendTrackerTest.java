@@ -0,0 +1,74 @@
+package com.frauddetection.common.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaProducerException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KafkaSendTrackerTest {
+
+    private SimpleMeterRegistry registry;
+    private KafkaSendTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tracker = new KafkaSendTracker(registry);
+    }
+
+    private double inFlightGauge(String topic) {
+        return registry.get("kafka.producer.in-flight").tag("topic", topic).gauge().value();
+    }
+
+    @Test
+    @DisplayName("in-flight rises on send and falls on ack; the ack is timed as success")
+    void success_tracksInFlightAndLatency() {
+        CompletableFuture<String> ack = new CompletableFuture<>();
+
+        tracker.track("risk.scored", () -> ack);
+        assertThat(tracker.inFlightCount("risk.scored")).isEqualTo(1);
+        assertThat(inFlightGauge("risk.scored")).isEqualTo(1.0);
+
+        ack.complete("ok");
+
+        assertThat(tracker.inFlightCount("risk.scored")).isZero();
+        assertThat(registry.get("kafka.producer.send").tags("topic", "risk.scored", "result", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("failed ack is counted by the client exception type")
+    void failure_countedByCause() {
+        CompletableFuture<String> ack = new CompletableFuture<>();
+        tracker.track("fraud.decision.made", () -> ack);
+
+        ack.completeExceptionally(new KafkaProducerException(null, "send failed", new TimeoutException("expired")));
+
+        assertThat(tracker.inFlightCount("fraud.decision.made")).isZero();
+        assertThat(registry.get("kafka.producer.send.failures")
+                .tags("topic", "fraud.decision.made", "exception", "TimeoutException")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("kafka.producer.send").tags("topic", "fraud.decision.made", "result", "failure")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("send that throws before returning a future is recorded and rethrown")
+    void synchronousFailure_recordedAndRethrown() {
+        assertThatThrownBy(() -> tracker.track("transactions.created", () -> {
+            throw new IllegalStateException("buffer full");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(tracker.inFlightCount("transactions.created")).isZero();
+        assertThat(registry.get("kafka.producer.send.failures")
+                .tags("topic", "transactions.created", "exception", "IllegalStateException")
+                .counter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,33 @@
+package com.frauddetection.common.kafka;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProducerProfileTest {
+
+    @Test
+    @DisplayName("profile names use the yml spelling")
+    void fromName_acceptsYmlSpelling() {
+        assertThat(ProducerProfile.fromName("low-latency")).isEqualTo(ProducerProfile.LOW_LATENCY);
+        assertThat(ProducerProfile.fromName(" High-Throughput ")).isEqualTo(ProducerProfile.HIGH_THROUGHPUT);
+    }
+
+    @Test
+    @DisplayName("profile values apply unless overridden")
+    void applyTo_overridesWin() {
+        Map<String, Object> config = new HashMap<>();
+
+        ProducerProfile.HIGH_THROUGHPUT.applyTo(config, 5, null, " ");
+
+        assertThat(config)
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 5)
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 256 * 1024)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+    }
+}
@@ -0,0 +1,116 @@
+package com.frauddetection.common.serialization;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.NotificationTriggeredEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryEventCodecTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 10, 30, 15);
+
+    private static TransactionCreatedEvent transaction(BigDecimal amount) {
+        return TransactionCreatedEvent.builder()
+                .eventId("evt-1").transactionId("txn-1").userId("user-1")
+                .amount(amount).location("São Paulo").merchantType("Crypto Exchange")
+                .timestamp(NOW)
+                .build();
+    }
+
+    @Test
+    @DisplayName("TransactionCreatedEvent round-trips, including non-ASCII text and exact decimals")
+    void transactionCreated_roundTrip() {
+        TransactionCreatedEvent decoded = (TransactionCreatedEvent) BinaryEventCodec.decode(
+                BinaryEventCodec.encode(transaction(new BigDecimal("55000.10"))));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(transaction(new BigDecimal("55000.10")));
+        assertThat(decoded.getAmount().scale()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("amounts beyond a long's range keep every digit")
+    void transactionCreated_hugeAmount() {
+        BigDecimal huge = new BigDecimal("123456789012345678901234567890.123456");
+
+        TransactionCreatedEvent decoded = (TransactionCreatedEvent) BinaryEventCodec.decode(
+                BinaryEventCodec.encode(transaction(huge)));
+
+        assertThat(decoded.getAmount()).isEqualTo(huge);
+    }
+
+    @Test
+    @DisplayName("RiskScoredEvent and FraudDecisionMadeEvent round-trip with null fields")
+    void scoredAndDecision_roundTripWithNulls() {
+        RiskScoredEvent scored = RiskScoredEvent.builder()
+                .eventId("evt-2").transactionId("txn-1").userId("user-1")
+                .riskScore(0.9213).riskLevel("HIGH").scoredAt(NOW)
+                .build();
+        FraudDecisionMadeEvent decision = FraudDecisionMadeEvent.builder()
+                .eventId("evt-3").caseId("case-1").transactionId("txn-1").userId("user-1")
+                .decision("BLOCK").riskScore(0.9213).riskLevel("HIGH").location("Lagos")
+                .build();
+
+        assertThat(BinaryEventCodec.decode(BinaryEventCodec.encode(scored)))
+                .usingRecursiveComparison().isEqualTo(scored);
+        assertThat(BinaryEventCodec.decode(BinaryEventCodec.encode(decision)))
+                .usingRecursiveComparison().isEqualTo(decision);
+    }
+
+    @Test
+    @DisplayName("binary payload is much smaller than the JSON one")
+    void binary_isSmallerThanJson() {
+        TransactionCreatedEvent event = transaction(new BigDecimal("349.99"));
+        try (JsonSerializer<Object> json = new JsonSerializer<>()) {
+            byte[] jsonBytes = json.serialize("transactions.created", event);
+            byte[] binaryBytes = BinaryEventCodec.encode(event);
+
+            assertThat(binaryBytes.length).isLessThan(jsonBytes.length / 2);
+        }
+    }
+
+    @Test
+    @DisplayName("truncated payload and unsupported type are rejected")
+    void malformed_rejected() {
+        byte[] full = BinaryEventCodec.encode(transaction(BigDecimal.ONE));
+
+        assertThatThrownBy(() -> BinaryEventCodec.decode(Arrays.copyOf(full, full.length - 4)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BinaryEventCodec.encode(NotificationTriggeredEvent.builder().build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("serializer writes binary only for configured topics; deserializer reads both formats")
+    void serializerPerTopic_deserializerReadsBoth() {
+        RiskScoredEvent event = RiskScoredEvent.builder()
+                .eventId("evt-4").userId("user-1").riskScore(0.4).riskLevel("MEDIUM").scoredAt(NOW)
+                .build();
+        try (EventSerializer serializer = new EventSerializer();
+             EventDeserializer deserializer = new EventDeserializer()) {
+            serializer.configure(Map.of(EventSerializer.BINARY_TOPICS, "risk.scored, other"), false);
+            deserializer.configure(Map.of(
+                    JsonDeserializer.TRUSTED_PACKAGES, "com.frauddetection.common.events",
+                    JsonDeserializer.VALUE_DEFAULT_TYPE, RiskScoredEvent.class.getName()), false);
+
+            byte[] binary = serializer.serialize("risk.scored", event);
+            byte[] json = serializer.serialize("risk.scored.legacy", event);
+
+            assertThat(BinaryEventCodec.isBinary(binary)).isTrue();
+            assertThat(json[0]).isEqualTo((byte) '{');
+            assertThat(deserializer.deserialize("risk.scored", binary)).usingRecursiveComparison().isEqualTo(event);
+            assertThat(deserializer.deserialize("risk.scored", json)).usingRecursiveComparison().isEqualTo(event);
+        }
+    }
+}
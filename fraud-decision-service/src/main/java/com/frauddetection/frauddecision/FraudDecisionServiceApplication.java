@@ -2,8 +2,10 @@ package com.frauddetection.frauddecision;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FraudDecisionServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(FraudDecisionServiceApplication.class, args);
@@ -0,0 +1,30 @@
+package com.frauddetection.frauddecision.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiled decision table with hot reload.
+ *
+ * <pre>
+ * fraud:
+ *   decision:
+ *     table:
+ *       enabled: true
+ *       rules-file: /etc/fraud/decision-rules.json   # optional; DecisionTableDefinition JSON
+ *       reload-interval-ms: 5000                     # how often the file's mtime is checked
+ * </pre>
+ *
+ * Without a rules file the table holds only the built-in BLOCK / REVIEW /
+ * APPROVE threshold rules and decides exactly like the DecisionRule chain.
+ */
+@Component
+@ConfigurationProperties(prefix = "fraud.decision.table")
+@Data
+public class DecisionTableProperties {
+
+    private boolean enabled = false;
+    private String rulesFile;
+    private long reloadIntervalMs = 5000;
+}
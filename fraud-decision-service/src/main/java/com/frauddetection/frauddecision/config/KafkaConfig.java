@@ -2,6 +2,12 @@ package com.frauddetection.frauddecision.config;
 
 import com.frauddetection.common.events.FraudDecisionMadeEvent;
 import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.common.kafka.KafkaSendTracker;
+import com.frauddetection.common.kafka.ProducerProfile;
+import com.frauddetection.common.kafka.TrackingKafkaTemplate;
+import com.frauddetection.common.serialization.EventDeserializer;
+import com.frauddetection.common.serialization.EventSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -11,9 +17,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,9 +31,39 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    /** Topics this service produces in the binary event format instead of JSON. */
+    @Value("${kafka.serialization.binary-topics:}")
+    private String binaryTopics;
+
+    /** ProducerProfile name (low-latency | high-throughput); the three settings below override it. */
+    @Value("${kafka.producer.profile:low-latency}")
+    private String producerProfile;
+
+    @Value("${kafka.producer.linger-ms:#{null}}")
+    private Integer lingerMs;
+
+    @Value("${kafka.producer.batch-size-bytes:#{null}}")
+    private Integer batchSizeBytes;
+
+    @Value("${kafka.producer.compression-type:#{null}}")
+    private String compressionType;
+
     @Value("${spring.kafka.consumer.group-id:fraud-decision-group}")
     private String groupId;
 
+    /**
+     * When true the listener container hands a whole poll (up to max.poll.records)
+     * to FraudDecisionBatchConsumer instead of one record at a time to FraudDecisionConsumer.
+     */
+    @Value("${kafka.listener.batch-enabled:false}")
+    private boolean batchListenerEnabled;
+
+    @Value("${kafka.listener.retry-attempts:5}")
+    private long retryAttempts;
+
+    @Value("${kafka.listener.retry-interval:2s}")
+    private Duration retryInterval;
+
     @Bean
     public ConsumerFactory<String, RiskScoredEvent> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
@@ -33,17 +71,25 @@ public class KafkaConfig {
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        // Reads binary and JSON records alike, so producers can switch format per topic
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, EventDeserializer.class);
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.frauddetection.common.events");
         config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, RiskScoredEvent.class.getName());
         return new DefaultKafkaConsumerFactory<>(config);
     }
 
+    /**
+     * A listener that throws leaves its offsets uncommitted; the error handler
+     * redelivers the records (the whole poll in batch mode) retry-attempts times,
+     * retry-interval apart, before logging them and moving on.
+     */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, RiskScoredEvent>
     kafkaListenerContainerFactory() {
         var factory = new ConcurrentKafkaListenerContainerFactory<String, RiskScoredEvent>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(batchListenerEnabled);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(retryInterval.toMillis(), retryAttempts)));
         return factory;
     }
 
@@ -52,14 +98,21 @@ public class KafkaConfig {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        config.put(EventSerializer.BINARY_TOPICS, binaryTopics);
         config.put(ProducerConfig.ACKS_CONFIG, "all");
         config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        ProducerProfile.fromName(producerProfile).applyTo(config, lingerMs, batchSizeBytes, compressionType);
         return new DefaultKafkaProducerFactory<>(config);
     }
 
     @Bean
-    public KafkaTemplate<String, FraudDecisionMadeEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaSendTracker kafkaSendTracker(MeterRegistry meterRegistry) {
+        return new KafkaSendTracker(meterRegistry);
+    }
+
+    @Bean
+    public KafkaTemplate<String, FraudDecisionMadeEvent> kafkaTemplate(KafkaSendTracker kafkaSendTracker) {
+        return new TrackingKafkaTemplate<>(producerFactory(), kafkaSendTracker);
     }
 }
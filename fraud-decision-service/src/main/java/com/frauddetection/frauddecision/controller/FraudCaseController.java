@@ -1,6 +1,7 @@
 package com.frauddetection.frauddecision.controller;
 
 import com.frauddetection.common.dto.FraudCaseDTO;
+import com.frauddetection.frauddecision.dto.CursorPaginatedResponse;
 import com.frauddetection.frauddecision.dto.PaginatedResponse;
 import com.frauddetection.frauddecision.dto.ReviewRequest;
 import com.frauddetection.frauddecision.service.FraudCaseService;
@@ -44,6 +45,20 @@ public class FraudCaseController {
         return ResponseEntity.ok(PaginatedResponse.from(fraudCaseService.getAllCases(page, size)));
     }
 
+    /**
+     * GET /api/fraud-cases?cursor=&status=PENDING&size=20
+     * Keyset pagination, newest first — selected by the presence of the cursor
+     * parameter (empty for the first page). Cost per page stays constant however
+     * deep the analyst pages, and no total count is computed.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPaginatedResponse<FraudCaseDTO>> getCasesByCursor(
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(fraudCaseService.getCases(cursor, status, size));
+    }
+
     /**
      * GET /api/fraud-cases/{id}
      */
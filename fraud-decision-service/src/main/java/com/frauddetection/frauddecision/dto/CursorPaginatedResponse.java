@@ -0,0 +1,17 @@
+package com.frauddetection.frauddecision.dto;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated variant of PaginatedResponse.
+ *
+ * There is no page number or total count — both would force the database to
+ * count or skip rows. Pass nextCursor back as ?cursor= to get the following
+ * page; it is null on the last page.
+ */
+public record CursorPaginatedResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext) {
+}
@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @Table(name = "fraud_cases", indexes = {
         @Index(name = "idx_case_transaction_id", columnList = "transactionId"),
         @Index(name = "idx_case_user_id", columnList = "userId"),
-        @Index(name = "idx_case_status", columnList = "status")
+        @Index(name = "idx_case_status", columnList = "status"),
+        // Keyset pagination: GET /api/fraud-cases?cursor=… with and without ?status=
+        @Index(name = "idx_case_created_at_id", columnList = "createdAt, id"),
+        @Index(name = "idx_case_status_created_at_id", columnList = "status, createdAt, id")
 })
 @Data
 @Builder
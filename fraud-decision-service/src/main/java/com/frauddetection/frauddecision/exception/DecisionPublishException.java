@@ -0,0 +1,26 @@
+package com.frauddetection.frauddecision.exception;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+
+import java.util.List;
+
+/**
+ * Thrown by FraudDecisionService.processBatch when the batch's FraudCases are
+ * committed but some of their decision events were not acknowledged.
+ *
+ * Carries exactly those events, with their original eventId and caseId, so
+ * the caller republishes them instead of deciding the records again.
+ */
+public class DecisionPublishException extends RuntimeException {
+
+    private final transient List<FraudDecisionMadeEvent> unpublished;
+
+    public DecisionPublishException(List<FraudDecisionMadeEvent> unpublished, int batchSize, Throwable cause) {
+        super(unpublished.size() + " of " + batchSize + " decision events were not acknowledged", cause);
+        this.unpublished = List.copyOf(unpublished);
+    }
+
+    public List<FraudDecisionMadeEvent> getUnpublished() {
+        return unpublished;
+    }
+}
@@ -0,0 +1,91 @@
+package com.frauddetection.frauddecision.kafka;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.frauddecision.exception.DecisionPublishException;
+import com.frauddetection.frauddecision.service.FraudDecisionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch-mode Kafka listener — receives a whole poll and delegates to
+ * FraudDecisionService.processBatch (one batch insert, one producer batch).
+ *
+ * Enabled with kafka.listener.batch-enabled=true, which also switches
+ * kafkaListenerContainerFactory into batch mode. Offsets for the poll are
+ * committed only when this method returns, i.e. once every record is stored
+ * and its decision event acknowledged.
+ *
+ * If the insert committed but some decision events were not acknowledged,
+ * only those events are republished, with their original caseId and eventId.
+ * If the batch insert fails, every record is retried on its own so a single
+ * bad event cannot hold back the rest of the poll. Anything still unpublished
+ * or undecided after that is rethrown: the container's error handler retries
+ * the poll with backoff, and processBatch republishes the stored decisions of
+ * the retried records instead of inserting their cases again.
+ */
+@Component
+@ConditionalOnProperty(prefix = "kafka.listener", name = "batch-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class FraudDecisionBatchConsumer {
+
+    private final FraudDecisionService fraudDecisionService;
+
+    @KafkaListener(topics = "${kafka.topics.risk-scored:risk.scored}", groupId = "${spring.kafka.consumer.group-id:fraud-decision-group}", containerFactory = "kafkaListenerContainerFactory")
+    public void onRiskScored(List<RiskScoredEvent> events) {
+        log.info("FraudDecisionBatchConsumer received batch: size={}", events.size());
+        try {
+            fraudDecisionService.processBatch(events);
+        } catch (DecisionPublishException e) {
+            log.error("Batch fraud decision stored {} cases but {}; republishing those",
+                    events.size(), e.getMessage(), e);
+            republish(e.getUnpublished(), events.size());
+        } catch (Exception e) {
+            log.error("Batch fraud decision failed for {} events, falling back to per-record: {}",
+                    events.size(), e.getMessage(), e);
+            processEach(events);
+        }
+    }
+
+    private void republish(List<FraudDecisionMadeEvent> unpublished, int batchSize) {
+        List<FraudDecisionMadeEvent> failed = new ArrayList<>();
+        Exception firstFailure = null;
+        for (FraudDecisionMadeEvent decision : unpublished) {
+            try {
+                fraudDecisionService.publish(decision);
+            } catch (Exception e) {
+                failed.add(decision);
+                firstFailure = firstFailure == null ? e : firstFailure;
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new DecisionPublishException(failed, batchSize, firstFailure);
+        }
+    }
+
+    /** One processBatch per record, so each is stored and acknowledged on its own. */
+    private void processEach(List<RiskScoredEvent> events) {
+        int failed = 0;
+        Exception firstFailure = null;
+        for (RiskScoredEvent event : events) {
+            try {
+                fraudDecisionService.processBatch(List.of(event));
+            } catch (Exception e) {
+                log.error("Fraud decision failed for txnId={}: {}", event.getTransactionId(), e.getMessage(), e);
+                failed++;
+                firstFailure = firstFailure == null ? e : firstFailure;
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(
+                    failed + " of " + events.size() + " records were not decided and published", firstFailure);
+        }
+    }
+}
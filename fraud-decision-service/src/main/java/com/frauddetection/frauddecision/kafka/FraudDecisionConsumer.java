@@ -4,6 +4,7 @@ import com.frauddetection.common.events.RiskScoredEvent;
 import com.frauddetection.frauddecision.service.FraudDecisionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
@@ -14,8 +15,12 @@ import org.springframework.stereotype.Component;
  * SOLID Fix: SRP — the consumer's ONLY job is message receipt and delegation.
  * All business logic (decision rules, persistence, publishing) lives in
  * FraudDecisionService.
+ *
+ * Active in the default record mode; FraudDecisionBatchConsumer replaces it
+ * when kafka.listener.batch-enabled=true.
  */
 @Component
+@ConditionalOnProperty(prefix = "kafka.listener", name = "batch-enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class FraudDecisionConsumer {
@@ -0,0 +1,53 @@
+package com.frauddetection.frauddecision.repository;
+
+import com.frauddetection.frauddecision.entity.FraudCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch inserts of fraud_cases for the batch listener path.
+ *
+ * FraudCase's IDENTITY id stops Hibernate from batching inserts at all, so a
+ * poll is written here instead: the business key caseId is generated up front,
+ * the surrogate id is left to the column's sequence default, and the whole
+ * poll goes to PostgreSQL as one batch (rewritten to multi-row INSERTs with
+ * reWriteBatchedInserts=true). The poll commits as one transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FraudCaseBatchInsertRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO fraud_cases (case_id, transaction_id, user_id, user_name, risk_score, decision, status,
+                                     flag_reason, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void insertAll(List<FraudCase> cases) {
+        if (cases.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, cases, cases.size(), (ps, fraudCase) -> {
+            ps.setString(1, fraudCase.getCaseId());
+            ps.setString(2, fraudCase.getTransactionId());
+            ps.setString(3, fraudCase.getUserId());
+            if (fraudCase.getUserName() == null) {
+                ps.setNull(4, Types.VARCHAR);
+            } else {
+                ps.setString(4, fraudCase.getUserName());
+            }
+            ps.setDouble(5, fraudCase.getRiskScore());
+            ps.setString(6, fraudCase.getDecision().name());
+            ps.setString(7, fraudCase.getStatus().name());
+            ps.setString(8, fraudCase.getFlagReason());
+        });
+    }
+}
@@ -4,8 +4,13 @@ import com.frauddetection.frauddecision.entity.FraudCase;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,7 +20,39 @@ public interface FraudCaseRepository extends JpaRepository<FraudCase, Long> {
 
     Optional<FraudCase> findByTransactionId(String transactionId);
 
+    /** Cases already stored for a redelivered poll, so they are republished instead of inserted again. */
+    List<FraudCase> findByTransactionIdIn(Collection<String> transactionIds);
+
     Page<FraudCase> findByStatusOrderByCreatedAtDesc(FraudCase.CaseStatus status, Pageable pageable);
 
     Page<FraudCase> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    // ── Keyset pagination on (createdAt DESC, id DESC) ──────────────────────
+    // List return types: Spring Data only applies the Pageable's LIMIT, no COUNT(*).
+    // "createdAt <= :createdAt" gives the index scan its start bound; the OR
+    // breaks ties on id within the same timestamp.
+
+    @Query("SELECT f FROM FraudCase f ORDER BY f.createdAt DESC, f.id DESC")
+    List<FraudCase> findFirstKeysetPage(Pageable pageable);
+
+    @Query("""
+            SELECT f FROM FraudCase f
+            WHERE f.createdAt <= :createdAt AND (f.createdAt < :createdAt OR f.id < :id)
+            ORDER BY f.createdAt DESC, f.id DESC""")
+    List<FraudCase> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") long id,
+                                        Pageable pageable);
+
+    @Query("SELECT f FROM FraudCase f WHERE f.status = :status ORDER BY f.createdAt DESC, f.id DESC")
+    List<FraudCase> findFirstKeysetPageByStatus(@Param("status") FraudCase.CaseStatus status, Pageable pageable);
+
+    @Query("""
+            SELECT f FROM FraudCase f
+            WHERE f.status = :status
+              AND f.createdAt <= :createdAt AND (f.createdAt < :createdAt OR f.id < :id)
+            ORDER BY f.createdAt DESC, f.id DESC""")
+    List<FraudCase> findKeysetPageByStatusAfter(@Param("status") FraudCase.CaseStatus status,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") long id,
+                                                Pageable pageable);
 }
@@ -0,0 +1,18 @@
+package com.frauddetection.frauddecision.rule;
+
+import com.frauddetection.common.events.RiskScoredEvent;
+
+/**
+ * Turns a scored event into a decision.
+ *
+ * Two implementations, selected by fraud.decision.table.enabled:
+ * - RuleChainDecisionEngine — first matching DecisionRule bean, in @Order (default)
+ * - DecisionTableEngine     — compiled, hot-reloadable DecisionTable
+ */
+public interface DecisionEngine {
+
+    /**
+     * @throws IllegalStateException if no rule matches
+     */
+    DecisionResult decide(RiskScoredEvent event);
+}
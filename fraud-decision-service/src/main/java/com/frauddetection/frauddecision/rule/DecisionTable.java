@@ -0,0 +1,172 @@
+package com.frauddetection.frauddecision.rule;
+
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.frauddecision.entity.FraudCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.DoubleFunction;
+
+/**
+ * Immutable, compiled form of a rule set.
+ *
+ * Every score bound used by any rule splits the score axis into elementary
+ * intervals (b[i-1], b[i]]. For each interval and each riskLevel the table
+ * stores the rules that can match there, already in priority order and cut
+ * off after the first rule with no userId constraint (nothing behind it can
+ * ever win). A lookup is one binary search over the bounds, one map lookup for
+ * the level and, at most, one hash probe per userId-list rule that outranks
+ * the first unconditional one — independent of the total number of rules.
+ *
+ * Instances are never modified; DecisionTableEngine swaps whole tables.
+ */
+public final class DecisionTable {
+
+    /** A rule reduced to what the lookup needs. */
+    public record Entry(String name,
+                        int priority,
+                        Double scoreAbove,
+                        Double scoreAtMost,
+                        Set<String> riskLevels,
+                        Set<String> userIds,
+                        FraudCase.Decision decision,
+                        DoubleFunction<String> reason) {
+
+        DecisionResult toResult(double score) {
+            return DecisionResult.builder()
+                    .decision(decision)
+                    .status(statusFor(decision))
+                    .flagReason(reason.apply(score))
+                    .build();
+        }
+    }
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final double[] bounds;
+    private final Map<String, Integer> levelIndex;
+    private final int otherLevel;
+    private final Entry[][][] cells; // [interval][level] → candidates in priority order
+    private final int ruleCount;
+
+    private DecisionTable(double[] bounds, Map<String, Integer> levelIndex, Entry[][][] cells, int ruleCount) {
+        this.bounds = bounds;
+        this.levelIndex = levelIndex;
+        this.otherLevel = levelIndex.size();
+        this.cells = cells;
+        this.ruleCount = ruleCount;
+    }
+
+    /**
+     * @param entries rules in any order; ties in priority keep list order
+     * @throws IllegalArgumentException on an empty score range or missing decision
+     */
+    public static DecisionTable compile(List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingInt(Entry::priority));
+
+        TreeSet<Double> boundSet = new TreeSet<>();
+        Set<String> levels = new LinkedHashSet<>();
+        for (Entry e : sorted) {
+            if (e.decision() == null) {
+                throw new IllegalArgumentException("Rule '" + e.name() + "' has no decision");
+            }
+            if (e.scoreAbove() != null && e.scoreAtMost() != null && e.scoreAbove() >= e.scoreAtMost()) {
+                throw new IllegalArgumentException("Rule '" + e.name() + "' has an empty score range");
+            }
+            if (e.scoreAbove() != null) {
+                boundSet.add(e.scoreAbove());
+            }
+            if (e.scoreAtMost() != null) {
+                boundSet.add(e.scoreAtMost());
+            }
+            levels.addAll(e.riskLevels());
+        }
+
+        double[] bounds = boundSet.stream().mapToDouble(Double::doubleValue).toArray();
+        Map<String, Integer> levelIndex = new HashMap<>();
+        String[] levelNames = levels.toArray(String[]::new);
+        for (int i = 0; i < levelNames.length; i++) {
+            levelIndex.put(levelNames[i], i);
+        }
+
+        int intervals = bounds.length + 1;
+        int levelSlots = levelNames.length + 1; // last slot: level no rule mentions
+        Entry[][][] cells = new Entry[intervals][levelSlots][];
+        for (int interval = 0; interval < intervals; interval++) {
+            double lower = interval == 0 ? Double.NEGATIVE_INFINITY : bounds[interval - 1];
+            double upper = interval == bounds.length ? Double.POSITIVE_INFINITY : bounds[interval];
+            for (int level = 0; level < levelSlots; level++) {
+                String levelName = level < levelNames.length ? levelNames[level] : null;
+                List<Entry> candidates = new ArrayList<>();
+                for (Entry e : sorted) {
+                    if (coversInterval(e, lower, upper) && coversLevel(e, levelName)) {
+                        candidates.add(e);
+                        if (e.userIds().isEmpty()) {
+                            break;
+                        }
+                    }
+                }
+                cells[interval][level] = candidates.isEmpty() ? NO_ENTRIES : candidates.toArray(NO_ENTRIES);
+            }
+        }
+        return new DecisionTable(bounds, Map.copyOf(levelIndex), cells, sorted.size());
+    }
+
+    /**
+     * @throws IllegalStateException if no rule covers the event
+     */
+    public DecisionResult decide(RiskScoredEvent event) {
+        double score = event.getRiskScore();
+        Entry[] candidates = cells[interval(score)][level(event.getRiskLevel())];
+        String userId = event.getUserId();
+        for (Entry e : candidates) {
+            if (e.userIds().isEmpty() || e.userIds().contains(userId)) {
+                return e.toResult(score);
+            }
+        }
+        throw new IllegalStateException("No decision rule matched for txnId=" + event.getTransactionId());
+    }
+
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    /** Index of the elementary interval (b[i-1], b[i]] containing score. */
+    private int interval(double score) {
+        int idx = Arrays.binarySearch(bounds, score);
+        return idx >= 0 ? idx : -idx - 1;
+    }
+
+    private int level(String riskLevel) {
+        if (riskLevel == null) {
+            return otherLevel;
+        }
+        Integer idx = levelIndex.get(riskLevel);
+        return idx != null ? idx : otherLevel;
+    }
+
+    private static boolean coversInterval(Entry e, double lower, double upper) {
+        return (e.scoreAbove() == null || lower >= e.scoreAbove())
+                && (e.scoreAtMost() == null || upper <= e.scoreAtMost());
+    }
+
+    private static boolean coversLevel(Entry e, String levelName) {
+        return e.riskLevels().isEmpty() || (levelName != null && e.riskLevels().contains(levelName));
+    }
+
+    static FraudCase.CaseStatus statusFor(FraudCase.Decision decision) {
+        return switch (decision) {
+            case BLOCK -> FraudCase.CaseStatus.BLOCKED;
+            case REVIEW -> FraudCase.CaseStatus.PENDING;
+            case APPROVE -> FraudCase.CaseStatus.APPROVED;
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.frauddetection.frauddecision.rule;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contents of fraud.decision.table.rules-file (JSON).
+ *
+ * The optional thresholds override DecisionProperties for the built-in
+ * BLOCK / REVIEW / APPROVE rules, which always come after the file's rules.
+ */
+@Data
+public class DecisionTableDefinition {
+
+    private Double blockThreshold;
+    private Double reviewThreshold;
+    private List<DecisionTableRule> rules = new ArrayList<>();
+}
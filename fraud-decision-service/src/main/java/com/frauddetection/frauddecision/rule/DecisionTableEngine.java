@@ -0,0 +1,131 @@
+package com.frauddetection.frauddecision.rule;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.frauddecision.config.DecisionProperties;
+import com.frauddetection.frauddecision.config.DecisionTableProperties;
+import com.frauddetection.frauddecision.entity.FraudCase;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DecisionEngine backed by a compiled DecisionTable.
+ *
+ * The table is rebuilt from scratch on every change and published with a
+ * single volatile write (copy-on-write): in-flight decisions finish on the
+ * table they started with, the next event sees the new one, and nothing on
+ * the hot path takes a lock. A rules file that fails to parse or compile is
+ * logged and ignored — the previous table stays active.
+ *
+ * Rule order: the file's rules by priority, then the built-in threshold rules
+ * BLOCK (score &gt; block), REVIEW (score &gt; review) and the APPROVE catch-all,
+ * whose flagReasons match BlockDecisionRule / ReviewDecisionRule exactly.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fraud.decision.table", name = "enabled", havingValue = "true")
+@Slf4j
+public class DecisionTableEngine implements DecisionEngine {
+
+    private static final ObjectMapper OBJECT_MAPPER = JacksonUtils.enhancedObjectMapper();
+
+    private final DecisionProperties decisionProperties;
+    private final DecisionTableProperties tableProperties;
+
+    private volatile DecisionTable table;
+    private volatile long loadedModifiedMillis = Long.MIN_VALUE;
+
+    public DecisionTableEngine(DecisionProperties decisionProperties, DecisionTableProperties tableProperties) {
+        this.decisionProperties = decisionProperties;
+        this.tableProperties = tableProperties;
+        this.table = compile(new DecisionTableDefinition());
+    }
+
+    @Override
+    public DecisionResult decide(RiskScoredEvent event) {
+        return table.decide(event);
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${fraud.decision.table.reload-interval-ms:5000}")
+    public void reloadIfChanged() {
+        if (tableProperties.getRulesFile() == null || tableProperties.getRulesFile().isBlank()) {
+            return;
+        }
+        Path path = Path.of(tableProperties.getRulesFile());
+        try {
+            if (!Files.exists(path)) {
+                return;
+            }
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if (modified == loadedModifiedMillis) {
+                return;
+            }
+            reload(OBJECT_MAPPER.readValue(path.toFile(), DecisionTableDefinition.class));
+            loadedModifiedMillis = modified;
+        } catch (IOException | RuntimeException e) {
+            log.error("Decision table reload from {} failed, keeping previous table: {}", path, e.getMessage());
+        }
+    }
+
+    /** Compiles and atomically installs a new rule set. */
+    public void reload(DecisionTableDefinition definition) {
+        DecisionTable compiled = compile(definition);
+        table = compiled;
+        log.info("Decision table reloaded: rules={}", compiled.ruleCount());
+    }
+
+    DecisionTable currentTable() {
+        return table;
+    }
+
+    private DecisionTable compile(DecisionTableDefinition definition) {
+        double block = definition.getBlockThreshold() != null
+                ? definition.getBlockThreshold() : decisionProperties.getBlockThreshold();
+        double review = definition.getReviewThreshold() != null
+                ? definition.getReviewThreshold() : decisionProperties.getReviewThreshold();
+
+        List<DecisionTable.Entry> entries = new ArrayList<>();
+        for (DecisionTableRule rule : definition.getRules()) {
+            entries.add(toEntry(rule));
+        }
+
+        // Built-ins always rank after every file rule
+        int base = entries.stream().mapToInt(DecisionTable.Entry::priority).max().orElse(0);
+        entries.add(new DecisionTable.Entry("block-threshold", base + 1, block, null, Set.of(), Set.of(),
+                FraudCase.Decision.BLOCK,
+                score -> String.format("Risk score %.4f exceeds BLOCK threshold (%.2f)", score, block)));
+        entries.add(new DecisionTable.Entry("review-threshold", base + 2, review, null, Set.of(), Set.of(),
+                FraudCase.Decision.REVIEW,
+                score -> String.format("Risk score %.4f requires manual REVIEW (%.2f–%.2f range)",
+                        score, review, block)));
+        entries.add(new DecisionTable.Entry("approve", base + 3, null, null, Set.of(), Set.of(),
+                FraudCase.Decision.APPROVE, score -> null));
+        return DecisionTable.compile(entries);
+    }
+
+    private static DecisionTable.Entry toEntry(DecisionTableRule rule) {
+        String reason = rule.getReason();
+        return new DecisionTable.Entry(
+                rule.getName(),
+                rule.getPriority(),
+                rule.getScoreAbove(),
+                rule.getScoreAtMost(),
+                rule.getRiskLevels() != null ? Set.copyOf(rule.getRiskLevels()) : Set.of(),
+                rule.getUserIds() != null ? Set.copyOf(rule.getUserIds()) : Set.of(),
+                rule.getDecision(),
+                reason == null
+                        ? score -> "Matched rule '" + rule.getName() + "'"
+                        : score -> reason.replace("{score}", String.format("%.4f", score)));
+    }
+}
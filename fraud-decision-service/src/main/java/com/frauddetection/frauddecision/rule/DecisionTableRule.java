@@ -0,0 +1,37 @@
+package com.frauddetection.frauddecision.rule;
+
+import com.frauddetection.frauddecision.entity.FraudCase;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * One declarative rule from the decision-table rules file.
+ *
+ * Every constraint that is left out matches anything:
+ * <pre>
+ * {
+ *   "name": "watchlist-block",
+ *   "priority": 10,                  // lower = evaluated first
+ *   "decision": "BLOCK",             // BLOCK | REVIEW | APPROVE
+ *   "scoreAbove": 0.4,               // score &gt; scoreAbove
+ *   "scoreAtMost": 1.0,              // score &lt;= scoreAtMost
+ *   "riskLevels": ["MEDIUM", "HIGH"],
+ *   "userIds": ["user-17", "user-42"],
+ *   "reason": "Watch-listed user, risk score {score}"
+ * }
+ * </pre>
+ */
+@Data
+public class DecisionTableRule {
+
+    private String name;
+    private int priority;
+    private FraudCase.Decision decision;
+    private Double scoreAbove;
+    private Double scoreAtMost;
+    private Set<String> riskLevels = Set.of();
+    private Set<String> userIds = Set.of();
+    /** flagReason; "{score}" is replaced by the event's score (4 decimals). */
+    private String reason;
+}
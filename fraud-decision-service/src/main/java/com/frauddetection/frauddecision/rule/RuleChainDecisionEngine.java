@@ -0,0 +1,29 @@
+package com.frauddetection.frauddecision.rule;
+
+import com.frauddetection.common.events.RiskScoredEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Evaluates the DecisionRule beans in @Order sequence; the first match wins.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fraud.decision.table", name = "enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RuleChainDecisionEngine implements DecisionEngine {
+
+    private final List<DecisionRule> decisionRules;
+
+    @Override
+    public DecisionResult decide(RiskScoredEvent event) {
+        for (DecisionRule rule : decisionRules) {
+            if (rule.matches(event)) {
+                return rule.apply(event);
+            }
+        }
+        throw new IllegalStateException("No decision rule matched for txnId=" + event.getTransactionId());
+    }
+}
@@ -1,12 +1,22 @@
 package com.frauddetection.frauddecision.service;
 
 import com.frauddetection.common.dto.FraudCaseDTO;
+import com.frauddetection.frauddecision.dto.CursorPaginatedResponse;
 import org.springframework.data.domain.Page;
 
 public interface FraudCaseService {
 
     Page<FraudCaseDTO> getAllCases(int page, int size);
 
+    /**
+     * Keyset page of cases, newest first.
+     *
+     * @param cursor nextCursor of the previous page; null or blank for the first page
+     * @param status optional CaseStatus name filter
+     * @throws IllegalArgumentException on a malformed cursor or unknown status
+     */
+    CursorPaginatedResponse<FraudCaseDTO> getCases(String cursor, String status, int size);
+
     FraudCaseDTO getCase(String caseId);
 
     FraudCaseDTO reviewCase(String caseId, String action);
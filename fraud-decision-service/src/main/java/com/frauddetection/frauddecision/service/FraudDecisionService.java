@@ -1,8 +1,29 @@
 package com.frauddetection.frauddecision.service;
 
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
 import com.frauddetection.common.events.RiskScoredEvent;
 
+import java.util.List;
+
 public interface FraudDecisionService {
 
     void process(RiskScoredEvent event);
+
+    /**
+     * Decides a whole poll: one batch insert of all FraudCases, committed before
+     * anything is published, then every FraudDecisionMadeEvent sent back-to-back
+     * and acknowledged before returning.
+     *
+     * If the insert fails nothing is stored or sent. If it commits but some sends
+     * fail, DecisionPublishException carries the unacknowledged events; the cases
+     * of the others are stored and their events already published.
+     *
+     * Events whose transaction already has a stored case — a poll redelivered
+     * after a failure — are not decided or inserted again; the stored decision is
+     * published again instead.
+     */
+    void processBatch(List<RiskScoredEvent> events);
+
+    /** Sends one already-decided event and waits for its ack; used to retry a batch's unpublished events. */
+    void publish(FraudDecisionMadeEvent decision);
 }
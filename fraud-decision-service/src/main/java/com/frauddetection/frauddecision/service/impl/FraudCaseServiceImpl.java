@@ -2,6 +2,7 @@ package com.frauddetection.frauddecision.service.impl;
 
 import com.frauddetection.common.dto.FraudCaseDTO;
 import com.frauddetection.common.exception.ResourceNotFoundException;
+import com.frauddetection.frauddecision.dto.CursorPaginatedResponse;
 import com.frauddetection.frauddecision.entity.FraudCase;
 import com.frauddetection.frauddecision.repository.FraudCaseRepository;
 import com.frauddetection.frauddecision.service.FraudCaseService;
@@ -12,19 +13,54 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class FraudCaseServiceImpl implements FraudCaseService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final FraudCaseRepository fraudCaseRepository;
 
     @Override
     public Page<FraudCaseDTO> getAllCases(int page, int size) {
+        requireValidSize(size);
         Pageable pageable = PageRequest.of(page, size);
         return fraudCaseRepository.findAllByOrderByCreatedAtDesc(pageable)
                 .map(this::toDTO);
     }
 
+    @Override
+    public CursorPaginatedResponse<FraudCaseDTO> getCases(String cursor, String status, int size) {
+        requireValidSize(size);
+        FraudCase.CaseStatus statusFilter = status == null || status.isBlank()
+                ? null : FraudCase.CaseStatus.valueOf(status.toUpperCase());
+        FraudCaseCursor after = cursor == null || cursor.isBlank() ? null : FraudCaseCursor.decode(cursor);
+        // One extra row tells whether another page exists
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<FraudCase> rows;
+        if (statusFilter == null) {
+            rows = after == null
+                    ? fraudCaseRepository.findFirstKeysetPage(limit)
+                    : fraudCaseRepository.findKeysetPageAfter(after.createdAt(), after.id(), limit);
+        } else {
+            rows = after == null
+                    ? fraudCaseRepository.findFirstKeysetPageByStatus(statusFilter, limit)
+                    : fraudCaseRepository.findKeysetPageByStatusAfter(statusFilter, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<FraudCase> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            FraudCase last = page.getLast();
+            nextCursor = new FraudCaseCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPaginatedResponse<>(page.stream().map(this::toDTO).toList(), size, nextCursor, hasNext);
+    }
+
     @Override
     public FraudCaseDTO getCase(String caseId) {
         return fraudCaseRepository.findByCaseId(caseId)
@@ -48,6 +84,13 @@ public class FraudCaseServiceImpl implements FraudCaseService {
         return toDTO(fraudCaseRepository.save(fraudCase));
     }
 
+    /** IllegalArgumentException → 400 in GlobalExceptionHandler. */
+    private static void requireValidSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE + ": " + size);
+        }
+    }
+
     private FraudCaseDTO toDTO(FraudCase fc) {
         return FraudCaseDTO.builder()
                 .caseId(fc.getCaseId())
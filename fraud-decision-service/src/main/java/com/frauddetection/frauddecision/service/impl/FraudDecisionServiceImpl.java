@@ -3,44 +3,116 @@ package com.frauddetection.frauddecision.service.impl;
 import com.frauddetection.common.events.FraudDecisionMadeEvent;
 import com.frauddetection.common.events.RiskScoredEvent;
 import com.frauddetection.frauddecision.entity.FraudCase;
+import com.frauddetection.frauddecision.exception.DecisionPublishException;
+import com.frauddetection.frauddecision.repository.FraudCaseBatchInsertRepository;
 import com.frauddetection.frauddecision.repository.FraudCaseRepository;
+import com.frauddetection.frauddecision.rule.DecisionEngine;
 import com.frauddetection.frauddecision.rule.DecisionResult;
-import com.frauddetection.frauddecision.rule.DecisionRule;
 import com.frauddetection.frauddecision.service.FraudDecisionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FraudDecisionServiceImpl implements FraudDecisionService {
 
-    private final List<DecisionRule> decisionRules;
+    private final DecisionEngine decisionEngine;
     private final FraudCaseRepository fraudCaseRepository;
+    private final FraudCaseBatchInsertRepository fraudCaseBatchInsertRepository;
     private final KafkaTemplate<String, FraudDecisionMadeEvent> kafkaTemplate;
 
     @Value("${kafka.topics.fraud-decision-made:fraud.decision.made}")
     private String fraudDecisionTopic;
 
+    @Value("${kafka.producer.batch-send-timeout-ms:30000}")
+    private long batchSendTimeoutMs;
+
     @Override
     public void process(RiskScoredEvent event) {
-        DecisionResult result = decisionRules.stream()
-                .filter(rule -> rule.matches(event))
-                .findFirst()
-                .map(rule -> rule.apply(event))
-                .orElseThrow(() -> new IllegalStateException(
-                        "No decision rule matched for txnId=" + event.getTransactionId()));
-
-        String caseId = UUID.randomUUID().toString();
-        FraudCase fraudCase = FraudCase.builder()
-                .caseId(caseId)
+        DecisionResult result = decisionEngine.decide(event);
+
+        FraudCase fraudCase = toFraudCase(event, result);
+        fraudCaseRepository.save(fraudCase);
+
+        kafkaTemplate.send(fraudDecisionTopic, event.getUserId(), toDecisionEvent(fraudCase, event));
+
+        log.info("FraudDecision: caseId={}, txnId={}, decision={}, score={}",
+                fraudCase.getCaseId(), event.getTransactionId(), result.getDecision(), event.getRiskScore());
+    }
+
+    @Override
+    public void processBatch(List<RiskScoredEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        // A redelivered poll finds the cases of its earlier attempt; those keep their
+        // stored decision and are only published again
+        Map<String, FraudCase> stored = fraudCaseRepository.findByTransactionIdIn(
+                        events.stream().map(RiskScoredEvent::getTransactionId).toList()).stream()
+                .collect(Collectors.toMap(FraudCase::getTransactionId, Function.identity(), (first, second) -> first));
+
+        List<FraudCase> cases = new ArrayList<>(events.size());
+        List<FraudCase> fresh = new ArrayList<>(events.size());
+        for (RiskScoredEvent event : events) {
+            FraudCase fraudCase = stored.get(event.getTransactionId());
+            if (fraudCase == null) {
+                fraudCase = toFraudCase(event, decisionEngine.decide(event));
+                fresh.add(fraudCase);
+            }
+            cases.add(fraudCase);
+        }
+        // Commits on its own: no event is sent for a case that could still roll back,
+        // and no connection is held while waiting for acks
+        fraudCaseBatchInsertRepository.insertAll(fresh);
+
+        List<FraudDecisionMadeEvent> decisions = new ArrayList<>(cases.size());
+        List<CompletableFuture<SendResult<String, FraudDecisionMadeEvent>>> sends = new ArrayList<>(cases.size());
+        for (int i = 0; i < cases.size(); i++) {
+            FraudDecisionMadeEvent decision = toDecisionEvent(cases.get(i), events.get(i));
+            decisions.add(decision);
+            sends.add(kafkaTemplate.send(fraudDecisionTopic, decision.getUserId(), decision));
+        }
+        kafkaTemplate.flush();
+        awaitAcks(decisions, sends);
+
+        log.info("FraudDecision batch: cases={}, republished={}", cases.size(), cases.size() - fresh.size());
+    }
+
+    @Override
+    public void publish(FraudDecisionMadeEvent decision) {
+        try {
+            kafkaTemplate.send(fraudDecisionTopic, decision.getUserId(), decision)
+                    .get(batchSendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for decision event ack", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException(
+                    "Decision event for caseId=" + decision.getCaseId() + " was not acknowledged", e);
+        }
+    }
+
+    private static FraudCase toFraudCase(RiskScoredEvent event, DecisionResult result) {
+        return FraudCase.builder()
+                .caseId(UUID.randomUUID().toString())
                 .transactionId(event.getTransactionId())
                 .userId(event.getUserId())
                 .riskScore(event.getRiskScore())
@@ -48,21 +120,49 @@ public class FraudDecisionServiceImpl implements FraudDecisionService {
                 .status(result.getStatus())
                 .flagReason(result.getFlagReason())
                 .build();
-        fraudCaseRepository.save(fraudCase);
+    }
 
-        FraudDecisionMadeEvent decisionEvent = FraudDecisionMadeEvent.builder()
+    /** riskLevel, location and merchantType are passed through for analytics rollups. */
+    private static FraudDecisionMadeEvent toDecisionEvent(FraudCase fraudCase, RiskScoredEvent source) {
+        return FraudDecisionMadeEvent.builder()
                 .eventId(UUID.randomUUID().toString())
-                .caseId(caseId)
-                .transactionId(event.getTransactionId())
-                .userId(event.getUserId())
-                .decision(result.getDecision().name())
-                .riskScore(event.getRiskScore())
-                .flagReason(result.getFlagReason())
+                .caseId(fraudCase.getCaseId())
+                .transactionId(fraudCase.getTransactionId())
+                .userId(fraudCase.getUserId())
+                .decision(fraudCase.getDecision().name())
+                .riskScore(fraudCase.getRiskScore())
+                .flagReason(fraudCase.getFlagReason())
+                .riskLevel(source.getRiskLevel())
+                .location(source.getLocation())
+                .merchantType(source.getMerchantType())
                 .decidedAt(LocalDateTime.now())
                 .build();
-        kafkaTemplate.send(fraudDecisionTopic, event.getUserId(), decisionEvent);
+    }
 
-        log.info("FraudDecision: caseId={}, txnId={}, decision={}, score={}",
-                caseId, event.getTransactionId(), result.getDecision(), event.getRiskScore());
+    /**
+     * Waits up to batchSendTimeoutMs for all sends; throws DecisionPublishException
+     * with the decisions whose send failed or was still pending.
+     */
+    private void awaitAcks(List<FraudDecisionMadeEvent> decisions,
+                           List<CompletableFuture<SendResult<String, FraudDecisionMadeEvent>>> sends) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchSendTimeoutMs);
+        List<FraudDecisionMadeEvent> unpublished = new ArrayList<>();
+        Exception firstFailure = null;
+        for (int i = 0; i < sends.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unpublished.addAll(decisions.subList(i, decisions.size()));
+                firstFailure = firstFailure == null ? e : firstFailure;
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                unpublished.add(decisions.get(i));
+                firstFailure = firstFailure == null ? e : firstFailure;
+            }
+        }
+        if (!unpublished.isEmpty()) {
+            throw new DecisionPublishException(unpublished, decisions.size(), firstFailure);
+        }
     }
 }
@@ -2,6 +2,7 @@ package com.frauddetection.frauddecision.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.frauddetection.common.dto.FraudCaseDTO;
+import com.frauddetection.frauddecision.dto.CursorPaginatedResponse;
 import com.frauddetection.frauddecision.dto.ReviewRequest;
 import com.frauddetection.frauddecision.service.FraudCaseService;
 import org.junit.jupiter.api.BeforeEach;
@@ -85,6 +86,19 @@ class FraudCaseControllerTest {
                 .andExpect(jsonPath("$.content[0].decision").value("BLOCK"));
     }
 
+    @Test
+    @DisplayName("GET /api/fraud-cases?cursor= → 200 with keyset page")
+    void getCasesByCursor_returns200() throws Exception {
+        when(fraudCaseService.getCases("", "PENDING", 20))
+                .thenReturn(new CursorPaginatedResponse<>(List.of(sampleCase("case-1", "REVIEW")), 20, "abc", true));
+
+        mockMvc.perform(get("/api/fraud-cases").param("cursor", "").param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].caseId").value("case-1"))
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
     @Test
     @DisplayName("GET /api/fraud-cases/{id} → 200 with case details")
     void getCase_found_returns200() throws Exception {
@@ -0,0 +1,89 @@
+package com.frauddetection.frauddecision.kafka;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.frauddecision.exception.DecisionPublishException;
+import com.frauddetection.frauddecision.service.FraudDecisionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FraudDecisionBatchConsumerTest {
+
+    @Mock
+    private FraudDecisionService fraudDecisionService;
+
+    @InjectMocks
+    private FraudDecisionBatchConsumer consumer;
+
+    private final RiskScoredEvent e1 = RiskScoredEvent.builder().transactionId("txn-1").userId("user-1").build();
+    private final RiskScoredEvent e2 = RiskScoredEvent.builder().transactionId("txn-2").userId("user-2").build();
+
+    @Test
+    @DisplayName("unacknowledged events are republished as they are; no record is decided again")
+    void publishFailure_republishesOnlyUnpublished() {
+        FraudDecisionMadeEvent unpublished = FraudDecisionMadeEvent.builder()
+                .eventId("evt-2").caseId("case-2").transactionId("txn-2").userId("user-2").build();
+        doThrow(new DecisionPublishException(List.of(unpublished), 2, new RuntimeException("broker down")))
+                .when(fraudDecisionService).processBatch(List.of(e1, e2));
+
+        consumer.onRiskScored(List.of(e1, e2));
+
+        verify(fraudDecisionService).publish(unpublished);
+        verify(fraudDecisionService, never()).process(any());
+    }
+
+    @Test
+    @DisplayName("a republish that fails again is rethrown so the poll's offsets are not committed")
+    void republishFailure_isRethrown() {
+        FraudDecisionMadeEvent unpublished = FraudDecisionMadeEvent.builder()
+                .eventId("evt-2").caseId("case-2").transactionId("txn-2").userId("user-2").build();
+        doThrow(new DecisionPublishException(List.of(unpublished), 2, new RuntimeException("broker down")))
+                .when(fraudDecisionService).processBatch(List.of(e1, e2));
+        doThrow(new IllegalStateException("still down")).when(fraudDecisionService).publish(unpublished);
+
+        assertThatThrownBy(() -> consumer.onRiskScored(List.of(e1, e2)))
+                .isInstanceOf(DecisionPublishException.class)
+                .satisfies(e -> assertThat(((DecisionPublishException) e).getUnpublished()).containsExactly(unpublished));
+    }
+
+    @Test
+    @DisplayName("a failed insert falls back to one acknowledged processBatch per record")
+    void insertFailure_fallsBackPerRecord() {
+        doThrow(new IllegalStateException("insert failed")).doNothing().doNothing()
+                .when(fraudDecisionService).processBatch(anyList());
+
+        consumer.onRiskScored(List.of(e1, e2));
+
+        verify(fraudDecisionService).processBatch(List.of(e1));
+        verify(fraudDecisionService).processBatch(List.of(e2));
+        verify(fraudDecisionService, never()).process(any());
+        verify(fraudDecisionService, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("a record that still fails on its own is rethrown after the others are processed")
+    void perRecordFailure_isRethrown() {
+        doThrow(new IllegalStateException("insert failed"))
+                .doThrow(new IllegalStateException("bad record"))
+                .doNothing()
+                .when(fraudDecisionService).processBatch(anyList());
+
+        assertThatThrownBy(() -> consumer.onRiskScored(List.of(e1, e2)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("1 of 2");
+        verify(fraudDecisionService).processBatch(List.of(e2));
+    }
+}
@@ -4,10 +4,12 @@ import com.frauddetection.common.events.FraudDecisionMadeEvent;
 import com.frauddetection.common.events.RiskScoredEvent;
 import com.frauddetection.frauddecision.config.DecisionProperties;
 import com.frauddetection.frauddecision.entity.FraudCase;
+import com.frauddetection.frauddecision.repository.FraudCaseBatchInsertRepository;
 import com.frauddetection.frauddecision.repository.FraudCaseRepository;
 import com.frauddetection.frauddecision.rule.ApproveDecisionRule;
 import com.frauddetection.frauddecision.rule.BlockDecisionRule;
 import com.frauddetection.frauddecision.rule.ReviewDecisionRule;
+import com.frauddetection.frauddecision.rule.RuleChainDecisionEngine;
 import com.frauddetection.frauddecision.service.FraudDecisionService;
 import com.frauddetection.frauddecision.service.impl.FraudDecisionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +36,9 @@ class FraudDecisionConsumerTest {
     @Mock
     private FraudCaseRepository fraudCaseRepository;
 
+    @Mock
+    private FraudCaseBatchInsertRepository fraudCaseBatchInsertRepository;
+
     @Mock
     private KafkaTemplate<String, FraudDecisionMadeEvent> kafkaTemplate;
 
@@ -44,8 +49,10 @@ class FraudDecisionConsumerTest {
         when(fraudCaseRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
         DecisionProperties props = new DecisionProperties(); // uses defaults: block=0.80, review=0.60
         service = new FraudDecisionServiceImpl(
-                List.of(new BlockDecisionRule(props), new ReviewDecisionRule(props), new ApproveDecisionRule()),
+                new RuleChainDecisionEngine(List.of(
+                        new BlockDecisionRule(props), new ReviewDecisionRule(props), new ApproveDecisionRule())),
                 fraudCaseRepository,
+                fraudCaseBatchInsertRepository,
                 kafkaTemplate
         );
         ReflectionTestUtils.setField(service, "fraudDecisionTopic", "fraud.decision.made");
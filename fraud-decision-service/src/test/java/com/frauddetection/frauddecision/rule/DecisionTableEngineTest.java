@@ -0,0 +1,144 @@
+package com.frauddetection.frauddecision.rule;
+
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.frauddecision.config.DecisionProperties;
+import com.frauddetection.frauddecision.config.DecisionTableProperties;
+import com.frauddetection.frauddecision.entity.FraudCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DecisionTableEngineTest {
+
+    private DecisionProperties props;
+    private DecisionTableProperties tableProps;
+    private DecisionTableEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        props = new DecisionProperties();
+        tableProps = new DecisionTableProperties();
+        engine = new DecisionTableEngine(props, tableProps);
+    }
+
+    private static RiskScoredEvent event(String userId, double score, String level) {
+        return RiskScoredEvent.builder()
+                .transactionId("txn-" + score)
+                .userId(userId)
+                .riskScore(score)
+                .riskLevel(level)
+                .build();
+    }
+
+    private static DecisionTableRule rule(String name, int priority, FraudCase.Decision decision) {
+        DecisionTableRule rule = new DecisionTableRule();
+        rule.setName(name);
+        rule.setPriority(priority);
+        rule.setDecision(decision);
+        return rule;
+    }
+
+    private static DecisionTableDefinition definition(DecisionTableRule... rules) {
+        DecisionTableDefinition definition = new DecisionTableDefinition();
+        definition.setRules(List.of(rules));
+        return definition;
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = { 0.0, 0.2, 0.6, 0.60001, 0.7, 0.8, 0.80001, 0.95, 1.0 })
+    @DisplayName("built-in table decides exactly like the DecisionRule chain, reasons included")
+    void builtIns_matchRuleChain(double score) {
+        RuleChainDecisionEngine chain = new RuleChainDecisionEngine(List.of(
+                new BlockDecisionRule(props), new ReviewDecisionRule(props), new ApproveDecisionRule()));
+        RiskScoredEvent e = event("u1", score, "LOW");
+
+        assertThat(engine.decide(e)).isEqualTo(chain.decide(e));
+    }
+
+    @Test
+    @DisplayName("userId-list rule outranks the thresholds for listed users only")
+    void userIdRule_onlyForListedUsers() {
+        DecisionTableRule vip = rule("vip-approve", 1, FraudCase.Decision.APPROVE);
+        vip.setUserIds(Set.of("vip-1"));
+        vip.setReason("VIP allow-list");
+        engine.reload(definition(vip));
+
+        DecisionResult listed = engine.decide(event("vip-1", 0.95, "HIGH"));
+        DecisionResult other = engine.decide(event("u2", 0.95, "HIGH"));
+
+        assertThat(listed.getDecision()).isEqualTo(FraudCase.Decision.APPROVE);
+        assertThat(listed.getStatus()).isEqualTo(FraudCase.CaseStatus.APPROVED);
+        assertThat(listed.getFlagReason()).isEqualTo("VIP allow-list");
+        assertThat(other.getDecision()).isEqualTo(FraudCase.Decision.BLOCK);
+    }
+
+    @Test
+    @DisplayName("score range + riskLevel rule applies inside (scoreAbove, scoreAtMost] for that level only")
+    void scoreRangeAndLevelRule() {
+        DecisionTableRule highBand = rule("high-band-review", 5, FraudCase.Decision.REVIEW);
+        highBand.setScoreAbove(0.4);
+        highBand.setScoreAtMost(0.6);
+        highBand.setRiskLevels(Set.of("HIGH"));
+        highBand.setReason("HIGH level at score {score}");
+        engine.reload(definition(highBand));
+
+        assertThat(engine.decide(event("u1", 0.5, "HIGH")).getFlagReason()).isEqualTo("HIGH level at score 0.5000");
+        assertThat(engine.decide(event("u1", 0.6, "HIGH")).getDecision()).isEqualTo(FraudCase.Decision.REVIEW);
+        assertThat(engine.decide(event("u1", 0.4, "HIGH")).getDecision()).isEqualTo(FraudCase.Decision.APPROVE);
+        assertThat(engine.decide(event("u1", 0.5, "LOW")).getDecision()).isEqualTo(FraudCase.Decision.APPROVE);
+        assertThat(engine.decide(event("u1", 0.5, null)).getDecision()).isEqualTo(FraudCase.Decision.APPROVE);
+    }
+
+    @Test
+    @DisplayName("thresholds in the rules file override DecisionProperties")
+    void definitionThresholds_override() {
+        DecisionTableDefinition definition = new DecisionTableDefinition();
+        definition.setBlockThreshold(0.5);
+        engine.reload(definition);
+
+        assertThat(engine.decide(event("u1", 0.55, "MEDIUM")).getDecision()).isEqualTo(FraudCase.Decision.BLOCK);
+    }
+
+    @Test
+    @DisplayName("an invalid rule set is rejected and the previous table stays active")
+    void invalidReload_keepsPreviousTable() {
+        DecisionTable before = engine.currentTable();
+        DecisionTableRule empty = rule("empty-range", 1, FraudCase.Decision.BLOCK);
+        empty.setScoreAbove(0.7);
+        empty.setScoreAtMost(0.7);
+
+        assertThatThrownBy(() -> engine.reload(definition(empty)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("empty-range");
+        assertThat(engine.currentTable()).isSameAs(before);
+    }
+
+    @Test
+    @DisplayName("reloadIfChanged picks up the rules file and ignores a broken rewrite")
+    void reloadIfChanged_fromFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("rules.json");
+        Files.writeString(file, """
+                {"rules":[{"name":"block-u9","priority":1,"decision":"BLOCK","userIds":["u9"]}]}
+                """);
+        tableProps.setRulesFile(file.toString());
+
+        engine.reloadIfChanged();
+        assertThat(engine.decide(event("u9", 0.1, "LOW")).getDecision()).isEqualTo(FraudCase.Decision.BLOCK);
+
+        Files.writeString(file, "{not json");
+        Files.setLastModifiedTime(file, java.nio.file.attribute.FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        engine.reloadIfChanged();
+        assertThat(engine.decide(event("u9", 0.1, "LOW")).getDecision()).isEqualTo(FraudCase.Decision.BLOCK);
+    }
+}
@@ -2,6 +2,7 @@ package com.frauddetection.frauddecision.service;
 
 import com.frauddetection.common.dto.FraudCaseDTO;
 import com.frauddetection.common.exception.ResourceNotFoundException;
+import com.frauddetection.frauddecision.dto.CursorPaginatedResponse;
 import com.frauddetection.frauddecision.entity.FraudCase;
 import com.frauddetection.frauddecision.repository.FraudCaseRepository;
 import com.frauddetection.frauddecision.service.impl.FraudCaseServiceImpl;
@@ -15,12 +16,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -108,4 +111,69 @@ class FraudCaseServiceTest {
         verify(fraudCaseRepository).save(pending);
     }
 
+    private FraudCase keyedCase(long id, LocalDateTime createdAt) {
+        FraudCase fraudCase = sampleCase("case-" + id);
+        fraudCase.setId(id);
+        fraudCase.setCreatedAt(createdAt);
+        return fraudCase;
+    }
+
+    @Test
+    @DisplayName("getCases: first page fetches size+1, trims and returns a cursor that resumes after the last row")
+    void getCases_firstPage_cursorRoundTrip() {
+        LocalDateTime t = LocalDateTime.of(2026, 3, 1, 12, 0);
+        when(fraudCaseRepository.findFirstKeysetPage(any(Pageable.class)))
+                .thenReturn(List.of(keyedCase(30, t), keyedCase(20, t), keyedCase(10, t.minusMinutes(1))));
+
+        CursorPaginatedResponse<FraudCaseDTO> first = fraudCaseService.getCases(null, null, 2);
+
+        assertThat(first.content()).extracting(FraudCaseDTO::getCaseId).containsExactly("case-30", "case-20");
+        assertThat(first.hasNext()).isTrue();
+        verify(fraudCaseRepository).findFirstKeysetPage(argThat(p -> p.getPageSize() == 3));
+
+        when(fraudCaseRepository.findKeysetPageAfter(eq(t), eq(20L), any(Pageable.class)))
+                .thenReturn(List.of(keyedCase(10, t.minusMinutes(1))));
+
+        CursorPaginatedResponse<FraudCaseDTO> second = fraudCaseService.getCases(first.nextCursor(), null, 2);
+
+        assertThat(second.content()).extracting(FraudCaseDTO::getCaseId).containsExactly("case-10");
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getCases: status filter uses the status keyset query")
+    void getCases_statusFilter() {
+        when(fraudCaseRepository.findFirstKeysetPageByStatus(eq(FraudCase.CaseStatus.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(keyedCase(5, LocalDateTime.of(2026, 3, 1, 12, 0))));
+
+        CursorPaginatedResponse<FraudCaseDTO> result = fraudCaseService.getCases("", "pending", 20);
+
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+        verify(fraudCaseRepository, never()).findFirstKeysetPage(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("getCases: malformed cursor throws IllegalArgumentException")
+    void getCases_badCursor_throws() {
+        assertThatThrownBy(() -> fraudCaseService.getCases("not-a-cursor", null, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(fraudCaseRepository);
+    }
+
+    @Test
+    @DisplayName("getCases / getAllCases: size outside 1..100 throws IllegalArgumentException before any query")
+    void invalidSize_throws() {
+        assertThatThrownBy(() -> fraudCaseService.getCases(null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("size");
+        assertThatThrownBy(() -> fraudCaseService.getCases(null, null, -5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fraudCaseService.getCases(null, null, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fraudCaseService.getAllCases(0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(fraudCaseRepository);
+    }
 }
@@ -3,9 +3,12 @@ package com.frauddetection.frauddecision.service;
 import com.frauddetection.common.events.FraudDecisionMadeEvent;
 import com.frauddetection.common.events.RiskScoredEvent;
 import com.frauddetection.frauddecision.entity.FraudCase;
+import com.frauddetection.frauddecision.exception.DecisionPublishException;
+import com.frauddetection.frauddecision.repository.FraudCaseBatchInsertRepository;
 import com.frauddetection.frauddecision.repository.FraudCaseRepository;
 import com.frauddetection.frauddecision.rule.DecisionResult;
 import com.frauddetection.frauddecision.rule.DecisionRule;
+import com.frauddetection.frauddecision.rule.RuleChainDecisionEngine;
 import com.frauddetection.frauddecision.service.impl.FraudDecisionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +22,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -36,6 +40,8 @@ class FraudDecisionServiceTest {
     @Mock
     private FraudCaseRepository fraudCaseRepository;
     @Mock
+    private FraudCaseBatchInsertRepository fraudCaseBatchInsertRepository;
+    @Mock
     private KafkaTemplate<String, FraudDecisionMadeEvent> kafkaTemplate;
 
     @InjectMocks
@@ -44,7 +50,9 @@ class FraudDecisionServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(fraudDecisionService, "fraudDecisionTopic", "fraud.decision.made");
-        ReflectionTestUtils.setField(fraudDecisionService, "decisionRules", List.of(rule1, rule2));
+        ReflectionTestUtils.setField(fraudDecisionService, "batchSendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(fraudDecisionService, "decisionEngine",
+                new RuleChainDecisionEngine(List.of(rule1, rule2)));
     }
 
     @Test
@@ -101,4 +109,102 @@ class FraudDecisionServiceTest {
         verify(fraudCaseRepository, never()).save(any());
         verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
     }
+
+    @Test
+    @DisplayName("processBatch: one batch insert for the poll, every decision event sent and flushed")
+    @SuppressWarnings("unchecked")
+    void processBatch_insertsOnceAndPublishesAll() {
+        RiskScoredEvent e1 = RiskScoredEvent.builder().transactionId("txn-1").userId("user-1").riskScore(0.9).build();
+        RiskScoredEvent e2 = RiskScoredEvent.builder().transactionId("txn-2").userId("user-2").riskScore(0.95).build();
+        DecisionResult block = DecisionResult.builder()
+                .decision(FraudCase.Decision.BLOCK)
+                .status(FraudCase.CaseStatus.BLOCKED)
+                .flagReason("High fraud score")
+                .build();
+        when(rule1.matches(any())).thenReturn(true);
+        when(rule1.apply(any())).thenReturn(block);
+        when(kafkaTemplate.send(anyString(), anyString(), any(FraudDecisionMadeEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        fraudDecisionService.processBatch(List.of(e1, e2));
+
+        ArgumentCaptor<List<FraudCase>> casesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(fraudCaseBatchInsertRepository).insertAll(casesCaptor.capture());
+        assertThat(casesCaptor.getValue()).extracting(FraudCase::getTransactionId).containsExactly("txn-1", "txn-2");
+        assertThat(casesCaptor.getValue()).extracting(FraudCase::getCaseId).doesNotContainNull().doesNotHaveDuplicates();
+        verify(fraudCaseRepository, never()).save(any());
+        verify(kafkaTemplate).send(eq("fraud.decision.made"), eq("user-1"), any(FraudDecisionMadeEvent.class));
+        verify(kafkaTemplate).send(eq("fraud.decision.made"), eq("user-2"), any(FraudDecisionMadeEvent.class));
+        verify(kafkaTemplate).flush();
+    }
+
+    @Test
+    @DisplayName("processBatch: after the insert, only the unacknowledged decision events are reported")
+    void processBatch_failedSend_reportsOnlyUnpublished() {
+        RiskScoredEvent e1 = RiskScoredEvent.builder().transactionId("txn-1").userId("user-1").riskScore(0.1).build();
+        RiskScoredEvent e2 = RiskScoredEvent.builder().transactionId("txn-2").userId("user-2").riskScore(0.1).build();
+        when(rule1.matches(any())).thenReturn(true);
+        when(rule1.apply(any())).thenReturn(DecisionResult.builder()
+                .decision(FraudCase.Decision.APPROVE)
+                .status(FraudCase.CaseStatus.APPROVED)
+                .build());
+        when(kafkaTemplate.send(anyString(), eq("user-1"), any(FraudDecisionMadeEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(anyString(), eq("user-2"), any(FraudDecisionMadeEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        assertThatThrownBy(() -> fraudDecisionService.processBatch(List.of(e1, e2)))
+                .isInstanceOf(DecisionPublishException.class)
+                .hasMessageContaining("1 of 2")
+                .satisfies(e -> assertThat(((DecisionPublishException) e).getUnpublished())
+                        .extracting(FraudDecisionMadeEvent::getTransactionId)
+                        .containsExactly("txn-2"));
+        verify(fraudCaseBatchInsertRepository).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("processBatch: a redelivered record with a stored case is republished, not decided or inserted again")
+    @SuppressWarnings("unchecked")
+    void processBatch_storedCase_republishedNotInserted() {
+        RiskScoredEvent e1 = RiskScoredEvent.builder().transactionId("txn-1").userId("user-1").riskScore(0.9).build();
+        RiskScoredEvent e2 = RiskScoredEvent.builder().transactionId("txn-2").userId("user-2").riskScore(0.1).build();
+        FraudCase stored = FraudCase.builder()
+                .caseId("case-1").transactionId("txn-1").userId("user-1").riskScore(0.9)
+                .decision(FraudCase.Decision.BLOCK).status(FraudCase.CaseStatus.BLOCKED).build();
+        when(fraudCaseRepository.findByTransactionIdIn(List.of("txn-1", "txn-2"))).thenReturn(List.of(stored));
+        when(rule1.matches(e2)).thenReturn(true);
+        when(rule1.apply(e2)).thenReturn(DecisionResult.builder()
+                .decision(FraudCase.Decision.APPROVE)
+                .status(FraudCase.CaseStatus.APPROVED)
+                .build());
+        when(kafkaTemplate.send(anyString(), anyString(), any(FraudDecisionMadeEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        fraudDecisionService.processBatch(List.of(e1, e2));
+
+        ArgumentCaptor<List<FraudCase>> casesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(fraudCaseBatchInsertRepository).insertAll(casesCaptor.capture());
+        assertThat(casesCaptor.getValue()).extracting(FraudCase::getTransactionId).containsExactly("txn-2");
+        ArgumentCaptor<FraudDecisionMadeEvent> sent = ArgumentCaptor.forClass(FraudDecisionMadeEvent.class);
+        verify(kafkaTemplate).send(eq("fraud.decision.made"), eq("user-1"), sent.capture());
+        assertThat(sent.getValue().getCaseId()).isEqualTo("case-1");
+        assertThat(sent.getValue().getDecision()).isEqualTo("BLOCK");
+        verify(rule1, never()).matches(e1);
+    }
+
+    @Test
+    @DisplayName("publish: resends the given event unchanged and fails when it is not acknowledged")
+    void publish_resendsSameEvent() {
+        FraudDecisionMadeEvent decision = FraudDecisionMadeEvent.builder()
+                .eventId("evt-1").caseId("case-1").transactionId("txn-1").userId("user-1").decision("BLOCK").build();
+        when(kafkaTemplate.send("fraud.decision.made", "user-1", decision))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        fraudDecisionService.publish(decision);
+        assertThatThrownBy(() -> fraudDecisionService.publish(decision))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("case-1");
+        verifyNoInteractions(fraudCaseRepository, fraudCaseBatchInsertRepository);
+    }
 }
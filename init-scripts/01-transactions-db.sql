@@ -16,3 +16,13 @@ CREATE TABLE IF NOT EXISTS transactions (
 CREATE INDEX IF NOT EXISTS idx_transaction_id ON transactions (transaction_id);
 CREATE INDEX IF NOT EXISTS idx_user_id        ON transactions (user_id);
 CREATE INDEX IF NOT EXISTS idx_timestamp      ON transactions (timestamp);
+
+-- Transactional outbox: rows live only until OutboxRelay has shipped them to Kafka
+CREATE TABLE IF NOT EXISTS transaction_outbox (
+    id            BIGSERIAL PRIMARY KEY,
+    topic         VARCHAR(255) NOT NULL,
+    message_key   VARCHAR(255) NOT NULL,
+    payload_type  VARCHAR(255) NOT NULL,
+    payload       VARCHAR(4000) NOT NULL,
+    created_at    TIMESTAMP NOT NULL DEFAULT NOW()
+);
@@ -25,5 +25,11 @@ INSERT INTO feature_weights (feature_name, weight, description) VALUES
     ('MEDIUM_AMOUNT',    0.20, 'Transaction amount 5,000–10,000'),
     ('UNKNOWN_LOCATION', 0.25, 'Transaction from unknown/offshore location'),
     ('HIGH_RISK_MERCHANT', 0.20, 'Casino, crypto, or gambling merchant type'),
-    ('HIGH_FREQUENCY',   0.15, 'More than 8 transactions per minute')
+    ('HIGH_FREQUENCY',   0.15, 'More than 8 transactions per minute'),
+    ('LOW_AMOUNT',       0.05, 'Transaction amount up to 5,000'),
+    ('KNOWN_LOCATION',   0.05, 'Transaction from a known location'),
+    ('LOW_RISK_MERCHANT', 0.05, 'Any other merchant type'),
+    ('MEDIUM_FREQUENCY', 0.10, 'More than 5 transactions per minute'),
+    ('FRAUD_HISTORY',    0.05, 'Added per fraud decision in the last 24h'),
+    ('FRAUD_HISTORY_MAX', 0.20, 'Cap on the fraud history contribution')
 ON CONFLICT (feature_name) DO NOTHING;
@@ -16,3 +16,7 @@ CREATE INDEX IF NOT EXISTS idx_case_transaction_id ON fraud_cases (transaction_i
 CREATE INDEX IF NOT EXISTS idx_case_user_id        ON fraud_cases (user_id);
 CREATE INDEX IF NOT EXISTS idx_case_status         ON fraud_cases (status);
 CREATE INDEX IF NOT EXISTS idx_case_created_at     ON fraud_cases (created_at DESC);
+
+-- Keyset pagination of GET /api/fraud-cases?cursor=… (ORDER BY created_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_case_created_at_id        ON fraud_cases (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_case_status_created_at_id ON fraud_cases (status, created_at DESC, id DESC);
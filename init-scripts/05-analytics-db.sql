@@ -6,13 +6,54 @@ CREATE TABLE IF NOT EXISTS aggregated_metrics (
     fraud_count          BIGINT DEFAULT 0,
     review_count         BIGINT DEFAULT 0,
     block_count          BIGINT DEFAULT 0,
+    approve_count        BIGINT DEFAULT 0,
     fraud_rate           DOUBLE PRECISION DEFAULT 0.0,
     top_risk_geography   VARCHAR(255),
     avg_risk_score       DOUBLE PRECISION DEFAULT 0.0,
+    risk_score_sum       DOUBLE PRECISION DEFAULT 0.0,
     created_at           TIMESTAMP NOT NULL DEFAULT NOW()
 );
 
+-- Databases created before the streaming aggregator's columns were added
+ALTER TABLE aggregated_metrics ADD COLUMN IF NOT EXISTS approve_count BIGINT DEFAULT 0;
+ALTER TABLE aggregated_metrics ADD COLUMN IF NOT EXISTS risk_score_sum DOUBLE PRECISION DEFAULT 0.0;
+
 CREATE INDEX IF NOT EXISTS idx_metric_date ON aggregated_metrics (metric_date DESC);
 
+-- Offsets of fraud.decision.made covered by the last streaming aggregation checkpoint
+CREATE TABLE IF NOT EXISTS stream_checkpoints (
+    consumer_group  VARCHAR(100) NOT NULL,
+    topic           VARCHAR(255) NOT NULL,
+    partition_id    INT          NOT NULL,
+    next_offset     BIGINT       NOT NULL,
+    updated_at      TIMESTAMP    NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (consumer_group, topic, partition_id)
+);
+
+-- Rollups maintained by streaming checkpoints; top-N queries group these, never fraud_cases
+CREATE TABLE IF NOT EXISTS fraud_rollup_hourly (
+    bucket_hour     TIMESTAMP        NOT NULL,
+    location        VARCHAR(255)     NOT NULL,
+    merchant_type   VARCHAR(255)     NOT NULL,
+    risk_level      VARCHAR(20)      NOT NULL,
+    total           BIGINT           NOT NULL DEFAULT 0,
+    block_count     BIGINT           NOT NULL DEFAULT 0,
+    review_count    BIGINT           NOT NULL DEFAULT 0,
+    approve_count   BIGINT           NOT NULL DEFAULT 0,
+    risk_score_sum  DOUBLE PRECISION NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_hour, location, merchant_type, risk_level)
+);
+
+CREATE TABLE IF NOT EXISTS user_risk_rollup_daily (
+    metric_date     DATE             NOT NULL,
+    user_id         VARCHAR(255)     NOT NULL,
+    total           BIGINT           NOT NULL DEFAULT 0,
+    block_count     BIGINT           NOT NULL DEFAULT 0,
+    review_count    BIGINT           NOT NULL DEFAULT 0,
+    approve_count   BIGINT           NOT NULL DEFAULT 0,
+    risk_score_sum  DOUBLE PRECISION NOT NULL DEFAULT 0,
+    PRIMARY KEY (metric_date, user_id)
+);
+
 -- Spring Batch metadata tables are auto-created by Spring Boot Batch on startup.
 -- No need to create them manually here.
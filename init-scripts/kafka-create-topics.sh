@@ -27,6 +27,21 @@ kafka-topics.sh --bootstrap-server "$KAFKA_BROKER" --create --if-not-exists \
   --replication-factor "$REPLICATION" \
   --partitions "$PARTITIONS"
 
+# Compacted changelog of the risk engine's partition-local behaviour profiles;
+# needs the same partition count as transactions.created
+kafka-topics.sh --bootstrap-server "$KAFKA_BROKER" --create --if-not-exists \
+  --topic risk.user-profiles.changelog \
+  --replication-factor "$REPLICATION" \
+  --partitions "$PARTITIONS" \
+  --config cleanup.policy=compact
+
+# Live vs candidate scores from the risk engine's shadow scoring, for offline comparison
+kafka-topics.sh --bootstrap-server "$KAFKA_BROKER" --create --if-not-exists \
+  --topic risk.shadow-scores \
+  --replication-factor "$REPLICATION" \
+  --partitions "$PARTITIONS" \
+  --config retention.ms=604800000
+
 # Dead Letter Queues — for failed message processing
 kafka-topics.sh --bootstrap-server "$KAFKA_BROKER" --create --if-not-exists \
   --topic transactions.created.DLT \
@@ -1,6 +1,7 @@
 package com.frauddetection.notification.config;
 
 import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.serialization.EventDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -30,7 +31,8 @@ public class KafkaConfig {
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        // Reads binary and JSON records alike, so producers can switch format per topic
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, EventDeserializer.class);
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.frauddetection.common.events");
         config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, FraudDecisionMadeEvent.class.getName());
         return new DefaultKafkaConsumerFactory<>(config);
@@ -0,0 +1,45 @@
+package com.frauddetection.riskengine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Partition-local behavioural profiles and the BehaviourScoringFactor weights.
+ *
+ * <pre>
+ * risk:
+ *   behaviour-profile:
+ *     enabled: true
+ *     changelog-topic: risk.user-profiles.changelog  # compacted, same partition count as transactions.created
+ *     restore-timeout: 60s         # per partition on assignment
+ *     min-history: 5               # transactions before the factor scores anything
+ *     amount-z-threshold: 3.0      # amount this many std devs above the user's mean is unusual
+ *     amount-deviation-score: 0.15
+ *     unusual-share: 0.05          # location / merchant seen in less than this share of txns is unusual
+ *     new-location-score: 0.10
+ *     new-merchant-score: 0.05
+ *     dormant-after: 30d
+ *     dormant-score: 0.10
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "risk.behaviour-profile")
+@Data
+public class BehaviourProfileProperties {
+
+    private boolean enabled = false;
+    private String changelogTopic = "risk.user-profiles.changelog";
+    private Duration restoreTimeout = Duration.ofSeconds(60);
+
+    private int minHistory = 5;
+    private double amountZThreshold = 3.0;
+    private double amountDeviationScore = 0.15;
+    private double unusualShare = 0.05;
+    private double newLocationScore = 0.10;
+    private double newMerchantScore = 0.05;
+    private Duration dormantAfter = Duration.ofDays(30);
+    private double dormantScore = 0.10;
+}
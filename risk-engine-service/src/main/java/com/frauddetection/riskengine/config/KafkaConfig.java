@@ -1,18 +1,27 @@
 package com.frauddetection.riskengine.config;
 
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
 import com.frauddetection.common.events.RiskScoredEvent;
 import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.common.kafka.KafkaSendTracker;
+import com.frauddetection.common.kafka.ProducerProfile;
+import com.frauddetection.common.kafka.TrackingKafkaTemplate;
+import com.frauddetection.common.serialization.EventDeserializer;
+import com.frauddetection.common.serialization.EventSerializer;
+import com.frauddetection.riskengine.service.impl.PartitionLocalBehaviourProfileStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,9 +32,43 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    /** Topics this service produces in the binary event format instead of JSON. */
+    @Value("${kafka.serialization.binary-topics:}")
+    private String binaryTopics;
+
+    /** ProducerProfile name (low-latency | high-throughput); the three settings below override it. */
+    @Value("${kafka.producer.profile:low-latency}")
+    private String producerProfile;
+
+    @Value("${kafka.producer.linger-ms:#{null}}")
+    private Integer lingerMs;
+
+    @Value("${kafka.producer.batch-size-bytes:#{null}}")
+    private Integer batchSizeBytes;
+
+    @Value("${kafka.producer.compression-type:#{null}}")
+    private String compressionType;
+
     @Value("${spring.kafka.consumer.group-id:risk-engine-group}")
     private String groupId;
 
+    @Value("${spring.kafka.consumer.group-id:risk-engine-group}-fraud-count")
+    private String fraudCountGroupId;
+
+    /**
+     * When true the listener container hands a whole poll (up to max.poll.records)
+     * to RiskEngineBatchConsumer instead of one record at a time to RiskEngineConsumer.
+     */
+    @Value("${kafka.listener.batch-enabled:false}")
+    private boolean batchListenerEnabled;
+
+    /**
+     * When true ParallelRiskEngineConsumer fans each partition out over key-ordered
+     * lanes; takes precedence over batch-enabled.
+     */
+    @Value("${kafka.listener.parallel.enabled:false}")
+    private boolean parallelListenerEnabled;
+
     // ── Consumer ─────────────────────────────────────────────────────────────
     @Bean
     public ConsumerFactory<String, TransactionCreatedEvent> consumerFactory() {
@@ -34,18 +77,58 @@ public class KafkaConfig {
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        // Reads binary and JSON records alike, so producers can switch format per topic
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, EventDeserializer.class);
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.frauddetection.common.events");
         config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, TransactionCreatedEvent.class.getName());
         return new DefaultKafkaConsumerFactory<>(config);
     }
 
+    /**
+     * With risk.behaviour-profile.enabled=true the profile store follows the
+     * container's partition assignment, restoring profiles before records flow.
+     */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, TransactionCreatedEvent>
-    kafkaListenerContainerFactory() {
+    kafkaListenerContainerFactory(ObjectProvider<PartitionLocalBehaviourProfileStore> behaviourProfileStore) {
         ConcurrentKafkaListenerContainerFactory<String, TransactionCreatedEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        behaviourProfileStore.ifAvailable(factory.getContainerProperties()::setConsumerRebalanceListener);
+        if (parallelListenerEnabled) {
+            // Records are acked out of order from the lanes; commits stop at the lowest unacked offset
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(true);
+        } else {
+            factory.setBatchListener(batchListenerEnabled);
+        }
+        return factory;
+    }
+
+    /**
+     * fraud.decision.made, read by FraudDecisionConsumer to keep the Redis fraud
+     * count current. Its own group, so membership changes here do not rebalance
+     * the transactions.created listener (and restore its behaviour profiles).
+     */
+    @Bean
+    public ConsumerFactory<String, FraudDecisionMadeEvent> fraudDecisionConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, fraudCountGroupId);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, EventDeserializer.class);
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.frauddetection.common.events");
+        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, FraudDecisionMadeEvent.class.getName());
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, FraudDecisionMadeEvent>
+    fraudDecisionListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, FraudDecisionMadeEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(fraudDecisionConsumerFactory());
         return factory;
     }
 
@@ -55,14 +138,21 @@ public class KafkaConfig {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        config.put(EventSerializer.BINARY_TOPICS, binaryTopics);
         config.put(ProducerConfig.ACKS_CONFIG, "all");
         config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        ProducerProfile.fromName(producerProfile).applyTo(config, lingerMs, batchSizeBytes, compressionType);
         return new DefaultKafkaProducerFactory<>(config);
     }
 
     @Bean
-    public KafkaTemplate<String, RiskScoredEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(riskScoredProducerFactory());
+    public KafkaSendTracker kafkaSendTracker(MeterRegistry meterRegistry) {
+        return new KafkaSendTracker(meterRegistry);
+    }
+
+    @Bean
+    public KafkaTemplate<String, RiskScoredEvent> kafkaTemplate(KafkaSendTracker kafkaSendTracker) {
+        return new TrackingKafkaTemplate<>(riskScoredProducerFactory(), kafkaSendTracker);
     }
 }
@@ -0,0 +1,85 @@
+package com.frauddetection.riskengine.config;
+
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.riskengine.kafka.RiskScoringTopology;
+import com.frauddetection.riskengine.service.RiskCalculationService;
+import com.frauddetection.riskengine.service.RiskProfileWriter;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
+import org.apache.kafka.streams.kstream.KStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Streams runtime of the risk engine, switched on by the "streams"
+ * profile (risk.streams.enabled=true). RiskScoringTopology then scores
+ * transactions.created into risk.scored with exactly-once processing and the
+ * @KafkaListener consumers are not created.
+ *
+ * Built by hand from the same properties as KafkaConfig rather than from
+ * spring.kafka.streams.*.
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(prefix = "risk.streams", name = "enabled", havingValue = "true")
+public class KafkaStreamsConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${kafka.serialization.binary-topics:}")
+    private String binaryTopics;
+
+    /** Also the consumer group id and the prefix of the state store changelog topics. */
+    @Value("${risk.streams.application-id:risk-engine-streams}")
+    private String applicationId;
+
+    /** RocksDB state directory; keep it on a persistent volume to avoid full changelog restores on restart. */
+    @Value("${risk.streams.state-dir:${java.io.tmpdir}/kafka-streams}")
+    private String stateDir;
+
+    @Value("${risk.streams.threads:1}")
+    private int threads;
+
+    /** Transaction commit interval under exactly-once; bounds how long risk.scored records stay uncommitted. */
+    @Value("${risk.streams.commit-interval:100ms}")
+    private Duration commitInterval;
+
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfiguration() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // Store changelog writes, risk.scored records and consumed offsets commit atomically
+        config.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+        config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        config.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, threads);
+        config.put(StreamsConfig.COMMIT_INTERVAL_MS_CONFIG, commitInterval.toMillis());
+        // Undecodable records are logged and skipped instead of stopping the stream thread
+        config.put(StreamsConfig.DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG, LogAndContinueExceptionHandler.class);
+        return new KafkaStreamsConfiguration(config);
+    }
+
+    @Bean
+    public KStream<String, RiskScoredEvent> riskScoredStream(
+            StreamsBuilder streamsBuilder,
+            RiskCalculationService riskCalculationService,
+            RiskProfileWriter riskProfileWriter,
+            @Value("${kafka.topics.transactions-created:transactions.created}") String transactionsTopic,
+            @Value("${kafka.topics.fraud-decision-made:fraud.decision.made}") String fraudDecisionTopic,
+            @Value("${kafka.topics.risk-scored:risk.scored}") String riskScoredTopic) {
+        return new RiskScoringTopology(riskCalculationService, riskProfileWriter,
+                transactionsTopic, fraudDecisionTopic, riskScoredTopic, binaryTopics)
+                .build(streamsBuilder);
+    }
+}
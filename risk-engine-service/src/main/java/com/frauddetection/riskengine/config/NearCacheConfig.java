@@ -0,0 +1,29 @@
+package com.frauddetection.riskengine.config;
+
+import com.frauddetection.riskengine.service.impl.NearCachedRedisCacheService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes the RiskContext near-cache to the invalidation channel so a fraud
+ * count change on any node evicts the user on every node.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "risk.near-cache", name = "enabled", havingValue = "true")
+public class NearCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            NearCachedRedisCacheService nearCache,
+            NearCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(nearCache, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+}
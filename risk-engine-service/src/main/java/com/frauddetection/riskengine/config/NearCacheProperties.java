@@ -0,0 +1,33 @@
+package com.frauddetection.riskengine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-process near-cache for per-user RiskContext (fraud count + txn count).
+ *
+ * <pre>
+ * risk:
+ *   near-cache:
+ *     enabled: true
+ *     max-entries: 100000   # LRU-ish bound (Caffeine W-TinyLFU)
+ *     ttl: 1s               # per-entry lifetime from the moment it was loaded
+ *     invalidation-channel: risk:near-cache:invalidate
+ * </pre>
+ *
+ * The TTL bounds how stale the velocity counts may be; fraud count changes are pushed
+ * to every node through the invalidation channel.
+ */
+@Component
+@ConfigurationProperties(prefix = "risk.near-cache")
+@Data
+public class NearCacheProperties {
+
+    private boolean enabled = false;
+    private long maxEntries = 100_000;
+    private Duration ttl = Duration.ofSeconds(1);
+    private String invalidationChannel = "risk:near-cache:invalidate";
+}
@@ -0,0 +1,29 @@
+package com.frauddetection.riskengine.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * RedisTemplate used by RedisCacheServiceImpl. Keys, hash fields, hash values
+ * and script arguments are plain UTF-8 strings, so the Lua scripts can treat
+ * ARGV as numbers and field names, and hash reads find the fields the scripts
+ * write. Replaces Boot's default template, which JDK-serializes everything.
+ */
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.string());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setHashValueSerializer(RedisSerializer.string());
+        template.afterPropertiesSet();
+        return template;
+    }
+}
@@ -0,0 +1,84 @@
+package com.frauddetection.riskengine.config;
+
+import com.frauddetection.riskengine.service.scoring.KeywordMatcher;
+import com.frauddetection.riskengine.service.scoring.LocationScoringFactor;
+import com.frauddetection.riskengine.service.scoring.MerchantScoringFactor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles the configured risk keyword lists into KeywordMatchers once at
+ * startup. A malformed entry fails startup rather than silently scoring low.
+ */
+@Configuration
+@Slf4j
+public class RiskKeywordConfig {
+
+    @Bean
+    public KeywordMatcher locationKeywordMatcher(RiskKeywordProperties properties) {
+        return compile("location", properties.getLocations(), properties.getLocationsFile(),
+                LocationScoringFactor.HIGH_RISK_LOCATION_KEYWORDS);
+    }
+
+    @Bean
+    public KeywordMatcher merchantKeywordMatcher(RiskKeywordProperties properties) {
+        return compile("merchant", properties.getMerchants(), properties.getMerchantsFile(),
+                MerchantScoringFactor.HIGH_RISK_MERCHANTS);
+    }
+
+    private static KeywordMatcher compile(String kind, Map<String, Double> inline, Resource file,
+                                          Set<String> builtIn) {
+        if (inline.isEmpty() && file == null) {
+            return KeywordMatcher.of(builtIn);
+        }
+        Map<String, Double> keywords = new LinkedHashMap<>();
+        if (file != null) {
+            keywords.putAll(read(file));
+        }
+        keywords.putAll(inline);
+        KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+        log.info("Compiled {} high-risk {} keywords", matcher.size(), kind);
+        return matcher;
+    }
+
+    private static Map<String, Double> read(Resource file) {
+        Map<String, Double> keywords = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int comma = line.lastIndexOf(',');
+                if (comma < 0) {
+                    keywords.put(line, null);
+                    continue;
+                }
+                try {
+                    keywords.put(line.substring(0, comma), Double.parseDouble(line.substring(comma + 1).strip()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(
+                            "Invalid weight in " + file.getDescription() + " line " + lineNumber + ": " + line, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read risk keywords from " + file.getDescription(), e);
+        }
+        return keywords;
+    }
+}
@@ -0,0 +1,41 @@
+package com.frauddetection.riskengine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * High-risk location and merchant keywords for LocationScoringFactor and
+ * MerchantScoringFactor, each with an optional weight.
+ *
+ * <pre>
+ * risk:
+ *   keywords:
+ *     locations:
+ *       OFFSHORE: 0.30
+ *       UNKNOWN:              # no weight = location-high-score
+ *       "[DARK WEB]": 0.40    # brackets keep spaces and special characters in the key
+ *     locations-file: file:/etc/risk/high-risk-locations.txt
+ *     merchants:
+ *       CASINO: 0.20
+ *     merchants-file: classpath:risk/high-risk-merchants.txt
+ * </pre>
+ *
+ * Files hold one "keyword[,weight]" per line; blank lines and lines starting
+ * with # are skipped, and the inline map wins over the file for the same
+ * keyword. With neither set, the built-in keyword list of the factor is used.
+ */
+@Component
+@ConfigurationProperties(prefix = "risk.keywords")
+@Data
+public class RiskKeywordProperties {
+
+    private Map<String, Double> locations = new LinkedHashMap<>();
+    private Resource locationsFile;
+    private Map<String, Double> merchants = new LinkedHashMap<>();
+    private Resource merchantsFile;
+}
@@ -38,6 +38,11 @@ import org.springframework.stereotype.Component;
  *   fraud-count-multiplier: 0.05
  *   fraud-count-max-bonus: 0.20
  * </pre>
+ *
+ * With risk.feature-weights.enabled=true the score weights (the *-score,
+ * fraud-count-* fields) are overridden by rows of the feature_weights table
+ * — see FeatureWeightSnapshot for the name mapping. Amount and frequency
+ * thresholds always come from here.
  */
 @Component
 @ConfigurationProperties(prefix = "risk")
@@ -0,0 +1,50 @@
+package com.frauddetection.riskengine.config;
+
+import com.frauddetection.common.kafka.KafkaSendTracker;
+import com.frauddetection.common.kafka.TrackingKafkaTemplate;
+import com.frauddetection.riskengine.service.impl.ShadowScorer.ShadowScore;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Producer of ShadowScorer: plain JSON comparisons for offline analysis,
+ * batched and compressed, and never on the live path.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "risk.shadow", name = "enabled", havingValue = "true")
+public class ShadowScoringConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Bean
+    public ProducerFactory<String, ShadowScore> shadowScoreProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // Read by offline tooling, not by a Spring consumer
+        config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        // Losing a comparison is acceptable; a leader ack is enough
+        config.put(ProducerConfig.ACKS_CONFIG, "1");
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 50);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, ShadowScore> shadowScoreTemplate(KafkaSendTracker kafkaSendTracker) {
+        return new TrackingKafkaTemplate<>(shadowScoreProducerFactory(), kafkaSendTracker);
+    }
+}
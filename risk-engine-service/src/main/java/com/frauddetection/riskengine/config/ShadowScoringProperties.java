@@ -0,0 +1,41 @@
+package com.frauddetection.riskengine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shadow scoring of a candidate configuration next to the live one.
+ *
+ * <pre>
+ * risk:
+ *   shadow:
+ *     enabled: true
+ *     name: amount-v2             # label carried on every shadow score
+ *     weights:                    # feature_weights names; overrides on top of the live weights
+ *       HIGH_AMOUNT: 0.40
+ *       UNKNOWN_LOCATION: 0.20
+ *     topic: risk.shadow-scores
+ *     threads: 1
+ *     queue-capacity: 1024        # shadow work beyond this is dropped, never queued on the live thread
+ *     sample-rate: 1.0            # share of live scores that are shadowed
+ * </pre>
+ *
+ * ShadowScoringFactor beans are scored in the candidate only.
+ */
+@Component
+@ConfigurationProperties(prefix = "risk.shadow")
+@Data
+public class ShadowScoringProperties {
+
+    private boolean enabled = false;
+    private String name = "candidate";
+    private Map<String, Double> weights = new LinkedHashMap<>();
+    private String topic = "risk.shadow-scores";
+    private int threads = 1;
+    private int queueCapacity = 1024;
+    private double sampleRate = 1.0;
+}
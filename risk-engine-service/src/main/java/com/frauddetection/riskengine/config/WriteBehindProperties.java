@@ -0,0 +1,31 @@
+package com.frauddetection.riskengine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Write-behind RiskProfile persistence settings.
+ *
+ * <pre>
+ * risk:
+ *   profile:
+ *     write-behind:
+ *       enabled: true
+ *       flush-interval: 1s      # periodic flush of everything pending
+ *       flush-size: 500         # pending users that trigger an early flush; also the JDBC batch size
+ *       max-pending-users: 50000 # hard bound — callers flush inline when reached
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "risk.profile.write-behind")
+@Data
+public class WriteBehindProperties {
+
+    private boolean enabled = false;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private int flushSize = 500;
+    private int maxPendingUsers = 50_000;
+}
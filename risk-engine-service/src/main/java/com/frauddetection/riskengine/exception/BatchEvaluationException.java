@@ -0,0 +1,34 @@
+package com.frauddetection.riskengine.exception;
+
+import com.frauddetection.riskengine.service.RiskEvaluation;
+
+import java.util.List;
+
+/**
+ * Thrown by RiskEngineService.evaluateBatch when it fails after the poll's
+ * evaluations were written to Redis and the risk profiles.
+ *
+ * The first getCompleted() events are fully evaluated and published;
+ * getUnpublished() holds the stored evaluations of the rest, in poll order, so
+ * the caller publishes those instead of scoring the events again — no
+ * RiskScoredEvent is sent twice and no hot-list entry is pushed twice.
+ */
+public class BatchEvaluationException extends RuntimeException {
+
+    private final int completed;
+    private final transient List<RiskEvaluation> unpublished;
+
+    public BatchEvaluationException(int completed, List<RiskEvaluation> unpublished, Throwable cause) {
+        super("Risk batch failed after " + completed + " of " + (completed + unpublished.size()) + " events", cause);
+        this.completed = completed;
+        this.unpublished = List.copyOf(unpublished);
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public List<RiskEvaluation> getUnpublished() {
+        return unpublished;
+    }
+}
@@ -0,0 +1,43 @@
+package com.frauddetection.riskengine.kafka;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.riskengine.service.RedisCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Counts a user's BLOCK and REVIEW decisions into the Redis fraud count read
+ * by the scoring listeners; APPROVE is ignored. With the near-cache enabled
+ * the increment also invalidates the user's cached RiskContext on every node.
+ *
+ * Not created with risk.streams.enabled=true, where RiskScoringTopology keeps
+ * its own fraud history store.
+ */
+@Component
+@ConditionalOnProperty(prefix = "risk.streams", name = "enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class FraudDecisionConsumer {
+
+    private static final Set<String> FRAUD_DECISIONS = Set.of("BLOCK", "REVIEW");
+
+    private final RedisCacheService redisCacheService;
+
+    @KafkaListener(topics = "${kafka.topics.fraud-decision-made:fraud.decision.made}", groupId = "${spring.kafka.consumer.group-id:risk-engine-group}-fraud-count", containerFactory = "fraudDecisionListenerContainerFactory")
+    public void onFraudDecisionMade(FraudDecisionMadeEvent event) {
+        if (event == null || event.getUserId() == null || !FRAUD_DECISIONS.contains(event.getDecision())) {
+            return;
+        }
+        try {
+            redisCacheService.incrementFraudCount(event.getUserId());
+        } catch (Exception e) {
+            log.error("Fraud count update failed for txnId={}, userId={}: {}",
+                    event.getTransactionId(), event.getUserId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.frauddetection.riskengine.kafka;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed set of single-threaded lanes on virtual threads. A task runs on lane
+ * floorMod(key.hashCode(), lanes), so tasks with the same key run one at a
+ * time in submission order while different keys run in parallel.
+ */
+class KeyOrderedExecutor implements AutoCloseable {
+
+    private final ExecutorService[] lanes;
+
+    KeyOrderedExecutor(int lanes, String threadNamePrefix) {
+        this.lanes = new ExecutorService[Math.max(1, lanes)];
+        for (int i = 0; i < this.lanes.length; i++) {
+            this.lanes[i] = Executors.newSingleThreadExecutor(
+                    Thread.ofVirtual().name(threadNamePrefix + i + "-", 0).factory());
+        }
+    }
+
+    void execute(String key, Runnable task) {
+        lanes[laneOf(key)].execute(task);
+    }
+
+    int laneOf(String key) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), lanes.length);
+    }
+
+    /**
+     * Stops accepting tasks and waits up to the timeout for queued ones.
+     *
+     * @return true if every lane drained in time
+     */
+    boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean drained = true;
+        for (ExecutorService lane : lanes) {
+            drained &= lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        return drained;
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+}
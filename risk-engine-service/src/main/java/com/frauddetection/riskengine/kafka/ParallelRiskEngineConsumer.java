@@ -0,0 +1,77 @@
+package com.frauddetection.riskengine.kafka;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.service.RiskEngineService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key-ordered parallel Kafka listener (kafka.listener.parallel.enabled=true).
+ *
+ * The poll thread only hands each record to a KeyOrderedExecutor lane chosen by
+ * userId hash and returns; lanes run on virtual threads, so records of one
+ * partition are scored concurrently across users while each user's records
+ * are still evaluated one after another in offset order.
+ *
+ * kafkaListenerContainerFactory runs this mode with AckMode.MANUAL and async
+ * acks: a record is acknowledged once its evaluation has finished (failed
+ * evaluations are logged and acknowledged, as in RiskEngineConsumer), and the
+ * container only commits up to the lowest offset not yet acknowledged. After
+ * a crash or rebalance the uncommitted tail is redelivered, never skipped.
+ * The container does not deliver the next poll until every record of the
+ * previous one is acknowledged, which bounds queued work to max.poll.records.
+ */
+@Component
+@ConditionalOnExpression("${kafka.listener.parallel.enabled:false} and !${risk.streams.enabled:false}")
+@Slf4j
+public class ParallelRiskEngineConsumer {
+
+    private final RiskEngineService riskEngineService;
+    private final KeyOrderedExecutor lanes;
+
+    public ParallelRiskEngineConsumer(RiskEngineService riskEngineService,
+                                      @Value("${kafka.listener.parallel.lanes:64}") int lanes) {
+        this.riskEngineService = riskEngineService;
+        this.lanes = new KeyOrderedExecutor(lanes, "risk-lane-");
+    }
+
+    @KafkaListener(topics = "${kafka.topics.transactions-created:transactions.created}", groupId = "${spring.kafka.consumer.group-id:risk-engine-group}", containerFactory = "kafkaListenerContainerFactory")
+    public void onTransactionCreated(ConsumerRecord<String, TransactionCreatedEvent> record, Acknowledgment ack) {
+        TransactionCreatedEvent event = record.value();
+        if (event == null) {
+            ack.acknowledge();
+            return;
+        }
+        // Producers key by userId; fall back to the payload for unkeyed records
+        String key = record.key() != null ? record.key() : event.getUserId();
+        lanes.execute(key, () -> evaluate(event, ack));
+    }
+
+    private void evaluate(TransactionCreatedEvent event, Acknowledgment ack) {
+        try {
+            riskEngineService.evaluate(event);
+        } catch (Exception e) {
+            log.error("Risk evaluation failed for txnId={}: {}",
+                    event.getTransactionId(), e.getMessage(), e);
+        } finally {
+            ack.acknowledge();
+        }
+    }
+
+    /** Lets queued evaluations finish; whatever is cut off was never acknowledged and is redelivered. */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (!lanes.shutdown(10, TimeUnit.SECONDS)) {
+            log.warn("Parallel consumer lanes did not drain in time, unacknowledged records will be redelivered");
+            lanes.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.frauddetection.riskengine.kafka;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.exception.BatchEvaluationException;
+import com.frauddetection.riskengine.service.RiskEngineService;
+import com.frauddetection.riskengine.service.RiskEvaluation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Batch-mode Kafka listener — receives a whole poll and delegates to
+ * RiskEngineService.evaluateBatch, so Redis reads/writes are pipelined per
+ * poll instead of paid per record.
+ *
+ * Enabled with kafka.listener.batch-enabled=true, which also switches
+ * kafkaListenerContainerFactory into batch mode. kafka.listener.parallel.enabled=true
+ * takes precedence and disables it.
+ *
+ * If the batch fails while publishing, its stored evaluations of the
+ * unpublished records are published as they are — scoring them again through
+ * evaluate() would repeat their Redis writes and push HIGH events onto the hot
+ * list twice. If it fails before that, every record is retried through the
+ * per-record evaluate() path so a single bad event cannot drop the rest of the
+ * poll.
+ */
+@Component
+@ConditionalOnExpression("${kafka.listener.batch-enabled:false} and !${kafka.listener.parallel.enabled:false}"
+        + " and !${risk.streams.enabled:false}")
+@RequiredArgsConstructor
+@Slf4j
+public class RiskEngineBatchConsumer {
+
+    private final RiskEngineService riskEngineService;
+
+    @KafkaListener(topics = "${kafka.topics.transactions-created:transactions.created}", groupId = "${spring.kafka.consumer.group-id:risk-engine-group}", containerFactory = "kafkaListenerContainerFactory")
+    public void onTransactionsCreated(List<TransactionCreatedEvent> events) {
+        log.info("RiskEngineBatchConsumer received batch: size={}", events.size());
+        try {
+            riskEngineService.evaluateBatch(events);
+        } catch (BatchEvaluationException e) {
+            log.error("Batch risk evaluation stored {} events but {}; publishing the rest",
+                    events.size(), e.getMessage(), e);
+            List<RiskEvaluation> unpublished = e.getUnpublished();
+            for (int i = 0; i < unpublished.size(); i++) {
+                TransactionCreatedEvent event = events.get(e.getCompleted() + i);
+                try {
+                    riskEngineService.publish(unpublished.get(i), event);
+                } catch (Exception ex) {
+                    log.error("RiskScoredEvent publish failed for txnId={}: {}",
+                            event.getTransactionId(), ex.getMessage(), ex);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Batch risk evaluation failed for {} events, falling back to per-record: {}",
+                    events.size(), e.getMessage(), e);
+            for (TransactionCreatedEvent event : events) {
+                try {
+                    riskEngineService.evaluate(event);
+                } catch (Exception ex) {
+                    log.error("Risk evaluation failed for txnId={}: {}",
+                            event.getTransactionId(), ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.frauddetection.common.events.TransactionCreatedEvent;
 import com.frauddetection.riskengine.service.RiskEngineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
@@ -22,8 +23,15 @@ import org.springframework.stereotype.Component;
  * - RiskEngineService can be unit-tested without any Kafka machinery
  * - The Kafka consumer can be changed (e.g., to batch listening) without
  * touching any business logic
+ *
+ * Active in the default record mode; RiskEngineBatchConsumer replaces it when
+ * kafka.listener.batch-enabled=true, ParallelRiskEngineConsumer when
+ * kafka.listener.parallel.enabled=true. None of the listeners runs with
+ * risk.streams.enabled=true (streams profile), where RiskScoringTopology scores.
  */
 @Component
+@ConditionalOnExpression("!${kafka.listener.batch-enabled:false} and !${kafka.listener.parallel.enabled:false}"
+        + " and !${risk.streams.enabled:false}")
 @RequiredArgsConstructor
 @Slf4j
 public class RiskEngineConsumer {
@@ -0,0 +1,229 @@
+package com.frauddetection.riskengine.kafka;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.common.serialization.EventDeserializer;
+import com.frauddetection.common.serialization.EventSerializer;
+import com.frauddetection.riskengine.service.RiskCalculationService;
+import com.frauddetection.riskengine.service.RiskContext;
+import com.frauddetection.riskengine.service.RiskEvaluation;
+import com.frauddetection.riskengine.service.RiskProfileWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.StoreBuilder;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Kafka Streams form of RiskEngineService.evaluate: transactions.created →
+ * score → risk.scored, with the velocity and fraud-history counts of
+ * RiskContext kept in local RocksDB window stores instead of Redis.
+ *
+ * Both stores are keyed by userId. transaction-service and
+ * fraud-decision-service key their records by userId, so a user's
+ * transactions and decisions share a partition number and are handled by the
+ * same task against the same stores — the two topics must have the same
+ * partition count. Each store is backed by a compacted changelog topic that
+ * Streams replays into RocksDB when a task moves to another instance.
+ *
+ * Counts are per-second buckets of record time:
+ * - velocity covers the windows of scripts/risk-context.lua (1m, 10m, 1h,
+ *   24h) to the second and includes the transaction being scored, as
+ *   transaction-service records it before publishing;
+ * - fraud history is the number of BLOCK / REVIEW decisions in the last 24h.
+ *
+ * Under exactly_once_v2 the store updates, the risk.scored record and the
+ * consumed offsets commit in one transaction. The RiskProfile write is outside
+ * it and may repeat after a failure, as in the listener path. This runtime
+ * writes neither the Redis risk hash nor the hot list, and does not consult
+ * BehaviourProfileStore.
+ */
+@Slf4j
+public class RiskScoringTopology {
+
+    public static final String VELOCITY_STORE = "risk-velocity";
+    public static final String FRAUD_HISTORY_STORE = "risk-fraud-history";
+
+    private static final long BUCKET_MS = 1_000L;
+    private static final long MINUTE_MS = Duration.ofMinutes(1).toMillis();
+    private static final long TEN_MINUTES_MS = Duration.ofMinutes(10).toMillis();
+    private static final long HOUR_MS = Duration.ofHours(1).toMillis();
+    private static final long DAY_MS = Duration.ofDays(1).toMillis();
+
+    private static final Set<String> FRAUD_DECISIONS = Set.of("BLOCK", "REVIEW");
+
+    private final RiskCalculationService riskCalculationService;
+    private final RiskProfileWriter riskProfileWriter;
+    private final String transactionsTopic;
+    private final String fraudDecisionTopic;
+    private final String riskScoredTopic;
+    private final String binaryTopics;
+
+    public RiskScoringTopology(RiskCalculationService riskCalculationService,
+                               RiskProfileWriter riskProfileWriter,
+                               String transactionsTopic,
+                               String fraudDecisionTopic,
+                               String riskScoredTopic,
+                               String binaryTopics) {
+        this.riskCalculationService = riskCalculationService;
+        this.riskProfileWriter = riskProfileWriter;
+        this.transactionsTopic = transactionsTopic;
+        this.fraudDecisionTopic = fraudDecisionTopic;
+        this.riskScoredTopic = riskScoredTopic;
+        this.binaryTopics = binaryTopics;
+    }
+
+    /** Adds the stores and both sub-streams to builder; returns the risk.scored stream. */
+    public KStream<String, RiskScoredEvent> build(StreamsBuilder builder) {
+        builder.addStateStore(windowStore(VELOCITY_STORE));
+        builder.addStateStore(windowStore(FRAUD_HISTORY_STORE));
+
+        builder.stream(fraudDecisionTopic, Consumed.with(Serdes.String(), eventSerde(FraudDecisionMadeEvent.class)))
+                .process(FraudHistoryProcessor::new, FRAUD_HISTORY_STORE);
+
+        KStream<String, RiskScoredEvent> scored = builder
+                .stream(transactionsTopic, Consumed.with(Serdes.String(), eventSerde(TransactionCreatedEvent.class)))
+                .process(ScoringProcessor::new, VELOCITY_STORE, FRAUD_HISTORY_STORE);
+        scored.to(riskScoredTopic, Produced.with(Serdes.String(), eventSerde(RiskScoredEvent.class)));
+        return scored;
+    }
+
+    /** Scores one transaction against the user's counts, after counting it. */
+    private final class ScoringProcessor implements Processor<String, TransactionCreatedEvent, String, RiskScoredEvent> {
+
+        private ProcessorContext<String, RiskScoredEvent> context;
+        private WindowStore<String, Long> velocity;
+        private WindowStore<String, Long> fraudHistory;
+
+        @Override
+        public void init(ProcessorContext<String, RiskScoredEvent> context) {
+            this.context = context;
+            this.velocity = context.getStateStore(VELOCITY_STORE);
+            this.fraudHistory = context.getStateStore(FRAUD_HISTORY_STORE);
+        }
+
+        @Override
+        public void process(Record<String, TransactionCreatedEvent> record) {
+            TransactionCreatedEvent event = record.value();
+            if (event == null || event.getUserId() == null) {
+                log.warn("Skipping transaction without userId at timestamp {}", record.timestamp());
+                return;
+            }
+            String userId = event.getUserId();
+            long now = record.timestamp();
+            increment(velocity, userId, now);
+
+            try {
+                RiskContext riskContext = riskContext(userId, now);
+                double riskScore = riskCalculationService.calculateRiskScore(event, riskContext);
+                String riskLevel = riskCalculationService.deriveRiskLevel(riskScore);
+                RiskEvaluation evaluation = new RiskEvaluation(
+                        event.getTransactionId(), userId, riskScore, riskLevel, riskContext);
+                riskProfileWriter.write(evaluation);
+
+                context.forward(record.withKey(userId).withValue(evaluation.toScoredEvent(event)));
+                log.info("RiskScoredEvent forwarded: txnId={}, score={}, level={}",
+                        event.getTransactionId(), String.format("%.4f", riskScore), riskLevel);
+            } catch (Exception e) {
+                log.error("Risk evaluation failed for txnId={}: {}",
+                        event.getTransactionId(), e.getMessage(), e);
+            }
+        }
+
+        private RiskContext riskContext(String userId, long now) {
+            int lastMinute = 0;
+            int last10m = 0;
+            int lastHour = 0;
+            int lastDay = 0;
+            try (WindowStoreIterator<Long> buckets = velocity.fetch(userId, now - DAY_MS + 1, now)) {
+                while (buckets.hasNext()) {
+                    KeyValue<Long, Long> bucket = buckets.next();
+                    long age = now - bucket.key;
+                    int count = bucket.value.intValue();
+                    lastDay += count;
+                    if (age < HOUR_MS) {
+                        lastHour += count;
+                    }
+                    if (age < TEN_MINUTES_MS) {
+                        last10m += count;
+                    }
+                    if (age < MINUTE_MS) {
+                        lastMinute += count;
+                    }
+                }
+            }
+            return new RiskContext(sum(fraudHistory, userId, now), lastMinute, last10m, lastHour, lastDay);
+        }
+    }
+
+    /** Counts a user's BLOCK / REVIEW decisions; other decisions are ignored. */
+    private static final class FraudHistoryProcessor implements Processor<String, FraudDecisionMadeEvent, Void, Void> {
+
+        private WindowStore<String, Long> fraudHistory;
+
+        @Override
+        public void init(ProcessorContext<Void, Void> context) {
+            this.fraudHistory = context.getStateStore(FRAUD_HISTORY_STORE);
+        }
+
+        @Override
+        public void process(Record<String, FraudDecisionMadeEvent> record) {
+            FraudDecisionMadeEvent decision = record.value();
+            if (decision != null && decision.getUserId() != null && FRAUD_DECISIONS.contains(decision.getDecision())) {
+                increment(fraudHistory, decision.getUserId(), record.timestamp());
+            }
+        }
+    }
+
+    private static void increment(WindowStore<String, Long> store, String userId, long timestamp) {
+        long bucket = timestamp - Math.floorMod(timestamp, BUCKET_MS);
+        Long count = store.fetch(userId, bucket);
+        store.put(userId, count == null ? 1L : count + 1, bucket);
+    }
+
+    /** Total of the user's buckets in the 24h up to now. */
+    private static int sum(WindowStore<String, Long> store, String userId, long now) {
+        int total = 0;
+        try (WindowStoreIterator<Long> buckets = store.fetch(userId, now - DAY_MS + 1, now)) {
+            while (buckets.hasNext()) {
+                total += buckets.next().value.intValue();
+            }
+        }
+        return total;
+    }
+
+    private static StoreBuilder<WindowStore<String, Long>> windowStore(String name) {
+        // One extra bucket of retention so the oldest bucket of the 24h lookback is still there
+        return Stores.windowStoreBuilder(
+                Stores.persistentWindowStore(name, Duration.ofMillis(DAY_MS + BUCKET_MS),
+                        Duration.ofMillis(BUCKET_MS), false),
+                Serdes.String(), Serdes.Long());
+    }
+
+    /** EventSerializer / EventDeserializer as a Serde: reads binary and JSON, writes per binary-topics. */
+    private <T> Serde<T> eventSerde(Class<T> type) {
+        EventSerializer serializer = new EventSerializer();
+        serializer.configure(Map.of(EventSerializer.BINARY_TOPICS, binaryTopics), false);
+        EventDeserializer deserializer = new EventDeserializer();
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "com.frauddetection.common.events",
+                JsonDeserializer.VALUE_DEFAULT_TYPE, type.getName()), false);
+        return Serdes.serdeFrom(serializer::serialize, (topic, data) -> type.cast(deserializer.deserialize(topic, data)));
+    }
+}
@@ -0,0 +1,9 @@
+package com.frauddetection.riskengine.repository;
+
+import com.frauddetection.riskengine.entity.FeatureWeight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FeatureWeightRepository extends JpaRepository<FeatureWeight, Long> {
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,8 @@ public interface RiskProfileRepository extends JpaRepository<RiskProfile, Long>
 
     Optional<RiskProfile> findByUserId(String userId);
 
+    List<RiskProfile> findByUserIdIn(Collection<String> userIds);
+
     @Query("SELECT r FROM RiskProfile r ORDER BY r.riskScore DESC")
     List<RiskProfile> findTopRiskProfiles(org.springframework.data.domain.Pageable pageable);
 }
@@ -0,0 +1,55 @@
+package com.frauddetection.riskengine.repository;
+
+import com.frauddetection.riskengine.entity.RiskProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch upserts of risk_profiles keyed on the unique user_id — no prior
+ * SELECT, one statement per row, sent to PostgreSQL as a single batch
+ * (rewritten to multi-row INSERTs with reWriteBatchedInserts=true).
+ */
+@Repository
+@RequiredArgsConstructor
+public class RiskProfileUpsertRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO risk_profiles (user_id, risk_score, risk_level, recent_fraud_count, txn_frequency, last_updated)
+            VALUES (?, ?, ?, ?, ?, NOW())
+            ON CONFLICT (user_id) DO UPDATE SET
+                risk_score = EXCLUDED.risk_score,
+                risk_level = EXCLUDED.risk_level,
+                recent_fraud_count = EXCLUDED.recent_fraud_count,
+                txn_frequency = EXCLUDED.txn_frequency,
+                last_updated = EXCLUDED.last_updated
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsertAll(List<RiskProfile> profiles, int batchSize) {
+        if (profiles.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, profiles, batchSize, (ps, profile) -> {
+            ps.setString(1, profile.getUserId());
+            ps.setDouble(2, profile.getRiskScore());
+            ps.setString(3, profile.getRiskLevel());
+            setNullableInt(ps, 4, profile.getRecentFraudCount());
+            setNullableInt(ps, 5, profile.getTxnFrequency());
+        });
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+}
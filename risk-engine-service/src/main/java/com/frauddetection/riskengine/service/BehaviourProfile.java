@@ -0,0 +1,202 @@
+package com.frauddetection.riskengine.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Per-user behavioural history kept by BehaviourProfileStore: transaction
+ * count, running amount mean / variance (Welford), last-seen time and the
+ * user's most frequent locations and merchant types.
+ *
+ * A profile is one fixed-size byte[] (SIZE bytes) read in place through
+ * VarHandles — the same bytes are held in the store and written to the
+ * changelog topic, so restoring a partition is a plain copy with no decoding.
+ * Profiles are immutable: update() returns a new one.
+ *
+ * Usual locations / merchants are tracked as TOP_K (hash, count) slots with
+ * the Space-Saving algorithm: an unseen value takes a free slot or replaces
+ * the least frequent one, inheriting its count + 1. Values are hashed after a
+ * per-char case fold, so "Mumbai" and "MUMBAI" are the same place.
+ *
+ * Layout (big-endian): version:1, txnCount:8, amountCount:8, amountMean:8,
+ * amountM2:8, lastSeenMs:8, location slots 4 × (hash:4, count:4), merchant
+ * slots 4 × (hash:4, count:4).
+ */
+public final class BehaviourProfile {
+
+    public static final int TOP_K = 4;
+    public static final int SIZE = 105;
+
+    /** No history: every count 0, never seen. */
+    public static final BehaviourProfile EMPTY = new BehaviourProfile(newBytes());
+
+    private static final byte VERSION = 1;
+    private static final int TXN_COUNT = 1;
+    private static final int AMOUNT_COUNT = 9;
+    private static final int AMOUNT_MEAN = 17;
+    private static final int AMOUNT_M2 = 25;
+    private static final int LAST_SEEN = 33;
+    private static final int LOCATION_SLOTS = 41;
+    private static final int MERCHANT_SLOTS = LOCATION_SLOTS + TOP_K * 8;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle DOUBLE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final byte[] bytes;
+
+    private BehaviourProfile(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Wraps changelog bytes without copying; the caller must not modify them.
+     *
+     * @return the profile, or null if the bytes are not a profile of this version
+     */
+    public static BehaviourProfile fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != SIZE || bytes[0] != VERSION) {
+            return null;
+        }
+        return new BehaviourProfile(bytes);
+    }
+
+    /** Backing bytes, for the store and the changelog; must not be modified. */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public long txnCount() {
+        return (long) LONG.get(bytes, TXN_COUNT);
+    }
+
+    public double amountMean() {
+        return (double) DOUBLE.get(bytes, AMOUNT_MEAN);
+    }
+
+    /** Sample standard deviation of the amounts seen, 0 with fewer than two. */
+    public double amountStdDev() {
+        long n = (long) LONG.get(bytes, AMOUNT_COUNT);
+        return n < 2 ? 0.0 : Math.sqrt((double) DOUBLE.get(bytes, AMOUNT_M2) / (n - 1));
+    }
+
+    public long amountCount() {
+        return (long) LONG.get(bytes, AMOUNT_COUNT);
+    }
+
+    /** Epoch millis of the last transaction, 0 if none. */
+    public long lastSeenEpochMs() {
+        return (long) LONG.get(bytes, LAST_SEEN);
+    }
+
+    /** Approximate share of the user's transactions from this location, in [0, 1]. */
+    public double locationShare(String location) {
+        return share(LOCATION_SLOTS, location);
+    }
+
+    /** Approximate share of the user's transactions with this merchant type, in [0, 1]. */
+    public double merchantShare(String merchantType) {
+        return share(MERCHANT_SLOTS, merchantType);
+    }
+
+    /** This profile with one more transaction folded in. */
+    public BehaviourProfile update(BigDecimal amount, String location, String merchantType, long seenAtMs) {
+        byte[] next = bytes.clone();
+        LONG.set(next, TXN_COUNT, (long) LONG.get(next, TXN_COUNT) + 1);
+        if (amount != null) {
+            double x = amount.doubleValue();
+            long n = (long) LONG.get(next, AMOUNT_COUNT) + 1;
+            double mean = (double) DOUBLE.get(next, AMOUNT_MEAN);
+            double delta = x - mean;
+            mean += delta / n;
+            LONG.set(next, AMOUNT_COUNT, n);
+            DOUBLE.set(next, AMOUNT_MEAN, mean);
+            DOUBLE.set(next, AMOUNT_M2, (double) DOUBLE.get(next, AMOUNT_M2) + delta * (x - mean));
+        }
+        LONG.set(next, LAST_SEEN, Math.max((long) LONG.get(next, LAST_SEEN), seenAtMs));
+        offer(next, LOCATION_SLOTS, location);
+        offer(next, MERCHANT_SLOTS, merchantType);
+        return new BehaviourProfile(next);
+    }
+
+    private double share(int slots, String value) {
+        long total = txnCount();
+        if (value == null || total == 0) {
+            return 0.0;
+        }
+        int hash = foldHash(value);
+        for (int i = 0; i < TOP_K; i++) {
+            int offset = slots + i * 8;
+            if ((int) INT.get(bytes, offset) == hash) {
+                return Math.min(1.0, (int) INT.get(bytes, offset + 4) / (double) total);
+            }
+        }
+        return 0.0;
+    }
+
+    private static void offer(byte[] bytes, int slots, String value) {
+        if (value == null) {
+            return;
+        }
+        int hash = foldHash(value);
+        int min = -1;
+        int minCount = Integer.MAX_VALUE;
+        for (int i = 0; i < TOP_K; i++) {
+            int offset = slots + i * 8;
+            int slotHash = (int) INT.get(bytes, offset);
+            int count = (int) INT.get(bytes, offset + 4);
+            if (slotHash == hash) {
+                INT.set(bytes, offset + 4, saturatedIncrement(count));
+                return;
+            }
+            if (count < minCount) {
+                min = offset;
+                minCount = count;
+            }
+        }
+        INT.set(bytes, min, hash);
+        INT.set(bytes, min + 4, saturatedIncrement(minCount));
+    }
+
+    private static int saturatedIncrement(int count) {
+        return count == Integer.MAX_VALUE ? count : count + 1;
+    }
+
+    /** Case-folded String hash; never 0, which marks a free slot. */
+    private static int foldHash(String value) {
+        int h = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            c = c < 128
+                    ? (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c)
+                    : Character.toLowerCase(Character.toUpperCase(c));
+            h = 31 * h + c;
+        }
+        return h == 0 ? 1 : h;
+    }
+
+    private static byte[] newBytes() {
+        byte[] bytes = new byte[SIZE];
+        bytes[0] = VERSION;
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof BehaviourProfile other && Arrays.equals(bytes, other.bytes));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "BehaviourProfile(txnCount=" + txnCount() + ", amountMean=" + amountMean()
+                + ", amountStdDev=" + amountStdDev() + ", lastSeenEpochMs=" + lastSeenEpochMs() + ")";
+    }
+}
@@ -0,0 +1,23 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+
+/**
+ * Per-user behavioural profiles, read on the scoring path without a network
+ * hop and updated once per evaluated transaction.
+ */
+public interface BehaviourProfileStore {
+
+    /** History of the user before any transaction not yet recorded; EMPTY if none. */
+    BehaviourProfile get(String userId);
+
+    /** Folds the transaction into its user's profile. */
+    void record(TransactionCreatedEvent event);
+
+    /**
+     * The profile record(event) would leave on top of current, without storing
+     * it; lets a batch score a user's later events against its earlier ones
+     * and record them only once they are published.
+     */
+    BehaviourProfile fold(BehaviourProfile current, TransactionCreatedEvent event);
+}
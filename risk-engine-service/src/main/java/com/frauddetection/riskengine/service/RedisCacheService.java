@@ -1,5 +1,9 @@
 package com.frauddetection.riskengine.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface RedisCacheService {
 
     void cacheRiskScore(String userId, double riskScore, String riskLevel);
@@ -13,4 +17,27 @@ public interface RedisCacheService {
     int getRecentTxnCount(String userId);
 
     void addToHotList(String transactionId);
+
+    /**
+     * Writes the risk hash and, for a HIGH evaluation, the hot-list entry in a
+     * single atomic script call.
+     */
+    void recordEvaluation(RiskEvaluation evaluation);
+
+    /**
+     * Reads fraud count and every sliding-window txn count for one user in a
+     * single server-side script call.
+     */
+    RiskContext getRiskContext(String userId);
+
+    /**
+     * Reads the RiskContext of every user in a single pipelined round trip.
+     */
+    Map<String, RiskContext> getRiskContexts(Collection<String> userIds);
+
+    /**
+     * Writes risk hashes and hot-list entries for a batch in a single pipelined
+     * round trip, one atomic script call per evaluation.
+     */
+    void cacheRiskScores(List<RiskEvaluation> evaluations);
 }
@@ -1,10 +1,17 @@
 package com.frauddetection.riskengine.service;
 
 import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.service.scoring.FeatureWeightSnapshot;
 
 public interface RiskCalculationService {
 
     double calculateRiskScore(TransactionCreatedEvent event, RiskContext context);
 
     String deriveRiskLevel(double score);
+
+    /**
+     * Re-weights the scoring factors from a feature_weights snapshot. Scores
+     * already in progress finish on the previous weights.
+     */
+    void applyWeights(FeatureWeightSnapshot weights);
 }
@@ -16,6 +16,10 @@ import lombok.Value;
  * only changes the Value Object construction, not every method signature.
  *
  * Lombok @Value makes this immutable (all fields final, no setters).
+ *
+ * Velocity counts come from the per-user sliding-window sorted set
+ * user:txn_velocity:{userId} (see scripts/risk-context.lua); the behavioural
+ * profile comes from the partition-local BehaviourProfileStore.
  */
 @Value
 public class RiskContext {
@@ -30,4 +34,39 @@ public class RiskContext {
      * window).
      */
     int txnFrequency;
+
+    /** Sliding-window transaction counts over longer horizons. */
+    int txnCount10m;
+    int txnCount1h;
+    int txnCount24h;
+
+    /** User's history before this transaction; EMPTY when unknown or not tracked. */
+    BehaviourProfile behaviour;
+
+    /**
+     * Context without long-horizon velocity data — the longer windows are
+     * reported as the 60-second count, which is their lower bound.
+     */
+    public RiskContext(int recentFraudCount, int txnFrequency) {
+        this(recentFraudCount, txnFrequency, txnFrequency, txnFrequency, txnFrequency);
+    }
+
+    public RiskContext(int recentFraudCount, int txnFrequency, int txnCount10m, int txnCount1h, int txnCount24h) {
+        this(recentFraudCount, txnFrequency, txnCount10m, txnCount1h, txnCount24h, BehaviourProfile.EMPTY);
+    }
+
+    public RiskContext(int recentFraudCount, int txnFrequency, int txnCount10m, int txnCount1h, int txnCount24h,
+                       BehaviourProfile behaviour) {
+        this.recentFraudCount = recentFraudCount;
+        this.txnFrequency = txnFrequency;
+        this.txnCount10m = txnCount10m;
+        this.txnCount1h = txnCount1h;
+        this.txnCount24h = txnCount24h;
+        this.behaviour = behaviour != null ? behaviour : BehaviourProfile.EMPTY;
+    }
+
+    /** Same context with the given behavioural profile (null = EMPTY). */
+    public RiskContext withBehaviour(BehaviourProfile behaviour) {
+        return new RiskContext(recentFraudCount, txnFrequency, txnCount10m, txnCount1h, txnCount24h, behaviour);
+    }
 }
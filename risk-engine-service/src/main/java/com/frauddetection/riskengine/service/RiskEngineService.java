@@ -2,7 +2,28 @@ package com.frauddetection.riskengine.service;
 
 import com.frauddetection.common.events.TransactionCreatedEvent;
 
+import java.util.List;
+
 public interface RiskEngineService {
 
     void evaluate(TransactionCreatedEvent event);
+
+    /**
+     * Evaluates a whole poll of events with one pipelined Redis read, one
+     * pipelined Redis write and one profile query/save for all users involved.
+     *
+     * Nothing is published until every event is scored and both writes are
+     * done; those writes keep only the latest state per user, so repeating
+     * them is harmless. A failure while publishing throws
+     * BatchEvaluationException with the number of leading events already sent
+     * and the stored evaluations of the rest.
+     */
+    void evaluateBatch(List<TransactionCreatedEvent> events);
+
+    /**
+     * Publishes an evaluation left over by a failed evaluateBatch and records
+     * the event in the behaviour profile. The Redis risk hash, hot list and risk
+     * profile were already written by the batch and are not written again.
+     */
+    void publish(RiskEvaluation evaluation, TransactionCreatedEvent source);
 }
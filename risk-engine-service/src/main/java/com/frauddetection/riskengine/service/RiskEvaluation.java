@@ -0,0 +1,36 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable result of scoring one transaction, carried between the scoring
+ * step and the batched Redis / profile / Kafka writes.
+ */
+@Value
+public class RiskEvaluation {
+
+    String transactionId;
+    String userId;
+    double riskScore;
+    String riskLevel;
+    RiskContext context;
+
+    /** The risk.scored event; carries the transaction's location and merchantType on for per-dimension analytics. */
+    public RiskScoredEvent toScoredEvent(TransactionCreatedEvent source) {
+        return RiskScoredEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .transactionId(transactionId)
+                .userId(userId)
+                .riskScore(riskScore)
+                .riskLevel(riskLevel)
+                .location(source.getLocation())
+                .merchantType(source.getMerchantType())
+                .scoredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.frauddetection.riskengine.service;
+
+import java.util.List;
+
+/**
+ * Persists the per-user RiskProfile produced by each evaluation.
+ *
+ * Two implementations, selected by risk.profile.write-behind.enabled:
+ * - JpaRiskProfileWriter          — synchronous SELECT + UPDATE/INSERT (default)
+ * - WriteBehindRiskProfileWriter  — coalesces per user in memory and flushes
+ *                                   JDBC batch upserts on an interval or size
+ */
+public interface RiskProfileWriter {
+
+    void write(RiskEvaluation evaluation);
+
+    /**
+     * Writes a batch of evaluations; when a user appears several times only
+     * the latest evaluation ends up in the profile.
+     */
+    void writeAll(List<RiskEvaluation> evaluations);
+}
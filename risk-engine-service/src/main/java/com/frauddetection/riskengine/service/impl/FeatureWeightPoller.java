@@ -0,0 +1,117 @@
+package com.frauddetection.riskengine.service.impl;
+
+import com.frauddetection.riskengine.entity.FeatureWeight;
+import com.frauddetection.riskengine.repository.FeatureWeightRepository;
+import com.frauddetection.riskengine.service.RiskCalculationService;
+import com.frauddetection.riskengine.service.scoring.FeatureWeightSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the scoring weights in line with the feature_weights table
+ * (risk.feature-weights.enabled=true).
+ *
+ * The table is read once at startup and then every refresh-interval on a
+ * background thread. Only when its contents differ from the current snapshot
+ * is a new FeatureWeightSnapshot built (version + 1) and handed to
+ * RiskCalculationService.applyWeights, so an UPDATE feature_weights re-weights
+ * every instance within one interval without a restart. Scoring itself never
+ * touches the database.
+ *
+ * Rows with an unknown feature name or a weight outside [0, 1] are skipped
+ * with a warning. If the table cannot be read the current snapshot stays in
+ * place — at startup that means the configured RiskThresholds.
+ */
+@Component
+@ConditionalOnProperty(prefix = "risk.feature-weights", name = "enabled", havingValue = "true")
+@Slf4j
+public class FeatureWeightPoller {
+
+    private final FeatureWeightRepository repository;
+    private final RiskCalculationService riskCalculationService;
+    private final Duration refreshInterval;
+
+    private volatile FeatureWeightSnapshot current = FeatureWeightSnapshot.NONE;
+    private ScheduledExecutorService poller;
+
+    public FeatureWeightPoller(FeatureWeightRepository repository,
+                               RiskCalculationService riskCalculationService,
+                               @Value("${risk.feature-weights.refresh-interval:5s}") Duration refreshInterval) {
+        this.repository = repository;
+        this.riskCalculationService = riskCalculationService;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        refreshQuietly();
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "feature-weight-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = refreshInterval.toMillis();
+        poller.scheduleWithFixedDelay(this::refreshQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Feature weight polling enabled: interval={}ms, version={}", intervalMs, current.version());
+    }
+
+    @PreDestroy
+    void stop() {
+        poller.shutdownNow();
+    }
+
+    /** Snapshot the scoring factors currently run with. */
+    public FeatureWeightSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Reads feature_weights and applies it if it changed.
+     *
+     * @return true if a new snapshot was applied
+     */
+    public synchronized boolean refresh() {
+        Map<String, Double> weights = new TreeMap<>();
+        for (FeatureWeight row : repository.findAll()) {
+            String name = row.getFeatureName();
+            Double weight = row.getWeight();
+            if (!FeatureWeightSnapshot.isKnownFeature(name)) {
+                log.warn("Ignoring feature weight with unknown feature name: {}", name);
+            } else if (weight == null || !(weight >= 0.0 && weight <= 1.0)) {
+                log.warn("Ignoring feature weight {}={}: must be within [0, 1]", name, weight);
+            } else {
+                weights.put(name, weight);
+            }
+        }
+
+        FeatureWeightSnapshot previous = current;
+        if (weights.equals(previous.weights())) {
+            return false;
+        }
+        FeatureWeightSnapshot next = new FeatureWeightSnapshot(previous.version() + 1, weights, Instant.now());
+        riskCalculationService.applyWeights(next);
+        current = next;
+        log.info("Feature weights v{} applied: {}", next.version(), weights);
+        return true;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Feature weight refresh failed, keeping v{}: {}", current.version(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.frauddetection.riskengine.service.impl;
+
+import com.frauddetection.riskengine.entity.RiskProfile;
+import com.frauddetection.riskengine.repository.RiskProfileRepository;
+import com.frauddetection.riskengine.service.RiskEvaluation;
+import com.frauddetection.riskengine.service.RiskProfileWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Synchronous RiskProfile persistence through Spring Data JPA — every call
+ * reads the existing row by userId and then updates or inserts it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "risk.profile.write-behind", name = "enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaRiskProfileWriter implements RiskProfileWriter {
+
+    private final RiskProfileRepository riskProfileRepository;
+
+    @Override
+    public void write(RiskEvaluation evaluation) {
+        RiskProfile profile = riskProfileRepository.findByUserId(evaluation.getUserId())
+                .orElse(RiskProfile.builder().userId(evaluation.getUserId()).build());
+        applyEvaluation(profile, evaluation);
+        riskProfileRepository.save(profile);
+    }
+
+    /**
+     * One profile row per user: when a user appears several times in the poll
+     * only the latest evaluation is written, matching the per-record end state.
+     */
+    @Override
+    public void writeAll(List<RiskEvaluation> evaluations) {
+        Map<String, RiskEvaluation> latestByUser = new LinkedHashMap<>();
+        for (RiskEvaluation evaluation : evaluations) {
+            latestByUser.put(evaluation.getUserId(), evaluation);
+        }
+
+        Map<String, RiskProfile> existing = riskProfileRepository.findByUserIdIn(latestByUser.keySet()).stream()
+                .collect(Collectors.toMap(RiskProfile::getUserId, Function.identity()));
+
+        List<RiskProfile> profiles = new ArrayList<>(latestByUser.size());
+        for (RiskEvaluation evaluation : latestByUser.values()) {
+            RiskProfile profile = existing.getOrDefault(evaluation.getUserId(),
+                    RiskProfile.builder().userId(evaluation.getUserId()).build());
+            applyEvaluation(profile, evaluation);
+            profiles.add(profile);
+        }
+        riskProfileRepository.saveAll(profiles);
+    }
+
+    private static void applyEvaluation(RiskProfile profile, RiskEvaluation evaluation) {
+        profile.setRiskScore(evaluation.getRiskScore());
+        profile.setRiskLevel(evaluation.getRiskLevel());
+        profile.setRecentFraudCount(evaluation.getContext().getRecentFraudCount());
+        profile.setTxnFrequency(evaluation.getContext().getTxnFrequency());
+    }
+}
@@ -0,0 +1,150 @@
+package com.frauddetection.riskengine.service.impl;
+
+import com.frauddetection.riskengine.config.NearCacheProperties;
+import com.frauddetection.riskengine.service.RedisCacheService;
+import com.frauddetection.riskengine.service.RiskContext;
+import com.frauddetection.riskengine.service.RiskEvaluation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Near-cache in front of RedisCacheServiceImpl for the per-user RiskContext.
+ *
+ * The first read of a user loads fraud count and all txn velocity windows
+ * together in one script call; further reads within the TTL are served from the
+ * heap, so repeated transactions from the same active user never leave the
+ * process. Writes always go straight to Redis.
+ *
+ * incrementFraudCount — called by FraudDecisionConsumer for every BLOCK or
+ * REVIEW decision on fraud.decision.made — invalidates the entry locally and
+ * publishes the userId on risk.near-cache.invalidation-channel, which every
+ * risk-engine node listens to (NearCacheConfig). Pub/sub is used instead of
+ * keyspace notifications so no notify-keyspace-events change is needed on the
+ * Redis server. Velocity counts are not invalidated: they change with every
+ * transaction, so within the TTL they may lag by the transactions since the
+ * entry was loaded.
+ *
+ * Caffeine statistics (hits, misses, evictions, size) are exported as
+ * cache.* meters tagged cache=riskContextNearCache.
+ *
+ * Enabled with risk.near-cache.enabled=true; @Primary so it replaces
+ * RedisCacheServiceImpl wherever RedisCacheService is injected.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "risk.near-cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class NearCachedRedisCacheService implements RedisCacheService, MessageListener {
+
+    static final String CACHE_NAME = "riskContextNearCache";
+
+    private final RedisCacheServiceImpl delegate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String invalidationChannel;
+    private final Cache<String, RiskContext> contexts;
+    private final Counter invalidations;
+
+    public NearCachedRedisCacheService(RedisCacheServiceImpl delegate,
+                                       StringRedisTemplate stringRedisTemplate,
+                                       NearCacheProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.invalidationChannel = properties.getInvalidationChannel();
+        this.contexts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder("risk.near-cache.invalidations")
+                .description("RiskContext near-cache entries invalidated by fraud count changes")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, contexts, CACHE_NAME);
+    }
+
+    @Override
+    public int getRecentFraudCount(String userId) {
+        return context(userId).getRecentFraudCount();
+    }
+
+    @Override
+    public int getRecentTxnCount(String userId) {
+        return context(userId).getTxnFrequency();
+    }
+
+    @Override
+    public RiskContext getRiskContext(String userId) {
+        return context(userId);
+    }
+
+    @Override
+    public Map<String, RiskContext> getRiskContexts(Collection<String> userIds) {
+        return contexts.getAll(userIds, missing -> delegate.getRiskContexts(new ArrayList<>(missing)));
+    }
+
+    @Override
+    public void incrementFraudCount(String userId) {
+        delegate.incrementFraudCount(userId);
+        invalidate(userId);
+        stringRedisTemplate.convertAndSend(invalidationChannel, userId);
+    }
+
+    /** Invalidation broadcast from any node (including this one). */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    public void invalidate(String userId) {
+        contexts.invalidate(userId);
+        invalidations.increment();
+        log.debug("Near-cache invalidated for user={}", userId);
+    }
+
+    // ── Pass-through writes and non-context reads ─────────────────────────────
+
+    @Override
+    public void cacheRiskScore(String userId, double riskScore, String riskLevel) {
+        delegate.cacheRiskScore(userId, riskScore, riskLevel);
+    }
+
+    @Override
+    public Double getCachedRiskScore(String userId) {
+        return delegate.getCachedRiskScore(userId);
+    }
+
+    @Override
+    public void addToHotList(String transactionId) {
+        delegate.addToHotList(transactionId);
+    }
+
+    @Override
+    public void recordEvaluation(RiskEvaluation evaluation) {
+        delegate.recordEvaluation(evaluation);
+    }
+
+    @Override
+    public void cacheRiskScores(List<RiskEvaluation> evaluations) {
+        delegate.cacheRiskScores(evaluations);
+    }
+
+    private RiskContext context(String userId) {
+        return contexts.get(userId, delegate::getRiskContext);
+    }
+}
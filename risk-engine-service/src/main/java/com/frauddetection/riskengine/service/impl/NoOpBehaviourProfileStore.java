@@ -0,0 +1,30 @@
+package com.frauddetection.riskengine.service.impl;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.service.BehaviourProfile;
+import com.frauddetection.riskengine.service.BehaviourProfileStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Active while risk.behaviour-profile.enabled is false: every user has an
+ * EMPTY profile and nothing is recorded.
+ */
+@Component
+@ConditionalOnProperty(prefix = "risk.behaviour-profile", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpBehaviourProfileStore implements BehaviourProfileStore {
+
+    @Override
+    public BehaviourProfile get(String userId) {
+        return BehaviourProfile.EMPTY;
+    }
+
+    @Override
+    public void record(TransactionCreatedEvent event) {
+    }
+
+    @Override
+    public BehaviourProfile fold(BehaviourProfile current, TransactionCreatedEvent event) {
+        return current;
+    }
+}
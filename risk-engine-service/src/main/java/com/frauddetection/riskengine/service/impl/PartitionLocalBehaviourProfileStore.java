@@ -0,0 +1,223 @@
+package com.frauddetection.riskengine.service.impl;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.config.BehaviourProfileProperties;
+import com.frauddetection.riskengine.service.BehaviourProfile;
+import com.frauddetection.riskengine.service.BehaviourProfileStore;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Behavioural profiles held in-process for exactly the transactions.created
+ * partitions this instance consumes (risk.behaviour-profile.enabled=true).
+ *
+ * Producers key transactions by userId, so every user lives on one partition,
+ * computed here with the producer's default partitioner (murmur2 of the key).
+ * Each assigned partition has its own map of userId → BehaviourProfile bytes;
+ * reads are a map lookup, never a network call.
+ *
+ * Every update is also sent to the compacted changelog topic, to the same
+ * partition number as the source record. When a partition is assigned, its
+ * changelog partition is read from the beginning before any of its records are
+ * processed, so the new owner starts from the last written profile of every
+ * user; revoked or lost partitions are dropped. Changelog sends are
+ * asynchronous, so a crash can lose the last few updates of a user, and a
+ * redelivered record is folded in twice — both only nudge running statistics.
+ *
+ * The changelog must have at least as many partitions as transactions.created;
+ * partitions beyond its size are kept in memory only.
+ */
+@Component
+@ConditionalOnProperty(prefix = "risk.behaviour-profile", name = "enabled", havingValue = "true")
+@Slf4j
+public class PartitionLocalBehaviourProfileStore implements BehaviourProfileStore, ConsumerAwareRebalanceListener {
+
+    private static final Duration RESTORE_POLL = Duration.ofMillis(200);
+
+    private final KafkaTemplate<String, byte[]> changelogTemplate;
+    private final ConsumerFactory<String, byte[]> changelogConsumerFactory;
+    private final String sourceTopic;
+    private final String changelogTopic;
+    private final Duration restoreTimeout;
+    private final Clock clock;
+
+    private final Map<Integer, ConcurrentHashMap<String, BehaviourProfile>> partitions = new ConcurrentHashMap<>();
+    private volatile int sourcePartitions;
+    private volatile int changelogPartitions;
+
+    public PartitionLocalBehaviourProfileStore(
+            @Qualifier("profileChangelogTemplate") KafkaTemplate<String, byte[]> changelogTemplate,
+            @Qualifier("profileChangelogConsumerFactory") ConsumerFactory<String, byte[]> changelogConsumerFactory,
+            BehaviourProfileProperties properties,
+            @Value("${kafka.topics.transactions-created:transactions.created}") String sourceTopic) {
+        this(changelogTemplate, changelogConsumerFactory, properties, sourceTopic, Clock.systemUTC());
+    }
+
+    PartitionLocalBehaviourProfileStore(KafkaTemplate<String, byte[]> changelogTemplate,
+                                        ConsumerFactory<String, byte[]> changelogConsumerFactory,
+                                        BehaviourProfileProperties properties,
+                                        String sourceTopic,
+                                        Clock clock) {
+        this.changelogTemplate = changelogTemplate;
+        this.changelogConsumerFactory = changelogConsumerFactory;
+        this.sourceTopic = sourceTopic;
+        this.changelogTopic = properties.getChangelogTopic();
+        this.restoreTimeout = properties.getRestoreTimeout();
+        this.clock = clock;
+    }
+
+    @Override
+    public BehaviourProfile get(String userId) {
+        Map<String, BehaviourProfile> profiles = profilesOf(userId);
+        BehaviourProfile profile = profiles == null ? null : profiles.get(userId);
+        return profile != null ? profile : BehaviourProfile.EMPTY;
+    }
+
+    /**
+     * Callers record a user's transactions one at a time (the listeners keep
+     * per-user order), so the read-modify-write below needs no lock.
+     */
+    @Override
+    public void record(TransactionCreatedEvent event) {
+        String userId = event.getUserId();
+        if (userId == null) {
+            return;
+        }
+        int partition = partitionOf(userId);
+        Map<String, BehaviourProfile> profiles = partition < 0 ? null : partitions.get(partition);
+        if (profiles == null) {
+            // Not (or no longer) assigned here — the owner records it
+            return;
+        }
+        BehaviourProfile updated = update(profiles.getOrDefault(userId, BehaviourProfile.EMPTY), event);
+        profiles.put(userId, updated);
+        if (partition < changelogPartitions) {
+            changelogTemplate.send(changelogTopic, partition, userId, updated.bytes());
+        }
+    }
+
+    @Override
+    public BehaviourProfile fold(BehaviourProfile current, TransactionCreatedEvent event) {
+        if (event.getUserId() == null || profilesOf(event.getUserId()) == null) {
+            return current;
+        }
+        return update(current, event);
+    }
+
+    private BehaviourProfile update(BehaviourProfile profile, TransactionCreatedEvent event) {
+        return profile.update(event.getAmount(), event.getLocation(), event.getMerchantType(), clock.millis());
+    }
+
+    /** Users held for the given source partition, or -1 if it is not assigned here. */
+    public int size(int partition) {
+        Map<String, BehaviourProfile> profiles = partitions.get(partition);
+        return profiles == null ? -1 : profiles.size();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> assigned) {
+        List<TopicPartition> sources = assigned.stream().filter(tp -> tp.topic().equals(sourceTopic)).toList();
+        if (sources.isEmpty()) {
+            return;
+        }
+        try (Consumer<String, byte[]> restorer = changelogConsumerFactory.createConsumer(null, "-profile-restore")) {
+            sourcePartitions = consumer.partitionsFor(sourceTopic).size();
+            List<PartitionInfo> changelog = restorer.partitionsFor(changelogTopic);
+            changelogPartitions = changelog == null ? 0 : changelog.size();
+            if (changelogPartitions < sourcePartitions) {
+                log.error("Changelog {} has {} partitions but {} has {}; profiles of the rest are not persisted",
+                        changelogTopic, changelogPartitions, sourceTopic, sourcePartitions);
+            }
+            for (TopicPartition source : sources) {
+                partitions.put(source.partition(), restore(restorer, source.partition()));
+            }
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        drop(revoked);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        drop(lost);
+    }
+
+    private ConcurrentHashMap<String, BehaviourProfile> restore(Consumer<String, byte[]> restorer, int partition) {
+        ConcurrentHashMap<String, BehaviourProfile> profiles = new ConcurrentHashMap<>();
+        if (partition >= changelogPartitions) {
+            return profiles;
+        }
+        TopicPartition tp = new TopicPartition(changelogTopic, partition);
+        List<TopicPartition> assignment = List.of(tp);
+        restorer.assign(assignment);
+        restorer.seekToBeginning(assignment);
+        long end = restorer.endOffsets(assignment).get(tp);
+        long started = System.nanoTime();
+        long deadline = started + restoreTimeout.toNanos();
+        while (restorer.position(tp) < end) {
+            if (System.nanoTime() > deadline) {
+                log.warn("Profile restore of {} timed out at offset {} of {}; continuing with partial profiles",
+                        tp, restorer.position(tp), end);
+                break;
+            }
+            for (ConsumerRecord<String, byte[]> record : restorer.poll(RESTORE_POLL)) {
+                BehaviourProfile profile = BehaviourProfile.fromBytes(record.value());
+                if (record.key() == null) {
+                    continue;
+                }
+                if (profile == null) {
+                    // Tombstone or unreadable version: forget the user
+                    profiles.remove(record.key());
+                } else {
+                    profiles.put(record.key(), profile);
+                }
+            }
+        }
+        log.info("Restored {} behaviour profiles for {}-{} in {} ms", profiles.size(), sourceTopic, partition,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return profiles;
+    }
+
+    private void drop(Collection<TopicPartition> topicPartitions) {
+        for (TopicPartition tp : topicPartitions) {
+            if (tp.topic().equals(sourceTopic)) {
+                partitions.remove(tp.partition());
+            }
+        }
+    }
+
+    private Map<String, BehaviourProfile> profilesOf(String userId) {
+        int partition = partitionOf(userId);
+        return partition < 0 ? null : partitions.get(partition);
+    }
+
+    /** Partition the producer's default partitioner puts this userId key on, -1 before any assignment. */
+    private int partitionOf(String userId) {
+        int count = sourcePartitions;
+        if (count == 0 || userId == null) {
+            return -1;
+        }
+        return Utils.toPositive(Utils.murmur2(userId.getBytes(StandardCharsets.UTF_8))) % count;
+    }
+}
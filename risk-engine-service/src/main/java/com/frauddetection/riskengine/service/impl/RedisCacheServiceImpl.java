@@ -1,13 +1,31 @@
 package com.frauddetection.riskengine.service.impl;
 
 import com.frauddetection.riskengine.service.RedisCacheService;
+import com.frauddetection.riskengine.service.RiskContext;
+import com.frauddetection.riskengine.service.RiskEvaluation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Redis access for risk evaluation. Every write is a server-side script, so
+ * the keys an evaluation touches are updated atomically in one round trip:
+ * RedisTemplate runs scripts by EVALSHA and only sends the body on NOSCRIPT.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -16,16 +34,27 @@ public class RedisCacheServiceImpl implements RedisCacheService {
     private final RedisTemplate<String, Object> redisTemplate;
 
     private static final String RISK_KEY_PREFIX = "user:risk:";
-    private static final String TXN_COUNT_KEY_PREFIX = "user:txn_count:";
+    private static final String TXN_VELOCITY_KEY_PREFIX = "user:txn_velocity:";
     private static final String HOT_HIGH_RISK_LIST_KEY = "hot:high-risk-transactions";
     private static final int HIGH_RISK_LIST_SIZE = 100;
+    private static final String FRAUD_COUNT_FIELD = "fraudCount";
+    private static final Duration TTL = Duration.ofHours(24);
+
+    /** Fraud count + 1m/10m/1h/24h sliding-window txn counts in one call. */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RISK_CONTEXT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/risk-context.lua"), List.class);
+    /** Risk hash + TTL and, for HIGH, hot-list push/trim/TTL in one call. */
+    private static final RedisScript<Long> RISK_SCORE_WRITE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/risk-score-write.lua"), Long.class);
+    private static final RedisScript<Long> FRAUD_COUNT_INCREMENT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/fraud-count-increment.lua"), Long.class);
+    private static final RedisScript<Long> HOT_LIST_PUSH_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/hot-list-push.lua"), Long.class);
 
     @Override
     public void cacheRiskScore(String userId, double riskScore, String riskLevel) {
-        String key = RISK_KEY_PREFIX + userId;
-        redisTemplate.opsForHash().put(key, "riskScore", String.valueOf(riskScore));
-        redisTemplate.opsForHash().put(key, "riskLevel", riskLevel);
-        redisTemplate.expire(key, Duration.ofHours(24));
+        redisTemplate.execute(RISK_SCORE_WRITE_SCRIPT, writeKeys(userId), writeArgs(riskScore, riskLevel, null));
         log.debug("Cached risk profile for user={}: score={}", userId, riskScore);
     }
 
@@ -37,27 +66,124 @@ public class RedisCacheServiceImpl implements RedisCacheService {
 
     @Override
     public int getRecentFraudCount(String userId) {
-        Object count = redisTemplate.opsForHash().get(RISK_KEY_PREFIX + userId, "fraudCount");
-        return count != null ? Integer.parseInt(count.toString()) : 0;
+        return parseCount(redisTemplate.opsForHash().get(RISK_KEY_PREFIX + userId, FRAUD_COUNT_FIELD));
     }
 
     @Override
     public void incrementFraudCount(String userId) {
-        String key = RISK_KEY_PREFIX + userId;
-        redisTemplate.opsForHash().increment(key, "fraudCount", 1);
-        redisTemplate.expire(key, Duration.ofHours(24));
+        redisTemplate.execute(FRAUD_COUNT_INCREMENT_SCRIPT, List.of(RISK_KEY_PREFIX + userId),
+                FRAUD_COUNT_FIELD, String.valueOf(TTL.toMillis()));
     }
 
     @Override
     public int getRecentTxnCount(String userId) {
-        Object count = redisTemplate.opsForValue().get(TXN_COUNT_KEY_PREFIX + userId);
-        return count != null ? Integer.parseInt(count.toString()) : 0;
+        return getRiskContext(userId).getTxnFrequency();
+    }
+
+    @Override
+    public RiskContext getRiskContext(String userId) {
+        // The field name goes through the template's serializer, like every other hash access
+        List<?> reply = redisTemplate.execute(RISK_CONTEXT_SCRIPT, contextKeys(userId), FRAUD_COUNT_FIELD);
+        return toRiskContext(reply);
     }
 
     @Override
     public void addToHotList(String transactionId) {
-        redisTemplate.opsForList().leftPush(HOT_HIGH_RISK_LIST_KEY, transactionId);
-        redisTemplate.opsForList().trim(HOT_HIGH_RISK_LIST_KEY, 0, HIGH_RISK_LIST_SIZE - 1);
-        redisTemplate.expire(HOT_HIGH_RISK_LIST_KEY, Duration.ofHours(24));
+        redisTemplate.execute(HOT_LIST_PUSH_SCRIPT, List.of(HOT_HIGH_RISK_LIST_KEY),
+                transactionId, String.valueOf(HIGH_RISK_LIST_SIZE), String.valueOf(TTL.toMillis()));
+    }
+
+    @Override
+    public void recordEvaluation(RiskEvaluation evaluation) {
+        redisTemplate.execute(RISK_SCORE_WRITE_SCRIPT, writeKeys(evaluation.getUserId()), writeArgs(evaluation));
+        log.debug("Cached risk profile for user={}: score={}", evaluation.getUserId(), evaluation.getRiskScore());
+    }
+
+    @Override
+    public Map<String, RiskContext> getRiskContexts(Collection<String> userIds) {
+        List<String> distinctUserIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+        if (distinctUserIds.isEmpty()) {
+            return Map.of();
+        }
+
+        // One reply per user, in command order: the risk-context script result
+        List<Object> replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (String userId : distinctUserIds) {
+                    ops.execute(RISK_CONTEXT_SCRIPT, contextKeys(userId), FRAUD_COUNT_FIELD);
+                }
+                return null;
+            }
+        });
+
+        Map<String, RiskContext> contexts = new HashMap<>(distinctUserIds.size() * 2);
+        for (int i = 0; i < distinctUserIds.size(); i++) {
+            contexts.put(distinctUserIds.get(i), toRiskContext((List<?>) replies.get(i)));
+        }
+        log.debug("Pipelined risk context read: users={}", contexts.size());
+        return contexts;
+    }
+
+    @Override
+    public void cacheRiskScores(List<RiskEvaluation> evaluations) {
+        if (evaluations.isEmpty()) {
+            return;
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                // Pipelined scripts go out as EVAL; each evaluation is still applied atomically
+                for (RiskEvaluation evaluation : evaluations) {
+                    ops.execute(RISK_SCORE_WRITE_SCRIPT, writeKeys(evaluation.getUserId()), writeArgs(evaluation));
+                }
+                return null;
+            }
+        });
+        log.debug("Pipelined risk score write: evaluations={}", evaluations.size());
+    }
+
+    private static List<String> contextKeys(String userId) {
+        return List.of(RISK_KEY_PREFIX + userId, TXN_VELOCITY_KEY_PREFIX + userId);
+    }
+
+    private static List<String> writeKeys(String userId) {
+        return List.of(RISK_KEY_PREFIX + userId, HOT_HIGH_RISK_LIST_KEY);
+    }
+
+    private static Object[] writeArgs(RiskEvaluation evaluation) {
+        String hotListEntry = "HIGH".equals(evaluation.getRiskLevel()) ? evaluation.getTransactionId() : null;
+        return writeArgs(evaluation.getRiskScore(), evaluation.getRiskLevel(), hotListEntry);
+    }
+
+    /** The transactionId argument is only passed when it goes onto the hot list. */
+    private static Object[] writeArgs(double riskScore, String riskLevel, String hotListEntry) {
+        String score = String.valueOf(riskScore);
+        String ttl = String.valueOf(TTL.toMillis());
+        String size = String.valueOf(HIGH_RISK_LIST_SIZE);
+        return hotListEntry != null
+                ? new Object[] { score, riskLevel, ttl, size, hotListEntry }
+                : new Object[] { score, riskLevel, ttl, size };
+    }
+
+    private static RiskContext toRiskContext(List<?> reply) {
+        if (reply == null || reply.size() < 5) {
+            return new RiskContext(0, 0);
+        }
+        return new RiskContext(
+                parseCount(reply.get(0)),
+                parseCount(reply.get(1)),
+                parseCount(reply.get(2)),
+                parseCount(reply.get(3)),
+                parseCount(reply.get(4)));
+    }
+
+    private static int parseCount(Object value) {
+        return value != null ? Integer.parseInt(value.toString()) : 0;
     }
 }
@@ -3,40 +3,140 @@ package com.frauddetection.riskengine.service.impl;
 import com.frauddetection.common.events.TransactionCreatedEvent;
 import com.frauddetection.riskengine.service.RiskCalculationService;
 import com.frauddetection.riskengine.service.RiskContext;
+import com.frauddetection.riskengine.service.scoring.CompiledScoringKernel;
+import com.frauddetection.riskengine.service.scoring.FeatureWeightSnapshot;
 import com.frauddetection.riskengine.service.scoring.RiskScoringFactor;
-import lombok.RequiredArgsConstructor;
+import com.frauddetection.riskengine.service.scoring.ShadowScoringFactor;
+import com.frauddetection.riskengine.service.scoring.WeightedScoringFactor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Sums the configured RiskScoringFactors into a composite score.
+ *
+ * The factor list is compiled once into a CompiledScoringKernel, which scores
+ * without per-event allocation. When debug logging is on, the interpreted
+ * factor loop runs instead so each contribution can be logged — both paths
+ * produce bit-identical scores.
+ *
+ * applyWeights re-weights the factors from a feature_weights snapshot and
+ * recompiles the kernel on the caller's thread; factors, kernel and version
+ * are then published together through one volatile write, so scoring never
+ * blocks and never sees half a snapshot.
+ *
+ * With risk.shadow.enabled=true the model also carries a candidate kernel:
+ * the live factors re-weighted with risk.shadow.weights on top of the live
+ * weights, plus every ShadowScoringFactor. Each live score is handed to
+ * ShadowScorer, which scores the candidate off the scoring thread; the live
+ * score is returned unchanged. ShadowScoringFactors never score live.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RiskCalculationServiceImpl implements RiskCalculationService {
 
-    private final List<RiskScoringFactor> factors;
+    /**
+     * Everything one score is computed from, swapped as a unit; shadowKernel is
+     * null unless shadow scoring is on.
+     */
+    private record ScoringModel(long weightsVersion, List<RiskScoringFactor> factors, CompiledScoringKernel kernel,
+                                CompiledScoringKernel shadowKernel) {
+    }
+
+    private final List<RiskScoringFactor> configuredFactors;
+    private final List<RiskScoringFactor> shadowFactors;
+    private final ShadowScorer shadowScorer;
+    private volatile ScoringModel model;
+
+    public RiskCalculationServiceImpl(List<RiskScoringFactor> factors) {
+        this(factors, (ShadowScorer) null);
+    }
+
+    @Autowired
+    public RiskCalculationServiceImpl(List<RiskScoringFactor> factors, ObjectProvider<ShadowScorer> shadowScorer) {
+        this(factors, shadowScorer.getIfAvailable());
+    }
+
+    public RiskCalculationServiceImpl(List<RiskScoringFactor> factors, ShadowScorer shadowScorer) {
+        this.configuredFactors = factors.stream().filter(f -> !(f instanceof ShadowScoringFactor)).toList();
+        this.shadowFactors = factors.stream().filter(ShadowScoringFactor.class::isInstance).toList();
+        this.shadowScorer = shadowScorer;
+        this.model = new ScoringModel(FeatureWeightSnapshot.NONE.version(), configuredFactors,
+                CompiledScoringKernel.compile(configuredFactors), compileShadow(FeatureWeightSnapshot.NONE));
+    }
 
     @Override
     public double calculateRiskScore(TransactionCreatedEvent event, RiskContext context) {
-        double total = 0.0;
-        for (RiskScoringFactor factor : factors) {
-            double contribution = factor.score(event, context);
-            log.debug("[{}] score contribution: {}", factor.name(), String.format("%.4f", contribution));
-            total += contribution;
+        ScoringModel current = model;
+        double score = log.isDebugEnabled()
+                ? calculateWithFactorLogging(current, event, context)
+                : current.kernel().score(event, context);
+        CompiledScoringKernel shadowKernel = current.shadowKernel();
+        if (shadowKernel != null) {
+            shadowScorer.submit(event, score, () -> shadowKernel.score(event, context));
         }
-        double finalScore = Math.min(total, 1.0);
-        log.debug("Composite risk score for userId={}: {} ({} factors)",
-                event.getUserId(), String.format("%.4f", finalScore), factors.size());
-        return finalScore;
+        return score;
     }
 
     @Override
     public String deriveRiskLevel(double score) {
+        return riskLevel(score);
+    }
+
+    static String riskLevel(double score) {
         if (score >= 0.80)
             return "HIGH";
         if (score >= 0.60)
             return "MEDIUM";
         return "LOW";
     }
+
+    @Override
+    public void applyWeights(FeatureWeightSnapshot weights) {
+        List<RiskScoringFactor> factors = reweight(configuredFactors, weights);
+        model = new ScoringModel(weights.version(), factors, CompiledScoringKernel.compile(factors),
+                compileShadow(weights));
+    }
+
+    /** Version of the feature_weights snapshot currently scoring; 0 = configured RiskThresholds. */
+    public long weightsVersion() {
+        return model.weightsVersion();
+    }
+
+    private CompiledScoringKernel compileShadow(FeatureWeightSnapshot liveWeights) {
+        if (shadowScorer == null) {
+            return null;
+        }
+        List<RiskScoringFactor> candidate = new ArrayList<>(
+                reweight(configuredFactors, shadowScorer.candidateWeights(liveWeights)));
+        candidate.addAll(shadowFactors);
+        return CompiledScoringKernel.compile(candidate);
+    }
+
+    private static List<RiskScoringFactor> reweight(List<RiskScoringFactor> factors, FeatureWeightSnapshot weights) {
+        List<RiskScoringFactor> reweighted = new ArrayList<>(factors.size());
+        for (RiskScoringFactor factor : factors) {
+            reweighted.add(factor instanceof WeightedScoringFactor weighted ? weighted.reweight(weights) : factor);
+        }
+        return List.copyOf(reweighted);
+    }
+
+    private double calculateWithFactorLogging(ScoringModel current, TransactionCreatedEvent event,
+                                              RiskContext context) {
+        double total = 0.0;
+        for (RiskScoringFactor factor : current.factors()) {
+            double contribution = factor.score(event, context);
+            log.debug("[{}] score contribution: {}", factor.name(), String.format("%.4f", contribution));
+            total += contribution;
+        }
+        double finalScore = Math.min(total, 1.0);
+        log.debug("Composite risk score for userId={}: {} ({} factors, weights v{})",
+                event.getUserId(), String.format("%.4f", finalScore), current.factors().size(),
+                current.weightsVersion());
+        return finalScore;
+    }
 }
@@ -2,30 +2,37 @@ package com.frauddetection.riskengine.service.impl;
 
 import com.frauddetection.common.events.RiskScoredEvent;
 import com.frauddetection.common.events.TransactionCreatedEvent;
-import com.frauddetection.riskengine.entity.RiskProfile;
-import com.frauddetection.riskengine.repository.RiskProfileRepository;
+import com.frauddetection.riskengine.exception.BatchEvaluationException;
+import com.frauddetection.riskengine.service.BehaviourProfile;
+import com.frauddetection.riskengine.service.BehaviourProfileStore;
 import com.frauddetection.riskengine.service.RedisCacheService;
 import com.frauddetection.riskengine.service.RiskCalculationService;
 import com.frauddetection.riskengine.service.RiskContext;
 import com.frauddetection.riskengine.service.RiskEngineService;
+import com.frauddetection.riskengine.service.RiskEvaluation;
+import com.frauddetection.riskengine.service.RiskProfileWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RiskEngineServiceImpl implements RiskEngineService {
 
+    private static final RiskContext EMPTY_CONTEXT = new RiskContext(0, 0);
+
     private final RiskCalculationService riskCalculationService;
     private final RedisCacheService redisCacheService;
-    private final RiskProfileRepository riskProfileRepository;
+    private final RiskProfileWriter riskProfileWriter;
+    private final BehaviourProfileStore behaviourProfileStore;
     private final KafkaTemplate<String, RiskScoredEvent> kafkaTemplate;
 
     @Value("${kafka.topics.risk-scored:risk.scored}")
@@ -33,43 +40,80 @@ public class RiskEngineServiceImpl implements RiskEngineService {
 
     @Override
     public void evaluate(TransactionCreatedEvent event) {
-        RiskContext context = new RiskContext(
-                redisCacheService.getRecentFraudCount(event.getUserId()),
-                redisCacheService.getRecentTxnCount(event.getUserId()));
+        RiskContext context = redisCacheService.getRiskContext(event.getUserId())
+                .withBehaviour(behaviourProfileStore.get(event.getUserId()));
 
         double riskScore = riskCalculationService.calculateRiskScore(event, context);
         String riskLevel = riskCalculationService.deriveRiskLevel(riskScore);
+        behaviourProfileStore.record(event);
+
+        RiskEvaluation evaluation = new RiskEvaluation(
+                event.getTransactionId(), event.getUserId(), riskScore, riskLevel, context);
+        // 1 Redis write round trip: risk hash, plus hot list when HIGH
+        redisCacheService.recordEvaluation(evaluation);
+        riskProfileWriter.write(evaluation);
+
+        send(evaluation, event);
+    }
 
-        redisCacheService.cacheRiskScore(event.getUserId(), riskScore, riskLevel);
-        if ("HIGH".equals(riskLevel)) {
-            redisCacheService.addToHotList(event.getTransactionId());
+    @Override
+    public void evaluateBatch(List<TransactionCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
         }
 
-        upsertRiskProfile(event, riskScore, riskLevel, context);
+        // 1 pipelined Redis read for every user in the poll
+        Map<String, RiskContext> contexts = redisCacheService.getRiskContexts(
+                events.stream().map(TransactionCreatedEvent::getUserId).toList());
 
-        RiskScoredEvent scoredEvent = RiskScoredEvent.builder()
-                .eventId(UUID.randomUUID().toString())
-                .transactionId(event.getTransactionId())
-                .userId(event.getUserId())
-                .riskScore(riskScore)
-                .riskLevel(riskLevel)
-                .scoredAt(LocalDateTime.now())
-                .build();
+        List<RiskEvaluation> evaluations = new ArrayList<>(events.size());
+        // Earlier events of the poll are folded into a local copy so a user's later
+        // events see them; the store itself is only updated once events are published
+        Map<String, BehaviourProfile> behaviours = new HashMap<>();
+        for (TransactionCreatedEvent event : events) {
+            BehaviourProfile behaviour = behaviours.containsKey(event.getUserId())
+                    ? behaviours.get(event.getUserId())
+                    : behaviourProfileStore.get(event.getUserId());
+            RiskContext context = contexts.getOrDefault(event.getUserId(), EMPTY_CONTEXT).withBehaviour(behaviour);
+            double riskScore = riskCalculationService.calculateRiskScore(event, context);
+            String riskLevel = riskCalculationService.deriveRiskLevel(riskScore);
+            behaviours.put(event.getUserId(), behaviourProfileStore.fold(behaviour, event));
+            evaluations.add(new RiskEvaluation(
+                    event.getTransactionId(), event.getUserId(), riskScore, riskLevel, context));
+        }
 
-        kafkaTemplate.send(riskScoredTopic, event.getUserId(), scoredEvent);
-        log.info("RiskScoredEvent published: txnId={}, score={}, level={}",
-                event.getTransactionId(), String.format("%.4f", riskScore), riskLevel);
+        // 1 pipelined Redis write, one profile write per user, then producer batches the sends
+        redisCacheService.cacheRiskScores(evaluations);
+        riskProfileWriter.writeAll(evaluations);
+        int published = 0;
+        try {
+            for (; published < evaluations.size(); published++) {
+                send(evaluations.get(published), events.get(published));
+            }
+        } catch (RuntimeException e) {
+            throw new BatchEvaluationException(published, evaluations.subList(published, evaluations.size()), e);
+        } finally {
+            // The caller records the unpublished rest as it publishes them
+            for (int i = 0; i < published; i++) {
+                behaviourProfileStore.record(events.get(i));
+            }
+        }
+
+        log.info("Risk batch evaluated: events={}, users={}", events.size(), contexts.size());
     }
 
-    private void upsertRiskProfile(TransactionCreatedEvent event,
-                                   double riskScore, String riskLevel,
-                                   RiskContext context) {
-        Optional<RiskProfile> existing = riskProfileRepository.findByUserId(event.getUserId());
-        RiskProfile profile = existing.orElse(RiskProfile.builder().userId(event.getUserId()).build());
-        profile.setRiskScore(riskScore);
-        profile.setRiskLevel(riskLevel);
-        profile.setRecentFraudCount(context.getRecentFraudCount());
-        profile.setTxnFrequency(context.getTxnFrequency());
-        riskProfileRepository.save(profile);
+    @Override
+    public void publish(RiskEvaluation evaluation, TransactionCreatedEvent source) {
+        send(evaluation, source);
+        behaviourProfileStore.record(source);
+    }
+
+    private void send(RiskEvaluation evaluation, TransactionCreatedEvent source) {
+        RiskScoredEvent scoredEvent = evaluation.toScoredEvent(source);
+
+        kafkaTemplate.send(riskScoredTopic, evaluation.getUserId(), scoredEvent);
+        log.info("RiskScoredEvent published: txnId={}, score={}, level={}",
+                evaluation.getTransactionId(), String.format("%.4f", evaluation.getRiskScore()),
+                evaluation.getRiskLevel());
     }
 }
@@ -0,0 +1,168 @@
+package com.frauddetection.riskengine.service.impl;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.config.ShadowScoringProperties;
+import com.frauddetection.riskengine.service.scoring.FeatureWeightSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Runs the candidate score of risk.shadow next to the live one and publishes
+ * both to the shadow topic for offline comparison (risk.shadow.enabled=true).
+ *
+ * The live thread only samples and offers a task to a bounded queue; it never
+ * waits. Candidate scoring and the send run on a small pool of low-priority
+ * threads, and a task that finds the queue full is dropped and counted — under
+ * load shadow scores thin out instead of delaying live scoring.
+ *
+ * Metrics:
+ * - risk.shadow.submit: time the live thread spends handing a score over
+ *   (p99 published), i.e. what shadow mode adds to live latency;
+ * - risk.shadow.scores{result=scored|dropped|failed};
+ * - risk.shadow.delta: candidate minus live score;
+ * - risk.shadow.level.changes: candidate risk level differs from the live one.
+ */
+@Component
+@ConditionalOnProperty(prefix = "risk.shadow", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShadowScorer {
+
+    /** One live/candidate comparison, keyed by transactionId on the shadow topic. */
+    public record ShadowScore(String transactionId, String userId, String candidate,
+                              double liveScore, String liveLevel,
+                              double candidateScore, String candidateLevel,
+                              double delta, long scoredAtEpochMs) {
+    }
+
+    private final KafkaTemplate<String, ShadowScore> template;
+    private final String topic;
+    private final String candidate;
+    private final Map<String, Double> candidateWeights;
+    private final double sampleRate;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer submitTimer;
+    private final Counter scored;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter levelChanges;
+    private final DistributionSummary delta;
+
+    public ShadowScorer(@Qualifier("shadowScoreTemplate") KafkaTemplate<String, ShadowScore> template,
+                        ShadowScoringProperties properties,
+                        MeterRegistry meterRegistry) {
+        properties.getWeights().forEach((name, weight) -> {
+            if (!FeatureWeightSnapshot.isKnownFeature(name)) {
+                throw new IllegalArgumentException("Unknown feature in risk.shadow.weights: " + name);
+            }
+            if (weight == null || !(weight >= 0.0 && weight <= 1.0)) {
+                throw new IllegalArgumentException("risk.shadow.weights." + name + " must be within [0, 1]: " + weight);
+            }
+        });
+        this.template = template;
+        this.topic = properties.getTopic();
+        this.candidate = properties.getName();
+        this.candidateWeights = Map.copyOf(properties.getWeights());
+        this.sampleRate = properties.getSampleRate();
+
+        this.submitTimer = Timer.builder("risk.shadow.submit")
+                .description("Time the live scoring thread spends handing a score to shadow scoring")
+                .publishPercentiles(0.99)
+                .register(meterRegistry);
+        this.scored = scores(meterRegistry, "scored");
+        this.dropped = scores(meterRegistry, "dropped");
+        this.failed = scores(meterRegistry, "failed");
+        this.levelChanges = Counter.builder("risk.shadow.level.changes")
+                .description("Shadow scores whose risk level differs from the live one")
+                .register(meterRegistry);
+        this.delta = DistributionSummary.builder("risk.shadow.delta")
+                .description("Candidate minus live risk score")
+                .register(meterRegistry);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "risk-shadow-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                (task, pool) -> dropped.increment());
+    }
+
+    /**
+     * Live weights with the candidate's overrides on top; the candidate follows
+     * feature_weights changes except where it sets its own value.
+     */
+    public FeatureWeightSnapshot candidateWeights(FeatureWeightSnapshot live) {
+        if (candidateWeights.isEmpty()) {
+            return live;
+        }
+        Map<String, Double> merged = new HashMap<>(live.weights());
+        merged.putAll(candidateWeights);
+        return new FeatureWeightSnapshot(live.version(), merged, live.loadedAt());
+    }
+
+    /**
+     * Hands one live score over for comparison; returns without waiting.
+     * candidateScore is evaluated on a shadow thread.
+     */
+    public void submit(TransactionCreatedEvent event, double liveScore, DoubleSupplier candidateScore) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long started = System.nanoTime();
+        executor.execute(() -> compare(event, liveScore, candidateScore));
+        submitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private void compare(TransactionCreatedEvent event, double liveScore, DoubleSupplier candidateScore) {
+        try {
+            double shadowScore = candidateScore.getAsDouble();
+            String liveLevel = RiskCalculationServiceImpl.riskLevel(liveScore);
+            String candidateLevel = RiskCalculationServiceImpl.riskLevel(shadowScore);
+            double difference = shadowScore - liveScore;
+            delta.record(difference);
+            if (!liveLevel.equals(candidateLevel)) {
+                levelChanges.increment();
+            }
+            template.send(topic, event.getTransactionId(), new ShadowScore(event.getTransactionId(),
+                    event.getUserId(), candidate, liveScore, liveLevel, shadowScore, candidateLevel, difference,
+                    System.currentTimeMillis()));
+            scored.increment();
+        } catch (Exception e) {
+            failed.increment();
+            log.debug("Shadow scoring failed for txnId={}: {}", event.getTransactionId(), e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static Counter scores(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("risk.shadow.scores")
+                .description("Shadow scores by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,183 @@
+package com.frauddetection.riskengine.service.impl;
+
+import com.frauddetection.riskengine.config.WriteBehindProperties;
+import com.frauddetection.riskengine.entity.RiskProfile;
+import com.frauddetection.riskengine.repository.RiskProfileUpsertRepository;
+import com.frauddetection.riskengine.service.RiskEvaluation;
+import com.frauddetection.riskengine.service.RiskProfileWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind RiskProfile persistence.
+ *
+ * Evaluations are buffered in a map keyed by userId that only keeps the latest
+ * state per user, so a hot user producing dozens of evaluations per second
+ * costs one row per flush instead of a SELECT + UPDATE per event. The buffer
+ * is flushed with JDBC batch upserts (INSERT ... ON CONFLICT (user_id) DO UPDATE):
+ * - every flush-interval on a background thread
+ * - early, once flush-size users are pending
+ * - inline on the caller's thread when max-pending-users is reached, which
+ *   slows the Kafka consumer down instead of growing the heap (backpressure)
+ * - once more on shutdown, after the listener containers have stopped
+ *
+ * Only one flush runs at a time, so an older state can never overwrite a newer
+ * one. If a flush fails, entries are put back unless a newer state for the
+ * same user has arrived in the meantime.
+ *
+ * Enabled with risk.profile.write-behind.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(prefix = "risk.profile.write-behind", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class WriteBehindRiskProfileWriter implements RiskProfileWriter {
+
+    private final RiskProfileUpsertRepository upsertRepository;
+    private final WriteBehindProperties properties;
+
+    private final ConcurrentHashMap<String, RiskEvaluation> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "risk-profile-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("RiskProfile write-behind enabled: interval={}ms, flushSize={}, maxPendingUsers={}",
+                intervalMs, properties.getFlushSize(), properties.getMaxPendingUsers());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(properties.getFlushInterval().toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        int written = flush();
+        log.info("RiskProfile write-behind stopped: flushed {} pending profiles", written);
+    }
+
+    @Override
+    public void write(RiskEvaluation evaluation) {
+        enqueue(evaluation);
+    }
+
+    @Override
+    public void writeAll(List<RiskEvaluation> evaluations) {
+        for (RiskEvaluation evaluation : evaluations) {
+            enqueue(evaluation);
+        }
+    }
+
+    /** Number of users whose latest state has not been written yet. */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes everything pending in JDBC batches of flush-size rows.
+     *
+     * @return number of profiles written
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            flushScheduled.set(false);
+            int batchSize = properties.getFlushSize();
+            int budget = properties.getMaxPendingUsers();
+            int written = 0;
+            List<RiskEvaluation> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            for (String userId : pending.keySet()) {
+                if (written + batch.size() >= budget) {
+                    break;
+                }
+                RiskEvaluation evaluation = pending.remove(userId);
+                if (evaluation == null) {
+                    continue;
+                }
+                batch.add(evaluation);
+                if (batch.size() == batchSize) {
+                    written += writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                written += writeBatch(batch);
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void enqueue(RiskEvaluation evaluation) {
+        String userId = evaluation.getUserId();
+        if (pending.size() >= properties.getMaxPendingUsers() && !pending.containsKey(userId)) {
+            log.warn("RiskProfile write-behind buffer full ({} users) — flushing on caller thread",
+                    pending.size());
+            flush();
+        }
+        pending.put(userId, evaluation);
+        if (pending.size() >= properties.getFlushSize()) {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flusher != null && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            int written = flush();
+            if (written > 0) {
+                log.debug("RiskProfile write-behind flushed {} profiles", written);
+            }
+        } catch (Exception e) {
+            log.error("RiskProfile write-behind flush failed, {} profiles still pending: {}",
+                    pending.size(), e.getMessage(), e);
+        }
+    }
+
+    private int writeBatch(List<RiskEvaluation> batch) {
+        List<RiskProfile> profiles = new ArrayList<>(batch.size());
+        for (RiskEvaluation evaluation : batch) {
+            profiles.add(RiskProfile.builder()
+                    .userId(evaluation.getUserId())
+                    .riskScore(evaluation.getRiskScore())
+                    .riskLevel(evaluation.getRiskLevel())
+                    .recentFraudCount(evaluation.getContext().getRecentFraudCount())
+                    .txnFrequency(evaluation.getContext().getTxnFrequency())
+                    .build());
+        }
+        try {
+            upsertRepository.upsertAll(profiles, properties.getFlushSize());
+            return batch.size();
+        } catch (RuntimeException e) {
+            for (RiskEvaluation evaluation : batch) {
+                pending.putIfAbsent(evaluation.getUserId(), evaluation);
+            }
+            throw e;
+        }
+    }
+}
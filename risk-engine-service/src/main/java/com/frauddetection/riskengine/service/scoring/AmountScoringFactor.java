@@ -3,6 +3,8 @@ package com.frauddetection.riskengine.service.scoring;
 import com.frauddetection.common.events.TransactionCreatedEvent;
 import com.frauddetection.riskengine.config.RiskThresholds;
 import com.frauddetection.riskengine.service.RiskContext;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -14,8 +16,9 @@ import java.math.BigDecimal;
  */
 @Component
 @RequiredArgsConstructor
-public class AmountScoringFactor implements RiskScoringFactor {
+public class AmountScoringFactor implements WeightedScoringFactor {
 
+    @Getter(AccessLevel.PACKAGE) // read by CompiledScoringKernel
     private final RiskThresholds thresholds;
 
     @Override
@@ -27,13 +30,19 @@ public class AmountScoringFactor implements RiskScoringFactor {
         double highAmt = thresholds.getHighAmountThreshold();
         double medAmt = thresholds.getMediumAmountThreshold();
 
-        if (amount.doubleValue() > highAmt)
+        double value = amount.doubleValue();
+        if (value > highAmt)
             return thresholds.getAmountHighScore();
-        if (amount.doubleValue() > medAmt)
+        if (value > medAmt)
             return thresholds.getAmountMediumScore();
         return thresholds.getAmountLowScore();
     }
 
+    @Override
+    public RiskScoringFactor reweight(FeatureWeightSnapshot weights) {
+        return new AmountScoringFactor(weights.applyTo(thresholds));
+    }
+
     @Override
     public String name() {
         return "AmountFactor";
@@ -0,0 +1,75 @@
+package com.frauddetection.riskengine.service.scoring;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.config.BehaviourProfileProperties;
+import com.frauddetection.riskengine.service.BehaviourProfile;
+import com.frauddetection.riskengine.service.RiskContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+
+/**
+ * Scores a transaction against the user's own history from RiskContext's
+ * BehaviourProfile: an amount far above the user's mean, a location or
+ * merchant type the user rarely uses, and a first transaction after a long
+ * dormant period each add their configured score.
+ *
+ * Users with fewer than min-history transactions score 0 — without history
+ * everything looks unusual. The profile is partition-local, so this factor
+ * adds no network round trip; the compiled kernel invokes it as a delegate.
+ *
+ * Enabled with risk.behaviour-profile.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(prefix = "risk.behaviour-profile", name = "enabled", havingValue = "true")
+public class BehaviourScoringFactor implements RiskScoringFactor {
+
+    private final BehaviourProfileProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public BehaviourScoringFactor(BehaviourProfileProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    public BehaviourScoringFactor(BehaviourProfileProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public double score(TransactionCreatedEvent event, RiskContext context) {
+        BehaviourProfile profile = context.getBehaviour();
+        if (profile.txnCount() < properties.getMinHistory())
+            return 0.0;
+
+        double score = 0.0;
+        BigDecimal amount = event.getAmount();
+        double stdDev = profile.amountStdDev();
+        if (amount != null && stdDev > 0.0
+                && (amount.doubleValue() - profile.amountMean()) / stdDev > properties.getAmountZThreshold())
+            score += properties.getAmountDeviationScore();
+
+        if (event.getLocation() != null
+                && profile.locationShare(event.getLocation()) < properties.getUnusualShare())
+            score += properties.getNewLocationScore();
+
+        if (event.getMerchantType() != null
+                && profile.merchantShare(event.getMerchantType()) < properties.getUnusualShare())
+            score += properties.getNewMerchantScore();
+
+        long idleMs = clock.millis() - profile.lastSeenEpochMs();
+        if (idleMs > properties.getDormantAfter().toMillis())
+            score += properties.getDormantScore();
+
+        return score;
+    }
+
+    @Override
+    public String name() {
+        return "BehaviourFactor";
+    }
+}
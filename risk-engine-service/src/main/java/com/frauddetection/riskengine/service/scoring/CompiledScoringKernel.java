@@ -0,0 +1,186 @@
+package com.frauddetection.riskengine.service.scoring;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.config.RiskThresholds;
+import com.frauddetection.riskengine.service.RiskContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Flat, allocation-free evaluator for the configured List&lt;RiskScoringFactor&gt;.
+ *
+ * The built-in factors are compiled once into an opcode array plus a flat
+ * double[] of their thresholds and weights, so scoring a transaction is one
+ * loop over primitives: no lambdas, no streams, no boxing and no upper-cased
+ * copies of location / merchant strings. Factors the kernel does not know
+ * (custom RiskScoringFactor beans, or subclasses of the built-ins) stay in
+ * the same slot and are invoked through the interface.
+ *
+ * Scores are bit-identical to summing factor.score() in list order:
+ * contributions are added in the same order and each opcode mirrors its
+ * factor's comparisons exactly. Location and merchant slots scan with the
+ * factor's own KeywordMatcher, so keyword matching is shared, not re-derived.
+ */
+public final class CompiledScoringKernel {
+
+    private static final int OP_AMOUNT = 0;
+    private static final int OP_LOCATION = 1;
+    private static final int OP_MERCHANT = 2;
+    private static final int OP_FREQUENCY = 3;
+    private static final int OP_FRAUD_HISTORY = 4;
+    private static final int OP_DELEGATE = 5;
+
+    // Parameter layout per opcode, relative to paramOffsets[i]
+    private static final int AMOUNT_PARAMS = 5;     // high, medium, highScore, mediumScore, lowScore
+    private static final int KEYWORD_PARAMS = 2;    // highScore, lowScore
+    private static final int FREQUENCY_PARAMS = 4;  // highThreshold, medThreshold, highScore, medScore
+    private static final int HISTORY_PARAMS = 2;    // multiplier, maxBonus
+
+    private final int[] ops;
+    private final int[] paramOffsets;
+    private final double[] params;
+    private final RiskScoringFactor[] delegates;
+    private final KeywordMatcher[] matchers;
+
+    private CompiledScoringKernel(int[] ops, int[] paramOffsets, double[] params,
+                                  RiskScoringFactor[] delegates, KeywordMatcher[] matchers) {
+        this.ops = ops;
+        this.paramOffsets = paramOffsets;
+        this.params = params;
+        this.delegates = delegates;
+        this.matchers = matchers;
+    }
+
+    /**
+     * Compiles the factors in their configured order. Thresholds are read once
+     * from each factor's RiskThresholds, so the kernel must be rebuilt if those
+     * properties change.
+     */
+    public static CompiledScoringKernel compile(List<RiskScoringFactor> factors) {
+        int n = factors.size();
+        int[] ops = new int[n];
+        int[] offsets = new int[n];
+        RiskScoringFactor[] delegates = new RiskScoringFactor[n];
+        KeywordMatcher[] matchers = new KeywordMatcher[n];
+        double[] params = new double[n * AMOUNT_PARAMS];
+        int p = 0;
+
+        for (int i = 0; i < n; i++) {
+            RiskScoringFactor factor = factors.get(i);
+            Class<?> type = factor.getClass();
+            offsets[i] = p;
+
+            if (type == AmountScoringFactor.class) {
+                RiskThresholds t = ((AmountScoringFactor) factor).getThresholds();
+                ops[i] = OP_AMOUNT;
+                params[p] = t.getHighAmountThreshold();
+                params[p + 1] = t.getMediumAmountThreshold();
+                params[p + 2] = t.getAmountHighScore();
+                params[p + 3] = t.getAmountMediumScore();
+                params[p + 4] = t.getAmountLowScore();
+                p += AMOUNT_PARAMS;
+            } else if (type == LocationScoringFactor.class) {
+                RiskThresholds t = ((LocationScoringFactor) factor).getThresholds();
+                ops[i] = OP_LOCATION;
+                matchers[i] = ((LocationScoringFactor) factor).getKeywords();
+                params[p] = t.getLocationHighScore();
+                params[p + 1] = t.getLocationLowScore();
+                p += KEYWORD_PARAMS;
+            } else if (type == MerchantScoringFactor.class) {
+                RiskThresholds t = ((MerchantScoringFactor) factor).getThresholds();
+                ops[i] = OP_MERCHANT;
+                matchers[i] = ((MerchantScoringFactor) factor).getKeywords();
+                params[p] = t.getMerchantHighScore();
+                params[p + 1] = t.getMerchantLowScore();
+                p += KEYWORD_PARAMS;
+            } else if (type == FrequencyScoringFactor.class) {
+                RiskThresholds t = ((FrequencyScoringFactor) factor).getThresholds();
+                ops[i] = OP_FREQUENCY;
+                params[p] = t.getFrequencyHighThreshold();
+                params[p + 1] = t.getFrequencyMedThreshold();
+                params[p + 2] = t.getFrequencyHighScore();
+                params[p + 3] = t.getFrequencyMedScore();
+                p += FREQUENCY_PARAMS;
+            } else if (type == FraudHistoryScoringFactor.class) {
+                RiskThresholds t = ((FraudHistoryScoringFactor) factor).getThresholds();
+                ops[i] = OP_FRAUD_HISTORY;
+                params[p] = t.getFraudCountMultiplier();
+                params[p + 1] = t.getFraudCountMaxBonus();
+                p += HISTORY_PARAMS;
+            } else {
+                ops[i] = OP_DELEGATE;
+                delegates[i] = factor;
+            }
+        }
+
+        double[] packed = new double[p];
+        System.arraycopy(params, 0, packed, 0, p);
+        return new CompiledScoringKernel(ops, offsets, packed, delegates, matchers);
+    }
+
+    /**
+     * Composite score clamped to 1.0 — same result as the interpreted factor loop.
+     */
+    public double score(TransactionCreatedEvent event, RiskContext context) {
+        double total = 0.0;
+        for (int i = 0; i < ops.length; i++) {
+            int p = paramOffsets[i];
+            double contribution = switch (ops[i]) {
+                case OP_AMOUNT -> scoreAmount(event.getAmount(), p);
+                case OP_LOCATION -> scoreLocation(event.getLocation(), matchers[i], p);
+                case OP_MERCHANT -> scoreMerchant(event.getMerchantType(), matchers[i], p);
+                case OP_FREQUENCY -> scoreFrequency(context.getTxnFrequency(), p);
+                case OP_FRAUD_HISTORY -> scoreFraudHistory(context.getRecentFraudCount(), p);
+                default -> delegates[i].score(event, context);
+            };
+            total += contribution;
+        }
+        return Math.min(total, 1.0);
+    }
+
+    /** Number of compiled slots, including delegated factors. */
+    public int size() {
+        return ops.length;
+    }
+
+    private double scoreAmount(BigDecimal amount, int p) {
+        if (amount == null)
+            return params[p + 4];
+        double value = amount.doubleValue();
+        if (value > params[p])
+            return params[p + 2];
+        if (value > params[p + 1])
+            return params[p + 3];
+        return params[p + 4];
+    }
+
+    private double scoreLocation(String location, KeywordMatcher keywords, int p) {
+        if (location == null)
+            return params[p];
+        double weight = keywords.highestWeight(location, params[p]);
+        return weight == KeywordMatcher.NO_MATCH ? params[p + 1] : weight;
+    }
+
+    private double scoreMerchant(String merchant, KeywordMatcher keywords, int p) {
+        if (merchant == null)
+            return params[p + 1];
+        double weight = keywords.highestWeight(merchant, params[p]);
+        return weight == KeywordMatcher.NO_MATCH ? params[p + 1] : weight;
+    }
+
+    private double scoreFrequency(int frequency, int p) {
+        if (frequency > params[p])
+            return params[p + 2];
+        if (frequency > params[p + 1])
+            return params[p + 3];
+        return 0.0;
+    }
+
+    private double scoreFraudHistory(int fraudCount, int p) {
+        if (fraudCount <= 0)
+            return 0.0;
+        double bonus = fraudCount * params[p];
+        return Math.min(bonus, params[p + 1]);
+    }
+}
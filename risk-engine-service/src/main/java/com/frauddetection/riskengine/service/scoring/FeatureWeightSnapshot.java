@@ -0,0 +1,63 @@
+package com.frauddetection.riskengine.service.scoring;
+
+import com.frauddetection.riskengine.config.RiskThresholds;
+import org.springframework.beans.BeanUtils;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Immutable, versioned copy of the feature_weights table.
+ *
+ * Each known feature name overrides one score weight of RiskThresholds; weights
+ * without a row keep their configured value. Built by FeatureWeightPoller off
+ * the scoring path and handed to RiskCalculationService.applyWeights, which
+ * swaps in factors re-weighted from it in one step.
+ */
+public record FeatureWeightSnapshot(long version, Map<String, Double> weights, Instant loadedAt) {
+
+    /** Version 0: no rows loaded, every factor scores with RiskThresholds as configured. */
+    public static final FeatureWeightSnapshot NONE = new FeatureWeightSnapshot(0, Map.of(), Instant.EPOCH);
+
+    private static final Map<String, ObjDoubleConsumer<RiskThresholds>> WEIGHTS = Map.ofEntries(
+            Map.entry("HIGH_AMOUNT", RiskThresholds::setAmountHighScore),
+            Map.entry("MEDIUM_AMOUNT", RiskThresholds::setAmountMediumScore),
+            Map.entry("LOW_AMOUNT", RiskThresholds::setAmountLowScore),
+            Map.entry("UNKNOWN_LOCATION", RiskThresholds::setLocationHighScore),
+            Map.entry("KNOWN_LOCATION", RiskThresholds::setLocationLowScore),
+            Map.entry("HIGH_RISK_MERCHANT", RiskThresholds::setMerchantHighScore),
+            Map.entry("LOW_RISK_MERCHANT", RiskThresholds::setMerchantLowScore),
+            Map.entry("HIGH_FREQUENCY", RiskThresholds::setFrequencyHighScore),
+            Map.entry("MEDIUM_FREQUENCY", RiskThresholds::setFrequencyMedScore),
+            Map.entry("FRAUD_HISTORY", RiskThresholds::setFraudCountMultiplier),
+            Map.entry("FRAUD_HISTORY_MAX", RiskThresholds::setFraudCountMaxBonus));
+
+    public FeatureWeightSnapshot {
+        weights = Map.copyOf(weights);
+    }
+
+    /** True if feature_name maps onto a scoring weight. */
+    public static boolean isKnownFeature(String featureName) {
+        return WEIGHTS.containsKey(featureName);
+    }
+
+    /**
+     * Returns a copy of base with this snapshot's weights applied, or base itself
+     * when there is nothing to override. base is never modified.
+     */
+    public RiskThresholds applyTo(RiskThresholds base) {
+        if (weights.isEmpty()) {
+            return base;
+        }
+        RiskThresholds weighted = new RiskThresholds();
+        BeanUtils.copyProperties(base, weighted);
+        weights.forEach((name, weight) -> {
+            ObjDoubleConsumer<RiskThresholds> setter = WEIGHTS.get(name);
+            if (setter != null) {
+                setter.accept(weighted, weight);
+            }
+        });
+        return weighted;
+    }
+}
@@ -3,6 +3,8 @@ package com.frauddetection.riskengine.service.scoring;
 import com.frauddetection.common.events.TransactionCreatedEvent;
 import com.frauddetection.riskengine.config.RiskThresholds;
 import com.frauddetection.riskengine.service.RiskContext;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -12,8 +14,9 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public class FraudHistoryScoringFactor implements RiskScoringFactor {
+public class FraudHistoryScoringFactor implements WeightedScoringFactor {
 
+    @Getter(AccessLevel.PACKAGE) // read by CompiledScoringKernel
     private final RiskThresholds thresholds;
 
     @Override
@@ -27,6 +30,11 @@ public class FraudHistoryScoringFactor implements RiskScoringFactor {
         return Math.min(bonus, thresholds.getFraudCountMaxBonus());
     }
 
+    @Override
+    public RiskScoringFactor reweight(FeatureWeightSnapshot weights) {
+        return new FraudHistoryScoringFactor(weights.applyTo(thresholds));
+    }
+
     @Override
     public String name() {
         return "FraudHistoryFactor";
@@ -3,6 +3,8 @@ package com.frauddetection.riskengine.service.scoring;
 import com.frauddetection.common.events.TransactionCreatedEvent;
 import com.frauddetection.riskengine.config.RiskThresholds;
 import com.frauddetection.riskengine.service.RiskContext;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -13,8 +15,9 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public class FrequencyScoringFactor implements RiskScoringFactor {
+public class FrequencyScoringFactor implements WeightedScoringFactor {
 
+    @Getter(AccessLevel.PACKAGE) // read by CompiledScoringKernel
     private final RiskThresholds thresholds;
 
     @Override
@@ -30,6 +33,11 @@ public class FrequencyScoringFactor implements RiskScoringFactor {
         return 0.0; // Low frequency — no additional risk
     }
 
+    @Override
+    public RiskScoringFactor reweight(FeatureWeightSnapshot weights) {
+        return new FrequencyScoringFactor(weights.applyTo(thresholds));
+    }
+
     @Override
     public String name() {
         return "FrequencyFactor";
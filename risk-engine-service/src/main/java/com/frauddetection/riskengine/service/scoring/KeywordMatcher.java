@@ -0,0 +1,216 @@
+package com.frauddetection.riskengine.service.scoring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Precompiled case-insensitive multi-keyword matcher (Aho-Corasick).
+ *
+ * All keywords are compiled once into a trie with failure links, stored in
+ * flat arrays: children of a state are a sorted slice of childChars/childTargets.
+ * Every state also carries the highest weight of all keywords ending there or
+ * at any of its suffix states, so a scan is one pass over the input — the cost
+ * depends on the input length, not on how many keywords there are — and never
+ * allocates.
+ *
+ * Case folding is per char, Character.toLowerCase(Character.toUpperCase(c)) as
+ * in String.equalsIgnoreCase, so results do not depend on the default locale.
+ *
+ * A keyword either has its own weight in [0, 1] or none (null), in which case
+ * the caller's defaultWeight applies — that keeps keywords without an explicit
+ * weight on the factor's configured high score, including feature_weights
+ * overrides of it.
+ */
+public final class KeywordMatcher {
+
+    /** Returned by highestWeight when no keyword occurs in the input. */
+    public static final double NO_MATCH = -1.0;
+
+    private static final char[] ASCII_FOLD = new char[128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            ASCII_FOLD[c] = (c >= 'A' && c <= 'Z') ? (char) (c + 32) : c;
+        }
+    }
+
+    // State s has children childChars/childTargets[childStart[s] .. childStart[s + 1])
+    private final int[] childStart;
+    private final char[] childChars;
+    private final int[] childTargets;
+    private final int[] failure;
+    // Highest explicit weight ending at the state or a suffix of it, NO_MATCH if none
+    private final double[] explicitWeight;
+    // Whether a keyword without its own weight ends at the state or a suffix of it
+    private final boolean[] defaultWeight;
+    private final int keywordCount;
+
+    private KeywordMatcher(int[] childStart, char[] childChars, int[] childTargets, int[] failure,
+                           double[] explicitWeight, boolean[] defaultWeight, int keywordCount) {
+        this.childStart = childStart;
+        this.childChars = childChars;
+        this.childTargets = childTargets;
+        this.failure = failure;
+        this.explicitWeight = explicitWeight;
+        this.defaultWeight = defaultWeight;
+        this.keywordCount = keywordCount;
+    }
+
+    /** Matcher for keywords that all score with the caller's default weight. */
+    public static KeywordMatcher of(Collection<String> keywords) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (String keyword : keywords) {
+            weights.put(keyword, null);
+        }
+        return compile(weights);
+    }
+
+    /**
+     * Compiles keyword → weight entries; a null weight means "caller's default".
+     * A keyword listed twice (ignoring case) keeps its highest weight.
+     *
+     * @throws IllegalArgumentException on a blank keyword or a weight outside [0, 1]
+     */
+    public static KeywordMatcher compile(Map<String, Double> keywords) {
+        // Build phase: a pointer trie, flattened below
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Double> explicit = new ArrayList<>();
+        List<Boolean> byDefault = new ArrayList<>();
+        children.add(new TreeMap<>());
+        explicit.add(NO_MATCH);
+        byDefault.add(false);
+
+        for (Map.Entry<String, Double> entry : keywords.entrySet()) {
+            String keyword = entry.getKey() == null ? "" : entry.getKey().strip();
+            Double weight = entry.getValue();
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Blank risk keyword");
+            }
+            if (weight != null && !(weight >= 0.0 && weight <= 1.0)) {
+                throw new IllegalArgumentException("Weight of risk keyword '" + keyword + "' must be within [0, 1]: "
+                        + weight);
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = fold(keyword.charAt(i));
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(c, next);
+                    children.add(new TreeMap<>());
+                    explicit.add(NO_MATCH);
+                    byDefault.add(false);
+                }
+                state = next;
+            }
+            if (weight == null) {
+                byDefault.set(state, true);
+            } else {
+                explicit.set(state, Math.max(explicit.get(state), weight));
+            }
+        }
+
+        int states = children.size();
+        int[] childStart = new int[states + 1];
+        for (int s = 0; s < states; s++) {
+            childStart[s + 1] = childStart[s] + children.get(s).size();
+        }
+        char[] childChars = new char[childStart[states]];
+        int[] childTargets = new int[childStart[states]];
+        for (int s = 0; s < states; s++) {
+            int k = childStart[s];
+            for (Map.Entry<Character, Integer> child : children.get(s).entrySet()) {
+                childChars[k] = child.getKey();
+                childTargets[k] = child.getValue();
+                k++;
+            }
+        }
+
+        double[] explicitWeight = new double[states];
+        boolean[] defaultWeight = new boolean[states];
+        for (int s = 0; s < states; s++) {
+            explicitWeight[s] = explicit.get(s);
+            defaultWeight[s] = byDefault.get(s);
+        }
+
+        // Failure links in BFS order, so a state's failure target is final before the state is visited
+        int[] failure = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int k = childStart[0]; k < childStart[1]; k++) {
+            queue.add(childTargets[k]);
+        }
+        KeywordMatcher partial = new KeywordMatcher(childStart, childChars, childTargets, failure,
+                explicitWeight, defaultWeight, keywords.size());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int k = childStart[state]; k < childStart[state + 1]; k++) {
+                int child = childTargets[k];
+                char c = childChars[k];
+                int f = failure[state];
+                int target;
+                while ((target = partial.child(f, c)) < 0 && f != 0) {
+                    f = failure[f];
+                }
+                failure[child] = Math.max(target, 0);
+                int suffix = failure[child];
+                explicitWeight[child] = Math.max(explicitWeight[child], explicitWeight[suffix]);
+                defaultWeight[child] |= defaultWeight[suffix];
+                queue.add(child);
+            }
+        }
+        return partial;
+    }
+
+    /**
+     * Highest weight of all keywords occurring in text, with defaultWeight for
+     * keywords compiled without one.
+     *
+     * @return the weight, or NO_MATCH when no keyword occurs
+     */
+    public double highestWeight(CharSequence text, double defaultWeight) {
+        int state = 0;
+        double best = NO_MATCH;
+        boolean anyDefault = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            int next;
+            while ((next = child(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = next < 0 ? 0 : next;
+            if (explicitWeight[state] > best) {
+                best = explicitWeight[state];
+            }
+            anyDefault |= this.defaultWeight[state];
+        }
+        return anyDefault ? Math.max(best, defaultWeight) : best;
+    }
+
+    /** True if any keyword occurs in text. */
+    public boolean matches(CharSequence text) {
+        return highestWeight(text, 0.0) != NO_MATCH;
+    }
+
+    /** Number of keyword entries compiled in, duplicates included. */
+    public int size() {
+        return keywordCount;
+    }
+
+    private int child(int state, char c) {
+        int index = Arrays.binarySearch(childChars, childStart[state], childStart[state + 1], c);
+        return index >= 0 ? childTargets[index] : -1;
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return ASCII_FOLD[c];
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
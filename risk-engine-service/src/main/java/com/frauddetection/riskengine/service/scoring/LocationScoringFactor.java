@@ -3,7 +3,10 @@ package com.frauddetection.riskengine.service.scoring;
 import com.frauddetection.common.events.TransactionCreatedEvent;
 import com.frauddetection.riskengine.config.RiskThresholds;
 import com.frauddetection.riskengine.service.RiskContext;
-import lombok.RequiredArgsConstructor;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -11,15 +14,37 @@ import java.util.Set;
 /**
  * Scores based on the transaction's geographical origin.
  * Unknown, offshore, or foreign locations carry higher fraud risk.
+ *
+ * The high-risk keywords come from risk.keywords (see RiskKeywordConfig) and
+ * are matched in one pass by a KeywordMatcher; a location containing several
+ * scores the highest keyword weight, keywords without a weight score
+ * location-high-score.
  */
 @Component
-@RequiredArgsConstructor
-public class LocationScoringFactor implements RiskScoringFactor {
+public class LocationScoringFactor implements WeightedScoringFactor {
 
+    public static final Set<String> HIGH_RISK_LOCATION_KEYWORDS = Set.of("UNKNOWN", "OFFSHORE", "FOREIGN",
+            "ANONYMOUS");
+
+    private static final KeywordMatcher DEFAULT_KEYWORDS = KeywordMatcher.of(HIGH_RISK_LOCATION_KEYWORDS);
+
+    @Getter(AccessLevel.PACKAGE) // read by CompiledScoringKernel
     private final RiskThresholds thresholds;
 
-    private static final Set<String> HIGH_RISK_LOCATION_KEYWORDS = Set.of("UNKNOWN", "OFFSHORE", "FOREIGN",
-            "ANONYMOUS");
+    @Getter(AccessLevel.PACKAGE)
+    private final KeywordMatcher keywords;
+
+    /** Scores with the built-in HIGH_RISK_LOCATION_KEYWORDS. */
+    public LocationScoringFactor(RiskThresholds thresholds) {
+        this(thresholds, DEFAULT_KEYWORDS);
+    }
+
+    @Autowired
+    public LocationScoringFactor(RiskThresholds thresholds,
+                                 @Qualifier("locationKeywordMatcher") KeywordMatcher keywords) {
+        this.thresholds = thresholds;
+        this.keywords = keywords;
+    }
 
     @Override
     public double score(TransactionCreatedEvent event, RiskContext context) {
@@ -27,13 +52,13 @@ public class LocationScoringFactor implements RiskScoringFactor {
         if (location == null)
             return thresholds.getLocationHighScore(); // unknown = high risk
 
-        String upper = location.toUpperCase();
-        boolean isHighRisk = HIGH_RISK_LOCATION_KEYWORDS.stream()
-                .anyMatch(upper::contains);
+        double weight = keywords.highestWeight(location, thresholds.getLocationHighScore());
+        return weight == KeywordMatcher.NO_MATCH ? thresholds.getLocationLowScore() : weight;
+    }
 
-        return isHighRisk
-                ? thresholds.getLocationHighScore()
-                : thresholds.getLocationLowScore();
+    @Override
+    public RiskScoringFactor reweight(FeatureWeightSnapshot weights) {
+        return new LocationScoringFactor(weights.applyTo(thresholds), keywords);
     }
 
     @Override
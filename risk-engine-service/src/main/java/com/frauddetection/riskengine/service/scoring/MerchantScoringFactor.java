@@ -3,7 +3,10 @@ package com.frauddetection.riskengine.service.scoring;
 import com.frauddetection.common.events.TransactionCreatedEvent;
 import com.frauddetection.riskengine.config.RiskThresholds;
 import com.frauddetection.riskengine.service.RiskContext;
-import lombok.RequiredArgsConstructor;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -12,16 +15,37 @@ import java.util.Set;
  * Scores the transaction based on the merchant's known risk category.
  * Casino, crypto, and gambling merchants have significantly elevated fraud
  * rates.
+ *
+ * The high-risk descriptors come from risk.keywords (see RiskKeywordConfig)
+ * and are matched in one pass by a KeywordMatcher; a merchant type containing
+ * several scores the highest descriptor weight, descriptors without a weight
+ * score merchant-high-score.
  */
 @Component
-@RequiredArgsConstructor
-public class MerchantScoringFactor implements RiskScoringFactor {
+public class MerchantScoringFactor implements WeightedScoringFactor {
 
+    public static final Set<String> HIGH_RISK_MERCHANTS = Set.of("CASINO", "CRYPTO", "GAMBLING", "CRYPTOCURRENCY",
+            "DARKNET");
+
+    private static final KeywordMatcher DEFAULT_KEYWORDS = KeywordMatcher.of(HIGH_RISK_MERCHANTS);
+
+    @Getter(AccessLevel.PACKAGE) // read by CompiledScoringKernel
     private final RiskThresholds thresholds;
 
-    // High-risk merchant types — configurable if driven from DB in future
-    private static final Set<String> HIGH_RISK_MERCHANTS = Set.of("CASINO", "CRYPTO", "GAMBLING", "CRYPTOCURRENCY",
-            "DARKNET");
+    @Getter(AccessLevel.PACKAGE)
+    private final KeywordMatcher keywords;
+
+    /** Scores with the built-in HIGH_RISK_MERCHANTS. */
+    public MerchantScoringFactor(RiskThresholds thresholds) {
+        this(thresholds, DEFAULT_KEYWORDS);
+    }
+
+    @Autowired
+    public MerchantScoringFactor(RiskThresholds thresholds,
+                                 @Qualifier("merchantKeywordMatcher") KeywordMatcher keywords) {
+        this.thresholds = thresholds;
+        this.keywords = keywords;
+    }
 
     @Override
     public double score(TransactionCreatedEvent event, RiskContext context) {
@@ -29,12 +53,13 @@ public class MerchantScoringFactor implements RiskScoringFactor {
         if (merchant == null)
             return thresholds.getMerchantLowScore();
 
-        boolean isHighRisk = HIGH_RISK_MERCHANTS.stream()
-                .anyMatch(k -> merchant.toUpperCase().contains(k));
+        double weight = keywords.highestWeight(merchant, thresholds.getMerchantHighScore());
+        return weight == KeywordMatcher.NO_MATCH ? thresholds.getMerchantLowScore() : weight;
+    }
 
-        return isHighRisk
-                ? thresholds.getMerchantHighScore()
-                : thresholds.getMerchantLowScore();
+    @Override
+    public RiskScoringFactor reweight(FeatureWeightSnapshot weights) {
+        return new MerchantScoringFactor(weights.applyTo(thresholds), keywords);
     }
 
     @Override
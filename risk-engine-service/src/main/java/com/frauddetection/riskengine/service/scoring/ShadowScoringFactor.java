@@ -0,0 +1,9 @@
+package com.frauddetection.riskengine.service.scoring;
+
+/**
+ * A RiskScoringFactor under evaluation: scored only in the shadow candidate
+ * (risk.shadow.enabled=true), never in the live score. Promote it by
+ * implementing RiskScoringFactor directly.
+ */
+public interface ShadowScoringFactor extends RiskScoringFactor {
+}
@@ -0,0 +1,18 @@
+package com.frauddetection.riskengine.service.scoring;
+
+/**
+ * A RiskScoringFactor whose weights come from feature_weights.
+ *
+ * Factors are immutable: a new weight snapshot produces new factor instances,
+ * which RiskCalculationService compiles and swaps in as a whole so a score is
+ * never computed from a mix of two versions.
+ */
+public interface WeightedScoringFactor extends RiskScoringFactor {
+
+    /**
+     * Same factor scoring with the snapshot's weights applied to its configured
+     * thresholds. Always derived from the configured factor, so a removed row
+     * reverts to the RiskThresholds value.
+     */
+    RiskScoringFactor reweight(FeatureWeightSnapshot weights);
+}
@@ -0,0 +1,10 @@
+-- Increments a user's recent fraud count and refreshes the hash TTL atomically.
+--
+-- KEYS[1] = user:risk:{userId}
+-- ARGV[1] = fraud count field
+-- ARGV[2] = TTL in millis
+--
+-- Returns the new fraud count
+local count = redis.call('HINCRBY', KEYS[1], ARGV[1], 1)
+redis.call('PEXPIRE', KEYS[1], ARGV[2])
+return count
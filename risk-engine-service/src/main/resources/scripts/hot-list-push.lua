@@ -0,0 +1,12 @@
+-- Pushes a transaction onto the capped high-risk hot list in one round trip.
+--
+-- KEYS[1] = hot:high-risk-transactions
+-- ARGV[1] = transactionId
+-- ARGV[2] = hot-list size
+-- ARGV[3] = TTL in millis
+--
+-- Returns the list length after trimming
+redis.call('LPUSH', KEYS[1], ARGV[1])
+redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1)
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+return redis.call('LLEN', KEYS[1])
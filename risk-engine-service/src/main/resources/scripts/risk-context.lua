@@ -0,0 +1,17 @@
+-- Reads everything RiskContext needs for one user in a single round trip.
+--
+-- KEYS[1] = user:risk:{userId}          hash, field ARGV[1] holds the fraud count
+-- KEYS[2] = user:txn_velocity:{userId}  sorted set, one member per transaction scored by epoch millis
+--                                       (written by transaction-service scripts/velocity-record.lua)
+--
+-- Returns { fraudCount, txns last 1m, 10m, 1h, 24h }
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local fraudCount = tonumber(redis.call('HGET', KEYS[1], ARGV[1])) or 0
+
+local function since(windowMs)
+    return redis.call('ZCOUNT', KEYS[2], '(' .. (now - windowMs), '+inf')
+end
+
+return { fraudCount, since(60000), since(600000), since(3600000), since(86400000) }
@@ -0,0 +1,21 @@
+-- Writes everything one evaluation changes in a single round trip.
+--
+-- KEYS[1] = user:risk:{userId}           hash { riskScore, riskLevel, fraudCount }
+-- KEYS[2] = hot:high-risk-transactions   list, newest first
+-- ARGV[1] = risk score
+-- ARGV[2] = risk level
+-- ARGV[3] = TTL of both keys in millis
+-- ARGV[4] = hot-list size
+-- ARGV[5] = transactionId to push onto the hot list (HIGH only, omitted otherwise)
+--
+-- Returns 1 when the hot list was updated, 0 otherwise
+redis.call('HSET', KEYS[1], 'riskScore', ARGV[1], 'riskLevel', ARGV[2])
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+
+if ARGV[5] == nil then
+    return 0
+end
+redis.call('LPUSH', KEYS[2], ARGV[5])
+redis.call('LTRIM', KEYS[2], 0, tonumber(ARGV[4]) - 1)
+redis.call('PEXPIRE', KEYS[2], ARGV[3])
+return 1
@@ -0,0 +1,166 @@
+package com.frauddetection.riskengine;
+
+import com.frauddetection.riskengine.config.RedisConfig;
+import com.frauddetection.riskengine.service.RiskContext;
+import com.frauddetection.riskengine.service.RiskEvaluation;
+import com.frauddetection.riskengine.service.impl.RedisCacheServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the risk-engine write scripts (risk-score-write, fraud-count-increment,
+ * hot-list-push) against a real Redis 7.2 and checks the keys they leave
+ * behind and that an evaluation costs a single EVALSHA. Uses the template
+ * built by RedisConfig, so serializer wiring is covered as well.
+ */
+@Testcontainers
+class RedisScriptsIT {
+
+    private static final String HOT_LIST = "hot:high-risk-transactions";
+
+    @Container
+    @SuppressWarnings("resource")
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    private RedisCacheServiceImpl redisCacheService;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        // The application's template, so the serializers the scripts depend on are the real ones
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        redisCacheService = new RedisCacheServiceImpl(redisTemplate);
+    }
+
+    private static RiskEvaluation evaluation(String transactionId, String userId, double score, String level) {
+        return new RiskEvaluation(transactionId, userId, score, level, new RiskContext(0, 0));
+    }
+
+    @Test
+    @DisplayName("HIGH evaluation writes the risk hash and hot list, both with a 24h TTL")
+    void recordEvaluation_high_writesHashAndHotList() {
+        redisCacheService.recordEvaluation(evaluation("txn-1", "u1", 0.91, "HIGH"));
+
+        assertThat(redisTemplate.opsForHash().get("user:risk:u1", "riskScore")).isEqualTo("0.91");
+        assertThat(redisTemplate.opsForHash().get("user:risk:u1", "riskLevel")).isEqualTo("HIGH");
+        assertThat(redisCacheService.getCachedRiskScore("u1")).isEqualTo(0.91);
+        assertThat(redisTemplate.opsForList().range(HOT_LIST, 0, -1)).containsExactly("txn-1");
+        assertThat(redisTemplate.getExpire("user:risk:u1", TimeUnit.SECONDS)).isBetween(86_000L, 86_400L);
+        assertThat(redisTemplate.getExpire(HOT_LIST, TimeUnit.SECONDS)).isBetween(86_000L, 86_400L);
+    }
+
+    @Test
+    @DisplayName("script arguments and hash fields are stored as plain strings, readable by any client")
+    void recordEvaluation_storesPlainStrings() {
+        redisCacheService.recordEvaluation(evaluation("txn-raw", "u5", 0.42, "LOW"));
+
+        byte[] raw = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hashCommands()
+                .hGet("user:risk:u5".getBytes(StandardCharsets.UTF_8), "riskScore".getBytes(StandardCharsets.UTF_8)));
+        assertThat(raw).isNotNull();
+        assertThat(new String(raw, StandardCharsets.UTF_8)).isEqualTo("0.42");
+        assertThat(redisCacheService.getCachedRiskScore("u5")).isEqualTo(0.42);
+    }
+
+    @Test
+    @DisplayName("non-HIGH evaluation leaves the hot list untouched")
+    void recordEvaluation_low_skipsHotList() {
+        redisCacheService.recordEvaluation(evaluation("txn-2", "u2", 0.12, "LOW"));
+
+        assertThat(redisTemplate.opsForHash().get("user:risk:u2", "riskLevel")).isEqualTo("LOW");
+        assertThat(redisTemplate.hasKey(HOT_LIST)).isFalse();
+    }
+
+    @Test
+    @DisplayName("hot list keeps the newest 100 entries")
+    void hotList_isCapped() {
+        for (int i = 0; i < 105; i++) {
+            redisCacheService.recordEvaluation(evaluation("txn-" + i, "u1", 0.9, "HIGH"));
+        }
+        redisCacheService.addToHotList("txn-extra");
+
+        List<Object> entries = redisTemplate.opsForList().range(HOT_LIST, 0, -1);
+        assertThat(entries).hasSize(100);
+        assertThat(entries.get(0)).isEqualTo("txn-extra");
+        assertThat(entries.get(1)).isEqualTo("txn-104");
+        assertThat(entries).doesNotContain("txn-5");
+    }
+
+    @Test
+    @DisplayName("fraud count increments keep the existing score and are read back by risk-context.lua")
+    void incrementFraudCount_readBackByRiskContext() {
+        redisCacheService.recordEvaluation(evaluation("txn-3", "u3", 0.5, "MEDIUM"));
+        redisCacheService.incrementFraudCount("u3");
+        redisCacheService.incrementFraudCount("u3");
+
+        assertThat(redisCacheService.getRiskContext("u3").getRecentFraudCount()).isEqualTo(2);
+        assertThat(redisCacheService.getCachedRiskScore("u3")).isEqualTo(0.5);
+        assertThat(redisTemplate.getExpire("user:risk:u3", TimeUnit.SECONDS)).isPositive();
+    }
+
+    @Test
+    @DisplayName("pipelined batch applies every evaluation's script")
+    void cacheRiskScores_pipelinedScripts() {
+        redisCacheService.cacheRiskScores(List.of(
+                evaluation("txn-a", "ua", 0.95, "HIGH"),
+                evaluation("txn-b", "ub", 0.2, "LOW")));
+
+        assertThat(redisTemplate.opsForHash().get("user:risk:ua", "riskLevel")).isEqualTo("HIGH");
+        assertThat(redisTemplate.opsForHash().get("user:risk:ub", "riskLevel")).isEqualTo("LOW");
+        assertThat(redisTemplate.opsForList().range(HOT_LIST, 0, -1)).containsExactly("txn-a");
+    }
+
+    @Test
+    @DisplayName("a HIGH evaluation is one EVALSHA once the script is cached")
+    void recordEvaluation_singleEvalsha() {
+        // First call loads the script (NOSCRIPT -> EVAL)
+        redisCacheService.recordEvaluation(evaluation("txn-warm", "u4", 0.9, "HIGH"));
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().resetConfigStats();
+            return null;
+        });
+
+        redisCacheService.recordEvaluation(evaluation("txn-4", "u4", 0.9, "HIGH"));
+
+        Properties stats = redisTemplate.execute(
+                (RedisCallback<Properties>) connection -> connection.serverCommands().info("commandstats"));
+        assertThat(stats.getProperty("cmdstat_evalsha")).startsWith("calls=1,");
+        assertThat(stats.getProperty("cmdstat_eval")).isNull();
+    }
+}
@@ -0,0 +1,24 @@
+package com.frauddetection.riskengine;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the RiskEngineKafkaPipelineIT scenarios against the Kafka Streams
+ * runtime ("streams" profile): same input on transactions.created, same
+ * expectations on risk.scored, scored by RiskScoringTopology with
+ * exactly-once processing and RocksDB state instead of the listeners.
+ *
+ * The single embedded broker needs a replication factor of 1 for the
+ * transaction state log that exactly-once producers write to.
+ */
+@SpringBootTest(properties = "risk.streams.state-dir=${java.io.tmpdir}/risk-engine-streams-it")
+@ActiveProfiles({ "test", "streams" })
+@DirtiesContext
+@EmbeddedKafka(partitions = 1, topics = { "transactions.created", "risk.scored", "fraud.decision.made" },
+                brokerProperties = { "listeners=PLAINTEXT://localhost:9094", "port=9094",
+                                "transaction.state.log.replication.factor=1", "transaction.state.log.min.isr=1" })
+class RiskEngineStreamsPipelineIT extends RiskEngineKafkaPipelineIT {
+}
@@ -0,0 +1,44 @@
+package com.frauddetection.riskengine.kafka;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.riskengine.service.RedisCacheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FraudDecisionConsumerTest {
+
+    @Mock
+    private RedisCacheService redisCacheService;
+
+    @InjectMocks
+    private FraudDecisionConsumer consumer;
+
+    private static FraudDecisionMadeEvent decision(String userId, String decision) {
+        return FraudDecisionMadeEvent.builder().transactionId("txn-1").userId(userId).decision(decision).build();
+    }
+
+    @Test
+    @DisplayName("BLOCK and REVIEW decisions increment the user's fraud count")
+    void fraudDecisions_incrementFraudCount() {
+        consumer.onFraudDecisionMade(decision("user-1", "BLOCK"));
+        consumer.onFraudDecisionMade(decision("user-1", "REVIEW"));
+
+        verify(redisCacheService, times(2)).incrementFraudCount("user-1");
+    }
+
+    @Test
+    @DisplayName("APPROVE decisions and decisions without a userId are ignored")
+    void otherDecisions_areIgnored() {
+        consumer.onFraudDecisionMade(decision("user-1", "APPROVE"));
+        consumer.onFraudDecisionMade(decision(null, "BLOCK"));
+
+        verifyNoInteractions(redisCacheService);
+    }
+}
@@ -0,0 +1,124 @@
+package com.frauddetection.riskengine.kafka;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.service.RiskEngineService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelRiskEngineConsumerTest {
+
+    private static final String TOPIC = "transactions.created";
+
+    @Mock
+    private RiskEngineService riskEngineService;
+
+    private ParallelRiskEngineConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new ParallelRiskEngineConsumer(riskEngineService, 8);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        consumer.shutdown();
+    }
+
+    private static ConsumerRecord<String, TransactionCreatedEvent> record(long offset, String userId) {
+        TransactionCreatedEvent event = TransactionCreatedEvent.builder()
+                .transactionId("txn-" + offset).userId(userId).build();
+        return new ConsumerRecord<>(TOPIC, 0, offset, userId, event);
+    }
+
+    @Test
+    @DisplayName("records of one user are evaluated in offset order, and every record is acked")
+    void perUserOrder_isPreserved() throws InterruptedException {
+        Map<String, List<String>> seen = new ConcurrentHashMap<>();
+        doAnswer(inv -> {
+            TransactionCreatedEvent e = inv.getArgument(0);
+            seen.computeIfAbsent(e.getUserId(), u -> new CopyOnWriteArrayList<>()).add(e.getTransactionId());
+            return null;
+        }).when(riskEngineService).evaluate(any());
+        CountDownLatch acked = new CountDownLatch(60);
+        Acknowledgment ack = acked::countDown;
+
+        for (long offset = 0; offset < 60; offset++) {
+            consumer.onTransactionCreated(record(offset, "u" + (offset % 3)), ack);
+        }
+
+        assertThat(acked.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int u = 0; u < 3; u++) {
+            List<String> expected = new ArrayList<>();
+            for (long offset = u; offset < 60; offset += 3) {
+                expected.add("txn-" + offset);
+            }
+            assertThat(seen.get("u" + u)).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("a slow user does not hold back records of users on other lanes")
+    void slowUser_doesNotBlockOthers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            TransactionCreatedEvent e = inv.getArgument(0);
+            if ("slow".equals(e.getUserId())) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(riskEngineService).evaluate(any());
+        Acknowledgment slowAck = mock(Acknowledgment.class);
+        CountDownLatch fastAcked = new CountDownLatch(1);
+
+        // "slow" and "fast" hash to different lanes out of 8
+        consumer.onTransactionCreated(record(0, "slow"), slowAck);
+        consumer.onTransactionCreated(record(1, "fast"), fastAcked::countDown);
+
+        assertThat(fastAcked.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(slowAck, never()).acknowledge();
+        release.countDown();
+        verify(slowAck, timeout(5000)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("a failed evaluation is still acknowledged so later offsets can commit")
+    void failedEvaluation_isAcked() {
+        doThrow(new RuntimeException("redis down")).when(riskEngineService).evaluate(any());
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        consumer.onTransactionCreated(record(0, "u1"), ack);
+
+        verify(ack, timeout(5000)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("an undecodable record is acknowledged without evaluation")
+    void nullValue_isAckedDirectly() {
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        consumer.onTransactionCreated(new ConsumerRecord<>(TOPIC, 0, 0L, "u1", null), ack);
+
+        verify(ack).acknowledge();
+        verifyNoInteractions(riskEngineService);
+    }
+}
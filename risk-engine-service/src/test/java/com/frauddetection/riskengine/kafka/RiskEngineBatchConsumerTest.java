@@ -0,0 +1,60 @@
+package com.frauddetection.riskengine.kafka;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.exception.BatchEvaluationException;
+import com.frauddetection.riskengine.service.RiskContext;
+import com.frauddetection.riskengine.service.RiskEngineService;
+import com.frauddetection.riskengine.service.RiskEvaluation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RiskEngineBatchConsumerTest {
+
+    @Mock
+    private RiskEngineService riskEngineService;
+
+    @InjectMocks
+    private RiskEngineBatchConsumer consumer;
+
+    private static TransactionCreatedEvent event(String transactionId) {
+        return TransactionCreatedEvent.builder().transactionId(transactionId).userId("user-1").build();
+    }
+
+    private final List<TransactionCreatedEvent> poll = List.of(event("txn-1"), event("txn-2"), event("txn-3"));
+
+    @Test
+    @DisplayName("after a partial batch the stored evaluations of the rest are published, not scored again")
+    void partialBatch_publishesRemaining() {
+        RiskEvaluation second = new RiskEvaluation("txn-2", "user-1", 0.9, "HIGH", new RiskContext(0, 1));
+        RiskEvaluation third = new RiskEvaluation("txn-3", "user-1", 0.2, "LOW", new RiskContext(0, 1));
+        doThrow(new BatchEvaluationException(1, List.of(second, third), new IllegalStateException("buffer full")))
+                .when(riskEngineService).evaluateBatch(poll);
+
+        consumer.onTransactionsCreated(poll);
+
+        verify(riskEngineService).publish(second, poll.get(1));
+        verify(riskEngineService).publish(third, poll.get(2));
+        verify(riskEngineService, never()).evaluate(any());
+    }
+
+    @Test
+    @DisplayName("a batch that failed before publishing is evaluated again record by record")
+    void failedBatch_retriesAll() {
+        doThrow(new IllegalStateException("Redis unavailable")).when(riskEngineService).evaluateBatch(poll);
+
+        consumer.onTransactionsCreated(poll);
+
+        poll.forEach(event -> verify(riskEngineService).evaluate(event));
+        verify(riskEngineService, never()).publish(any(), any());
+    }
+}
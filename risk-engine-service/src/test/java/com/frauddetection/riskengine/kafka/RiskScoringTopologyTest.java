@@ -0,0 +1,199 @@
+package com.frauddetection.riskengine.kafka;
+
+import com.frauddetection.common.events.FraudDecisionMadeEvent;
+import com.frauddetection.common.events.RiskScoredEvent;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.common.serialization.EventDeserializer;
+import com.frauddetection.common.serialization.EventSerializer;
+import com.frauddetection.riskengine.service.RiskCalculationService;
+import com.frauddetection.riskengine.service.RiskContext;
+import com.frauddetection.riskengine.service.RiskEvaluation;
+import com.frauddetection.riskengine.service.RiskProfileWriter;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RiskScoringTopologyTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Mock
+    private RiskCalculationService riskCalculationService;
+    @Mock
+    private RiskProfileWriter riskProfileWriter;
+
+    @TempDir
+    Path stateDir;
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, Object> transactions;
+    private TestInputTopic<String, Object> decisions;
+    private TestOutputTopic<String, Object> scored;
+
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        new RiskScoringTopology(riskCalculationService, riskProfileWriter,
+                "transactions.created", "fraud.decision.made", "risk.scored", "").build(builder);
+
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "risk-engine-streams-test");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(builder.build(), config);
+
+        EventSerializer serializer = new EventSerializer();
+        serializer.configure(Map.of(EventSerializer.BINARY_TOPICS, ""), false);
+        EventDeserializer deserializer = new EventDeserializer();
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "com.frauddetection.common.events",
+                JsonDeserializer.VALUE_DEFAULT_TYPE, RiskScoredEvent.class.getName()), false);
+        transactions = driver.createInputTopic("transactions.created", new StringSerializer(), serializer);
+        decisions = driver.createInputTopic("fraud.decision.made", new StringSerializer(), serializer);
+        scored = driver.createOutputTopic("risk.scored", new StringDeserializer(), deserializer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    private void givenScore(double score, String level) {
+        when(riskCalculationService.calculateRiskScore(any(TransactionCreatedEvent.class), any(RiskContext.class)))
+                .thenReturn(score);
+        when(riskCalculationService.deriveRiskLevel(score)).thenReturn(level);
+    }
+
+    private void transaction(String transactionId, String userId, Duration after) {
+        TransactionCreatedEvent event = TransactionCreatedEvent.builder()
+                .transactionId(transactionId)
+                .userId(userId)
+                .amount(BigDecimal.valueOf(350))
+                .merchantType("E-Commerce")
+                .location("NY")
+                .build();
+        transactions.pipeInput(userId, event, T0.plus(after));
+    }
+
+    private void decision(String userId, String decision, Duration after) {
+        FraudDecisionMadeEvent event = FraudDecisionMadeEvent.builder()
+                .transactionId("txn-decided")
+                .userId(userId)
+                .decision(decision)
+                .build();
+        decisions.pipeInput(userId, event, T0.plus(after));
+    }
+
+    private List<RiskContext> scoredContexts(int times) {
+        ArgumentCaptor<RiskContext> contexts = ArgumentCaptor.forClass(RiskContext.class);
+        verify(riskCalculationService, times(times)).calculateRiskScore(any(), contexts.capture());
+        return contexts.getAllValues();
+    }
+
+    @Test
+    @DisplayName("scores each transaction to risk.scored keyed by userId and writes the profile")
+    void transaction_isScoredAndForwarded() {
+        givenScore(0.87, "HIGH");
+
+        transaction("txn-1", "user-1", Duration.ZERO);
+
+        KeyValue<String, Object> record = scored.readKeyValue();
+        assertThat(record.key).isEqualTo("user-1");
+        RiskScoredEvent event = (RiskScoredEvent) record.value;
+        assertThat(event.getTransactionId()).isEqualTo("txn-1");
+        assertThat(event.getRiskScore()).isEqualTo(0.87);
+        assertThat(event.getRiskLevel()).isEqualTo("HIGH");
+        assertThat(event.getLocation()).isEqualTo("NY");
+        assertThat(scored.isEmpty()).isTrue();
+
+        ArgumentCaptor<RiskEvaluation> evaluation = ArgumentCaptor.forClass(RiskEvaluation.class);
+        verify(riskProfileWriter).write(evaluation.capture());
+        assertThat(evaluation.getValue().getUserId()).isEqualTo("user-1");
+        assertThat(evaluation.getValue().getRiskLevel()).isEqualTo("HIGH");
+    }
+
+    @Test
+    @DisplayName("velocity windows count the user's transactions, including the one being scored")
+    void velocity_isCountedPerWindow() {
+        givenScore(0.1, "LOW");
+
+        transaction("txn-1", "user-1", Duration.ZERO);
+        transaction("txn-2", "user-1", Duration.ofSeconds(30));
+        transaction("txn-other", "user-2", Duration.ofSeconds(31));
+        transaction("txn-3", "user-1", Duration.ofMinutes(5));
+        transaction("txn-4", "user-1", Duration.ofMinutes(50));
+        transaction("txn-5", "user-1", Duration.ofHours(25));
+
+        assertThat(scoredContexts(6))
+                .extracting(RiskContext::getTxnFrequency, RiskContext::getTxnCount10m,
+                        RiskContext::getTxnCount1h, RiskContext::getTxnCount24h)
+                .containsExactly(
+                        tuple(1, 1, 1, 1),
+                        tuple(2, 2, 2, 2),
+                        tuple(1, 1, 1, 1),
+                        tuple(1, 3, 3, 3),
+                        tuple(1, 1, 4, 4),
+                        tuple(1, 1, 1, 1));
+    }
+
+    @Test
+    @DisplayName("BLOCK and REVIEW decisions of the last 24h make up the fraud count; APPROVE is ignored")
+    void fraudHistory_countsBlockAndReview() {
+        givenScore(0.5, "MEDIUM");
+
+        decision("user-1", "BLOCK", Duration.ZERO);
+        decision("user-1", "REVIEW", Duration.ofHours(2));
+        decision("user-1", "APPROVE", Duration.ofHours(3));
+        decision("user-2", "BLOCK", Duration.ofHours(3));
+        transaction("txn-1", "user-1", Duration.ofHours(4));
+        transaction("txn-2", "user-1", Duration.ofHours(25));
+
+        assertThat(scoredContexts(2)).extracting(RiskContext::getRecentFraudCount).containsExactly(2, 1);
+    }
+
+    @Test
+    @DisplayName("a failed evaluation is logged and skipped; later transactions are still scored")
+    void failedEvaluation_isSkipped() {
+        when(riskCalculationService.calculateRiskScore(any(TransactionCreatedEvent.class), any(RiskContext.class)))
+                .thenThrow(new IllegalStateException("boom"))
+                .thenReturn(0.2);
+        when(riskCalculationService.deriveRiskLevel(0.2)).thenReturn("LOW");
+
+        transaction("txn-bad", "user-1", Duration.ZERO);
+        transaction("txn-good", "user-1", Duration.ofSeconds(1));
+
+        assertThat(scored.readValuesToList())
+                .extracting(value -> ((RiskScoredEvent) value).getTransactionId())
+                .containsExactly("txn-good");
+        verify(riskProfileWriter, times(1)).write(any());
+    }
+}
@@ -0,0 +1,93 @@
+package com.frauddetection.riskengine.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class BehaviourProfileTest {
+
+    private static BehaviourProfile withAmounts(double... amounts) {
+        BehaviourProfile profile = BehaviourProfile.EMPTY;
+        for (double amount : amounts) {
+            profile = profile.update(BigDecimal.valueOf(amount), "Mumbai", "E-Commerce", 1_000L);
+        }
+        return profile;
+    }
+
+    @Test
+    @DisplayName("running mean and sample std dev match the two-pass values")
+    void amountStatistics() {
+        BehaviourProfile profile = withAmounts(100, 200, 300, 400, 1000);
+
+        assertThat(profile.txnCount()).isEqualTo(5);
+        assertThat(profile.amountMean()).isEqualTo(400.0, offset(1e-9));
+        // sum of squared deviations = 90000+40000+10000+0+360000 = 500000; /4
+        assertThat(profile.amountStdDev()).isEqualTo(Math.sqrt(125_000), offset(1e-9));
+    }
+
+    @Test
+    @DisplayName("null amount counts the transaction but not the amount statistics")
+    void nullAmount_onlyCountsTransaction() {
+        BehaviourProfile profile = withAmounts(50).update(null, null, null, 2_000L);
+
+        assertThat(profile.txnCount()).isEqualTo(2);
+        assertThat(profile.amountCount()).isEqualTo(1);
+        assertThat(profile.amountMean()).isEqualTo(50.0);
+        assertThat(profile.lastSeenEpochMs()).isEqualTo(2_000L);
+    }
+
+    @Test
+    @DisplayName("location and merchant shares ignore case; unseen values have share 0")
+    void shares_caseInsensitive() {
+        BehaviourProfile profile = BehaviourProfile.EMPTY
+                .update(BigDecimal.ONE, "Mumbai", "Grocery", 1L)
+                .update(BigDecimal.ONE, "MUMBAI", "grocery", 2L)
+                .update(BigDecimal.ONE, "Delhi", "Crypto", 3L)
+                .update(BigDecimal.ONE, "mumbai", "Grocery", 4L);
+
+        assertThat(profile.locationShare("Mumbai")).isEqualTo(0.75);
+        assertThat(profile.locationShare("delhi")).isEqualTo(0.25);
+        assertThat(profile.locationShare("Lagos")).isZero();
+        assertThat(profile.merchantShare("GROCERY")).isEqualTo(0.75);
+        assertThat(profile.merchantShare(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("a frequent location survives a stream of one-off locations (Space-Saving)")
+    void topK_keepsFrequentValue() {
+        BehaviourProfile profile = BehaviourProfile.EMPTY;
+        for (int i = 0; i < 20; i++) {
+            profile = profile.update(BigDecimal.ONE, "Home", "Grocery", i);
+            profile = profile.update(BigDecimal.ONE, "Trip-" + i, "Grocery", i);
+        }
+
+        assertThat(profile.locationShare("Home")).isEqualTo(0.5);
+        assertThat(profile.locationShare("Trip-0")).isZero();
+    }
+
+    @Test
+    @DisplayName("bytes round-trip through fromBytes; foreign bytes are rejected")
+    void bytes_roundTrip() {
+        BehaviourProfile profile = withAmounts(10, 20);
+
+        assertThat(profile.bytes()).hasSize(BehaviourProfile.SIZE);
+        assertThat(BehaviourProfile.fromBytes(profile.bytes())).isEqualTo(profile);
+        assertThat(BehaviourProfile.fromBytes(new byte[3])).isNull();
+        assertThat(BehaviourProfile.fromBytes(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("update leaves the original profile untouched")
+    void update_isCopyOnWrite() {
+        BehaviourProfile before = withAmounts(10);
+
+        before.update(BigDecimal.valueOf(99), "Lagos", "Casino", 5_000L);
+
+        assertThat(before).isEqualTo(withAmounts(10));
+        assertThat(BehaviourProfile.EMPTY.txnCount()).isZero();
+    }
+}
@@ -0,0 +1,77 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.config.BehaviourProfileProperties;
+import com.frauddetection.riskengine.service.scoring.BehaviourScoringFactor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class BehaviourScoringFactorTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    private BehaviourScoringFactor factor;
+    private BehaviourProfile history;
+
+    @BeforeEach
+    void setUp() {
+        factor = new BehaviourScoringFactor(new BehaviourProfileProperties(), Clock.fixed(NOW, ZoneOffset.UTC));
+        BehaviourProfile profile = BehaviourProfile.EMPTY;
+        long seen = NOW.minus(Duration.ofHours(1)).toEpochMilli();
+        for (int i = 0; i < 10; i++) {
+            profile = profile.update(BigDecimal.valueOf(100 + (i % 3) * 10), "Mumbai", "Grocery", seen);
+        }
+        history = profile;
+    }
+
+    private double score(BehaviourProfile profile, double amount, String location, String merchant) {
+        TransactionCreatedEvent event = TransactionCreatedEvent.builder()
+                .transactionId("tx").userId("u1").amount(BigDecimal.valueOf(amount))
+                .location(location).merchantType(merchant).build();
+        return factor.score(event, new RiskContext(0, 1).withBehaviour(profile));
+    }
+
+    @Test
+    @DisplayName("a transaction in line with the user's history adds nothing")
+    void usualTransaction_scoresZero() {
+        assertThat(score(history, 110, "mumbai", "GROCERY")).isZero();
+    }
+
+    @Test
+    @DisplayName("unusual amount, location and merchant each add their score")
+    void unusualTransaction_addsScores() {
+        assertThat(score(history, 5_000, "Lagos", "Casino")).isEqualTo(0.15 + 0.10 + 0.05, offset(1e-9));
+        assertThat(score(history, 110, "Lagos", "Grocery")).isEqualTo(0.10, offset(1e-9));
+    }
+
+    @Test
+    @DisplayName("users below min-history are not scored")
+    void shortHistory_scoresZero() {
+        BehaviourProfile young = BehaviourProfile.EMPTY.update(BigDecimal.TEN, "Mumbai", "Grocery", 1L);
+
+        assertThat(score(young, 5_000, "Lagos", "Casino")).isZero();
+        assertThat(score(BehaviourProfile.EMPTY, 5_000, "Lagos", "Casino")).isZero();
+    }
+
+    @Test
+    @DisplayName("first transaction after the dormant period adds the dormant score")
+    void dormantAccount_addsScore() {
+        BehaviourProfile dormant = BehaviourProfile.EMPTY;
+        long longAgo = NOW.minus(Duration.ofDays(45)).toEpochMilli();
+        for (int i = 0; i < 10; i++) {
+            dormant = dormant.update(BigDecimal.valueOf(100 + (i % 3) * 10), "Mumbai", "Grocery", longAgo);
+        }
+
+        assertThat(score(dormant, 110, "Mumbai", "Grocery")).isEqualTo(0.10, offset(1e-9));
+    }
+}
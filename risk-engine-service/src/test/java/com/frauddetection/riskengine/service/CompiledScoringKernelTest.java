@@ -0,0 +1,216 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.config.RiskThresholds;
+import com.frauddetection.riskengine.service.scoring.AmountScoringFactor;
+import com.frauddetection.riskengine.service.scoring.CompiledScoringKernel;
+import com.frauddetection.riskengine.service.scoring.FraudHistoryScoringFactor;
+import com.frauddetection.riskengine.service.scoring.FrequencyScoringFactor;
+import com.frauddetection.riskengine.service.scoring.KeywordMatcher;
+import com.frauddetection.riskengine.service.scoring.LocationScoringFactor;
+import com.frauddetection.riskengine.service.scoring.MerchantScoringFactor;
+import com.frauddetection.riskengine.service.scoring.RiskScoringFactor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential harness: the compiled kernel must return the exact same bits as
+ * summing factor.score() in list order, across boundary and randomized inputs.
+ */
+class CompiledScoringKernelTest {
+
+    private static final List<BigDecimal> AMOUNTS = Arrays.asList(
+            null, BigDecimal.ZERO, new BigDecimal("-1"), new BigDecimal("0.01"),
+            new BigDecimal("5000"), new BigDecimal("5000.00"), new BigDecimal("5000.0000000000001"),
+            new BigDecimal("9999.99"), new BigDecimal("10000"), new BigDecimal("10000.000000000001"),
+            new BigDecimal("55000"), new BigDecimal("1E+400"), new BigDecimal("123456789.123456789"));
+
+    private static final List<String> LOCATIONS = Arrays.asList(
+            null, "", "Mumbai", "Offshore - Lagos", "unknown", "ForeIGN card", "ANONYMOUS proxy",
+            "anonymou", "OFFSHOR", "Zürich offshore", "straße", "İstanbul", "foreign", "xxunknownxx");
+
+    private static final List<String> MERCHANTS = Arrays.asList(
+            null, "", "E-Commerce", "Crypto Exchange", "casino", "Online Gambling", "cryptocurrency",
+            "DarkNet market", "Café crypto", "Kasino", "cryp", "POS Purchase");
+
+    private static final int[] COUNTS = { -3, -1, 0, 1, 3, 4, 5, 6, 8, 9, 20, Integer.MAX_VALUE };
+
+    private static List<RiskScoringFactor> defaultFactors(RiskThresholds thresholds) {
+        return List.of(
+                new AmountScoringFactor(thresholds),
+                new LocationScoringFactor(thresholds),
+                new MerchantScoringFactor(thresholds),
+                new FrequencyScoringFactor(thresholds),
+                new FraudHistoryScoringFactor(thresholds));
+    }
+
+    private static double interpreted(List<RiskScoringFactor> factors, TransactionCreatedEvent event,
+                                      RiskContext context) {
+        double total = 0.0;
+        for (RiskScoringFactor factor : factors) {
+            total += factor.score(event, context);
+        }
+        return Math.min(total, 1.0);
+    }
+
+    private static TransactionCreatedEvent event(BigDecimal amount, String location, String merchant) {
+        return TransactionCreatedEvent.builder()
+                .transactionId("tx-diff")
+                .userId("u-diff")
+                .amount(amount)
+                .location(location)
+                .merchantType(merchant)
+                .build();
+    }
+
+    private static void assertBitIdentical(List<RiskScoringFactor> factors) {
+        CompiledScoringKernel kernel = CompiledScoringKernel.compile(factors);
+        int checked = 0;
+        for (BigDecimal amount : AMOUNTS) {
+            for (String location : LOCATIONS) {
+                for (String merchant : MERCHANTS) {
+                    for (int fraudCount : COUNTS) {
+                        for (int frequency : COUNTS) {
+                            TransactionCreatedEvent event = event(amount, location, merchant);
+                            RiskContext context = new RiskContext(fraudCount, frequency);
+                            long expected = Double.doubleToRawLongBits(interpreted(factors, event, context));
+                            long actual = Double.doubleToRawLongBits(kernel.score(event, context));
+                            assertThat(actual)
+                                    .as("amount=%s location=%s merchant=%s fraud=%d freq=%d",
+                                            amount, location, merchant, fraudCount, frequency)
+                                    .isEqualTo(expected);
+                            checked++;
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(checked).isPositive();
+    }
+
+    @Test
+    @DisplayName("Default thresholds: kernel is bit-identical to interpreted factors on boundary grid")
+    void defaultThresholds_boundaryGrid() {
+        assertBitIdentical(defaultFactors(new RiskThresholds()));
+    }
+
+    @Test
+    @DisplayName("Custom thresholds: kernel reads weights from RiskThresholds at compile time")
+    void customThresholds_boundaryGrid() {
+        RiskThresholds thresholds = new RiskThresholds();
+        thresholds.setHighAmountThreshold(2_500.5);
+        thresholds.setMediumAmountThreshold(100);
+        thresholds.setAmountHighScore(0.41);
+        thresholds.setLocationHighScore(0.33);
+        thresholds.setMerchantLowScore(0.0);
+        thresholds.setFrequencyHighThreshold(3);
+        thresholds.setFrequencyMedThreshold(1);
+        thresholds.setFraudCountMultiplier(0.07);
+        thresholds.setFraudCountMaxBonus(0.5);
+        assertBitIdentical(defaultFactors(thresholds));
+    }
+
+    @Test
+    @DisplayName("Unknown factors are delegated in place, preserving summation order")
+    void customFactor_delegatedInOrder() {
+        RiskThresholds thresholds = new RiskThresholds();
+        RiskScoringFactor custom = new RiskScoringFactor() {
+            @Override
+            public double score(TransactionCreatedEvent event, RiskContext context) {
+                return 0.1 + context.getTxnFrequency() * 1e-17;
+            }
+
+            @Override
+            public String name() {
+                return "CustomFactor";
+            }
+        };
+        List<RiskScoringFactor> factors = new ArrayList<>(defaultFactors(thresholds));
+        factors.add(2, custom);
+
+        assertThat(CompiledScoringKernel.compile(factors).size()).isEqualTo(6);
+        assertBitIdentical(factors);
+    }
+
+    @Test
+    @DisplayName("Weighted keyword lists: kernel uses each factor's matcher and weights")
+    void weightedKeywords_boundaryGrid() {
+        RiskThresholds thresholds = new RiskThresholds();
+        Map<String, Double> locations = new LinkedHashMap<>();
+        locations.put("OFFSHORE", 0.4);
+        locations.put("LAGOS", 0.1);
+        locations.put("UNKNOWN", null);
+        Map<String, Double> merchants = new LinkedHashMap<>();
+        merchants.put("CRYPTO", 0.15);
+        merchants.put("CRYPTOCURRENCY", 0.3);
+        merchants.put("CASINO", null);
+        assertBitIdentical(List.of(
+                new AmountScoringFactor(thresholds),
+                new LocationScoringFactor(thresholds, KeywordMatcher.compile(locations)),
+                new MerchantScoringFactor(thresholds, KeywordMatcher.compile(merchants)),
+                new FrequencyScoringFactor(thresholds),
+                new FraudHistoryScoringFactor(thresholds)));
+    }
+
+    @Test
+    @DisplayName("Randomized inputs: kernel is bit-identical to interpreted factors")
+    void randomizedInputs() {
+        List<RiskScoringFactor> factors = defaultFactors(new RiskThresholds());
+        CompiledScoringKernel kernel = CompiledScoringKernel.compile(factors);
+        Random random = new Random(42);
+        String alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ -éß";
+
+        for (int i = 0; i < 20_000; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextDouble() * 20_000).setScale(random.nextInt(6),
+                    RoundingMode.HALF_UP);
+            String location = random.nextInt(4) == 0
+                    ? LOCATIONS.get(random.nextInt(LOCATIONS.size()))
+                    : randomString(random, alphabet);
+            String merchant = random.nextInt(4) == 0
+                    ? MERCHANTS.get(random.nextInt(MERCHANTS.size()))
+                    : randomString(random, alphabet);
+            TransactionCreatedEvent event = event(amount, location, merchant);
+            RiskContext context = new RiskContext(random.nextInt(12), random.nextInt(15));
+
+            assertThat(Double.doubleToRawLongBits(kernel.score(event, context)))
+                    .isEqualTo(Double.doubleToRawLongBits(interpreted(factors, event, context)));
+        }
+    }
+
+    @Test
+    @DisplayName("Turkish default locale: kernel still matches the interpreted factors")
+    void turkishLocale_fallsBackToToUpperCase() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertBitIdentical(defaultFactors(new RiskThresholds()));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    private static String randomString(Random random, String alphabet) {
+        String[] keywords = { "offshore", "Unknown", "crypto", "CASINO", "gambling", "darknet", "foreign" };
+        StringBuilder sb = new StringBuilder();
+        int len = random.nextInt(12);
+        for (int i = 0; i < len; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        if (random.nextBoolean()) {
+            sb.insert(random.nextInt(sb.length() + 1), keywords[random.nextInt(keywords.length)]);
+        }
+        return sb.toString();
+    }
+}
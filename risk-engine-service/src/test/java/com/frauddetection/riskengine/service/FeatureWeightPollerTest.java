@@ -0,0 +1,96 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.riskengine.entity.FeatureWeight;
+import com.frauddetection.riskengine.repository.FeatureWeightRepository;
+import com.frauddetection.riskengine.service.impl.FeatureWeightPoller;
+import com.frauddetection.riskengine.service.scoring.FeatureWeightSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeatureWeightPollerTest {
+
+    @Mock
+    private FeatureWeightRepository repository;
+    @Mock
+    private RiskCalculationService riskCalculationService;
+
+    private FeatureWeightPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        poller = new FeatureWeightPoller(repository, riskCalculationService, Duration.ofSeconds(5));
+    }
+
+    private static FeatureWeight row(String name, Double weight) {
+        return FeatureWeight.builder().featureName(name).weight(weight).build();
+    }
+
+    @Test
+    @DisplayName("first load applies version 1 with the table's weights")
+    void refresh_firstLoad_appliesVersion1() {
+        when(repository.findAll()).thenReturn(List.of(row("HIGH_AMOUNT", 0.4), row("HIGH_FREQUENCY", 0.1)));
+
+        assertThat(poller.refresh()).isTrue();
+
+        ArgumentCaptor<FeatureWeightSnapshot> applied = ArgumentCaptor.forClass(FeatureWeightSnapshot.class);
+        verify(riskCalculationService).applyWeights(applied.capture());
+        assertThat(applied.getValue().version()).isEqualTo(1);
+        assertThat(applied.getValue().weights()).isEqualTo(Map.of("HIGH_AMOUNT", 0.4, "HIGH_FREQUENCY", 0.1));
+        assertThat(poller.current()).isSameAs(applied.getValue());
+    }
+
+    @Test
+    @DisplayName("unchanged table applies nothing; a changed weight bumps the version")
+    void refresh_onlyOnChange() {
+        when(repository.findAll())
+                .thenReturn(List.of(row("HIGH_AMOUNT", 0.4)))
+                .thenReturn(List.of(row("HIGH_AMOUNT", 0.4)))
+                .thenReturn(List.of(row("HIGH_AMOUNT", 0.5)));
+
+        assertThat(poller.refresh()).isTrue();
+        assertThat(poller.refresh()).isFalse();
+        assertThat(poller.refresh()).isTrue();
+
+        verify(riskCalculationService, times(2)).applyWeights(any());
+        assertThat(poller.current().version()).isEqualTo(2);
+        assertThat(poller.current().weights()).containsEntry("HIGH_AMOUNT", 0.5);
+    }
+
+    @Test
+    @DisplayName("unknown names and out-of-range weights are skipped")
+    void refresh_skipsInvalidRows() {
+        when(repository.findAll()).thenReturn(List.of(
+                row("HIGH_AMOUNT", 0.4), row("VPN_DETECTED", 0.3), row("UNKNOWN_LOCATION", 1.5),
+                row("HIGH_RISK_MERCHANT", Double.NaN), row("HIGH_FREQUENCY", null)));
+
+        poller.refresh();
+
+        assertThat(poller.current().weights()).isEqualTo(Map.of("HIGH_AMOUNT", 0.4));
+    }
+
+    @Test
+    @DisplayName("a failing apply keeps the previous snapshot")
+    void refresh_applyFails_keepsCurrent() {
+        when(repository.findAll()).thenReturn(List.of(row("HIGH_AMOUNT", 0.4)));
+        doThrow(new IllegalStateException("boom")).when(riskCalculationService).applyWeights(any());
+
+        assertThatThrownBy(() -> poller.refresh()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(poller.current()).isSameAs(FeatureWeightSnapshot.NONE);
+    }
+}
@@ -0,0 +1,93 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.riskengine.entity.RiskProfile;
+import com.frauddetection.riskengine.repository.RiskProfileRepository;
+import com.frauddetection.riskengine.service.impl.JpaRiskProfileWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JpaRiskProfileWriterTest {
+
+    @Mock
+    private RiskProfileRepository riskProfileRepository;
+
+    @InjectMocks
+    private JpaRiskProfileWriter writer;
+
+    private RiskEvaluation evaluation(String txnId, String userId, double score, String level,
+                                      int fraudCount, int txnCount) {
+        return new RiskEvaluation(txnId, userId, score, level, new RiskContext(fraudCount, txnCount));
+    }
+
+    @Test
+    @DisplayName("write: new user inserts a fresh profile")
+    void write_newUser_insertsProfile() {
+        when(riskProfileRepository.findByUserId("user-1")).thenReturn(Optional.empty());
+
+        writer.write(evaluation("txn-high", "user-1", 0.87, "HIGH", 3, 10));
+
+        ArgumentCaptor<RiskProfile> profileCaptor = ArgumentCaptor.forClass(RiskProfile.class);
+        verify(riskProfileRepository).save(profileCaptor.capture());
+        RiskProfile saved = profileCaptor.getValue();
+        assertThat(saved.getId()).isNull();
+        assertThat(saved.getUserId()).isEqualTo("user-1");
+        assertThat(saved.getRiskScore()).isEqualTo(0.87);
+        assertThat(saved.getRiskLevel()).isEqualTo("HIGH");
+        assertThat(saved.getRecentFraudCount()).isEqualTo(3);
+        assertThat(saved.getTxnFrequency()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("write: existing profile is updated in place")
+    void write_existingProfile_updatesRow() {
+        RiskProfile existing = RiskProfile.builder().id(99L).userId("user-2").build();
+        when(riskProfileRepository.findByUserId("user-2")).thenReturn(Optional.of(existing));
+
+        writer.write(evaluation("txn-med", "user-2", 0.44, "MEDIUM", 1, 4));
+
+        ArgumentCaptor<RiskProfile> profileCaptor = ArgumentCaptor.forClass(RiskProfile.class);
+        verify(riskProfileRepository).save(profileCaptor.capture());
+        RiskProfile saved = profileCaptor.getValue();
+        assertThat(saved.getId()).isEqualTo(99L);
+        assertThat(saved.getUserId()).isEqualTo("user-2");
+        assertThat(saved.getRiskLevel()).isEqualTo("MEDIUM");
+        assertThat(saved.getRiskScore()).isEqualTo(0.44);
+    }
+
+    @Test
+    @DisplayName("writeAll: one query + saveAll, latest evaluation per user wins")
+    @SuppressWarnings("unchecked")
+    void writeAll_coalescesPerUser() {
+        RiskProfile existing = RiskProfile.builder().id(7L).userId("user-b").build();
+        when(riskProfileRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(existing));
+
+        writer.writeAll(List.of(
+                evaluation("txn-a1", "user-a", 0.85, "HIGH", 2, 9),
+                evaluation("txn-b1", "user-b", 0.30, "LOW", 0, 1),
+                evaluation("txn-a2", "user-a", 0.65, "MEDIUM", 2, 9)));
+
+        ArgumentCaptor<List<RiskProfile>> profilesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(riskProfileRepository).saveAll(profilesCaptor.capture());
+        List<RiskProfile> saved = profilesCaptor.getValue();
+        assertThat(saved).hasSize(2);
+        assertThat(saved.get(0).getUserId()).isEqualTo("user-a");
+        assertThat(saved.get(0).getRiskLevel()).isEqualTo("MEDIUM");
+        assertThat(saved.get(0).getTxnFrequency()).isEqualTo(9);
+        assertThat(saved.get(1).getId()).isEqualTo(7L);
+        assertThat(saved.get(1).getRiskScore()).isEqualTo(0.30);
+        verify(riskProfileRepository, never()).save(any(RiskProfile.class));
+    }
+}
@@ -0,0 +1,137 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.riskengine.service.scoring.KeywordMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeywordMatcherTest {
+
+    private static Map<String, Double> weights(Object... keywordWeightPairs) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (int i = 0; i < keywordWeightPairs.length; i += 2) {
+            weights.put((String) keywordWeightPairs[i], (Double) keywordWeightPairs[i + 1]);
+        }
+        return weights;
+    }
+
+    @Test
+    @DisplayName("matches anywhere in the input, ignoring case")
+    void matchesCaseInsensitively() {
+        KeywordMatcher matcher = KeywordMatcher.of(List.of("OFFSHORE", "UNKNOWN"));
+
+        assertThat(matcher.highestWeight("Offshore - Lagos", 0.25)).isEqualTo(0.25);
+        assertThat(matcher.highestWeight("xxunknownxx", 0.25)).isEqualTo(0.25);
+        assertThat(matcher.highestWeight("OFFSHOR", 0.25)).isEqualTo(KeywordMatcher.NO_MATCH);
+        assertThat(matcher.highestWeight("", 0.25)).isEqualTo(KeywordMatcher.NO_MATCH);
+    }
+
+    @Test
+    @DisplayName("highest weight wins across overlapping and nested keywords")
+    void highestWeight_overlappingKeywords() {
+        KeywordMatcher matcher = KeywordMatcher.compile(weights(
+                "CRYPTO", 0.2, "CRYPTOCURRENCY", 0.5, "CURRENCY EXCHANGE", 0.3, "GAMBLING", null));
+
+        assertThat(matcher.highestWeight("Cryptocurrency Exchange", 0.25)).isEqualTo(0.5);
+        assertThat(matcher.highestWeight("crypto currency exchange", 0.25)).isEqualTo(0.3);
+        assertThat(matcher.highestWeight("xcrypto", 0.25)).isEqualTo(0.2);
+        // Unweighted keyword takes the caller's default, which competes like any weight
+        assertThat(matcher.highestWeight("crypto gambling", 0.25)).isEqualTo(0.25);
+        assertThat(matcher.highestWeight("crypto gambling", 0.1)).isEqualTo(0.2);
+    }
+
+    @Test
+    @DisplayName("suffix keywords are found through failure links")
+    void suffixKeywords_foundViaFailureLinks() {
+        KeywordMatcher matcher = KeywordMatcher.compile(weights("HE", 0.1, "SHE", 0.2, "HIS", 0.3, "HERS", 0.4));
+
+        assertThat(matcher.highestWeight("ushers", 0.0)).isEqualTo(0.4);
+        assertThat(matcher.highestWeight("ushe", 0.0)).isEqualTo(0.2);
+        assertThat(matcher.highestWeight("ahisx", 0.0)).isEqualTo(0.3);
+        assertThat(matcher.highestWeight("hhe", 0.0)).isEqualTo(0.1);
+    }
+
+    @Test
+    @DisplayName("folding is per char and ignores the default locale")
+    void folding_isLocaleIndependent() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            KeywordMatcher matcher = KeywordMatcher.of(List.of("ISTANBUL", "zürich"));
+
+            assertThat(matcher.matches("istanbul")).isTrue();
+            assertThat(matcher.matches("ZÜRICH offshore")).isTrue();
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    @DisplayName("blank keywords and weights outside [0, 1] are rejected")
+    void compile_rejectsInvalidEntries() {
+        assertThatThrownBy(() -> KeywordMatcher.compile(weights("  ", 0.2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeywordMatcher.compile(weights("CASINO", 1.5)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CASINO");
+        assertThatThrownBy(() -> KeywordMatcher.compile(weights("CASINO", Double.NaN)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("thousands of random keywords: same result as checking each keyword with contains")
+    void randomized_matchesNaiveScan() {
+        Random random = new Random(7);
+        String alphabet = "abcAB -";
+        String keywordAlphabet = "abcAB-";
+        Map<String, Double> keywords = new HashMap<>();
+        for (int i = 0; i < 3_000; i++) {
+            keywords.put(randomString(random, keywordAlphabet, 2 + random.nextInt(6)),
+                    random.nextInt(5) == 0 ? null : random.nextInt(101) / 100.0);
+        }
+        // Reference map keyed by lower case, keeping the same duplicate semantics as the matcher
+        Map<String, double[]> reference = new HashMap<>();
+        keywords.forEach((keyword, weight) -> {
+            double[] entry = reference.computeIfAbsent(keyword.toLowerCase(Locale.ROOT),
+                    k -> new double[] { KeywordMatcher.NO_MATCH, 0 });
+            if (weight == null) {
+                entry[1] = 1;
+            } else {
+                entry[0] = Math.max(entry[0], weight);
+            }
+        });
+        KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+
+        for (int i = 0; i < 2_000; i++) {
+            String text = randomString(random, alphabet, random.nextInt(30));
+            String lower = text.toLowerCase(Locale.ROOT);
+            double expected = KeywordMatcher.NO_MATCH;
+            for (Map.Entry<String, double[]> e : reference.entrySet()) {
+                if (lower.contains(e.getKey())) {
+                    expected = Math.max(expected, e.getValue()[0]);
+                    if (e.getValue()[1] == 1) {
+                        expected = Math.max(expected, 0.33);
+                    }
+                }
+            }
+            assertThat(matcher.highestWeight(text, 0.33)).as("text=%s", text).isEqualTo(expected);
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.riskengine.config.NearCacheProperties;
+import com.frauddetection.riskengine.service.impl.NearCachedRedisCacheService;
+import com.frauddetection.riskengine.service.impl.RedisCacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NearCachedRedisCacheServiceTest {
+
+    @Mock
+    private RedisCacheServiceImpl delegate;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NearCachedRedisCacheService nearCache;
+
+    @BeforeEach
+    void setUp() {
+        NearCacheProperties properties = new NearCacheProperties();
+        properties.setTtl(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        nearCache = new NearCachedRedisCacheService(delegate, stringRedisTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("fraud + txn count for one user cost a single Redis read, repeats are served locally")
+    void repeatedReads_hitNearCache() {
+        when(delegate.getRiskContext("u1")).thenReturn(new RiskContext(2, 7));
+
+        assertThat(nearCache.getRecentFraudCount("u1")).isEqualTo(2);
+        assertThat(nearCache.getRecentTxnCount("u1")).isEqualTo(7);
+        assertThat(nearCache.getRecentFraudCount("u1")).isEqualTo(2);
+
+        verify(delegate, times(1)).getRiskContext("u1");
+        verify(delegate, never()).getRecentFraudCount("u1");
+        verify(delegate, never()).getRecentTxnCount("u1");
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("getRiskContexts only loads users that are not cached yet")
+    void getRiskContexts_loadsOnlyMissing() {
+        when(delegate.getRiskContext("u1")).thenReturn(new RiskContext(1, 1));
+        nearCache.getRiskContext("u1");
+        when(delegate.getRiskContexts(List.of("u2"))).thenReturn(Map.of("u2", new RiskContext(0, 3)));
+
+        Map<String, RiskContext> result = nearCache.getRiskContexts(List.of("u1", "u2"));
+
+        assertThat(result).containsOnlyKeys("u1", "u2");
+        assertThat(result.get("u2").getTxnFrequency()).isEqualTo(3);
+        verify(delegate).getRiskContexts(List.of("u2"));
+    }
+
+    @Test
+    @DisplayName("incrementFraudCount writes through, evicts locally and broadcasts the userId")
+    void incrementFraudCount_invalidatesAndPublishes() {
+        when(delegate.getRiskContext("u1"))
+                .thenReturn(new RiskContext(0, 1))
+                .thenReturn(new RiskContext(1, 1));
+        assertThat(nearCache.getRecentFraudCount("u1")).isZero();
+
+        nearCache.incrementFraudCount("u1");
+
+        verify(delegate).incrementFraudCount("u1");
+        verify(stringRedisTemplate).convertAndSend("risk:near-cache:invalidate", "u1");
+        assertThat(nearCache.getRecentFraudCount("u1")).isEqualTo(1);
+        assertThat(meterRegistry.get("risk.near-cache.invalidations").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("invalidation message from another node evicts the user")
+    void onMessage_evictsUser() {
+        when(delegate.getRiskContext("u1"))
+                .thenReturn(new RiskContext(0, 1))
+                .thenReturn(new RiskContext(4, 1));
+        nearCache.getRecentFraudCount("u1");
+
+        nearCache.onMessage(new DefaultMessage(
+                "risk:near-cache:invalidate".getBytes(StandardCharsets.UTF_8),
+                "u1".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(nearCache.getRecentFraudCount("u1")).isEqualTo(4);
+        verify(delegate, times(2)).getRiskContext("u1");
+    }
+}
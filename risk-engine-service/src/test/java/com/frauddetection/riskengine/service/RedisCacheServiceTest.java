@@ -8,13 +8,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.HashOperations;
-import org.springframework.data.redis.core.ListOperations;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
 
-import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,10 +28,6 @@ class RedisCacheServiceTest {
     private RedisTemplate<String, Object> redisTemplate;
     @Mock
     private HashOperations<String, Object, Object> hashOps;
-    @Mock
-    private ValueOperations<String, Object> valueOps;
-    @Mock
-    private ListOperations<String, Object> listOps;
 
     private RedisCacheServiceImpl redisCacheService;
 
@@ -37,15 +37,41 @@ class RedisCacheServiceTest {
     }
 
     @Test
-    @DisplayName("cacheRiskScore stores score+level and sets TTL")
-    void cacheRiskScore_storesValues() {
-        when(redisTemplate.opsForHash()).thenReturn(hashOps);
-
+    @DisplayName("cacheRiskScore stores score+level and sets TTL in one script call")
+    @SuppressWarnings("unchecked")
+    void cacheRiskScore_singleScriptCall() {
         redisCacheService.cacheRiskScore("u1", 0.66, "MEDIUM");
 
-        verify(hashOps).put("user:risk:u1", "riskScore", "0.66");
-        verify(hashOps).put("user:risk:u1", "riskLevel", "MEDIUM");
-        verify(redisTemplate).expire("user:risk:u1", Duration.ofHours(24));
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("user:risk:u1", "hot:high-risk-transactions")),
+                eq("0.66"), eq("MEDIUM"), eq("86400000"), eq("100"));
+        verify(redisTemplate, never()).opsForHash();
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("recordEvaluation of a HIGH evaluation writes hash and hot list in one script call")
+    @SuppressWarnings("unchecked")
+    void recordEvaluation_high_singleScriptCall() {
+        redisCacheService.recordEvaluation(new RiskEvaluation("txn-1", "u1", 0.9, "HIGH", new RiskContext(0, 0)));
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("user:risk:u1", "hot:high-risk-transactions")),
+                eq("0.9"), eq("HIGH"), eq("86400000"), eq("100"), eq("txn-1"));
+        verify(redisTemplate, never()).opsForList();
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("recordEvaluation of a non-HIGH evaluation does not pass a hot-list entry")
+    @SuppressWarnings("unchecked")
+    void recordEvaluation_low_noHotListEntry() {
+        redisCacheService.recordEvaluation(new RiskEvaluation("txn-2", "u2", 0.1, "LOW", new RiskContext(0, 0)));
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("user:risk:u2", "hot:high-risk-transactions")),
+                eq("0.1"), eq("LOW"), eq("86400000"), eq("100"));
+        verifyNoMoreInteractions(redisTemplate);
     }
 
     @Test
@@ -78,36 +104,81 @@ class RedisCacheServiceTest {
     }
 
     @Test
-    @DisplayName("incrementFraudCount increments and sets TTL")
-    void incrementFraudCount_incrementsAndExpires() {
-        when(redisTemplate.opsForHash()).thenReturn(hashOps);
-
+    @DisplayName("incrementFraudCount increments and sets TTL in one script call")
+    @SuppressWarnings("unchecked")
+    void incrementFraudCount_singleScriptCall() {
         redisCacheService.incrementFraudCount("u1");
 
-        verify(hashOps).increment("user:risk:u1", "fraudCount", 1);
-        verify(redisTemplate).expire("user:risk:u1", Duration.ofHours(24));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("user:risk:u1")),
+                eq("fraudCount"), eq("86400000"));
+        verify(redisTemplate, never()).opsForHash();
+    }
+
+    @Test
+    @DisplayName("getRiskContext reads fraud count and every velocity window in one script call")
+    @SuppressWarnings("unchecked")
+    void getRiskContext_singleScriptCall() {
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(List.of("user:risk:u1", "user:txn_velocity:u1")), eq("fraudCount")))
+                .thenReturn(List.of(2L, 9L, 15L, 40L, 120L));
+
+        RiskContext context = redisCacheService.getRiskContext("u1");
+
+        assertThat(context).isEqualTo(new RiskContext(2, 9, 15, 40, 120));
+        verify(redisTemplate, never()).opsForValue();
+        verify(redisTemplate, never()).opsForHash();
     }
 
     @Test
-    @DisplayName("getRecentTxnCount parses value and defaults to zero")
+    @DisplayName("getRecentTxnCount returns the 60s sliding window and defaults to zero")
+    @SuppressWarnings("unchecked")
     void getRecentTxnCount_parseAndDefault() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("user:txn_count:u1")).thenReturn("9");
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(List.of("user:risk:u1", "user:txn_velocity:u1")), eq("fraudCount")))
+                .thenReturn(List.of(0L, 9L, 9L, 9L, 9L));
         assertThat(redisCacheService.getRecentTxnCount("u1")).isEqualTo(9);
 
-        when(valueOps.get("user:txn_count:u2")).thenReturn(null);
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(List.of("user:risk:u2", "user:txn_velocity:u2")), eq("fraudCount")))
+                .thenReturn(null);
         assertThat(redisCacheService.getRecentTxnCount("u2")).isZero();
     }
 
     @Test
-    @DisplayName("addToHotList pushes, trims and expires")
-    void addToHotList_updatesList() {
-        when(redisTemplate.opsForList()).thenReturn(listOps);
-
+    @DisplayName("addToHotList pushes, trims and expires in one script call")
+    @SuppressWarnings("unchecked")
+    void addToHotList_singleScriptCall() {
         redisCacheService.addToHotList("txn-1");
 
-        verify(listOps).leftPush("hot:high-risk-transactions", "txn-1");
-        verify(listOps).trim("hot:high-risk-transactions", 0, 99);
-        verify(redisTemplate).expire("hot:high-risk-transactions", Duration.ofHours(24));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("hot:high-risk-transactions")),
+                eq("txn-1"), eq("100"), eq("86400000"));
+        verify(redisTemplate, never()).opsForList();
+    }
+
+    @Test
+    @DisplayName("getRiskContexts reads all users in one pipeline and maps replies in order")
+    @SuppressWarnings("unchecked")
+    void getRiskContexts_pipelinesAndMapsReplies() {
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenReturn(Arrays.asList(List.of(2L, 7L, 11L, 30L, 64L), List.of(0L, 0L, 0L, 0L, 0L)));
+
+        Map<String, RiskContext> contexts = redisCacheService.getRiskContexts(List.of("u1", "u2", "u1"));
+
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        assertThat(contexts).hasSize(2);
+        assertThat(contexts.get("u1")).isEqualTo(new RiskContext(2, 7, 11, 30, 64));
+        assertThat(contexts.get("u2")).isEqualTo(new RiskContext(0, 0));
+    }
+
+    @Test
+    @DisplayName("cacheRiskScores writes a batch in one pipeline")
+    @SuppressWarnings("unchecked")
+    void cacheRiskScores_singlePipeline() {
+        redisCacheService.cacheRiskScores(List.of(
+                new RiskEvaluation("txn-1", "u1", 0.9, "HIGH", new RiskContext(0, 0)),
+                new RiskEvaluation("txn-2", "u2", 0.1, "LOW", new RiskContext(0, 0))));
+
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(redisTemplate, never()).opsForHash();
     }
 }
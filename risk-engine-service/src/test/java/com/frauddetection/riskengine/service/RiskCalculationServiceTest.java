@@ -7,6 +7,7 @@ import com.frauddetection.riskengine.service.scoring.FrequencyScoringFactor;
 import com.frauddetection.riskengine.service.scoring.FraudHistoryScoringFactor;
 import com.frauddetection.riskengine.service.scoring.LocationScoringFactor;
 import com.frauddetection.riskengine.service.impl.RiskCalculationServiceImpl;
+import com.frauddetection.riskengine.service.scoring.FeatureWeightSnapshot;
 import com.frauddetection.riskengine.service.scoring.MerchantScoringFactor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,10 +16,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 class RiskCalculationServiceTest {
 
@@ -112,6 +116,21 @@ class RiskCalculationServiceTest {
         assertThat(score).isGreaterThanOrEqualTo(0.0);
     }
 
+    @Test
+    @DisplayName("applyWeights swaps in the snapshot's weights; an empty snapshot restores the configured ones")
+    void applyWeights_reweightsAndReverts() {
+        TransactionCreatedEvent offshore = event(1000, "Offshore - Lagos", "E-Commerce");
+        double configured = service.calculateRiskScore(offshore, ctx(0, 1));
+
+        service.applyWeights(new FeatureWeightSnapshot(1, Map.of("UNKNOWN_LOCATION", 0.55), Instant.now()));
+        double reweighted = service.calculateRiskScore(offshore, ctx(0, 1));
+        assertThat(service.weightsVersion()).isEqualTo(1);
+        assertThat(reweighted).isEqualTo(configured + 0.30, offset(1e-9));
+
+        service.applyWeights(new FeatureWeightSnapshot(2, Map.of(), Instant.now()));
+        assertThat(service.calculateRiskScore(offshore, ctx(0, 1))).isEqualTo(configured);
+    }
+
     @ParameterizedTest
     @CsvSource({
             "0.85, HIGH",
@@ -2,14 +2,14 @@ package com.frauddetection.riskengine.service;
 
 import com.frauddetection.common.events.RiskScoredEvent;
 import com.frauddetection.common.events.TransactionCreatedEvent;
-import com.frauddetection.riskengine.entity.RiskProfile;
-import com.frauddetection.riskengine.repository.RiskProfileRepository;
+import com.frauddetection.riskengine.exception.BatchEvaluationException;
 import com.frauddetection.riskengine.service.impl.RiskEngineServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,9 +17,12 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -31,7 +34,9 @@ class RiskEngineServiceTest {
     @Mock
     private RedisCacheService redisCacheService;
     @Mock
-    private RiskProfileRepository riskProfileRepository;
+    private RiskProfileWriter riskProfileWriter;
+    @Mock
+    private BehaviourProfileStore behaviourProfileStore;
     @Mock
     private KafkaTemplate<String, RiskScoredEvent> kafkaTemplate;
 
@@ -54,56 +59,177 @@ class RiskEngineServiceTest {
     }
 
     @Test
-    @DisplayName("evaluate: high risk updates cache/profile and hot-lists transaction")
+    @DisplayName("evaluate: high risk is written to Redis (hash + hot list) in one call and to the profile")
     void evaluate_highRisk_updatesAllAndHotLists() {
         TransactionCreatedEvent event = event("txn-high", "user-1");
 
-        when(redisCacheService.getRecentFraudCount("user-1")).thenReturn(3);
-        when(redisCacheService.getRecentTxnCount("user-1")).thenReturn(10);
+        when(redisCacheService.getRiskContext("user-1")).thenReturn(new RiskContext(3, 10, 14, 20, 31));
         when(riskCalculationService.calculateRiskScore(eq(event), any(RiskContext.class))).thenReturn(0.87);
         when(riskCalculationService.deriveRiskLevel(0.87)).thenReturn("HIGH");
-        when(riskProfileRepository.findByUserId("user-1")).thenReturn(Optional.empty());
 
         riskEngineService.evaluate(event);
 
-        verify(redisCacheService).cacheRiskScore("user-1", 0.87, "HIGH");
-        verify(redisCacheService).addToHotList("txn-high");
+        ArgumentCaptor<RiskEvaluation> evaluationCaptor = ArgumentCaptor.forClass(RiskEvaluation.class);
+        verify(redisCacheService).recordEvaluation(evaluationCaptor.capture());
+        verify(redisCacheService, never()).cacheRiskScore(anyString(), anyDouble(), anyString());
+        verify(redisCacheService, never()).addToHotList(anyString());
 
-        ArgumentCaptor<RiskProfile> profileCaptor = ArgumentCaptor.forClass(RiskProfile.class);
-        verify(riskProfileRepository).save(profileCaptor.capture());
-        RiskProfile saved = profileCaptor.getValue();
-        assertThat(saved.getUserId()).isEqualTo("user-1");
-        assertThat(saved.getRiskScore()).isEqualTo(0.87);
-        assertThat(saved.getRiskLevel()).isEqualTo("HIGH");
-        assertThat(saved.getRecentFraudCount()).isEqualTo(3);
-        assertThat(saved.getTxnFrequency()).isEqualTo(10);
+        verify(riskProfileWriter).write(evaluationCaptor.capture());
+        assertThat(evaluationCaptor.getAllValues().get(0)).isSameAs(evaluationCaptor.getAllValues().get(1));
+        RiskEvaluation written = evaluationCaptor.getValue();
+        assertThat(written.getUserId()).isEqualTo("user-1");
+        assertThat(written.getTransactionId()).isEqualTo("txn-high");
+        assertThat(written.getRiskScore()).isEqualTo(0.87);
+        assertThat(written.getRiskLevel()).isEqualTo("HIGH");
+        assertThat(written.getContext().getRecentFraudCount()).isEqualTo(3);
+        assertThat(written.getContext().getTxnFrequency()).isEqualTo(10);
+        assertThat(written.getContext().getTxnCount24h()).isEqualTo(31);
 
         verify(kafkaTemplate).send(eq("risk.scored"), eq("user-1"), any(RiskScoredEvent.class));
     }
 
     @Test
-    @DisplayName("evaluate: existing profile is updated and non-high risk is not hot-listed")
-    void evaluate_existingProfile_nonHighRisk_skipsHotList() {
+    @DisplayName("evaluate: non-high risk is recorded with its level, the profile is written")
+    void evaluate_nonHighRisk_skipsHotList() {
         TransactionCreatedEvent event = event("txn-med", "user-2");
-        RiskProfile existing = RiskProfile.builder().id(99L).userId("user-2").build();
 
-        when(redisCacheService.getRecentFraudCount("user-2")).thenReturn(1);
-        when(redisCacheService.getRecentTxnCount("user-2")).thenReturn(4);
+        when(redisCacheService.getRiskContext("user-2")).thenReturn(new RiskContext(1, 4));
         when(riskCalculationService.calculateRiskScore(eq(event), any(RiskContext.class))).thenReturn(0.44);
         when(riskCalculationService.deriveRiskLevel(0.44)).thenReturn("MEDIUM");
-        when(riskProfileRepository.findByUserId("user-2")).thenReturn(Optional.of(existing));
 
         riskEngineService.evaluate(event);
 
-        verify(redisCacheService).cacheRiskScore("user-2", 0.44, "MEDIUM");
+        verify(redisCacheService).recordEvaluation(argThat(e -> "MEDIUM".equals(e.getRiskLevel())));
         verify(redisCacheService, never()).addToHotList(anyString());
 
-        ArgumentCaptor<RiskProfile> profileCaptor = ArgumentCaptor.forClass(RiskProfile.class);
-        verify(riskProfileRepository).save(profileCaptor.capture());
-        RiskProfile saved = profileCaptor.getValue();
-        assertThat(saved.getId()).isEqualTo(99L);
-        assertThat(saved.getUserId()).isEqualTo("user-2");
-        assertThat(saved.getRiskLevel()).isEqualTo("MEDIUM");
-        assertThat(saved.getRiskScore()).isEqualTo(0.44);
+        ArgumentCaptor<RiskEvaluation> evaluationCaptor = ArgumentCaptor.forClass(RiskEvaluation.class);
+        verify(riskProfileWriter).write(evaluationCaptor.capture());
+        RiskEvaluation written = evaluationCaptor.getValue();
+        assertThat(written.getUserId()).isEqualTo("user-2");
+        assertThat(written.getRiskLevel()).isEqualTo("MEDIUM");
+        assertThat(written.getRiskScore()).isEqualTo(0.44);
+    }
+
+    @Test
+    @DisplayName("evaluate: scores with the user's behaviour profile, then records the transaction")
+    void evaluate_readsProfileBeforeRecording() {
+        TransactionCreatedEvent event = event("txn-p", "user-p");
+        BehaviourProfile history = BehaviourProfile.EMPTY.update(BigDecimal.TEN, "NY", "E-Commerce", 1L);
+
+        when(redisCacheService.getRiskContext("user-p")).thenReturn(new RiskContext(0, 1));
+        when(behaviourProfileStore.get("user-p")).thenReturn(history);
+        when(riskCalculationService.calculateRiskScore(eq(event), any(RiskContext.class))).thenReturn(0.2);
+        when(riskCalculationService.deriveRiskLevel(0.2)).thenReturn("LOW");
+
+        riskEngineService.evaluate(event);
+
+        ArgumentCaptor<RiskContext> contextCaptor = ArgumentCaptor.forClass(RiskContext.class);
+        InOrder order = inOrder(behaviourProfileStore, riskCalculationService);
+        order.verify(behaviourProfileStore).get("user-p");
+        order.verify(riskCalculationService).calculateRiskScore(eq(event), contextCaptor.capture());
+        order.verify(behaviourProfileStore).record(event);
+        assertThat(contextCaptor.getValue().getBehaviour()).isSameAs(history);
+    }
+
+    @Test
+    @DisplayName("evaluateBatch: one pipelined read/write and one profile write for the whole poll")
+    @SuppressWarnings("unchecked")
+    void evaluateBatch_pipelinesRedisAndWritesProfilesOnce() {
+        TransactionCreatedEvent first = event("txn-a1", "user-a");
+        TransactionCreatedEvent second = event("txn-b1", "user-b");
+        TransactionCreatedEvent third = event("txn-a2", "user-a");
+
+        when(redisCacheService.getRiskContexts(List.of("user-a", "user-b", "user-a"))).thenReturn(Map.of(
+                "user-a", new RiskContext(2, 9),
+                "user-b", new RiskContext(0, 1)));
+        when(riskCalculationService.calculateRiskScore(eq(first), any(RiskContext.class))).thenReturn(0.85);
+        when(riskCalculationService.calculateRiskScore(eq(second), any(RiskContext.class))).thenReturn(0.30);
+        when(riskCalculationService.calculateRiskScore(eq(third), any(RiskContext.class))).thenReturn(0.65);
+        when(riskCalculationService.deriveRiskLevel(0.85)).thenReturn("HIGH");
+        when(riskCalculationService.deriveRiskLevel(0.30)).thenReturn("LOW");
+        when(riskCalculationService.deriveRiskLevel(0.65)).thenReturn("MEDIUM");
+
+        riskEngineService.evaluateBatch(List.of(first, second, third));
+
+        verify(redisCacheService, never()).getRiskContext(anyString());
+        verify(redisCacheService, never()).recordEvaluation(any());
+
+        ArgumentCaptor<List<RiskEvaluation>> evaluationsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisCacheService).cacheRiskScores(evaluationsCaptor.capture());
+        assertThat(evaluationsCaptor.getValue())
+                .extracting(RiskEvaluation::getTransactionId, RiskEvaluation::getRiskLevel)
+                .containsExactly(
+                        tuple("txn-a1", "HIGH"),
+                        tuple("txn-b1", "LOW"),
+                        tuple("txn-a2", "MEDIUM"));
+
+        verify(riskProfileWriter).writeAll(evaluationsCaptor.getValue());
+        verify(riskProfileWriter, never()).write(any(RiskEvaluation.class));
+
+        verify(kafkaTemplate, times(3)).send(eq("risk.scored"), anyString(), any(RiskScoredEvent.class));
+    }
+
+    @Test
+    @DisplayName("evaluateBatch: a failed send reports how many leading events were already published")
+    void evaluateBatch_failedSend_reportsCompleted() {
+        TransactionCreatedEvent first = event("txn-1", "user-a");
+        TransactionCreatedEvent second = event("txn-2", "user-b");
+        when(redisCacheService.getRiskContexts(anyList())).thenReturn(Map.of());
+        when(riskCalculationService.calculateRiskScore(any(), any(RiskContext.class))).thenReturn(0.2);
+        when(riskCalculationService.deriveRiskLevel(0.2)).thenReturn("LOW");
+        when(kafkaTemplate.send(eq("risk.scored"), anyString(), any(RiskScoredEvent.class)))
+                .thenReturn(null)
+                .thenThrow(new IllegalStateException("buffer full"));
+
+        assertThatThrownBy(() -> riskEngineService.evaluateBatch(List.of(first, second)))
+                .isInstanceOf(BatchEvaluationException.class)
+                .satisfies(e -> {
+                    BatchEvaluationException partial = (BatchEvaluationException) e;
+                    assertThat(partial.getCompleted()).isEqualTo(1);
+                    assertThat(partial.getUnpublished()).extracting(RiskEvaluation::getTransactionId)
+                            .containsExactly("txn-2");
+                });
+        verify(kafkaTemplate).send(eq("risk.scored"), eq("user-a"), any(RiskScoredEvent.class));
+    }
+
+    @Test
+    @DisplayName("publish: sends a stored evaluation and records the behaviour profile without writing Redis again")
+    void publish_sendsWithoutRedisWrites() {
+        TransactionCreatedEvent event = event("txn-1", "user-a");
+        RiskEvaluation evaluation = new RiskEvaluation("txn-1", "user-a", 0.9, "HIGH", new RiskContext(0, 1));
+
+        riskEngineService.publish(evaluation, event);
+
+        verify(kafkaTemplate).send(eq("risk.scored"), eq("user-a"), any(RiskScoredEvent.class));
+        verify(behaviourProfileStore).record(event);
+        verifyNoInteractions(redisCacheService, riskProfileWriter, riskCalculationService);
+    }
+
+    @Test
+    @DisplayName("evaluateBatch: later events see earlier ones' profile, but only published events are recorded")
+    void evaluateBatch_recordsProfilesOnlyForPublishedEvents() {
+        TransactionCreatedEvent first = event("txn-a1", "user-a");
+        TransactionCreatedEvent second = event("txn-a2", "user-a");
+        BehaviourProfile afterFirst = BehaviourProfile.EMPTY
+                .update(BigDecimal.valueOf(350), "NY", "E-Commerce", 0L);
+        when(redisCacheService.getRiskContexts(anyList())).thenReturn(Map.of());
+        when(behaviourProfileStore.get("user-a")).thenReturn(BehaviourProfile.EMPTY);
+        when(behaviourProfileStore.fold(any(), any())).thenReturn(afterFirst);
+        when(riskCalculationService.calculateRiskScore(any(), any(RiskContext.class))).thenReturn(0.2);
+        when(riskCalculationService.deriveRiskLevel(0.2)).thenReturn("LOW");
+        when(kafkaTemplate.send(eq("risk.scored"), eq("user-a"), any(RiskScoredEvent.class)))
+                .thenReturn(null)
+                .thenThrow(new IllegalStateException("buffer full"));
+
+        assertThatThrownBy(() -> riskEngineService.evaluateBatch(List.of(first, second)))
+                .isInstanceOf(BatchEvaluationException.class);
+
+        ArgumentCaptor<RiskContext> contexts = ArgumentCaptor.forClass(RiskContext.class);
+        verify(riskCalculationService, times(2)).calculateRiskScore(any(), contexts.capture());
+        assertThat(contexts.getAllValues()).extracting(RiskContext::getBehaviour)
+                .containsExactly(BehaviourProfile.EMPTY, afterFirst);
+        verify(behaviourProfileStore, times(1)).get("user-a");
+        verify(behaviourProfileStore).record(first);
+        verify(behaviourProfileStore, never()).record(second);
     }
 }
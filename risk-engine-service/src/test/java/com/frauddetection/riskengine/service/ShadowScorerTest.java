@@ -0,0 +1,186 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.riskengine.config.RiskThresholds;
+import com.frauddetection.riskengine.config.ShadowScoringProperties;
+import com.frauddetection.riskengine.service.impl.RiskCalculationServiceImpl;
+import com.frauddetection.riskengine.service.impl.ShadowScorer;
+import com.frauddetection.riskengine.service.impl.ShadowScorer.ShadowScore;
+import com.frauddetection.riskengine.service.scoring.AmountScoringFactor;
+import com.frauddetection.riskengine.service.scoring.FeatureWeightSnapshot;
+import com.frauddetection.riskengine.service.scoring.FraudHistoryScoringFactor;
+import com.frauddetection.riskengine.service.scoring.FrequencyScoringFactor;
+import com.frauddetection.riskengine.service.scoring.LocationScoringFactor;
+import com.frauddetection.riskengine.service.scoring.MerchantScoringFactor;
+import com.frauddetection.riskengine.service.scoring.RiskScoringFactor;
+import com.frauddetection.riskengine.service.scoring.ShadowScoringFactor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShadowScorerTest {
+
+    @Mock
+    private KafkaTemplate<String, ShadowScore> template;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ShadowScoringProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ShadowScoringProperties();
+        properties.setEnabled(true);
+        properties.setName("amount-v2");
+    }
+
+    private static TransactionCreatedEvent event(String transactionId) {
+        return TransactionCreatedEvent.builder()
+                .transactionId(transactionId)
+                .userId("u001")
+                .amount(BigDecimal.valueOf(15_000))
+                .location("Bangalore")
+                .merchantType("POS Purchase")
+                .build();
+    }
+
+    private static List<RiskScoringFactor> liveFactors() {
+        RiskThresholds thresholds = new RiskThresholds();
+        return List.of(
+                new AmountScoringFactor(thresholds),
+                new LocationScoringFactor(thresholds),
+                new MerchantScoringFactor(thresholds),
+                new FrequencyScoringFactor(thresholds),
+                new FraudHistoryScoringFactor(thresholds));
+    }
+
+    private double dropped() {
+        return meterRegistry.get("risk.shadow.scores").tag("result", "dropped").counter().count();
+    }
+
+    @Test
+    @DisplayName("live score is unchanged; the candidate (weights + shadow-only factor) is published beside it")
+    void calculateRiskScore_publishesCandidateNextToLive() {
+        properties.getWeights().put("HIGH_AMOUNT", 0.50);
+        ShadowScoringFactor candidateOnly = new ShadowScoringFactor() {
+            @Override
+            public double score(TransactionCreatedEvent event, RiskContext context) {
+                return 0.05;
+            }
+
+            @Override
+            public String name() {
+                return "CandidateFactor";
+            }
+        };
+        List<RiskScoringFactor> factors = new ArrayList<>(liveFactors());
+        factors.add(candidateOnly);
+        RiskCalculationServiceImpl service = new RiskCalculationServiceImpl(factors,
+                new ShadowScorer(template, properties, meterRegistry));
+
+        double live = service.calculateRiskScore(event("tx-1"), new RiskContext(0, 1));
+
+        // 0.35 amount + 0.05 location + 0.05 merchant; the shadow-only factor does not score live
+        assertThat(live).isEqualTo(new RiskCalculationServiceImpl(liveFactors())
+                .calculateRiskScore(event("tx-1"), new RiskContext(0, 1)));
+        assertThat(live).isEqualTo(0.45, offset(1e-9));
+
+        ArgumentCaptor<ShadowScore> captor = ArgumentCaptor.forClass(ShadowScore.class);
+        verify(template, timeout(2_000)).send(eq("risk.shadow-scores"), eq("tx-1"), captor.capture());
+        ShadowScore shadow = captor.getValue();
+        assertThat(shadow.candidate()).isEqualTo("amount-v2");
+        assertThat(shadow.liveScore()).isEqualTo(live);
+        assertThat(shadow.liveLevel()).isEqualTo("LOW");
+        assertThat(shadow.candidateScore()).isEqualTo(0.65, offset(1e-9));
+        assertThat(shadow.candidateLevel()).isEqualTo("MEDIUM");
+        assertThat(shadow.delta()).isEqualTo(0.20, offset(1e-9));
+    }
+
+    @Test
+    @DisplayName("with the shadow queue full, further work is dropped and submit does not wait")
+    void submit_queueFull_dropsWithoutBlocking() throws Exception {
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        ShadowScorer shadowScorer = new ShadowScorer(template, properties, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // First task occupies the only thread, second fills the queue, third is dropped
+        shadowScorer.submit(event("tx-1"), 0.1, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 0.1;
+        });
+        shadowScorer.submit(event("tx-2"), 0.1, () -> 0.1);
+        shadowScorer.submit(event("tx-3"), 0.1, () -> 0.1);
+
+        assertThat(dropped()).isEqualTo(1.0);
+        release.countDown();
+        verify(template, timeout(2_000).times(2)).send(eq("risk.shadow-scores"), anyString(), any(ShadowScore.class));
+        verify(template, never()).send(anyString(), eq("tx-3"), any(ShadowScore.class));
+    }
+
+    @Test
+    @DisplayName("sample-rate 0 shadows nothing")
+    void submit_sampleRateZero_skips() {
+        properties.setSampleRate(0.0);
+        ShadowScorer shadowScorer = new ShadowScorer(template, properties, meterRegistry);
+
+        shadowScorer.submit(event("tx-1"), 0.1, () -> 0.2);
+
+        verifyNoInteractions(template);
+        assertThat(meterRegistry.get("risk.shadow.submit").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("candidate weights override the live snapshot and keep the rest of it")
+    void candidateWeights_overlayLiveWeights() {
+        properties.getWeights().put("HIGH_AMOUNT", 0.50);
+        ShadowScorer shadowScorer = new ShadowScorer(template, properties, meterRegistry);
+        FeatureWeightSnapshot live = new FeatureWeightSnapshot(7,
+                Map.of("HIGH_AMOUNT", 0.30, "UNKNOWN_LOCATION", 0.20), Instant.EPOCH);
+
+        FeatureWeightSnapshot candidate = shadowScorer.candidateWeights(live);
+
+        assertThat(candidate.version()).isEqualTo(7);
+        assertThat(candidate.weights()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("HIGH_AMOUNT", 0.50, "UNKNOWN_LOCATION", 0.20));
+    }
+
+    @Test
+    @DisplayName("unknown feature names or weights outside [0, 1] are rejected at startup")
+    void invalidWeights_areRejected() {
+        properties.getWeights().put("VPN_DETECTED", 0.1);
+        assertThatThrownBy(() -> new ShadowScorer(template, properties, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("VPN_DETECTED");
+
+        properties.getWeights().clear();
+        properties.getWeights().put("HIGH_AMOUNT", 1.5);
+        assertThatThrownBy(() -> new ShadowScorer(template, properties, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HIGH_AMOUNT");
+    }
+}
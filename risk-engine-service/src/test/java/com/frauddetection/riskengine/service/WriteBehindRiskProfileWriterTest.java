@@ -0,0 +1,125 @@
+package com.frauddetection.riskengine.service;
+
+import com.frauddetection.riskengine.config.WriteBehindProperties;
+import com.frauddetection.riskengine.entity.RiskProfile;
+import com.frauddetection.riskengine.repository.RiskProfileUpsertRepository;
+import com.frauddetection.riskengine.service.impl.WriteBehindRiskProfileWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The background flusher is not started here — flushes are driven explicitly
+ * (or by backpressure) so every assertion is deterministic.
+ */
+@ExtendWith(MockitoExtension.class)
+class WriteBehindRiskProfileWriterTest {
+
+    @Mock
+    private RiskProfileUpsertRepository upsertRepository;
+
+    private WriteBehindProperties properties;
+    private WriteBehindRiskProfileWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        writer = new WriteBehindRiskProfileWriter(upsertRepository, properties);
+    }
+
+    private RiskEvaluation evaluation(String txnId, String userId, double score, String level) {
+        return new RiskEvaluation(txnId, userId, score, level, new RiskContext(1, 4));
+    }
+
+    @Test
+    @DisplayName("write: repeated evaluations of one user are coalesced into its latest state")
+    @SuppressWarnings("unchecked")
+    void write_coalescesPerUser() {
+        writer.write(evaluation("txn-a1", "user-a", 0.85, "HIGH"));
+        writer.write(evaluation("txn-b1", "user-b", 0.30, "LOW"));
+        writer.writeAll(List.of(evaluation("txn-a2", "user-a", 0.65, "MEDIUM")));
+
+        verifyNoInteractions(upsertRepository);
+        assertThat(writer.pendingCount()).isEqualTo(2);
+
+        assertThat(writer.flush()).isEqualTo(2);
+
+        ArgumentCaptor<List<RiskProfile>> profilesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(upsertRepository).upsertAll(profilesCaptor.capture(), eq(properties.getFlushSize()));
+        assertThat(profilesCaptor.getValue())
+                .extracting(RiskProfile::getUserId, RiskProfile::getRiskLevel, RiskProfile::getRiskScore)
+                .containsExactlyInAnyOrder(
+                        tuple("user-a", "MEDIUM", 0.65),
+                        tuple("user-b", "LOW", 0.30));
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("flush: pending users are written in JDBC batches of flush-size")
+    void flush_splitsIntoBatches() {
+        properties.setFlushSize(2);
+        for (int i = 0; i < 5; i++) {
+            writer.write(evaluation("txn-" + i, "user-" + i, 0.1, "LOW"));
+        }
+
+        assertThat(writer.flush()).isEqualTo(5);
+
+        verify(upsertRepository, times(3)).upsertAll(anyList(), eq(2));
+    }
+
+    @Test
+    @DisplayName("write: a full buffer is flushed on the caller's thread before admitting a new user")
+    void write_fullBuffer_flushesInline() {
+        properties.setMaxPendingUsers(2);
+        writer.write(evaluation("txn-a", "user-a", 0.1, "LOW"));
+        writer.write(evaluation("txn-b", "user-b", 0.1, "LOW"));
+        // an already-pending user is coalesced without triggering a flush
+        writer.write(evaluation("txn-b2", "user-b", 0.2, "LOW"));
+        verifyNoInteractions(upsertRepository);
+
+        writer.write(evaluation("txn-c", "user-c", 0.1, "LOW"));
+
+        verify(upsertRepository).upsertAll(argThat(profiles -> profiles.size() == 2), anyInt());
+        assertThat(writer.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("flush: failed batch is re-queued without overwriting a newer state")
+    void flush_failure_requeuesUnlessNewer() {
+        writer.write(evaluation("txn-a1", "user-a", 0.85, "HIGH"));
+        writer.write(evaluation("txn-b1", "user-b", 0.30, "LOW"));
+        doAnswer(invocation -> {
+            writer.write(evaluation("txn-a2", "user-a", 0.40, "MEDIUM"));
+            throw new DataAccessResourceFailureException("risk_db unavailable");
+        }).when(upsertRepository).upsertAll(anyList(), anyInt());
+
+        assertThatThrownBy(writer::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(writer.pendingCount()).isEqualTo(2);
+
+        reset(upsertRepository);
+        writer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RiskProfile>> profilesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(upsertRepository).upsertAll(profilesCaptor.capture(), anyInt());
+        assertThat(profilesCaptor.getValue())
+                .extracting(RiskProfile::getUserId, RiskProfile::getRiskLevel)
+                .containsExactlyInAnyOrder(
+                        tuple("user-a", "MEDIUM"),
+                        tuple("user-b", "LOW"));
+    }
+}
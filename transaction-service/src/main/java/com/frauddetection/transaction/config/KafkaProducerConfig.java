@@ -1,6 +1,11 @@
 package com.frauddetection.transaction.config;
 
 import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.common.kafka.KafkaSendTracker;
+import com.frauddetection.common.kafka.ProducerProfile;
+import com.frauddetection.common.kafka.TrackingKafkaTemplate;
+import com.frauddetection.common.serialization.EventSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,7 +14,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,21 +24,46 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    /** Topics this service produces in the binary event format instead of JSON. */
+    @Value("${kafka.serialization.binary-topics:}")
+    private String binaryTopics;
+
+    /** ProducerProfile name (low-latency | high-throughput); the three settings below override it. */
+    @Value("${kafka.producer.profile:low-latency}")
+    private String producerProfile;
+
+    @Value("${kafka.producer.linger-ms:#{null}}")
+    private Integer lingerMs;
+
+    @Value("${kafka.producer.batch-size-bytes:#{null}}")
+    private Integer batchSizeBytes;
+
+    @Value("${kafka.producer.compression-type:#{null}}")
+    private String compressionType;
+
     @Bean
     public ProducerFactory<String, TransactionCreatedEvent> transactionProducerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        config.put(EventSerializer.BINARY_TOPICS, binaryTopics);
         // Reliability settings
         config.put(ProducerConfig.ACKS_CONFIG, "all");
         config.put(ProducerConfig.RETRIES_CONFIG, 3);
         config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        // Batching and compression
+        ProducerProfile.fromName(producerProfile).applyTo(config, lingerMs, batchSizeBytes, compressionType);
         return new DefaultKafkaProducerFactory<>(config);
     }
 
     @Bean
-    public KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(transactionProducerFactory());
+    public KafkaSendTracker kafkaSendTracker(MeterRegistry meterRegistry) {
+        return new KafkaSendTracker(meterRegistry);
+    }
+
+    @Bean
+    public KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate(KafkaSendTracker kafkaSendTracker) {
+        return new TrackingKafkaTemplate<>(transactionProducerFactory(), kafkaSendTracker);
     }
 }
@@ -0,0 +1,43 @@
+package com.frauddetection.transaction.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Producer used only by OutboxRelay. Payloads are already JSON, so values go
+ * out through a plain StringSerializer; throughput settings (linger, batch
+ * size, compression) are tuned for large relay batches rather than the
+ * single-send latency the HTTP path needs.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "transaction.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Bean
+    public ProducerFactory<String, String> outboxProducerFactory(OutboxProperties properties) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        // Reliability settings
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        // Throughput settings
+        config.put(ProducerConfig.LINGER_MS_CONFIG, properties.getProducer().getLingerMs());
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, properties.getProducer().getBatchSizeBytes());
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.getProducer().getCompressionType());
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+}
@@ -0,0 +1,42 @@
+package com.frauddetection.transaction.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Transactional outbox settings.
+ *
+ * <pre>
+ * transaction:
+ *   outbox:
+ *     enabled: true
+ *     poll-interval-ms: 100     # relay wake-up when the table was drained
+ *     batch-size: 1000          # rows locked, sent and deleted per relay transaction
+ *     send-timeout: 30s         # max wait for broker acks before the batch is retried
+ *     producer:
+ *       linger-ms: 20
+ *       batch-size-bytes: 262144
+ *       compression-type: lz4
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "transaction.outbox")
+@Data
+public class OutboxProperties {
+
+    private boolean enabled = false;
+    private long pollIntervalMs = 100;
+    private int batchSize = 1000;
+    private Duration sendTimeout = Duration.ofSeconds(30);
+    private Producer producer = new Producer();
+
+    @Data
+    public static class Producer {
+        private int lingerMs = 20;
+        private int batchSizeBytes = 256 * 1024;
+        private String compressionType = "lz4";
+    }
+}
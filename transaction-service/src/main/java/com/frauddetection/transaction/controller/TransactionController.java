@@ -1,7 +1,12 @@
 package com.frauddetection.transaction.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frauddetection.common.dto.BulkTransactionResult;
 import com.frauddetection.common.dto.TransactionDTO;
+import com.frauddetection.transaction.service.BulkTransactionService;
 import com.frauddetection.transaction.service.TransactionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -10,24 +15,105 @@ import org.springframework.web.bind.annotation.*;
 
 import org.springframework.data.domain.Page;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/transactions")
 @RequiredArgsConstructor
 public class TransactionController {
 
+    static final String NDJSON = "application/x-ndjson";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final ObjectMapper RESULT_WRITER = new ObjectMapper();
+
     private final TransactionService transactionService; // DIP: interface, not concrete class
+    private final BulkTransactionService bulkTransactionService;
 
     /**
      * Submit a new transaction for fraud screening.
      * POST /api/transactions
+     *
+     * With {@code Prefer: respond-async} (RFC 7240; other preferences such as
+     * wait=5 may sit beside it) the answer is 202 instead of 201: the body
+     * carries only the transactionId and Location points at the GET endpoint to
+     * poll for the screening result. The server-side work is identical — both
+     * return once the row (and, in outbox mode, its event) is committed, and
+     * fraud screening always happens asynchronously downstream.
      */
     @PostMapping
-    public ResponseEntity<TransactionDTO> createTransaction(
+    public ResponseEntity<?> createTransaction(
+            @RequestHeader(name = "Prefer", required = false) List<String> prefer,
             @Valid @RequestBody TransactionDTO request) {
         TransactionDTO created = transactionService.createTransaction(request);
+        if (prefersRespondAsync(prefer)) {
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/transactions/" + created.getTransactionId()))
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(Map.of("transactionId", created.getTransactionId()));
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /** True if any Prefer header value names respond-async, ignoring parameters and other preferences. */
+    static boolean prefersRespondAsync(List<String> prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String value : prefer) {
+            for (String preference : value.split(",")) {
+                String token = preference.split("[;=]", 2)[0].trim();
+                if (token.equalsIgnoreCase(RESPOND_ASYNC)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bulk ingestion of an NDJSON file, one TransactionDTO per line.
+     * POST /api/transactions/bulk
+     *
+     * Neither body is buffered: rows are read as they arrive and one
+     * BulkTransactionResult line per input row is written back (and flushed)
+     * as each chunk commits. Row-level failures do not fail the request.
+     */
+    @PostMapping(path = "/bulk", consumes = NDJSON)
+    public void bulkCreateTransactions(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        try {
+            bulkTransactionService.ingest(in, results -> {
+                try {
+                    for (BulkTransactionResult result : results) {
+                        out.write(RESULT_WRITER.writeValueAsString(result));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // client went away
+        }
+        out.flush();
+    }
+
     /**
      * Retrieve a transaction by its unique transactionId.
      * GET /api/transactions/{id}
@@ -0,0 +1,51 @@
+package com.frauddetection.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity — one not-yet-published Kafka message.
+ *
+ * Written in the same DB transaction as the Transaction it describes, so the
+ * event exists if and only if the transaction was committed. OutboxRelay
+ * deletes the row once the broker has acknowledged the send.
+ *
+ * payload is the JSON the Kafka JsonSerializer would have produced; the relay
+ * ships it as-is without re-binding it to an object.
+ */
+@Entity
+@Table(name = "transaction_outbox")
+@Getter
+@Builder
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED) // Hibernate only
+@lombok.AllArgsConstructor(access = lombok.AccessLevel.PRIVATE) // Builder only
+@ToString(exclude = "payload")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private String topic;
+
+    @Column(nullable = false, updatable = false)
+    private String messageKey;
+
+    /** Fully-qualified class name, sent as the __TypeId__ header. */
+    @Column(nullable = false, updatable = false)
+    private String payloadType;
+
+    @Column(nullable = false, updatable = false, length = 4000)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
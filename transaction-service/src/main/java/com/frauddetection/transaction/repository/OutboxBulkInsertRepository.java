@@ -0,0 +1,40 @@
+package com.frauddetection.transaction.repository;
+
+import com.frauddetection.transaction.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JDBC batch inserts of transaction_outbox rows for bulk ingestion.
+ *
+ * OutboxEvent's IDENTITY id stops Hibernate from batching inserts, so saveAll
+ * would cost one INSERT … RETURNING round trip per row. Here the id is left to
+ * the column's sequence default and a chunk's rows go to PostgreSQL as one
+ * batch, joining the caller's transaction like TransactionBulkInsertRepository.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxBulkInsertRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO transaction_outbox (topic, message_key, payload_type, payload, created_at)
+            VALUES (?, ?, ?, ?, NOW())
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getTopic());
+            ps.setString(2, event.getMessageKey());
+            ps.setString(3, event.getPayloadType());
+            ps.setString(4, event.getPayload());
+        });
+    }
+}
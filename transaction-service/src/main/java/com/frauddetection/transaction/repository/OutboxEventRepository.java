@@ -0,0 +1,22 @@
+package com.frauddetection.transaction.repository;
+
+import com.frauddetection.transaction.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending rows, row-locked for the caller's transaction. SKIP LOCKED
+     * lets several relay instances drain the table concurrently without ever
+     * picking up the same row, at the cost of per-key ordering across relays.
+     */
+    @Query(value = "SELECT * FROM transaction_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
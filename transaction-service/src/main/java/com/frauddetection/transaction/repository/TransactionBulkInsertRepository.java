@@ -0,0 +1,68 @@
+package com.frauddetection.transaction.repository;
+
+import com.frauddetection.transaction.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for bulk ingestion — one statement per row, sent to
+ * PostgreSQL as a single batch, bypassing the persistence context.
+ *
+ * ON CONFLICT (transaction_id) DO NOTHING makes re-sending a file with the same
+ * transactionIds a no-op; the per-row update count tells which rows were new.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionBulkInsertRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO transactions (transaction_id, user_id, user_name, amount, location, merchant_type, status, timestamp)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (transaction_id) DO NOTHING
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM transactions WHERE transaction_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return for each input row, whether it was inserted (false = duplicate transactionId)
+     */
+    public boolean[] insertAll(List<Transaction> transactions) {
+        boolean[] inserted = new boolean[transactions.size()];
+        if (transactions.isEmpty()) {
+            return inserted;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, transactions, transactions.size(), (ps, txn) -> {
+            ps.setString(1, txn.getTransactionId());
+            ps.setString(2, txn.getUserId());
+            ps.setString(3, txn.getUserName());
+            ps.setBigDecimal(4, txn.getAmount());
+            ps.setString(5, txn.getLocation());
+            ps.setString(6, txn.getMerchantType());
+            ps.setString(7, txn.getStatus().name());
+            ps.setTimestamp(8, Timestamp.valueOf(txn.getTimestamp()));
+        });
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                inserted[i++] = count > 0;
+            }
+        }
+        return inserted;
+    }
+
+    /** Removes rows inserted earlier in the same transaction, e.g. whose event could not be published. */
+    public void deleteAll(Collection<String> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, transactionIds, transactionIds.size(),
+                (ps, transactionId) -> ps.setString(1, transactionId));
+    }
+}
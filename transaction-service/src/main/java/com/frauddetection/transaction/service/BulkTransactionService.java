@@ -0,0 +1,26 @@
+package com.frauddetection.transaction.service;
+
+import com.frauddetection.common.dto.BulkTransactionResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming bulk ingestion for partner end-of-day files (NDJSON, one
+ * TransactionDTO per line).
+ */
+public interface BulkTransactionService {
+
+    /**
+     * Reads the input line by line and processes it in fixed-size chunks, so
+     * memory use does not grow with file size.
+     *
+     * @param ndjson       one JSON TransactionDTO per line; blank lines are skipped
+     * @param chunkResults receives the results of every chunk in input order, as soon
+     *                     as the chunk is committed
+     * @return total number of rows read
+     */
+    long ingest(BufferedReader ndjson, Consumer<List<BulkTransactionResult>> chunkResults) throws IOException;
+}
@@ -1,6 +1,17 @@
 package com.frauddetection.transaction.service;
 
+import java.util.Map;
+
 public interface RateLimitService {
 
     void checkRateLimit(String userId);
+
+    /**
+     * Records a batch of transactions per user in one pipelined round trip.
+     *
+     * @param txnCountsByUser how many new transactions each user submits
+     * @return per user, how many of those transactions (in submission order)
+     *         still fit under the per-minute limit; the rest are over it
+     */
+    Map<String, Integer> checkRateLimits(Map<String, Integer> txnCountsByUser);
 }
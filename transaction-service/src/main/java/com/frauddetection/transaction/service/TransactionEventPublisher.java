@@ -0,0 +1,30 @@
+package com.frauddetection.transaction.service;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands a TransactionCreatedEvent over for delivery to `transactions.created`.
+ *
+ * Two implementations, selected by transaction.outbox.enabled:
+ * - DirectTransactionEventPublisher  — KafkaTemplate.send on the request thread (default)
+ * - OutboxTransactionEventPublisher  — INSERT into transaction_outbox inside the
+ *                                      caller's DB transaction; OutboxRelay ships it
+ */
+public interface TransactionEventPublisher {
+
+    void publish(TransactionCreatedEvent event);
+
+    /**
+     * Bulk ingestion path — implementations hand the whole chunk over at once.
+     *
+     * @return error message by transactionId for the events that could not be
+     *         delivered; empty when every event was handed over
+     */
+    default Map<String, String> publishAll(List<TransactionCreatedEvent> events) {
+        events.forEach(this::publish);
+        return Map.of();
+    }
+}
@@ -7,8 +7,6 @@ import com.frauddetection.transaction.entity.Transaction;
 import com.frauddetection.transaction.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,13 +36,10 @@ import org.springframework.data.domain.Pageable;
 public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
-    private final KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate;
+    private final TransactionEventPublisher eventPublisher;
     private final RateLimitService rateLimitService;
     private final TransactionMapper mapper;
 
-    @Value("${kafka.topics.transactions-created:transactions.created}")
-    private String transactionsTopic;
-
     /**
      * Create and publish a new transaction.
      * Delegates rate-limiting to RateLimitService and mapping to TransactionMapper.
@@ -59,10 +54,9 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction saved = transactionRepository.save(mapper.toEntity(request));
         log.info("Transaction saved: id={}, userId={}", saved.getTransactionId(), saved.getUserId());
 
-        // 3. Publish event
+        // 3. Publish event (direct send, or outbox row in this same DB transaction)
         TransactionCreatedEvent event = mapper.toEvent(saved);
-        kafkaTemplate.send(transactionsTopic, saved.getUserId(), event);
-        log.info("Published TransactionCreatedEvent: txnId={}", saved.getTransactionId());
+        eventPublisher.publish(event);
 
         return mapper.toDTO(saved);
     }
@@ -0,0 +1,239 @@
+package com.frauddetection.transaction.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frauddetection.common.dto.BulkTransactionResult;
+import com.frauddetection.common.dto.TransactionDTO;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.transaction.entity.Transaction;
+import com.frauddetection.transaction.repository.TransactionBulkInsertRepository;
+import com.frauddetection.transaction.service.BulkTransactionService;
+import com.frauddetection.transaction.service.RateLimitService;
+import com.frauddetection.transaction.service.TransactionEventPublisher;
+import com.frauddetection.transaction.service.TransactionMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Bulk ingestion, one chunk (transaction.bulk.chunk-size rows) at a time:
+ *
+ * 1. parse + validate every row against TransactionDTO's constraints
+ * 2. rate-check all users of the chunk in one pipelined Redis round trip
+ * 3. JDBC batch insert of the admitted rows (duplicates skipped by transactionId)
+ * 4. publish the TransactionCreatedEvents of the inserted rows as one batch;
+ *    rows whose event was not delivered are deleted again and reported REJECTED
+ *
+ * Steps 3 and 4 share one DB transaction, so with the outbox enabled events
+ * and rows commit together. A failing chunk — including a failed rate check —
+ * is reported row by row and the stream continues with the next chunk.
+ */
+@Service
+@Slf4j
+public class BulkTransactionServiceImpl implements BulkTransactionService {
+
+    private static final ObjectMapper OBJECT_MAPPER = JacksonUtils.enhancedObjectMapper();
+
+    private final RateLimitService rateLimitService;
+    private final TransactionBulkInsertRepository bulkInsertRepository;
+    private final TransactionEventPublisher eventPublisher;
+    private final TransactionMapper mapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkTransactionServiceImpl(RateLimitService rateLimitService,
+                                      TransactionBulkInsertRepository bulkInsertRepository,
+                                      TransactionEventPublisher eventPublisher,
+                                      TransactionMapper mapper,
+                                      Validator validator,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${transaction.bulk.chunk-size:1000}") int chunkSize) {
+        this.rateLimitService = rateLimitService;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.eventPublisher = eventPublisher;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public long ingest(BufferedReader ndjson, Consumer<List<BulkTransactionResult>> chunkResults) throws IOException {
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long lineNo = 0;
+        long rows = 0;
+        String line;
+        while ((line = ndjson.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNo, line));
+            rows++;
+            if (chunk.size() == chunkSize) {
+                chunkResults.accept(process(chunk));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkResults.accept(process(chunk));
+        }
+        log.info("Bulk ingestion finished: rows={}", rows);
+        return rows;
+    }
+
+    private Row parse(long lineNo, String line) {
+        TransactionDTO dto;
+        try {
+            dto = OBJECT_MAPPER.readValue(line, TransactionDTO.class);
+        } catch (JsonProcessingException e) {
+            return Row.failed(lineNo, BulkTransactionResult.rejected(lineNo, "Malformed JSON: " + e.getOriginalMessage()));
+        }
+        String violation = validator.validate(dto).stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(BulkTransactionServiceImpl::describe)
+                .findFirst()
+                .orElse(null);
+        if (violation != null) {
+            return Row.failed(lineNo, BulkTransactionResult.rejected(lineNo, violation));
+        }
+        return new Row(lineNo, dto);
+    }
+
+    private List<BulkTransactionResult> process(List<Row> chunk) {
+        List<Row> admitted = new ArrayList<>(chunk.size());
+        try {
+            // 1. Rate-check every user of the chunk in one round trip
+            Map<String, Integer> submitted = new LinkedHashMap<>();
+            for (Row row : chunk) {
+                if (row.result == null) {
+                    submitted.merge(row.dto.getUserId(), 1, Integer::sum);
+                }
+            }
+            Map<String, Integer> remaining = new HashMap<>(rateLimitService.checkRateLimits(submitted));
+
+            // 2. Build entities for admitted rows, in input order
+            LocalDateTime now = LocalDateTime.now();
+            List<Transaction> transactions = new ArrayList<>(chunk.size());
+            for (Row row : chunk) {
+                if (row.result != null) {
+                    continue;
+                }
+                if (remaining.merge(row.dto.getUserId(), -1, Integer::sum) < 0) {
+                    row.result = BulkTransactionResult.rateLimited(row.line);
+                    continue;
+                }
+                admitted.add(row);
+                transactions.add(toEntity(row.dto, now));
+            }
+
+            // 3 + 4. Insert and publish in one DB transaction
+            if (!transactions.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> insertAndPublish(admitted, transactions));
+            }
+        } catch (RuntimeException e) {
+            log.error("Bulk chunk failed: rows={}, error={}", chunk.size(), e.getMessage(), e);
+            String error = "Chunk not stored: " + e.getMessage();
+            // Admitted rows may already carry an outcome from the rolled-back transaction;
+            // rows without one never got past the rate check
+            admitted.forEach(row -> row.result = BulkTransactionResult.rejected(row.line, error));
+            for (Row row : chunk) {
+                if (row.result == null) {
+                    row.result = BulkTransactionResult.rejected(row.line, error);
+                }
+            }
+        }
+        return results(chunk);
+    }
+
+    private void insertAndPublish(List<Row> admitted, List<Transaction> transactions) {
+        boolean[] inserted = bulkInsertRepository.insertAll(transactions);
+        List<TransactionCreatedEvent> events = new ArrayList<>(transactions.size());
+        for (int i = 0; i < admitted.size(); i++) {
+            Transaction txn = transactions.get(i);
+            if (inserted[i]) {
+                events.add(mapper.toEvent(txn));
+                admitted.get(i).result = BulkTransactionResult.accepted(admitted.get(i).line, txn.getTransactionId());
+            } else {
+                admitted.get(i).result = BulkTransactionResult.duplicate(admitted.get(i).line, txn.getTransactionId());
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        // Rows whose event did not reach the broker are taken back out, so a replay
+        // of the file stores and publishes them instead of reporting DUPLICATE
+        Map<String, String> failed = eventPublisher.publishAll(events);
+        if (!failed.isEmpty()) {
+            bulkInsertRepository.deleteAll(failed.keySet());
+            for (Row row : admitted) {
+                String error = failed.get(row.result.getTransactionId());
+                if (error != null) {
+                    row.result = BulkTransactionResult.rejected(row.line, "Event not published: " + error);
+                }
+            }
+        }
+    }
+
+    private static List<BulkTransactionResult> results(List<Row> chunk) {
+        List<BulkTransactionResult> results = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            results.add(row.result);
+        }
+        return results;
+    }
+
+    private static Transaction toEntity(TransactionDTO dto, LocalDateTime now) {
+        return Transaction.builder()
+                .transactionId(dto.getTransactionId() != null ? dto.getTransactionId() : UUID.randomUUID().toString())
+                .userId(dto.getUserId())
+                .userName(dto.getUserName())
+                .amount(dto.getAmount())
+                .location(dto.getLocation())
+                .merchantType(dto.getMerchantType())
+                .status(Transaction.TransactionStatus.PENDING)
+                .timestamp(now)
+                .build();
+    }
+
+    /** Same "field: message" format as GlobalExceptionHandler's 400 responses. */
+    private static String describe(ConstraintViolation<TransactionDTO> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    /** One input line; result is set once its outcome is known. */
+    private static final class Row {
+        private final long line;
+        private final TransactionDTO dto;
+        private BulkTransactionResult result;
+
+        private Row(long line, TransactionDTO dto) {
+            this.line = line;
+            this.dto = dto;
+        }
+
+        private static Row failed(long line, BulkTransactionResult result) {
+            Row row = new Row(line, null);
+            row.result = result;
+            return row;
+        }
+    }
+}
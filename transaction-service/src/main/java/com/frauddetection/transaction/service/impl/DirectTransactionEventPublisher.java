@@ -0,0 +1,86 @@
+package com.frauddetection.transaction.service.impl;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.transaction.service.TransactionEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes straight to Kafka, keyed by userId so all of a user's events land
+ * on the same partition.
+ */
+@Component
+@ConditionalOnProperty(prefix = "transaction.outbox", name = "enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class DirectTransactionEventPublisher implements TransactionEventPublisher {
+
+    private final KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate;
+
+    @Value("${kafka.topics.transactions-created:transactions.created}")
+    private String transactionsTopic;
+
+    /** Max wait for the acks of one bulk chunk; sends still pending after it count as failed. */
+    @Value("${transaction.bulk.send-timeout:30s}")
+    private Duration bulkSendTimeout;
+
+    @Override
+    public void publish(TransactionCreatedEvent event) {
+        kafkaTemplate.send(transactionsTopic, event.getUserId(), event);
+        log.info("Published TransactionCreatedEvent: txnId={}", event.getTransactionId());
+    }
+
+    /**
+     * Sends the whole chunk back-to-back so the producer packs it into full
+     * batches, flushes once, then waits for every ack so the caller's
+     * transaction only commits knowing which records reached the broker.
+     */
+    @Override
+    public Map<String, String> publishAll(List<TransactionCreatedEvent> events) {
+        List<CompletableFuture<SendResult<String, TransactionCreatedEvent>>> sends = new ArrayList<>(events.size());
+        for (TransactionCreatedEvent event : events) {
+            sends.add(kafkaTemplate.send(transactionsTopic, event.getUserId(), event));
+        }
+        kafkaTemplate.flush();
+
+        long deadline = System.nanoTime() + bulkSendTimeout.toNanos();
+        Map<String, String> failed = new LinkedHashMap<>();
+        for (int i = 0; i < sends.size(); i++) {
+            String transactionId = events.get(i).getTransactionId();
+            try {
+                sends.get(i).get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int j = i; j < events.size(); j++) {
+                    failed.put(events.get(j).getTransactionId(), "Interrupted while waiting for ack");
+                }
+                break;
+            } catch (ExecutionException e) {
+                failed.put(transactionId, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            } catch (TimeoutException e) {
+                failed.put(transactionId, "Not acknowledged within " + bulkSendTimeout);
+            }
+        }
+        if (failed.isEmpty()) {
+            log.info("Published {} TransactionCreatedEvents", events.size());
+        } else {
+            log.warn("Published {} of {} TransactionCreatedEvents", events.size() - failed.size(), events.size());
+        }
+        return failed;
+    }
+}
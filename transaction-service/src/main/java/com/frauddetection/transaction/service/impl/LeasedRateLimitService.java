@@ -0,0 +1,215 @@
+package com.frauddetection.transaction.service.impl;
+
+import com.frauddetection.common.exception.RateLimitExceededException;
+import com.frauddetection.transaction.service.RateLimitService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter that admits most transactions from a local token lease
+ * (transaction.rate-limit.local.enabled=true).
+ *
+ * Tokens are leased from Redis in blocks of lease-size by scripts/rate-lease.lua,
+ * which hands out at most max-per-minute tokens per user per fixed one-minute
+ * window across all instances. Admission takes a token from the in-process
+ * RateLimitLeaseTable; the shared counter is only touched when the lease runs
+ * dry. Once Redis grants less than requested the window is used up
+ * cluster-wide, and further requests are rejected locally until it ends — a
+ * hot abusive user costs no Redis calls at all.
+ *
+ * Because the window is fixed, not sliding, a user can be admitted
+ * max-per-minute times at the end of one window and again at the start of the
+ * next: up to 2 × max-per-minute in a rolling 60 seconds, the boundary burst
+ * that RateLimitServiceImpl's sliding window does not allow.
+ *
+ * Every admitted transaction is recorded in user:txn_velocity:{userId} before
+ * checkRateLimit / checkRateLimits returns, so risk-engine's velocity windows
+ * already count it when its event is scored. A lease refill records in the
+ * same script call; a transaction admitted from the local lease costs one
+ * velocity-record-batch.lua call, and a bulk chunk pipelines all of them into
+ * the round trip of its lease calls.
+ */
+@Service
+@ConditionalOnProperty(prefix = "transaction.rate-limit.local", name = "enabled", havingValue = "true")
+@Slf4j
+public class LeasedRateLimitService implements RateLimitService {
+
+    private static final String LEASE_KEY_PREFIX = "user:rate_lease:";
+    private static final String VELOCITY_KEY_PREFIX = "user:txn_velocity:";
+    private static final Duration RATE_LIMIT_WINDOW = Duration.ofSeconds(60);
+    private static final Duration RETENTION = Duration.ofHours(24);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rate-lease.lua"), List.class);
+    private static final RedisScript<Long> RECORD_BATCH_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/velocity-record-batch.lua"), Long.class);
+    private static final RedisSerializer<Long> COUNT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    /** Tokens granted by rate-lease.lua and how long they stay valid. */
+    private record Grant(int tokens, long ttlNanos) {
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final int maxPerMinute;
+    private final int leaseSize;
+    private final RateLimitLeaseTable leases;
+
+    public LeasedRateLimitService(RedisTemplate<String, Object> redisTemplate,
+                                  @Value("${transaction.rate-limit.max-per-minute:10}") int maxPerMinute,
+                                  @Value("${transaction.rate-limit.local.lease-size:5}") int leaseSize,
+                                  @Value("${transaction.rate-limit.local.slots:65536}") int slots) {
+        this.redisTemplate = redisTemplate;
+        this.maxPerMinute = maxPerMinute;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.leases = new RateLimitLeaseTable(slots);
+    }
+
+    @Override
+    public void checkRateLimit(String userId) {
+        long now = System.nanoTime();
+        if (leases.take(userId, 1, now) == 1) {
+            redisTemplate.execute(RECORD_BATCH_SCRIPT, RedisSerializer.string(), COUNT_SERIALIZER,
+                    List.of(VELOCITY_KEY_PREFIX + userId), recordArgs(1));
+            return;
+        }
+        // The lease call records the transaction it admits
+        if (leases.isExhausted(userId, now) || lease(userId, now) == 0) {
+            log.warn("Rate limit exceeded: userId={}, max={}", userId, maxPerMinute);
+            throw new RateLimitExceededException(userId, maxPerMinute);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> checkRateLimits(Map<String, Integer> txnCountsByUser) {
+        if (txnCountsByUser.isEmpty()) {
+            return Map.of();
+        }
+        long now = System.nanoTime();
+        Map<String, Integer> allowed = new HashMap<>(txnCountsByUser.size() * 2);
+        List<String> needLease = new ArrayList<>();
+        List<String> served = new ArrayList<>();
+        txnCountsByUser.forEach((userId, submitted) -> {
+            int taken = leases.take(userId, submitted, now);
+            allowed.put(userId, taken);
+            if (taken < submitted && !leases.isExhausted(userId, now)) {
+                needLease.add(userId);
+            } else if (taken > 0) {
+                served.add(userId);
+            }
+        });
+
+        if (!needLease.isEmpty() || !served.isEmpty()) {
+            // One lease call per user still short of tokens (recording everything that user is
+            // admitted) and one velocity record per user served locally, all in one round trip
+            List<Object> replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (String userId : needLease) {
+                        int taken = allowed.get(userId);
+                        int need = txnCountsByUser.get(userId) - taken;
+                        ops.execute(LEASE_SCRIPT, RedisSerializer.string(), COUNT_SERIALIZER,
+                                leaseKeys(userId), leaseArgs(Math.max(need, leaseSize), need, taken));
+                    }
+                    for (String userId : served) {
+                        ops.execute(RECORD_BATCH_SCRIPT, RedisSerializer.string(), COUNT_SERIALIZER,
+                                List.of(VELOCITY_KEY_PREFIX + userId), recordArgs(allowed.get(userId)));
+                    }
+                    return null;
+                }
+            });
+            for (int i = 0; i < needLease.size(); i++) {
+                String userId = needLease.get(i);
+                int need = txnCountsByUser.get(userId) - allowed.get(userId);
+                int used = store(userId, Math.max(need, leaseSize), need, toGrant(replies.get(i)), now);
+                allowed.merge(userId, used, Integer::sum);
+            }
+        }
+
+        allowed.forEach((userId, fit) -> {
+            int submitted = txnCountsByUser.get(userId);
+            if (fit < submitted) {
+                log.warn("Rate limit exceeded in bulk: userId={}, submitted={}, allowed={}", userId, submitted, fit);
+            }
+        });
+        return allowed;
+    }
+
+    /** Leases lease-size tokens for one transaction, records it if admitted and keeps the rest. */
+    private int lease(String userId, long now) {
+        List<?> reply = redisTemplate.execute(LEASE_SCRIPT, RedisSerializer.string(), COUNT_SERIALIZER,
+                leaseKeys(userId), leaseArgs(leaseSize, 1, 0));
+        return store(userId, leaseSize, 1, toGrant(reply), now);
+    }
+
+    /**
+     * Stores the unused part of a grant in the lease table.
+     *
+     * @param now nanoTime taken before the Redis call, so the local expiry is
+     *            never later than the end of the Redis window
+     * @return tokens used right away
+     */
+    private int store(String userId, int requested, int need, Grant grant, long now) {
+        int used = Math.min(need, grant.tokens());
+        leases.add(userId, grant.tokens() - used, now + grant.ttlNanos(), grant.tokens() < requested, now);
+        return used;
+    }
+
+    private static List<String> leaseKeys(String userId) {
+        return List.of(LEASE_KEY_PREFIX + userId, VELOCITY_KEY_PREFIX + userId);
+    }
+
+    /**
+     * @param need  tokens of the grant used right away, recorded in the velocity set
+     * @param taken transactions already admitted from the local lease, recorded too
+     */
+    private Object[] leaseArgs(int requested, int need, int taken) {
+        // Arguments are plain strings so the script can tonumber() them
+        return new Object[] {
+                String.valueOf(requested),
+                String.valueOf(maxPerMinute),
+                String.valueOf(RATE_LIMIT_WINDOW.toMillis()),
+                String.valueOf(need),
+                String.valueOf(taken),
+                Long.toHexString(ThreadLocalRandom.current().nextLong()),
+                String.valueOf(RETENTION.toMillis())
+        };
+    }
+
+    private static Object[] recordArgs(int count) {
+        return new Object[] {
+                Long.toHexString(ThreadLocalRandom.current().nextLong()),
+                String.valueOf(count),
+                String.valueOf(RATE_LIMIT_WINDOW.toMillis()),
+                String.valueOf(RETENTION.toMillis())
+        };
+    }
+
+    private static Grant toGrant(Object reply) {
+        if (!(reply instanceof List<?> values) || values.size() < 2) {
+            return new Grant(0, 0);
+        }
+        return new Grant(((Number) values.get(0)).intValue(),
+                TimeUnit.MILLISECONDS.toNanos(((Number) values.get(1)).longValue()));
+    }
+}
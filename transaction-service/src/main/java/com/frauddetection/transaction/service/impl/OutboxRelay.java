@@ -0,0 +1,123 @@
+package com.frauddetection.transaction.service.impl;
+
+import com.frauddetection.common.kafka.KafkaSendTracker;
+import com.frauddetection.common.kafka.TrackingKafkaTemplate;
+import com.frauddetection.transaction.config.OutboxProperties;
+import com.frauddetection.transaction.entity.OutboxEvent;
+import com.frauddetection.transaction.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains transaction_outbox to Kafka in large batches.
+ *
+ * Each relay transaction locks up to batch-size of the oldest rows
+ * (FOR UPDATE SKIP LOCKED), hands all of them to the producer at once so they
+ * go out as a few compressed producer batches, waits for every ack and only
+ * then deletes the rows. A failed or timed-out send rolls the transaction back
+ * and the whole batch is retried on the next poll — delivery is at-least-once.
+ *
+ * Events of a partition key go out in id order only while a single relay
+ * drains the table. With several relays, SKIP LOCKED hands each one a
+ * different set of rows, so a later event of a key can be acked while an
+ * earlier one is still in another relay's batch or waiting for its retry;
+ * consumers that need per-key order must then tolerate it or run one relay.
+ *
+ * The relay keeps draining while batches come back full and otherwise sleeps
+ * poll-interval-ms.
+ */
+@Component
+@ConditionalOnProperty(prefix = "transaction.outbox", name = "enabled", havingValue = "true")
+@Slf4j
+public class OutboxRelay {
+
+    private static final String TYPE_ID_HEADER = AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ProducerFactory<String, String> outboxProducerFactory,
+                       PlatformTransactionManager transactionManager,
+                       OutboxProperties properties,
+                       KafkaSendTracker kafkaSendTracker) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = new TrackingKafkaTemplate<>(outboxProducerFactory, kafkaSendTracker);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.outbox.poll-interval-ms:100}")
+    public void drain() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == properties.getBatchSize());
+        } catch (Exception e) {
+            log.error("Outbox relay failed, batch will be retried: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends and deletes one batch in a single DB transaction.
+     *
+     * @return number of rows relayed (0 when the outbox is empty)
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(properties.getBatchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (OutboxEvent row : batch) {
+                ProducerRecord<String, String> record =
+                        new ProducerRecord<>(row.getTopic(), row.getMessageKey(), row.getPayload());
+                record.headers().add(TYPE_ID_HEADER, row.getPayloadType().getBytes(StandardCharsets.UTF_8));
+                sends.add(kafkaTemplate.send(record));
+                ids.add(row.getId());
+            }
+            kafkaTemplate.flush();
+            awaitAcks(sends);
+
+            outboxEventRepository.deleteAllByIdInBatch(ids);
+            log.debug("Outbox relayed {} events", batch.size());
+            return batch.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+
+    private void awaitAcks(List<CompletableFuture<SendResult<String, String>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for outbox send acks", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Outbox batch of " + sends.size() + " events was not acknowledged", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.frauddetection.transaction.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.transaction.entity.OutboxEvent;
+import com.frauddetection.transaction.repository.OutboxBulkInsertRepository;
+import com.frauddetection.transaction.repository.OutboxEventRepository;
+import com.frauddetection.transaction.service.TransactionEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the event in transaction_outbox instead of sending it. MANDATORY
+ * propagation guarantees the row joins the caller's transaction, so the HTTP
+ * path pays for one local INSERT and never waits on the broker. Bulk chunks
+ * are written as one JDBC batch (OutboxBulkInsertRepository).
+ */
+@Component
+@ConditionalOnProperty(prefix = "transaction.outbox", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxTransactionEventPublisher implements TransactionEventPublisher {
+
+    /** Same Jackson setup as Spring Kafka's JsonSerializer, so consumers see identical JSON. */
+    private static final ObjectMapper OBJECT_MAPPER = JacksonUtils.enhancedObjectMapper();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxBulkInsertRepository outboxBulkInsertRepository;
+
+    @Value("${kafka.topics.transactions-created:transactions.created}")
+    private String transactionsTopic;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(TransactionCreatedEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+        log.debug("TransactionCreatedEvent written to outbox: txnId={}", event.getTransactionId());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<String, String> publishAll(List<TransactionCreatedEvent> events) {
+        outboxBulkInsertRepository.insertAll(events.stream().map(this::toOutboxEvent).toList());
+        log.debug("{} TransactionCreatedEvents written to outbox", events.size());
+        return Map.of();
+    }
+
+    private OutboxEvent toOutboxEvent(TransactionCreatedEvent event) {
+        return OutboxEvent.builder()
+                .topic(transactionsTopic)
+                .messageKey(event.getUserId())
+                .payloadType(TransactionCreatedEvent.class.getName())
+                .payload(toJson(event))
+                .build();
+    }
+
+    private static String toJson(TransactionCreatedEvent event) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Could not serialize TransactionCreatedEvent txnId=" + event.getTransactionId(), e);
+        }
+    }
+}
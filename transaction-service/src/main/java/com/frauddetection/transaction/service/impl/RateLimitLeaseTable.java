@@ -0,0 +1,91 @@
+package com.frauddetection.transaction.service.impl;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free table of per-user token leases for LeasedRateLimitService.
+ *
+ * Each user hashes to one slot holding an immutable Lease; updates are CAS
+ * loops on that slot, so there are no locks and memory is bounded by the slot
+ * count. A user whose slot is taken by another user simply evicts it — the
+ * evicted user's unused tokens are forfeited, which can only make the limiter
+ * stricter, never looser.
+ */
+final class RateLimitLeaseTable {
+
+    /** Leases whose expiries are this close were granted from the same Redis window. */
+    private static final long SAME_WINDOW_NANOS = 1_000_000_000L;
+
+    private record Lease(String userId, int remaining, long expiresAtNanos, boolean exhausted) {
+    }
+
+    private final AtomicReferenceArray<Lease> slots;
+    private final int mask;
+
+    RateLimitLeaseTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Takes up to n tokens from the user's live lease.
+     *
+     * @return tokens taken, 0 when there is no live lease or it is empty
+     */
+    int take(String userId, int n, long nowNanos) {
+        int i = slot(userId);
+        while (true) {
+            Lease lease = slots.get(i);
+            if (!live(lease, userId, nowNanos) || lease.remaining() == 0) {
+                return 0;
+            }
+            int taken = Math.min(n, lease.remaining());
+            Lease next = new Lease(userId, lease.remaining() - taken, lease.expiresAtNanos(), lease.exhausted());
+            if (slots.compareAndSet(i, lease, next)) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * True when the user's current window is fully leased cluster-wide and the
+     * local lease is used up — the request can be rejected without Redis.
+     */
+    boolean isExhausted(String userId, long nowNanos) {
+        Lease lease = slots.get(slot(userId));
+        return live(lease, userId, nowNanos) && lease.exhausted() && lease.remaining() == 0;
+    }
+
+    /**
+     * Stores tokens leased from Redis, adding to a live lease from the same window.
+     *
+     * @param exhausted Redis granted less than requested: the window's budget is gone
+     */
+    void add(String userId, int tokens, long expiresAtNanos, boolean exhausted, long nowNanos) {
+        int i = slot(userId);
+        while (true) {
+            Lease lease = slots.get(i);
+            Lease next;
+            if (live(lease, userId, nowNanos)
+                    && Math.abs(lease.expiresAtNanos() - expiresAtNanos) < SAME_WINDOW_NANOS) {
+                next = new Lease(userId, lease.remaining() + tokens,
+                        Math.min(lease.expiresAtNanos(), expiresAtNanos), lease.exhausted() || exhausted);
+            } else {
+                next = new Lease(userId, tokens, expiresAtNanos, exhausted);
+            }
+            if (slots.compareAndSet(i, lease, next)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean live(Lease lease, String userId, long nowNanos) {
+        return lease != null && lease.expiresAtNanos() - nowNanos > 0 && lease.userId().equals(userId);
+    }
+
+    private int slot(String userId) {
+        int h = userId.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -5,12 +5,38 @@ import com.frauddetection.transaction.service.RateLimitService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Sliding-window rate limiter backed by the per-user velocity sorted set
+ * user:txn_velocity:{userId} — one member per transaction, scored by Redis
+ * server time. scripts/velocity-record.lua trims entries older than 24h,
+ * records the transaction and counts the last 60 seconds in one atomic round
+ * trip, so there is no step reset at a fixed window boundary.
+ *
+ * The same set feeds risk-engine's 1m / 10m / 1h / 24h velocity windows.
+ *
+ * checkRateLimits is the bulk-ingestion path: one velocity-record-batch.lua
+ * call per user, all pipelined into a single round trip per chunk.
+ */
 @Service
+@ConditionalOnProperty(prefix = "transaction.rate-limit.local", name = "enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class RateLimitServiceImpl implements RateLimitService {
@@ -20,16 +46,25 @@ public class RateLimitServiceImpl implements RateLimitService {
     @Value("${transaction.rate-limit.max-per-minute:10}")
     private int maxPerMinute;
 
-    private static final String KEY_PREFIX = "user:txn_count:";
+    private static final String KEY_PREFIX = "user:txn_velocity:";
+    private static final Duration RATE_LIMIT_WINDOW = Duration.ofSeconds(60);
+    private static final Duration RETENTION = Duration.ofHours(24);
+
+    private static final RedisScript<Long> RECORD_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/velocity-record.lua"), Long.class);
+    private static final RedisScript<Long> RECORD_BATCH_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/velocity-record-batch.lua"), Long.class);
+    private static final RedisSerializer<Long> COUNT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
 
     @Override
     public void checkRateLimit(String userId) {
         String key = KEY_PREFIX + userId;
-        Long count = redisTemplate.opsForValue().increment(key);
-
-        if (count != null && count == 1) {
-            redisTemplate.expire(key, Duration.ofSeconds(60));
-        }
+        // Arguments are plain strings so the script can tonumber() them
+        Long count = redisTemplate.execute(RECORD_SCRIPT, RedisSerializer.string(), COUNT_SERIALIZER,
+                List.of(key),
+                Long.toHexString(ThreadLocalRandom.current().nextLong()),
+                String.valueOf(RATE_LIMIT_WINDOW.toMillis()),
+                String.valueOf(RETENTION.toMillis()));
 
         if (count != null && count > maxPerMinute) {
             log.warn("Rate limit exceeded: userId={}, count={}, max={}", userId, count, maxPerMinute);
@@ -38,4 +73,45 @@ public class RateLimitServiceImpl implements RateLimitService {
 
         log.debug("Rate limit check passed: userId={}, count={}/{}", userId, count, maxPerMinute);
     }
+
+    @Override
+    public Map<String, Integer> checkRateLimits(Map<String, Integer> txnCountsByUser) {
+        if (txnCountsByUser.isEmpty()) {
+            return Map.of();
+        }
+        List<String> userIds = new ArrayList<>(txnCountsByUser.keySet());
+        String batchPrefix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+        // One reply per user, in command order: window count after recording the batch
+        List<Object> replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (String userId : userIds) {
+                    ops.execute(RECORD_BATCH_SCRIPT, RedisSerializer.string(), COUNT_SERIALIZER,
+                            List.of(KEY_PREFIX + userId),
+                            batchPrefix,
+                            String.valueOf(txnCountsByUser.get(userId)),
+                            String.valueOf(RATE_LIMIT_WINDOW.toMillis()),
+                            String.valueOf(RETENTION.toMillis()));
+                }
+                return null;
+            }
+        });
+
+        Map<String, Integer> allowed = new HashMap<>(userIds.size() * 2);
+        for (int i = 0; i < userIds.size(); i++) {
+            String userId = userIds.get(i);
+            int submitted = txnCountsByUser.get(userId);
+            long windowCount = replies.get(i) != null ? ((Number) replies.get(i)).longValue() : submitted;
+            long before = windowCount - submitted;
+            int fit = (int) Math.max(0, Math.min(submitted, maxPerMinute - before));
+            if (fit < submitted) {
+                log.warn("Rate limit exceeded in bulk: userId={}, submitted={}, allowed={}", userId, submitted, fit);
+            }
+            allowed.put(userId, fit);
+        }
+        return allowed;
+    }
 }
@@ -0,0 +1,44 @@
+-- Leases up to ARGV[1] rate-limit tokens for one user from the current
+-- fixed window, never granting more than ARGV[2] per window across all nodes,
+-- and records the transactions admitted with this call in the velocity set.
+--
+-- KEYS[1] = user:rate_lease:{userId}  hash { w = window start millis, used = tokens leased }
+-- KEYS[2] = user:txn_velocity:{userId}
+-- ARGV[1] = tokens requested
+-- ARGV[2] = max tokens per window (transaction.rate-limit.max-per-minute)
+-- ARGV[3] = window length in millis
+-- ARGV[4] = tokens of this grant used right away (the rest stays in the caller's lease)
+-- ARGV[5] = transactions already admitted from the caller's lease, recorded as well
+-- ARGV[6] = unique velocity member prefix for this call
+-- ARGV[7] = velocity retention in millis (longest window read by risk-engine, 24h)
+--
+-- Returns { tokens granted, millis until the window ends } — both by Redis server time.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local window = tonumber(ARGV[3])
+local windowStart = now - (now % window)
+
+local used = 0
+if tonumber(redis.call('HGET', KEYS[1], 'w') or '-1') == windowStart then
+    used = tonumber(redis.call('HGET', KEYS[1], 'used') or '0')
+end
+
+local grant = math.min(tonumber(ARGV[1]), tonumber(ARGV[2]) - used)
+if grant < 0 then
+    grant = 0
+end
+
+redis.call('HSET', KEYS[1], 'w', windowStart, 'used', used + grant)
+redis.call('PEXPIRE', KEYS[1], window * 2)
+
+local admitted = math.min(tonumber(ARGV[4]), grant) + tonumber(ARGV[5])
+if admitted > 0 then
+    local retention = tonumber(ARGV[7])
+    redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now - retention)
+    for i = 1, admitted do
+        redis.call('ZADD', KEYS[2], now, now .. '-' .. ARGV[6] .. '-' .. i)
+    end
+    redis.call('PEXPIRE', KEYS[2], retention)
+end
+
+return { grant, windowStart + window - now }
@@ -0,0 +1,20 @@
+-- Bulk variant of velocity-record.lua: records N transactions of one user in the
+-- sliding-window velocity set and returns the window count after all of them.
+--
+-- KEYS[1] = user:txn_velocity:{userId}
+-- ARGV[1] = unique member prefix for this batch
+-- ARGV[2] = number of transactions to record
+-- ARGV[3] = rate-limit window in millis
+-- ARGV[4] = retention in millis (longest window read by risk-engine, 24h)
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local n = tonumber(ARGV[2])
+local retention = tonumber(ARGV[4])
+
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - retention)
+for i = 1, n do
+    redis.call('ZADD', KEYS[1], now, now .. '-' .. ARGV[1] .. '-' .. i)
+end
+redis.call('PEXPIRE', KEYS[1], retention)
+
+return redis.call('ZCOUNT', KEYS[1], '(' .. (now - tonumber(ARGV[3])), '+inf')
@@ -0,0 +1,16 @@
+-- Records one transaction in the user's sliding-window velocity set and returns
+-- how many transactions fall inside the rate-limit window — one round trip.
+--
+-- KEYS[1] = user:txn_velocity:{userId}  sorted set, one member per transaction scored by epoch millis
+-- ARGV[1] = unique member suffix (two transactions in the same millisecond must not collide)
+-- ARGV[2] = rate-limit window in millis
+-- ARGV[3] = retention in millis (longest window read by risk-engine, 24h)
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local retention = tonumber(ARGV[3])
+
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - retention)
+redis.call('ZADD', KEYS[1], now, now .. '-' .. ARGV[1])
+redis.call('PEXPIRE', KEYS[1], retention)
+
+return redis.call('ZCOUNT', KEYS[1], '(' .. (now - tonumber(ARGV[2])), '+inf')
@@ -1,9 +1,11 @@
 package com.frauddetection.transaction.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frauddetection.common.dto.BulkTransactionResult;
 import com.frauddetection.common.dto.TransactionDTO;
 import com.frauddetection.common.exception.RateLimitExceededException;
 import com.frauddetection.transaction.exception.GlobalExceptionHandler;
+import com.frauddetection.transaction.service.BulkTransactionService;
 import com.frauddetection.transaction.service.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,9 +23,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,6 +45,8 @@ class TransactionControllerTest {
 
     @Mock
     private TransactionService transactionService;
+    @Mock
+    private BulkTransactionService bulkTransactionService;
 
     @InjectMocks
     private TransactionController transactionController;
@@ -92,6 +99,76 @@ class TransactionControllerTest {
                 .andExpect(status().isTooManyRequests());
     }
 
+    @Test
+    @DisplayName("POST /api/transactions with Prefer: respond-async → 202 with transactionId and Location")
+    void submitTransaction_respondAsync_returns202() throws Exception {
+        TransactionDTO result = sampleDTO();
+        result.setTransactionId("tx-generated-id");
+
+        when(transactionService.createTransaction(any(TransactionDTO.class))).thenReturn(result);
+
+        mockMvc.perform(post("/api/transactions")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleDTO())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/transactions/tx-generated-id"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.transactionId").value("tx-generated-id"))
+                .andExpect(jsonPath("$.userId").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/transactions with respond-async among other preferences → 202")
+    void submitTransaction_respondAsyncWithOtherPreferences_returns202() throws Exception {
+        TransactionDTO result = sampleDTO();
+        result.setTransactionId("tx-generated-id");
+
+        when(transactionService.createTransaction(any(TransactionDTO.class))).thenReturn(result);
+
+        mockMvc.perform(post("/api/transactions")
+                        .header("Prefer", "wait=5, Respond-Async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleDTO())))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.transactionId").value("tx-generated-id"));
+    }
+
+    @Test
+    @DisplayName("Prefer parsing: respond-async is found among tokens and parameters, not as a substring")
+    void prefersRespondAsync_parsesTokens() {
+        assertThat(TransactionController.prefersRespondAsync(null)).isFalse();
+        assertThat(TransactionController.prefersRespondAsync(List.of("respond-async"))).isTrue();
+        assertThat(TransactionController.prefersRespondAsync(List.of("respond-async, wait=5"))).isTrue();
+        assertThat(TransactionController.prefersRespondAsync(List.of("return=minimal", "respond-async; foo=bar"))).isTrue();
+        assertThat(TransactionController.prefersRespondAsync(List.of("wait=5", "return=representation"))).isFalse();
+        assertThat(TransactionController.prefersRespondAsync(List.of("no-respond-async"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("POST /api/transactions/bulk → 200 NDJSON, one result line per input row")
+    @SuppressWarnings("unchecked")
+    void bulkCreate_streamsRowResults() throws Exception {
+        doAnswer(inv -> {
+            Consumer<List<BulkTransactionResult>> sink = inv.getArgument(1);
+            sink.accept(List.of(
+                    BulkTransactionResult.accepted(1, "tx-1"),
+                    BulkTransactionResult.rejected(2, "amount: Amount must be positive")));
+            return 2L;
+        }).when(bulkTransactionService).ingest(any(), any());
+
+        String body = mockMvc.perform(post("/api/transactions/bulk")
+                        .contentType("application/x-ndjson")
+                        .content("{\"userId\":\"u001\"}\n{\"userId\":\"u002\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines().toList()).containsExactly(
+                "{\"line\":1,\"status\":\"ACCEPTED\",\"transactionId\":\"tx-1\"}",
+                "{\"line\":2,\"status\":\"REJECTED\",\"error\":\"amount: Amount must be positive\"}");
+    }
+
     @Test
     @DisplayName("GET /api/transactions/{id} → 200 with transaction body")
     void getTransaction_found_returns200() throws Exception {
@@ -0,0 +1,150 @@
+package com.frauddetection.transaction.service;
+
+import com.frauddetection.common.dto.BulkTransactionResult;
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.transaction.entity.Transaction;
+import com.frauddetection.transaction.repository.TransactionBulkInsertRepository;
+import com.frauddetection.transaction.service.impl.BulkTransactionServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkTransactionServiceTest {
+
+    @Mock
+    private RateLimitService rateLimitService;
+    @Mock
+    private TransactionBulkInsertRepository bulkInsertRepository;
+    @Mock
+    private TransactionEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkTransactionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkTransactionServiceImpl(rateLimitService, bulkInsertRepository, eventPublisher,
+                new TransactionMapper(), Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager, 2);
+    }
+
+    private static String row(String txnId, String userId, String amount) {
+        return "{\"transactionId\":\"" + txnId + "\",\"userId\":\"" + userId + "\",\"userName\":\"n\","
+                + "\"amount\":" + amount + ",\"location\":\"Mumbai\",\"merchantType\":\"E-Commerce\"}";
+    }
+
+    private List<BulkTransactionResult> ingest(String ndjson) throws Exception {
+        List<BulkTransactionResult> results = new ArrayList<>();
+        service.ingest(new BufferedReader(new StringReader(ndjson)), results::addAll);
+        return results;
+    }
+
+    @Test
+    @DisplayName("valid rows are inserted and published per chunk (size 2), invalid rows are reported in place")
+    @SuppressWarnings("unchecked")
+    void ingest_mixedRows_reportsEachRowInOrder() throws Exception {
+        when(rateLimitService.checkRateLimits(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(bulkInsertRepository.insertAll(anyList())).thenAnswer(inv -> {
+            boolean[] inserted = new boolean[((List<Transaction>) inv.getArgument(0)).size()];
+            Arrays.fill(inserted, true);
+            return inserted;
+        });
+
+        List<BulkTransactionResult> results = ingest(String.join("\n",
+                row("tx-1", "u001", "100"),
+                "{not json",
+                "",
+                row("tx-2", "u002", "-5"),
+                row("tx-3", "u002", "50")));
+
+        assertThat(results).extracting(BulkTransactionResult::getLine).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(results).extracting(BulkTransactionResult::getStatus).containsExactly(
+                BulkTransactionResult.Status.ACCEPTED,
+                BulkTransactionResult.Status.REJECTED,
+                BulkTransactionResult.Status.REJECTED,
+                BulkTransactionResult.Status.ACCEPTED);
+        assertThat(results.get(2).getError()).startsWith("amount:");
+        verify(eventPublisher, times(2)).publishAll(argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    @DisplayName("rows over a user's rate limit are RATE_LIMITED, the rest of the chunk goes through")
+    void ingest_rateLimitedRows() throws Exception {
+        when(rateLimitService.checkRateLimits(Map.of("u001", 2))).thenReturn(Map.of("u001", 1));
+        when(bulkInsertRepository.insertAll(anyList())).thenReturn(new boolean[]{true});
+
+        List<BulkTransactionResult> results = ingest(row("tx-1", "u001", "1") + "\n" + row("tx-2", "u001", "2"));
+
+        assertThat(results).extracting(BulkTransactionResult::getStatus).containsExactly(
+                BulkTransactionResult.Status.ACCEPTED, BulkTransactionResult.Status.RATE_LIMITED);
+    }
+
+    @Test
+    @DisplayName("replayed transactionIds are reported as DUPLICATE and not published again")
+    void ingest_duplicates_notPublished() throws Exception {
+        when(rateLimitService.checkRateLimits(any())).thenReturn(Map.of("u001", 2));
+        when(bulkInsertRepository.insertAll(anyList())).thenReturn(new boolean[]{false, true});
+
+        List<BulkTransactionResult> results = ingest(row("tx-1", "u001", "1") + "\n" + row("tx-2", "u001", "2"));
+
+        assertThat(results).extracting(BulkTransactionResult::getStatus).containsExactly(
+                BulkTransactionResult.Status.DUPLICATE, BulkTransactionResult.Status.ACCEPTED);
+        verify(eventPublisher).publishAll(argThat((List<TransactionCreatedEvent> events) ->
+                events.size() == 1 && events.getFirst().getTransactionId().equals("tx-2")));
+    }
+
+    @Test
+    @DisplayName("a failed rate check rejects the chunk's valid rows and the stream continues with the next chunk")
+    void ingest_rateCheckFails_chunkRejected() throws Exception {
+        when(rateLimitService.checkRateLimits(any()))
+                .thenThrow(new IllegalStateException("Redis unavailable"))
+                .thenAnswer(inv -> inv.getArgument(0));
+        when(bulkInsertRepository.insertAll(anyList())).thenReturn(new boolean[]{true});
+
+        List<BulkTransactionResult> results = ingest(row("tx-1", "u001", "1") + "
+{not json
+"
+                + row("tx-3", "u002", "3"));
+
+        assertThat(results).extracting(BulkTransactionResult::getStatus).containsExactly(
+                BulkTransactionResult.Status.REJECTED, BulkTransactionResult.Status.REJECTED,
+                BulkTransactionResult.Status.ACCEPTED);
+        assertThat(results.get(0).getError()).contains("Redis unavailable");
+        assertThat(results.get(1).getError()).startsWith("Malformed JSON");
+        verify(bulkInsertRepository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("rows whose event is not delivered are deleted again and reported REJECTED")
+    void ingest_unpublishedEvents_rejectedAndRemoved() throws Exception {
+        when(rateLimitService.checkRateLimits(any())).thenReturn(Map.of("u001", 2));
+        when(bulkInsertRepository.insertAll(anyList())).thenReturn(new boolean[]{true, true});
+        when(eventPublisher.publishAll(anyList())).thenReturn(Map.of("tx-2", "broker down"));
+
+        List<BulkTransactionResult> results = ingest(row("tx-1", "u001", "1") + "\n" + row("tx-2", "u001", "2"));
+
+        assertThat(results).extracting(BulkTransactionResult::getStatus).containsExactly(
+                BulkTransactionResult.Status.ACCEPTED, BulkTransactionResult.Status.REJECTED);
+        assertThat(results.get(1).getError()).isEqualTo("Event not published: broker down");
+        verify(bulkInsertRepository).deleteAll(Set.of("tx-2"));
+    }
+}
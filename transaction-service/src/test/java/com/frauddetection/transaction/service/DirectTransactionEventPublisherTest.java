@@ -0,0 +1,60 @@
+package com.frauddetection.transaction.service;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.transaction.service.impl.DirectTransactionEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DirectTransactionEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate;
+
+    private DirectTransactionEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new DirectTransactionEventPublisher(kafkaTemplate);
+        ReflectionTestUtils.setField(publisher, "transactionsTopic", "transactions.created");
+        ReflectionTestUtils.setField(publisher, "bulkSendTimeout", Duration.ofMillis(200));
+    }
+
+    private static TransactionCreatedEvent event(String transactionId) {
+        return TransactionCreatedEvent.builder().transactionId(transactionId).userId("u001").build();
+    }
+
+    @Test
+    @DisplayName("publishAll flushes once and reports failed and unacknowledged sends by transactionId")
+    void publishAll_reportsFailedSends() {
+        TransactionCreatedEvent acked = event("tx-1");
+        TransactionCreatedEvent failed = event("tx-2");
+        TransactionCreatedEvent pending = event("tx-3");
+        when(kafkaTemplate.send("transactions.created", "u001", acked))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send("transactions.created", "u001", failed))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+        when(kafkaTemplate.send("transactions.created", "u001", pending))
+                .thenReturn(new CompletableFuture<>());
+
+        var result = publisher.publishAll(List.of(acked, failed, pending));
+
+        verify(kafkaTemplate).flush();
+        assertThat(result).containsOnlyKeys("tx-2", "tx-3");
+        assertThat(result.get("tx-2")).isEqualTo("broker down");
+        assertThat(result.get("tx-3")).startsWith("Not acknowledged");
+    }
+}
@@ -0,0 +1,143 @@
+package com.frauddetection.transaction.service;
+
+import com.frauddetection.common.exception.RateLimitExceededException;
+import com.frauddetection.transaction.service.impl.LeasedRateLimitService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeasedRateLimitServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private LeasedRateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitService = new LeasedRateLimitService(redisTemplate, 10, 5, 1024);
+    }
+
+    private static final List<String> LEASE_KEYS = List.of("user:rate_lease:u001", "user:txn_velocity:u001");
+    private static final List<String> VELOCITY_KEYS = List.of("user:txn_velocity:u001");
+
+    /** A single-path lease: lease-size requested, one transaction admitted and recorded with it. */
+    @SuppressWarnings("unchecked")
+    private void givenGrant(long tokens, long msLeft) {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(LEASE_KEYS), eq("5"), eq("10"), eq("60000"), eq("1"), eq("0"), anyString(), eq("86400000")))
+                .thenReturn(List.of(tokens, msLeft));
+    }
+
+    /** One transaction admitted from the local lease, recorded in the velocity set. */
+    @SuppressWarnings("unchecked")
+    private void givenRecord() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(VELOCITY_KEYS), anyString(), eq("1"), eq("60000"), eq("86400000")))
+                .thenReturn(1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyLeaseCalls(int times) {
+        verify(redisTemplate, times(times)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(LEASE_KEYS), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyRecordCalls(int times) {
+        verify(redisTemplate, times(times)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(VELOCITY_KEYS), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("checkRateLimit: one lease call admits lease-size transactions, each recorded before returning")
+    void checkRateLimit_servesFromLocalLease() {
+        givenGrant(5L, 30_000L);
+        givenRecord();
+
+        for (int i = 0; i < 5; i++) {
+            rateLimitService.checkRateLimit("u001");
+        }
+
+        // The first transaction is recorded by the lease call itself
+        verifyLeaseCalls(1);
+        verifyRecordCalls(4);
+    }
+
+    @Test
+    @DisplayName("checkRateLimit: an empty lease leases again from Redis")
+    void checkRateLimit_leaseUsedUp_leasesAgain() {
+        givenGrant(5L, 30_000L);
+        givenRecord();
+
+        for (int i = 0; i < 6; i++) {
+            rateLimitService.checkRateLimit("u001");
+        }
+
+        verifyLeaseCalls(2);
+    }
+
+    @Test
+    @DisplayName("checkRateLimit: exhausted window rejects locally without calling Redis again")
+    void checkRateLimit_windowExhausted_rejectsLocally() {
+        givenGrant(0L, 30_000L);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> rateLimitService.checkRateLimit("u001"))
+                    .isInstanceOf(RateLimitExceededException.class)
+                    .hasMessageContaining("u001");
+        }
+
+        verifyLeaseCalls(1);
+        verifyRecordCalls(0);
+    }
+
+    @Test
+    @DisplayName("checkRateLimit: partial grant admits the rest, then rejects locally")
+    void checkRateLimit_partialGrant_thenRejects() {
+        givenGrant(2L, 30_000L);
+        givenRecord();
+
+        rateLimitService.checkRateLimit("u001");
+        rateLimitService.checkRateLimit("u001");
+        assertThatThrownBy(() -> rateLimitService.checkRateLimit("u001"))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        verifyLeaseCalls(1);
+        verifyRecordCalls(1);
+    }
+
+    @Test
+    @DisplayName("checkRateLimits: a chunk's lease calls and velocity records share one pipeline")
+    @SuppressWarnings("unchecked")
+    void checkRateLimits_leaseAndRecordPipelined() {
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenReturn(List.of(List.of(5L, 30_000L)))
+                .thenReturn(List.of(2L));
+
+        // Leases 5, admits 3 and records them in the lease call
+        assertThat(rateLimitService.checkRateLimits(Map.of("u001", 3))).containsEntry("u001", 3);
+        // Served from the 2 tokens left, recorded by one velocity call in the pipeline
+        assertThat(rateLimitService.checkRateLimits(Map.of("u001", 2))).containsEntry("u001", 2);
+
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        verifyLeaseCalls(0);
+        verifyRecordCalls(0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.frauddetection.transaction.service;
+
+import com.frauddetection.common.events.TransactionCreatedEvent;
+import com.frauddetection.transaction.entity.OutboxEvent;
+import com.frauddetection.transaction.repository.OutboxBulkInsertRepository;
+import com.frauddetection.transaction.repository.OutboxEventRepository;
+import com.frauddetection.transaction.service.impl.OutboxTransactionEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxTransactionEventPublisherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxBulkInsertRepository outboxBulkInsertRepository;
+
+    private OutboxTransactionEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new OutboxTransactionEventPublisher(outboxEventRepository, outboxBulkInsertRepository);
+        ReflectionTestUtils.setField(publisher, "transactionsTopic", "transactions.created");
+    }
+
+    @Test
+    @DisplayName("publish writes one outbox row keyed by userId with the JSON payload and type")
+    void publish_writesOutboxRow() {
+        TransactionCreatedEvent event = TransactionCreatedEvent.builder()
+                .transactionId("tx-1").userId("u001")
+                .amount(BigDecimal.valueOf(1000)).location("Mumbai")
+                .merchantType("E-Commerce")
+                .timestamp(LocalDateTime.of(2025, 1, 2, 3, 4, 5))
+                .build();
+
+        publisher.publish(event);
+
+        ArgumentCaptor<OutboxEvent> row = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(row.capture());
+        assertThat(row.getValue().getTopic()).isEqualTo("transactions.created");
+        assertThat(row.getValue().getMessageKey()).isEqualTo("u001");
+        assertThat(row.getValue().getPayloadType()).isEqualTo(TransactionCreatedEvent.class.getName());
+        assertThat(row.getValue().getPayload())
+                .contains("\"transactionId\":\"tx-1\"")
+                .contains("\"timestamp\":\"2025-01-02T03:04:05\"");
+    }
+
+    @Test
+    @DisplayName("publishAll writes the chunk's rows as one JDBC batch instead of saveAll")
+    @SuppressWarnings("unchecked")
+    void publishAll_batchInsertsRows() {
+        List<TransactionCreatedEvent> events = List.of(
+                TransactionCreatedEvent.builder().transactionId("tx-1").userId("u001").build(),
+                TransactionCreatedEvent.builder().transactionId("tx-2").userId("u002").build());
+
+        assertThat(publisher.publishAll(events)).isEmpty();
+
+        ArgumentCaptor<List<OutboxEvent>> rows = ArgumentCaptor.forClass(List.class);
+        verify(outboxBulkInsertRepository).insertAll(rows.capture());
+        assertThat(rows.getValue()).extracting(OutboxEvent::getMessageKey).containsExactly("u001", "u002");
+        verify(outboxEventRepository, never()).saveAll(any());
+    }
+}
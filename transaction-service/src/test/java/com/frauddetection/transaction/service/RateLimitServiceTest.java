@@ -9,12 +9,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,8 +28,6 @@ class RateLimitServiceTest {
 
     @Mock
     private RedisTemplate<String, Object> redisTemplate;
-    @Mock
-    private ValueOperations<String, Object> valueOperations;
 
     private RateLimitServiceImpl rateLimitService;
 
@@ -31,38 +35,59 @@ class RateLimitServiceTest {
     void setUp() {
         rateLimitService = new RateLimitServiceImpl(redisTemplate);
         ReflectionTestUtils.setField(rateLimitService, "maxPerMinute", 10);
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenWindowCount(Long count) {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("user:txn_velocity:u001")), anyString(), eq("60000"), eq("86400000")))
+                .thenReturn(count);
     }
 
     @Test
-    @DisplayName("checkRateLimit: first request sets expiry and passes")
-    void checkRateLimit_firstRequest_setsExpiry() {
-        when(valueOperations.increment("user:txn_count:u001")).thenReturn(1L);
+    @DisplayName("checkRateLimit: records into the sliding window in one script call and passes")
+    @SuppressWarnings("unchecked")
+    void checkRateLimit_underLimit_singleScriptCall() {
+        givenWindowCount(10L);
 
         rateLimitService.checkRateLimit("u001");
 
-        verify(redisTemplate).expire("user:txn_count:u001", Duration.ofSeconds(60));
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(), any(), any());
+        verify(redisTemplate, never()).opsForValue();
+        verifyNoMoreInteractions(redisTemplate);
     }
 
     @Test
     @DisplayName("checkRateLimit: count over max throws RateLimitExceededException")
     void checkRateLimit_overLimit_throws() {
-        when(valueOperations.increment("user:txn_count:u001")).thenReturn(11L);
+        givenWindowCount(11L);
 
         assertThatThrownBy(() -> rateLimitService.checkRateLimit("u001"))
                 .isInstanceOf(RateLimitExceededException.class)
                 .hasMessageContaining("u001");
-
-        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
     }
 
     @Test
-    @DisplayName("checkRateLimit: null counter value is tolerated")
+    @DisplayName("checkRateLimit: null script result is tolerated")
     void checkRateLimit_nullCount_noThrow() {
-        when(valueOperations.increment("user:txn_count:u001")).thenReturn(null);
+        givenWindowCount(null);
 
         rateLimitService.checkRateLimit("u001");
+    }
 
-        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+    @Test
+    @DisplayName("checkRateLimits: one pipeline for all users, only the rows under the limit are allowed")
+    @SuppressWarnings("unchecked")
+    void checkRateLimits_splitsEachUsersBatchAtTheLimit() {
+        Map<String, Integer> submitted = new LinkedHashMap<>();
+        submitted.put("u001", 5); // 7 already in the window → 3 fit
+        submitted.put("u002", 3); // fresh user → all fit
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(List.of(12L, 3L));
+
+        Map<String, Integer> allowed = rateLimitService.checkRateLimits(submitted);
+
+        assertThat(allowed).containsEntry("u001", 3).containsEntry("u002", 3);
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
     }
 }
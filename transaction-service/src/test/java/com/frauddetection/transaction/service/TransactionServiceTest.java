@@ -5,7 +5,6 @@ import com.frauddetection.common.events.TransactionCreatedEvent;
 import com.frauddetection.common.exception.ResourceNotFoundException;
 import com.frauddetection.transaction.entity.Transaction;
 import com.frauddetection.transaction.repository.TransactionRepository;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,8 +15,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -36,7 +33,7 @@ class TransactionServiceTest {
     @Mock
     private StringRedisTemplate redisTemplate;
     @Mock
-    private KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate;
+    private TransactionEventPublisher eventPublisher;
     @Mock
     private ValueOperations<String, String> valueOps;
     @Mock
@@ -47,11 +44,6 @@ class TransactionServiceTest {
     @InjectMocks
     private TransactionServiceImpl service;
 
-    @BeforeEach
-    void setUp() {
-        ReflectionTestUtils.setField(service, "transactionsTopic", "transactions.created");
-    }
-
     private TransactionDTO dto(String userId) {
         TransactionDTO dto = new TransactionDTO();
         dto.setUserId(userId);
@@ -79,7 +71,7 @@ class TransactionServiceTest {
         TransactionDTO result = service.createTransaction(req);
 
         verify(transactionRepository).save(any(Transaction.class));
-        verify(kafkaTemplate).send(anyString(), anyString(), any(TransactionCreatedEvent.class));
+        verify(eventPublisher).publish(any(TransactionCreatedEvent.class));
         assertThat(result).isNotNull();
     }
 
@@ -93,7 +85,7 @@ class TransactionServiceTest {
                 .hasMessageContaining("Rate limit");
 
         verify(transactionRepository, never()).save(any());
-        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+        verify(eventPublisher, never()).publish(any());
     }
 
 